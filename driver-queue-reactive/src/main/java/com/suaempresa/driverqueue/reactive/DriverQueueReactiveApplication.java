@@ -0,0 +1,29 @@
+package com.suaempresa.driverqueue.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+
+/**
+ * Classe principal da variante reativa da API da fila (WebFlux + R2DBC).
+ * <p>
+ * Atende as mesmas operações de fila da aplicação principal ({@code /admin/queue},
+ * {@code /admin/called-drivers}, {@code /admin/queue/stream}, {@code /admin/call-next} e
+ * {@code /drivers/add}) sobre o mesmo banco, sem uma thread e uma conexão presas por cliente
+ * conectado. O schema continua sendo criado e migrado pela aplicação principal (Flyway).
+ * <p>
+ * As duas aplicações não compartilham memória: os cadastros e chamadas feitos aqui só chegam às
+ * visões em memória da aplicação principal pelo {@code pg_notify}, então ela precisa rodar com
+ * {@code QUEUE_CLUSTER_ENABLED=true} (a imagem AOT, construída com {@code AOT_CLUSTER_ENABLED=true}).
+ * O SMS das chamadas feitas aqui é enviado pelo job "call-sms-outbox" da aplicação principal, que
+ * precisa de {@code queue.jobs.enabled=true} em ao menos uma instância.
+ */
+@SpringBootApplication
+@ConfigurationPropertiesScan // Habilita o scan por @ConfigurationProperties
+public class DriverQueueReactiveApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(DriverQueueReactiveApplication.class, args);
+    }
+
+}
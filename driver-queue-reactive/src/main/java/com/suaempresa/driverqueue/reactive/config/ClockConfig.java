@@ -0,0 +1,19 @@
+package com.suaempresa.driverqueue.reactive.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+/**
+ * Relógio usado pelo serviço para os horários de entrada e de chamada dos motoristas,
+ * como na aplicação principal.
+ */
+@Configuration
+public class ClockConfig {
+
+    @Bean
+    public Clock clock() {
+        return Clock.systemDefaultZone();
+    }
+}
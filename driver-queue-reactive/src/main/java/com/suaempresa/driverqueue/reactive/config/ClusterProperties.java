@@ -0,0 +1,41 @@
+package com.suaempresa.driverqueue.reactive.config;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Propriedades da coordenação com as instâncias da aplicação principal via Postgres LISTEN/NOTIFY
+ * (prefixo "queue.cluster", o mesmo da aplicação principal).
+ *
+ * @see com.suaempresa.driverqueue.reactive.service.ReactiveQueueEventPublisher
+ * @see com.suaempresa.driverqueue.reactive.service.ReactiveQueueUpdates
+ */
+@ConfigurationProperties(prefix = "queue.cluster")
+@Validated
+public class ClusterProperties {
+
+    /** Canal do LISTEN/NOTIFY. Usado diretamente no comando LISTEN, por isso só aceita identificadores simples. */
+    @NotBlank
+    @Pattern(regexp = "^[a-z_][a-z0-9_]*$", message = "queue.cluster.channel deve ser um identificador simples (ex: driver_queue_events).")
+    private String channel = "driver_queue_events";
+
+    /** Identificador desta instância nas notificações enviadas. */
+    @NotBlank
+    private String nodeId = "reactive-" + UUID.randomUUID().toString().substring(0, 8);
+
+    /** Intervalo antes de tentar reconectar o LISTEN após uma falha. */
+    private Duration reconnectDelay = Duration.ofSeconds(5);
+
+    // --- Getters e Setters ---
+    public String getChannel() { return channel; }
+    public void setChannel(String channel) { this.channel = channel; }
+    public String getNodeId() { return nodeId; }
+    public void setNodeId(String nodeId) { this.nodeId = nodeId; }
+    public Duration getReconnectDelay() { return reconnectDelay; }
+    public void setReconnectDelay(Duration reconnectDelay) { this.reconnectDelay = reconnectDelay; }
+}
@@ -0,0 +1,100 @@
+package com.suaempresa.driverqueue.reactive.controller;
+
+import com.suaempresa.driverqueue.model.Driver;
+import com.suaempresa.driverqueue.reactive.service.ReactiveDriverService;
+import com.suaempresa.driverqueue.reactive.service.ReactiveQueueUpdates;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * API de admin da variante reativa: mesmas rotas e respostas do {@code AdminController} da
+ * aplicação principal para a fila, os chamados, o stream de avisos e o "Chamar Próximo".
+ */
+@Controller
+@RequestMapping("/admin")
+public class ReactiveAdminController {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveAdminController.class);
+    private final ReactiveDriverService driverService;
+    private final ReactiveQueueUpdates queueUpdates;
+
+    public ReactiveAdminController(ReactiveDriverService driverService, ReactiveQueueUpdates queueUpdates) {
+        this.driverService = driverService;
+        this.queueUpdates = queueUpdates;
+    }
+
+    @GetMapping("/queue")
+    @ResponseBody
+    public Mono<ResponseEntity<List<Driver>>> getQueueData() {
+        log.debug("API GET /admin/queue : Buscando dados da fila de espera.");
+        return driverService.getAdminQueueView().collectList()
+                .map(ResponseEntity::ok)
+                .onErrorResume(e -> {
+                    log.error("API GET /admin/queue : Erro ao buscar dados da fila de espera!", e);
+                    return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Collections.emptyList()));
+                });
+    }
+
+    /**
+     * Stream Server-Sent Events que avisa a página de admin sempre que a fila muda
+     * (em qualquer instância, da aplicação principal ou desta variante).
+     *
+     * @return Os avisos de mudança da fila.
+     */
+    @GetMapping(path = "/queue/stream", produces = "text/event-stream")
+    @ResponseBody
+    public Flux<ServerSentEvent<Map<String, Object>>> streamQueueUpdates() {
+        log.debug("API GET /admin/queue/stream : Nova conexão SSE.");
+        return queueUpdates.subscribe();
+    }
+
+    @GetMapping("/called-drivers")
+    @ResponseBody
+    public Mono<ResponseEntity<List<Driver>>> getCalledDriversData() {
+        log.debug("API GET /admin/called-drivers : Buscando dados de motoristas chamados.");
+        return driverService.getCalledDriversView().collectList()
+                .map(ResponseEntity::ok)
+                .onErrorResume(e -> {
+                    log.error("API GET /admin/called-drivers : Erro ao buscar dados de motoristas chamados!", e);
+                    return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Collections.emptyList()));
+                });
+    }
+
+    @PostMapping("/call-next")
+    @ResponseBody
+    public Mono<ResponseEntity<?>> callNextDriver() {
+        log.info("API POST /admin/call-next : Requisição para chamar próximo motorista.");
+        return driverService.callNextDriver()
+                .<ResponseEntity<?>>map(called -> {
+                    log.info("API POST /admin/call-next : Motorista {} chamado com sucesso.", called.getName());
+                    return ResponseEntity.ok(called);
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    log.info("API POST /admin/call-next : Nenhum motorista na fila para chamar.");
+                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Nenhum motorista aguardando na fila.");
+                }))
+                .onErrorResume(OptimisticLockingFailureException.class, e -> {
+                    log.warn("API POST /admin/call-next : Conflito - {}", e.getMessage());
+                    return Mono.just(ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage()));
+                })
+                .onErrorResume(e -> {
+                    log.error("API POST /admin/call-next : Erro inesperado!", e);
+                    return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Erro interno ao processar a chamada."));
+                });
+    }
+}
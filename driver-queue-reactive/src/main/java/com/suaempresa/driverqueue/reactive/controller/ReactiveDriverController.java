@@ -0,0 +1,71 @@
+package com.suaempresa.driverqueue.reactive.controller;
+
+import com.suaempresa.driverqueue.dto.DriverInputDto;
+import com.suaempresa.driverqueue.reactive.service.ReactiveDriverService;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import reactor.core.publisher.Mono;
+
+import java.util.stream.Collectors;
+
+/**
+ * Cadastro de motoristas (quiosque) da variante reativa.
+ * <p>
+ * Recebe e valida o mesmo formulário da aplicação principal ({@link DriverInputDto} em
+ * {@code POST /drivers/add}), mas responde como API, sem a página Thymeleaf e o
+ * redirecionamento com mensagens.
+ */
+@Controller
+public class ReactiveDriverController {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveDriverController.class);
+    private final ReactiveDriverService driverService;
+
+    public ReactiveDriverController(ReactiveDriverService driverService) {
+        this.driverService = driverService;
+    }
+
+    /**
+     * Adiciona um motorista à fila.
+     * Mapeado para POST /drivers/add (campos plate, name e phoneNumber do formulário).
+     *
+     * @param driverInput Dados do formulário, validados com {@code @Valid}.
+     * @return 201 com o motorista; 400 se os dados são inválidos; 409 se a placa já está cadastrada.
+     */
+    @PostMapping("/drivers/add")
+    @ResponseBody
+    public Mono<ResponseEntity<?>> addDriver(@Valid @ModelAttribute Mono<DriverInputDto> driverInput) {
+        return driverInput
+                .doOnNext(input -> log.debug("POST /drivers/add : Tentativa de adicionar motorista: {}", input))
+                .flatMap(input -> driverService.addDriver(input.getPlate(), input.getName(), input.getPhoneNumber()))
+                .<ResponseEntity<?>>map(driver -> {
+                    log.info("POST /drivers/add : Motorista '{}' adicionado com sucesso.", driver.getName());
+                    return ResponseEntity.status(HttpStatus.CREATED).body(driver);
+                })
+                .onErrorResume(WebExchangeBindException.class, e -> {
+                    String errors = e.getFieldErrors().stream()
+                            .map(FieldError::getDefaultMessage)
+                            .collect(Collectors.joining(" "));
+                    log.warn("POST /drivers/add : Erro de validação: {}", errors);
+                    return Mono.just(ResponseEntity.badRequest().body("Erro de validação: " + errors));
+                })
+                .onErrorResume(IllegalArgumentException.class, e -> {
+                    log.warn("POST /drivers/add : Falha ao adicionar motorista. Causa: {}", e.getMessage());
+                    return Mono.just(ResponseEntity.badRequest().body("Erro ao adicionar: " + e.getMessage()));
+                })
+                .onErrorResume(DataIntegrityViolationException.class, e -> {
+                    log.warn("POST /drivers/add : Erro de integridade: {}", e.getMostSpecificCause().getMessage());
+                    return Mono.just(ResponseEntity.status(HttpStatus.CONFLICT).body("Erro: A placa informada já está cadastrada no sistema."));
+                });
+    }
+}
@@ -0,0 +1,129 @@
+package com.suaempresa.driverqueue.reactive.repository;
+
+import com.suaempresa.driverqueue.model.Driver;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+
+/**
+ * Acesso reativo (R2DBC) à tabela "driver", com as mesmas consultas do
+ * {@code DriverRepository} da aplicação principal.
+ * <p>
+ * O {@link Driver} é uma entidade JPA compartilhada com a aplicação principal; aqui as linhas são
+ * mapeadas manualmente com o {@link DatabaseClient}, sem o mapeamento do Spring Data R2DBC.
+ */
+@Repository
+public class ReactiveDriverRepository {
+
+    private static final String COLUMNS = "id, plate, name, phone_number, entry_time, called_time, status, call_attempts, version";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveDriverRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * @param status Status procurado.
+     * @return Os motoristas com o status, do mais antigo para o mais recente na fila.
+     */
+    public Flux<Driver> findByStatusOrderByEntryTimeAsc(Driver.DriverStatus status) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM driver WHERE status = :status ORDER BY entry_time ASC")
+                .bind("status", status.name())
+                .map(ReactiveDriverRepository::toDriver)
+                .all();
+    }
+
+    /**
+     * @param status Status procurado.
+     * @return Os motoristas com o status, do chamado mais recentemente para o mais antigo.
+     */
+    public Flux<Driver> findByStatusOrderByCalledTimeDesc(Driver.DriverStatus status) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM driver WHERE status = :status ORDER BY called_time DESC")
+                .bind("status", status.name())
+                .map(ReactiveDriverRepository::toDriver)
+                .all();
+    }
+
+    /**
+     * @param status Status procurado.
+     * @return O primeiro motorista da fila com o status, ou vazio.
+     */
+    public Mono<Driver> findFirstByStatusOrderByEntryTimeAsc(Driver.DriverStatus status) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM driver WHERE status = :status ORDER BY entry_time ASC LIMIT 1")
+                .bind("status", status.name())
+                .map(ReactiveDriverRepository::toDriver)
+                .one();
+    }
+
+    /**
+     * Insere um novo motorista.
+     *
+     * @param driver Motorista ainda sem ID.
+     * @return O motorista gravado, com ID e versão gerados pelo banco.
+     */
+    public Mono<Driver> insert(Driver driver) {
+        return databaseClient.sql("INSERT INTO driver (plate, name, phone_number, entry_time, status, call_attempts) " +
+                        "VALUES (:plate, :name, :phoneNumber, :entryTime, :status, :callAttempts) RETURNING " + COLUMNS)
+                .bind("plate", driver.getPlate())
+                .bind("name", driver.getName())
+                .bind("phoneNumber", driver.getPhoneNumber())
+                .bind("entryTime", driver.getEntryTime())
+                .bind("status", driver.getStatus().name())
+                .bind("callAttempts", driver.getCallAttempts())
+                .map(ReactiveDriverRepository::toDriver)
+                .one();
+    }
+
+    /**
+     * Aplica uma transição de status somente se o motorista ainda está no status e na versão lidos,
+     * como o {@code updateStatusIfUnchanged} da aplicação principal.
+     *
+     * @param id              ID do motorista.
+     * @param expectedStatus  Status lido antes da transição.
+     * @param expectedVersion Versão lida antes da transição.
+     * @param newStatus       Novo status.
+     * @param callAttempts    Novo número de tentativas de chamada.
+     * @param calledTime      Novo horário da última chamada.
+     * @return O motorista após a transição, ou vazio se ele foi alterado por outra operação.
+     */
+    public Mono<Driver> updateStatusIfUnchanged(Long id, Driver.DriverStatus expectedStatus, long expectedVersion,
+                                                Driver.DriverStatus newStatus, int callAttempts, LocalDateTime calledTime) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("UPDATE driver SET status = :newStatus, call_attempts = :callAttempts, " +
+                        "called_time = :calledTime, version = version + 1 " +
+                        "WHERE id = :id AND status = :expectedStatus AND version = :expectedVersion RETURNING " + COLUMNS)
+                .bind("newStatus", newStatus.name())
+                .bind("callAttempts", callAttempts);
+        spec = calledTime != null ? spec.bind("calledTime", calledTime) : spec.bindNull("calledTime", LocalDateTime.class);
+        return spec.bind("id", id)
+                .bind("expectedStatus", expectedStatus.name())
+                .bind("expectedVersion", expectedVersion)
+                .map(ReactiveDriverRepository::toDriver)
+                .one();
+    }
+
+    private static Driver toDriver(Readable row) {
+        Driver driver = new Driver();
+        driver.setId(row.get("id", Long.class));
+        driver.setPlate(row.get("plate", String.class));
+        driver.setName(row.get("name", String.class));
+        driver.setPhoneNumber(row.get("phone_number", String.class));
+        driver.setEntryTime(toLocalDateTime(row.get("entry_time", OffsetDateTime.class)));
+        driver.setCalledTime(toLocalDateTime(row.get("called_time", OffsetDateTime.class)));
+        driver.setStatus(Driver.DriverStatus.valueOf(row.get("status", String.class)));
+        driver.setCallAttempts(row.get("call_attempts", Integer.class));
+        driver.setVersion(row.get("version", Long.class));
+        return driver;
+    }
+
+    /** As colunas são "timestamp with time zone"; o modelo usa o horário local, como o JDBC da aplicação principal. */
+    private static LocalDateTime toLocalDateTime(OffsetDateTime value) {
+        return value != null ? value.atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime() : null;
+    }
+}
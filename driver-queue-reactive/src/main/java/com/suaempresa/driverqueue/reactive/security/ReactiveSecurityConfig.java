@@ -0,0 +1,84 @@
+package com.suaempresa.driverqueue.reactive.security;
+
+import com.suaempresa.driverqueue.reactive.config.RegistrationLimitProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.userdetails.MapReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+
+import static org.springframework.security.config.Customizer.withDefaults;
+
+/**
+ * Configuração de segurança da variante reativa, com as mesmas regras e usuários do
+ * {@code SecurityConfig} da aplicação principal. Além do formulário de login (sessão),
+ * aceita HTTP Basic para clientes de API. O cadastro público passa antes pelo
+ * {@link RegistrationAdmissionWebFilter}.
+ */
+@Configuration
+@EnableWebFluxSecurity
+public class ReactiveSecurityConfig {
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+        http
+                .authorizeExchange(exchanges ->
+                        exchanges
+                                .pathMatchers("/admin/**").hasRole("ADMIN") // URLs /admin/** exigem role ADMIN
+                                .pathMatchers("/actuator/health").permitAll() // Health check do balanceador
+                                .pathMatchers("/actuator/**").hasRole("ADMIN") // Métricas só para administradores
+                                .anyExchange().permitAll() // Cadastro (/drivers/add, limitado pelo RegistrationAdmissionWebFilter) e demais URLs sem autenticação
+                )
+                .formLogin(withDefaults())
+                .httpBasic(withDefaults())
+                // CSRF desabilitado, como na aplicação principal.
+                .csrf(ServerHttpSecurity.CsrfSpec::disable);
+        return http.build();
+    }
+
+    /**
+     * Controle de admissão de POST /drivers/add, registrado antes da cadeia do Spring Security para que
+     * cadastros acima do limite sejam recusados com o menor custo possível.
+     *
+     * @param properties    Limites do cadastro.
+     * @param meterRegistry Registro das métricas de recusas.
+     * @return O filtro.
+     */
+    @Bean
+    public RegistrationAdmissionWebFilter registrationAdmissionWebFilter(RegistrationLimitProperties properties,
+                                                                         MeterRegistry meterRegistry) {
+        return new RegistrationAdmissionWebFilter(properties, meterRegistry);
+    }
+
+    /**
+     * Usuários em memória, os mesmos da aplicação principal.
+     *
+     * @param passwordEncoder Codificador das senhas.
+     * @return O serviço de usuários.
+     */
+    @Bean
+    public MapReactiveUserDetailsService userDetailsService(PasswordEncoder passwordEncoder) {
+        UserDetails adminUser = User.builder()
+                .username("admin")
+                .password(passwordEncoder.encode("password"))
+                .roles("ADMIN")
+                .build();
+        UserDetails regularUser = User.builder()
+                .username("user")
+                .password(passwordEncoder.encode("user"))
+                .roles("USER")
+                .build();
+        return new MapReactiveUserDetailsService(adminUser, regularUser);
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        return new BCryptPasswordEncoder();
+    }
+}
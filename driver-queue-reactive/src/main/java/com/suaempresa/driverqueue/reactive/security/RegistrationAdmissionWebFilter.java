@@ -0,0 +1,127 @@
+package com.suaempresa.driverqueue.reactive.security;
+
+import com.suaempresa.driverqueue.reactive.config.RegistrationLimitProperties;
+import com.suaempresa.driverqueue.security.TokenBucketRateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Controle de admissão do cadastro de motoristas (POST /drivers/add) da variante reativa, com as mesmas
+ * regras, respostas e métricas do {@code RegistrationAdmissionFilter} da aplicação principal.
+ * <p>
+ * Roda antes do Spring Security, da validação do formulário e de qualquer acesso ao banco, e responde
+ * 429 (com Retry-After) quando o cliente (IP) passou do seu limite de cadastros
+ * ({@link TokenBucketRateLimiter}) ou quando a instância já está processando
+ * {@code queue.registration.max-concurrent} cadastros. Aqui nenhuma thread fica presa por cadastro,
+ * mas cada um ainda ocupa uma conexão do pool R2DBC até o commit; o limite mantém um pico de cadastros
+ * longe do pool usado pelas telas de admin.
+ * <p>
+ * Métricas: {@code queue.registration.rejected} (tag "reason": rate_limit/concurrency) e
+ * {@code queue.registration.in_flight} (cadastros em andamento).
+ */
+public class RegistrationAdmissionWebFilter implements WebFilter, Ordered {
+
+    private static final Logger log = LoggerFactory.getLogger(RegistrationAdmissionWebFilter.class);
+
+    /** Antes da cadeia de filtros do Spring Security (WebFilterChainProxy, ordem -100). */
+    static final int ORDER = -101;
+
+    static final String PATH = "/drivers/add";
+
+    private static final String RATE_LIMITED_MESSAGE = "Muitos cadastros deste dispositivo. Aguarde alguns segundos e tente novamente.";
+    private static final String BUSY_MESSAGE = "O sistema está ocupado. Tente novamente em instantes.";
+
+    private final TokenBucketRateLimiter rateLimiter;
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final Counter rateLimitedRejections;
+    private final Counter concurrencyRejections;
+
+    public RegistrationAdmissionWebFilter(RegistrationLimitProperties properties, MeterRegistry meterRegistry) {
+        this.rateLimiter = new TokenBucketRateLimiter(properties.getRateLimitCapacity(),
+                properties.getRateLimitRefill(), properties.getRateLimitMaxClients());
+        this.maxConcurrent = properties.getMaxConcurrent();
+        this.permits = new Semaphore(maxConcurrent);
+        this.rateLimitedRejections = rejectionCounter(meterRegistry, "rate_limit");
+        this.concurrencyRejections = rejectionCounter(meterRegistry, "concurrency");
+        Gauge.builder("queue.registration.in_flight", permits, p -> maxConcurrent - p.availablePermits())
+                .description("Cadastros de motoristas em processamento")
+                .register(meterRegistry);
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("queue.registration.rejected")
+                .description("Cadastros de motoristas recusados com 429, por motivo")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (request.getMethod() != HttpMethod.POST || !PATH.equals(request.getPath().pathWithinApplication().value())) {
+            return chain.filter(exchange);
+        }
+        return Mono.defer(() -> admit(exchange, chain));
+    }
+
+    private Mono<Void> admit(ServerWebExchange exchange, WebFilterChain chain) {
+        String clientKey = clientKey(exchange.getRequest());
+        long waitNanos = rateLimiter.tryAcquire(clientKey);
+        if (waitNanos > 0) {
+            rateLimitedRejections.increment();
+            log.debug("POST {} : Limite de cadastros atingido para {}.", PATH, clientKey);
+            // Arredonda para cima: um Retry-After menor que a espera real só gera outra recusa
+            return reject(exchange.getResponse(), TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1),
+                    RATE_LIMITED_MESSAGE);
+        }
+        if (!permits.tryAcquire()) {
+            concurrencyRejections.increment();
+            log.warn("POST {} : {} cadastros já em andamento; requisição de {} recusada.", PATH, maxConcurrent, clientKey);
+            return reject(exchange.getResponse(), 1, BUSY_MESSAGE);
+        }
+        // Libera a vaga ao concluir, falhar ou quando o cliente desconecta
+        return chain.filter(exchange).doFinally(signal -> permits.release());
+    }
+
+    private static String clientKey(ServerHttpRequest request) {
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        if (remoteAddress == null) {
+            return "desconhecido";
+        }
+        return remoteAddress.getAddress() != null ? remoteAddress.getAddress().getHostAddress() : remoteAddress.getHostString();
+    }
+
+    private static Mono<Void> reject(ServerHttpResponse response, long retryAfterSeconds, String message) {
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.getHeaders().setContentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8));
+        DataBuffer body = response.bufferFactory().wrap(message.getBytes(StandardCharsets.UTF_8));
+        return response.writeWith(Mono.just(body));
+    }
+}
@@ -0,0 +1,120 @@
+package com.suaempresa.driverqueue.reactive.service;
+
+import com.suaempresa.driverqueue.event.DriverQueueEvent;
+import com.suaempresa.driverqueue.model.Driver;
+import com.suaempresa.driverqueue.reactive.repository.ReactiveDriverRepository;
+import com.suaempresa.driverqueue.service.PhoneNumbers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+
+/**
+ * Operações de fila da variante reativa, com as mesmas regras do {@code DriverService} da
+ * aplicação principal: validação do cadastro, telefone normalizado pelo {@link PhoneNumbers}, ordem
+ * FIFO dos WAITING e transições condicionais pela versão do motorista.
+ * <p>
+ * Cada transição é gravada no journal e transmitida às demais instâncias pelo
+ * {@link ReactiveQueueEventPublisher}. O SMS de chamada é enviado pela aplicação principal, a partir do
+ * pedido que o publisher grava na transação da chamada (tabela call_sms_outbox).
+ */
+@Service
+public class ReactiveDriverService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveDriverService.class);
+
+    /** Tentativas de uma transição quando outra operação altera o motorista ao mesmo tempo. */
+    static final int MAX_TRANSITION_ATTEMPTS = 3;
+
+    private final ReactiveDriverRepository driverRepository;
+    private final ReactiveQueueEventPublisher eventPublisher;
+    private final Clock clock;
+
+    public ReactiveDriverService(ReactiveDriverRepository driverRepository, ReactiveQueueEventPublisher eventPublisher, Clock clock) {
+        this.driverRepository = driverRepository;
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
+    }
+
+    /**
+     * Adiciona um motorista à fila de espera.
+     *
+     * @param plate Placa do veículo.
+     * @param name Nome do motorista.
+     * @param phoneNumberInput Número de telefone como digitado (com ou sem +55, DDD obrigatório).
+     * @return O motorista gravado; erro {@link IllegalArgumentException} se os dados são inválidos.
+     */
+    @Transactional
+    public Mono<Driver> addDriver(String plate, String name, String phoneNumberInput) {
+        return Mono.fromCallable(() -> newWaitingDriver(plate, name, phoneNumberInput))
+                .flatMap(driverRepository::insert)
+                .flatMap(saved -> eventPublisher.publish(DriverQueueEvent.Type.ADDED, saved).thenReturn(saved))
+                .doOnNext(saved -> log.info("addDriver: Motorista adicionado com sucesso: ID={}, Placa={}.",
+                        saved.getId(), saved.getPlate()));
+    }
+
+    /** @return Os motoristas WAITING, na ordem da fila. */
+    @Transactional(readOnly = true)
+    public Flux<Driver> getAdminQueueView() {
+        return driverRepository.findByStatusOrderByEntryTimeAsc(Driver.DriverStatus.WAITING);
+    }
+
+    /** @return Os motoristas CALLED, do chamado mais recentemente para o mais antigo. */
+    @Transactional(readOnly = true)
+    public Flux<Driver> getCalledDriversView() {
+        return driverRepository.findByStatusOrderByCalledTimeDesc(Driver.DriverStatus.CALLED);
+    }
+
+    /**
+     * Chama o próximo motorista da fila de espera. Se o primeiro da fila for chamado por outra
+     * operação ao mesmo tempo, tenta o seguinte. O SMS de chamada é pedido na mesma transação.
+     *
+     * @return O motorista chamado, ou vazio se não há ninguém aguardando;
+     *         erro {@link OptimisticLockingFailureException} se a fila mudou a cada tentativa.
+     */
+    @Transactional
+    public Mono<Driver> callNextDriver() {
+        return callNextDriver(1);
+    }
+
+    private Mono<Driver> callNextDriver(int attempt) {
+        if (attempt > MAX_TRANSITION_ATTEMPTS) {
+            log.warn("callNextDriver: Conflito persistente após {} tentativas.", MAX_TRANSITION_ATTEMPTS);
+            return Mono.error(new OptimisticLockingFailureException("A fila foi alterada por outro usuário. Tente chamar novamente."));
+        }
+        return driverRepository.findFirstByStatusOrderByEntryTimeAsc(Driver.DriverStatus.WAITING)
+                .flatMap(next -> driverRepository.updateStatusIfUnchanged(next.getId(), next.getStatus(), next.getVersion(),
+                                Driver.DriverStatus.CALLED, 1, LocalDateTime.now(clock))
+                        .flatMap(called -> eventPublisher.publish(DriverQueueEvent.Type.CALLED, called).thenReturn(called))
+                        .doOnNext(called -> log.info("callNextDriver: Motorista ID {} ({}) chamado. Status: CALLED.",
+                                called.getId(), called.getName()))
+                        .switchIfEmpty(Mono.defer(() -> {
+                            log.info("callNextDriver: Motorista ID {} foi chamado por outra operação. Buscando o próximo ({}/{}).",
+                                    next.getId(), attempt, MAX_TRANSITION_ATTEMPTS);
+                            return callNextDriver(attempt + 1);
+                        })));
+    }
+
+    private Driver newWaitingDriver(String plate, String name, String phoneNumberInput) {
+        if (plate == null || plate.trim().isEmpty()) {
+            throw new IllegalArgumentException("Placa do veículo é obrigatória.");
+        }
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Nome do motorista é obrigatório.");
+        }
+        Driver driver = new Driver();
+        driver.setPlate(plate.toUpperCase().trim());
+        driver.setName(name.trim());
+        driver.setPhoneNumber(PhoneNumbers.requireE164(phoneNumberInput));
+        driver.setEntryTime(LocalDateTime.now(clock));
+        driver.setStatus(Driver.DriverStatus.WAITING);
+        driver.setCallAttempts(0);
+        return driver;
+    }
+}
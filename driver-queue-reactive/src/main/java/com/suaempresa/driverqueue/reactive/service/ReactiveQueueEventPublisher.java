@@ -0,0 +1,106 @@
+package com.suaempresa.driverqueue.reactive.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.suaempresa.driverqueue.event.DriverQueueEvent;
+import com.suaempresa.driverqueue.model.Driver;
+import com.suaempresa.driverqueue.reactive.config.ClusterProperties;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+
+/**
+ * Registra as transições feitas por esta variante da mesma forma que a aplicação principal:
+ * uma linha no journal ("queue_event") e um {@code pg_notify} no canal do cluster, no formato
+ * do {@code ClusterEventBus}. Assim as instâncias da aplicação principal (com
+ * {@code queue.cluster.enabled=true}) atualizam suas visões em memória e avisam os admins
+ * conectados a elas, e o {@link ReactiveQueueUpdates} desta instância avisa os seus.
+ * <p>
+ * Ao contrário da aplicação principal, que grava o journal em lote após o commit, aqui os comandos
+ * rodam na própria transação da operação: o NOTIFY só é entregue se ela for confirmada.
+ * <p>
+ * Esta variante não envia SMS. Nas chamadas (CALLED e RECALLED) grava também, na mesma transação, um
+ * pedido na tabela "call_sms_outbox", que o job {@code CallSmsOutboxJob} da aplicação principal envia
+ * pelo mesmo caminho das chamadas feitas lá.
+ */
+@Service
+public class ReactiveQueueEventPublisher {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO queue_event (driver_id, event_type, status, call_attempts, plate, name, phone_number, " +
+            "entry_time, called_time, occurred_at) VALUES (:driverId, :eventType, :status, :callAttempts, :plate, :name, " +
+            ":phoneNumber, :entryTime, :calledTime, :occurredAt)";
+
+    private static final String INSERT_OUTBOX_SQL =
+            "INSERT INTO call_sms_outbox (driver_id, event_type, call_attempts) VALUES (:driverId, :eventType, :callAttempts)";
+
+    /** Envelope serializado no payload do NOTIFY, igual ao da aplicação principal (sem evento: pedido de ressincronização). */
+    record ClusterMessage(String node, DriverQueueEvent event) {
+    }
+
+    private final DatabaseClient databaseClient;
+    private final ObjectMapper objectMapper;
+    private final ClusterProperties properties;
+    private final Clock clock;
+
+    public ReactiveQueueEventPublisher(DatabaseClient databaseClient, ObjectMapper objectMapper, ClusterProperties properties,
+                                       Clock clock) {
+        this.databaseClient = databaseClient;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    /**
+     * Grava e transmite uma transição. Deve ser encadeado na transação da operação.
+     *
+     * @param type   Tipo da transição.
+     * @param driver Motorista já com o novo estado aplicado.
+     * @return Conclui após o INSERT no journal, o pedido de SMS (chamadas) e o NOTIFY.
+     */
+    public Mono<Void> publish(DriverQueueEvent.Type type, Driver driver) {
+        DriverQueueEvent event = DriverQueueEvent.of(type, driver, LocalDateTime.now(clock));
+        return insertJournal(event).then(enqueueCallSms(event)).then(notifyCluster(event));
+    }
+
+    private Mono<Void> enqueueCallSms(DriverQueueEvent event) {
+        if (event.type() != DriverQueueEvent.Type.CALLED && event.type() != DriverQueueEvent.Type.RECALLED) {
+            return Mono.empty();
+        }
+        return databaseClient.sql(INSERT_OUTBOX_SQL)
+                .bind("driverId", event.driverId())
+                .bind("eventType", event.type().name())
+                .bind("callAttempts", event.callAttempts())
+                .then();
+    }
+
+    private Mono<Void> insertJournal(DriverQueueEvent event) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(INSERT_SQL)
+                .bind("driverId", event.driverId())
+                .bind("eventType", event.type().name())
+                .bind("status", event.status().name())
+                .bind("callAttempts", event.callAttempts())
+                .bind("plate", event.plate())
+                .bind("name", event.name())
+                .bind("phoneNumber", event.phoneNumber())
+                .bind("entryTime", event.entryTime())
+                .bind("occurredAt", event.occurredAt());
+        spec = event.calledTime() != null ? spec.bind("calledTime", event.calledTime()) : spec.bindNull("calledTime", LocalDateTime.class);
+        return spec.then();
+    }
+
+    private Mono<Void> notifyCluster(DriverQueueEvent event) {
+        return Mono.fromCallable(() -> toPayload(event))
+                .flatMap(payload -> databaseClient.sql("SELECT pg_notify(:channel, :payload)")
+                        .bind("channel", properties.getChannel())
+                        .bind("payload", payload)
+                        .then());
+    }
+
+    private String toPayload(DriverQueueEvent event) throws JsonProcessingException {
+        return objectMapper.writeValueAsString(new ClusterMessage(properties.getNodeId(), event));
+    }
+}
@@ -0,0 +1,147 @@
+package com.suaempresa.driverqueue.reactive.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.suaempresa.driverqueue.reactive.config.ClusterProperties;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.postgresql.api.PostgresqlResult;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Avisos de mudança da fila para as conexões Server-Sent Events de admin desta instância
+ * ({@code GET /admin/queue/stream}), com os mesmos eventos do {@code QueueUpdateBroadcaster}
+ * da aplicação principal ("queue-changed" e "queue-resync").
+ * <p>
+ * Uma única conexão R2DBC dedicada (fora do pool) fica em LISTEN no canal do cluster e recebe as
+ * transições de todas as instâncias, inclusive desta; cada notificação é repassada a todos os
+ * clientes conectados sem ocupar uma thread por conexão.
+ */
+@Service
+public class ReactiveQueueUpdates {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveQueueUpdates.class);
+
+    /** Tempo máximo de uma conexão SSE; o EventSource do navegador reconecta sozinho. */
+    private static final Duration STREAM_TIMEOUT = Duration.ofMinutes(30);
+
+    private final ObjectMapper objectMapper;
+    private final ClusterProperties properties;
+    private final ConnectionFactory listenConnectionFactory;
+
+    /** Clientes que não acompanham o ritmo perdem avisos em vez de atrasar os demais. */
+    private final Sinks.Many<ServerSentEvent<Map<String, Object>>> sink = Sinks.many().multicast().directBestEffort();
+
+    private volatile Disposable listener;
+
+    public ReactiveQueueUpdates(ObjectMapper objectMapper, ClusterProperties properties, R2dbcProperties r2dbcProperties) {
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.listenConnectionFactory = ConnectionFactories.get(listenOptions(r2dbcProperties));
+    }
+
+    /**
+     * Registra uma nova conexão SSE de admin. Começa com um comentário (ignorado pelo EventSource)
+     * para que a resposta seja enviada ao cliente já na conexão, sem esperar a primeira mudança.
+     *
+     * @return Os avisos de mudança da fila, até o cliente desconectar ou o tempo máximo da conexão.
+     */
+    public Flux<ServerSentEvent<Map<String, Object>>> subscribe() {
+        ServerSentEvent<Map<String, Object>> connected = ServerSentEvent.<Map<String, Object>>builder().comment("conectado").build();
+        return sink.asFlux().take(STREAM_TIMEOUT).startWith(connected);
+    }
+
+    /** @return Número de conexões SSE abertas nesta instância. */
+    public int getSubscriberCount() {
+        return sink.currentSubscriberCount();
+    }
+
+    /** Inicia o LISTEN, reconectando após falhas. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        listener = Flux.usingWhen(listenConnectionFactory.create(), this::listen, Connection::close)
+                .retryWhen(Retry.fixedDelay(Long.MAX_VALUE, properties.getReconnectDelay())
+                        .doBeforeRetry(signal -> log.error("start: Conexão LISTEN perdida ({}). Reconectando em {}.",
+                                signal.failure().getMessage(), properties.getReconnectDelay())))
+                .subscribe(sink::tryEmitNext);
+        log.info("ReactiveQueueUpdates iniciado. Nó: {}, canal: {}.", properties.getNodeId(), properties.getChannel());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (listener != null) {
+            listener.dispose();
+        }
+        sink.tryEmitComplete();
+    }
+
+    private Flux<ServerSentEvent<Map<String, Object>>> listen(Connection connection) {
+        PostgresqlConnection pgConnection = (PostgresqlConnection) connection;
+        return pgConnection.createStatement("LISTEN " + properties.getChannel()).execute()
+                .flatMap(PostgresqlResult::getRowsUpdated)
+                .thenMany(Flux.defer(() -> {
+                    log.info("listen: LISTEN ativo no canal '{}'.", properties.getChannel());
+                    // Notificações enviadas enquanto estávamos desconectados foram perdidas
+                    ServerSentEvent<Map<String, Object>> resync = ServerSentEvent.<Map<String, Object>>builder()
+                            .event("queue-resync").data(Map.of("node", properties.getNodeId())).build();
+                    return Flux.just(resync).concatWith(pgConnection.getNotifications()
+                            .handle((notification, sink) -> {
+                                ServerSentEvent<Map<String, Object>> event = toClientEvent(notification.getParameter());
+                                if (event != null) {
+                                    sink.next(event);
+                                }
+                            }));
+                }));
+    }
+
+    /** Converte uma notificação do canal; sem evento, é um pedido de ressincronização de outra instância. */
+    private ServerSentEvent<Map<String, Object>> toClientEvent(String payload) {
+        try {
+            ReactiveQueueEventPublisher.ClusterMessage message = objectMapper.readValue(payload, ReactiveQueueEventPublisher.ClusterMessage.class);
+            if (message.event() == null) {
+                return ServerSentEvent.<Map<String, Object>>builder()
+                        .event("queue-resync").data(Map.of("node", message.node())).build();
+            }
+            log.debug("toClientEvent: Evento {} do motorista ID {} recebido do nó {}.",
+                    message.event().type(), message.event().driverId(), message.node());
+            return ServerSentEvent.<Map<String, Object>>builder()
+                    .event("queue-changed")
+                    .data(Map.of("type", message.event().type().name(),
+                            "driverId", message.event().driverId(),
+                            "status", message.event().status().name()))
+                    .build();
+        } catch (Exception e) {
+            log.error("toClientEvent: Payload de notificação inválido ignorado: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /** Mesmo banco e credenciais do pool, mas sem o pool: a conexão em LISTEN fica aberta o tempo todo. */
+    private static ConnectionFactoryOptions listenOptions(R2dbcProperties r2dbcProperties) {
+        ConnectionFactoryOptions.Builder builder = ConnectionFactoryOptions.parse(r2dbcProperties.getUrl()).mutate()
+                .option(ConnectionFactoryOptions.DRIVER, "postgresql");
+        if (r2dbcProperties.getUsername() != null) {
+            builder.option(ConnectionFactoryOptions.USER, r2dbcProperties.getUsername());
+        }
+        if (r2dbcProperties.getPassword() != null) {
+            builder.option(ConnectionFactoryOptions.PASSWORD, r2dbcProperties.getPassword());
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,204 @@
+package com.suaempresa.driverqueue.reactive.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.InputStream;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Teste de carga comparando a API de admin da aplicação principal (Spring MVC + JPA) com a
+ * variante reativa (WebFlux + R2DBC), as duas já rodando sobre o mesmo banco.
+ * <p>
+ * Para cada aplicação: faz login como admin, abre {@code connections} streams SSE
+ * ({@code GET /admin/queue/stream}) e os mantém abertos enquanto {@code pollers} clientes consultam
+ * {@code GET /admin/queue} sem pausa por {@code pollSeconds} segundos. Mede quantos streams foram
+ * aceitos, consultas por segundo e latência (p50/p99), e a memória comprometida e as threads da JVM
+ * do servidor (via {@code /actuator/metrics}) antes e durante a carga.
+ * <p>
+ * Requer a propriedade de sistema {@code benchmark=true} e as duas aplicações no ar:
+ * <pre>
+ * java -jar target/driver-queue-sms-app-0.0.1-SNAPSHOT.jar          (porta 8080)
+ * java -jar driver-queue-reactive/target/driver-queue-reactive-0.0.1-SNAPSHOT.jar (porta 8081)
+ * ./mvnw -f driver-queue-reactive/pom.xml test -Dtest=QueueApiLoadBenchmark -Dbenchmark=true \
+ *     -Dmvc.url=http://localhost:8080 -Dreactive.url=http://localhost:8081 -Dconnections=2000 -Dpollers=200
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class QueueApiLoadBenchmark {
+
+    private static final String MVC_URL = System.getProperty("mvc.url", "http://localhost:8080");
+    private static final String REACTIVE_URL = System.getProperty("reactive.url", "http://localhost:8081");
+    private static final int CONNECTIONS = Integer.getInteger("connections", 2_000);
+    private static final int POLLERS = Integer.getInteger("pollers", 200);
+    private static final int POLL_SECONDS = Integer.getInteger("pollSeconds", 20);
+    private static final Duration STREAM_OPEN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("A variante reativa deve sustentar ao menos as mesmas conexões que a versão MVC")
+    void compareConnectionCapacity() throws Exception {
+        Result mvc = runLoad("MVC + JPA", MVC_URL);
+        Result reactive = runLoad("WebFlux + R2DBC", REACTIVE_URL);
+
+        System.out.printf("%n=== QueueApiLoadBenchmark (%d streams SSE, %d clientes de polling por %d s) ===%n",
+                CONNECTIONS, POLLERS, POLL_SECONDS);
+        System.out.printf("%-16s | %8s | %11s | %6s | %8s | %8s | %15s | %11s%n",
+                "", "streams", "consultas/s", "erros", "p50 (ms)", "p99 (ms)", "memória (MiB)", "threads");
+        for (Result result : List.of(mvc, reactive)) {
+            System.out.printf("%-16s | %8d | %11.0f | %6d | %8d | %8d | %6.0f -> %6.0f | %4.0f -> %4.0f%n",
+                    result.name(), result.streamsOpened(), result.pollsPerSecond(), result.pollErrors(),
+                    result.p50Millis(), result.p99Millis(), result.memoryBeforeMiB(), result.memoryUnderLoadMiB(),
+                    result.threadsBefore(), result.threadsUnderLoad());
+        }
+
+        assertThat(reactive.streamsOpened()).isGreaterThanOrEqualTo(mvc.streamsOpened());
+    }
+
+    private Result runLoad(String name, String baseUrl) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .cookieHandler(new CookieManager())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        login(client, baseUrl);
+        double memoryBefore = metric(client, baseUrl, "jvm.memory.committed");
+        double threadsBefore = metric(client, baseUrl, "jvm.threads.live");
+
+        List<InputStream> streams = openStreams(client, baseUrl);
+        try {
+            PollResult polls = poll(client, baseUrl);
+            double memoryUnderLoad = metric(client, baseUrl, "jvm.memory.committed");
+            double threadsUnderLoad = metric(client, baseUrl, "jvm.threads.live");
+            return new Result(name, streams.size(), polls.count() / (double) POLL_SECONDS, polls.errors(),
+                    polls.percentile(0.50), polls.percentile(0.99),
+                    memoryBefore / (1024 * 1024), memoryUnderLoad / (1024 * 1024), threadsBefore, threadsUnderLoad);
+        } finally {
+            for (InputStream stream : streams) {
+                try {
+                    stream.close();
+                } catch (Exception ignored) {
+                    // Conexão já encerrada pelo servidor
+                }
+            }
+        }
+    }
+
+    /** Login pelo formulário padrão do Spring Security (as duas aplicações o aceitam); a sessão fica no cookie. */
+    private void login(HttpClient client, String baseUrl) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/login"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString("username=admin&password=password"))
+                .build();
+        client.send(request, HttpResponse.BodyHandlers.discarding());
+        HttpResponse<Void> check = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/admin/queue")).build(),
+                HttpResponse.BodyHandlers.discarding());
+        assertThat(check.statusCode()).as("login em %s", baseUrl).isEqualTo(200);
+    }
+
+    /** Abre os streams em paralelo; conta os que responderam 200 dentro do prazo. */
+    private List<InputStream> openStreams(HttpClient client, String baseUrl) {
+        URI uri = URI.create(baseUrl + "/admin/queue/stream");
+        List<CompletableFuture<HttpResponse<InputStream>>> pending = new ArrayList<>();
+        for (int i = 0; i < CONNECTIONS; i++) {
+            HttpRequest request = HttpRequest.newBuilder(uri).header("Accept", "text/event-stream").build();
+            pending.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream()));
+        }
+        List<InputStream> opened = new ArrayList<>();
+        long deadline = System.nanoTime() + STREAM_OPEN_TIMEOUT.toNanos();
+        for (CompletableFuture<HttpResponse<InputStream>> future : pending) {
+            try {
+                HttpResponse<InputStream> response = future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (response.statusCode() == 200) {
+                    opened.add(response.body());
+                } else {
+                    response.body().close();
+                }
+            } catch (Exception e) {
+                future.cancel(true);
+            }
+        }
+        return opened;
+    }
+
+    private PollResult poll(HttpClient client, String baseUrl) throws InterruptedException {
+        URI uri = URI.create(baseUrl + "/admin/queue");
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        AtomicInteger errors = new AtomicInteger();
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(POLL_SECONDS);
+        ExecutorService pollers = Executors.newFixedThreadPool(POLLERS);
+        for (int i = 0; i < POLLERS; i++) {
+            pollers.execute(() -> {
+                HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).build();
+                while (System.nanoTime() < end) {
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() == 200) {
+                            latencies.add(System.nanoTime() - start);
+                        } else {
+                            errors.incrementAndGet();
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                }
+            });
+        }
+        pollers.shutdown();
+        pollers.awaitTermination(POLL_SECONDS + 60L, TimeUnit.SECONDS);
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        return new PollResult(sorted, errors.get());
+    }
+
+    /** Valor de uma métrica do Actuator, somando as medições de todas as áreas/pools. */
+    private double metric(HttpClient client, String baseUrl, String name) throws Exception {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/metrics/" + name)).build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            return Double.NaN;
+        }
+        JsonNode measurements = objectMapper.readTree(response.body()).path("measurements");
+        return measurements.isEmpty() ? Double.NaN : measurements.get(0).path("value").asDouble();
+    }
+
+    private record PollResult(long[] sortedLatenciesNanos, int errors) {
+        int count() {
+            return sortedLatenciesNanos.length;
+        }
+
+        long percentile(double p) {
+            if (sortedLatenciesNanos.length == 0) {
+                return -1;
+            }
+            int index = (int) Math.min(sortedLatenciesNanos.length - 1, Math.ceil(p * sortedLatenciesNanos.length) - 1);
+            return TimeUnit.NANOSECONDS.toMillis(sortedLatenciesNanos[Math.max(0, index)]);
+        }
+    }
+
+    private record Result(String name, int streamsOpened, double pollsPerSecond, int pollErrors, long p50Millis, long p99Millis,
+                          double memoryBeforeMiB, double memoryUnderLoadMiB, double threadsBefore, double threadsUnderLoad) {
+    }
+}
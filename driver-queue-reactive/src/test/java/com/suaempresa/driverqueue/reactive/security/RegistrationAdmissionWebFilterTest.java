@@ -0,0 +1,121 @@
+package com.suaempresa.driverqueue.reactive.security;
+
+import com.suaempresa.driverqueue.reactive.config.RegistrationLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RegistrationAdmissionWebFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger chainCalls = new AtomicInteger();
+    private final WebFilterChain okChain = exchange -> {
+        chainCalls.incrementAndGet();
+        return Mono.empty();
+    };
+
+    private RegistrationAdmissionWebFilter filter(int capacity, int maxConcurrent) {
+        RegistrationLimitProperties properties = new RegistrationLimitProperties();
+        properties.setRateLimitCapacity(capacity);
+        properties.setRateLimitRefill(Duration.ofMinutes(1));
+        properties.setMaxConcurrent(maxConcurrent);
+        return new RegistrationAdmissionWebFilter(properties, meterRegistry);
+    }
+
+    private static MockServerWebExchange registration(String remoteAddr) {
+        return MockServerWebExchange.from(MockServerHttpRequest.post("/drivers/add")
+                .remoteAddress(new InetSocketAddress(remoteAddr, 40000)));
+    }
+
+    private double rejected(String reason) {
+        return meterRegistry.get("queue.registration.rejected").tag("reason", reason).counter().count();
+    }
+
+    @Test
+    @DisplayName("Acima do limite do cliente deve responder 429 sem chamar o controller, sem afetar outros clientes")
+    void shouldRejectClientAboveRateLimit() {
+        RegistrationAdmissionWebFilter filter = filter(2, 8);
+
+        for (int i = 0; i < 2; i++) {
+            StepVerifier.create(filter.filter(registration("10.0.0.1"), okChain)).verifyComplete();
+        }
+        MockServerWebExchange rejected = registration("10.0.0.1");
+        StepVerifier.create(filter.filter(rejected, okChain)).verifyComplete();
+        MockServerWebExchange otherClient = registration("10.0.0.2");
+        StepVerifier.create(filter.filter(otherClient, okChain)).verifyComplete();
+
+        assertThat(rejected.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(rejected.getResponse().getHeaders().getFirst("Retry-After")).isEqualTo("60");
+        StepVerifier.create(rejected.getResponse().getBodyAsString())
+                .expectNext("Muitos cadastros deste dispositivo. Aguarde alguns segundos e tente novamente.")
+                .verifyComplete();
+        assertThat(otherClient.getResponse().getStatusCode()).isNull();
+        assertThat(chainCalls).hasValue(3);
+        assertThat(rejected("rate_limit")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Com o limite de cadastros simultâneos atingido deve responder 429 na hora e liberar a vaga ao concluir")
+    void shouldRejectAboveConcurrencyLimit() {
+        RegistrationAdmissionWebFilter filter = filter(100, 1);
+        Sinks.Empty<Void> slowRegistration = Sinks.empty();
+
+        Disposable first = filter.filter(registration("10.0.0.1"), exchange -> slowRegistration.asMono()).subscribe();
+        assertThat(meterRegistry.get("queue.registration.in_flight").gauge().value()).isEqualTo(1.0);
+
+        MockServerWebExchange busy = registration("10.0.0.2");
+        StepVerifier.create(filter.filter(busy, okChain)).verifyComplete();
+        slowRegistration.tryEmitEmpty();
+
+        assertThat(first.isDisposed()).isTrue();
+        assertThat(busy.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(rejected("concurrency")).isEqualTo(1.0);
+        MockServerWebExchange afterRelease = registration("10.0.0.2");
+        StepVerifier.create(filter.filter(afterRelease, okChain)).verifyComplete();
+        assertThat(afterRelease.getResponse().getStatusCode()).isNull();
+        assertThat(meterRegistry.get("queue.registration.in_flight").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Cliente que desconecta no meio do cadastro deve liberar a vaga")
+    void cancelledRegistration_shouldReleasePermit() {
+        RegistrationAdmissionWebFilter filter = filter(100, 1);
+
+        Disposable abandoned = filter.filter(registration("10.0.0.1"), exchange -> Mono.never()).subscribe();
+        abandoned.dispose();
+
+        MockServerWebExchange next = registration("10.0.0.2");
+        StepVerifier.create(filter.filter(next, okChain)).verifyComplete();
+        assertThat(next.getResponse().getStatusCode()).isNull();
+    }
+
+    @Test
+    @DisplayName("Requisições GET e outras rotas não devem consumir o limite")
+    void shouldIgnoreOtherRequests() {
+        RegistrationAdmissionWebFilter filter = filter(1, 1);
+
+        for (int i = 0; i < 3; i++) {
+            StepVerifier.create(filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/drivers/add")), okChain))
+                    .verifyComplete();
+            StepVerifier.create(filter.filter(MockServerWebExchange.from(MockServerHttpRequest.post("/admin/call-next")), okChain))
+                    .verifyComplete();
+        }
+
+        assertThat(chainCalls).hasValue(6);
+        assertThat(rejected("rate_limit")).isZero();
+    }
+}
@@ -0,0 +1,129 @@
+package com.suaempresa.driverqueue.reactive.service;
+
+import com.suaempresa.driverqueue.event.DriverQueueEvent;
+import com.suaempresa.driverqueue.model.Driver;
+import com.suaempresa.driverqueue.reactive.repository.ReactiveDriverRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveDriverServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 1, 8, 0);
+
+    @Mock
+    private ReactiveDriverRepository driverRepository;
+    @Mock
+    private ReactiveQueueEventPublisher eventPublisher;
+
+    private ReactiveDriverService service;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        service = new ReactiveDriverService(driverRepository, eventPublisher, clock);
+    }
+
+    @Test
+    @DisplayName("Cadastro deve normalizar placa e telefone, gravar como WAITING e publicar ADDED")
+    void addDriver_shouldNormalizeSaveAndPublish() {
+        when(driverRepository.insert(any(Driver.class))).thenAnswer(invocation -> {
+            Driver driver = invocation.getArgument(0);
+            driver.setId(1L);
+            return Mono.just(driver);
+        });
+        when(eventPublisher.publish(eq(DriverQueueEvent.Type.ADDED), any(Driver.class))).thenReturn(Mono.empty());
+
+        StepVerifier.create(service.addDriver(" abc1d23 ", " Fulano ", "(11) 91234-5678"))
+                .assertNext(saved -> {
+                    assertThat(saved.getPlate()).isEqualTo("ABC1D23");
+                    assertThat(saved.getName()).isEqualTo("Fulano");
+                    assertThat(saved.getPhoneNumber()).isEqualTo("+5511912345678");
+                    assertThat(saved.getStatus()).isEqualTo(Driver.DriverStatus.WAITING);
+                    assertThat(saved.getEntryTime()).isEqualTo(NOW);
+                })
+                .verifyComplete();
+        verify(eventPublisher).publish(eq(DriverQueueEvent.Type.ADDED), any(Driver.class));
+    }
+
+    @Test
+    @DisplayName("Cadastro com telefone inválido deve falhar sem acessar o banco")
+    void addDriver_withInvalidPhone_shouldFail() {
+        StepVerifier.create(service.addDriver("ABC1D23", "Fulano", "12345"))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        verifyNoInteractions(driverRepository, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Chamar próximo deve tentar o seguinte quando o primeiro foi chamado por outra operação")
+    void callNextDriver_whenFirstIsTaken_shouldCallNext() {
+        Driver first = waiting(1L);
+        Driver second = waiting(2L);
+        Driver secondCalled = waiting(2L);
+        secondCalled.setStatus(Driver.DriverStatus.CALLED);
+        secondCalled.setCallAttempts(1);
+        secondCalled.setCalledTime(NOW);
+        when(driverRepository.findFirstByStatusOrderByEntryTimeAsc(Driver.DriverStatus.WAITING))
+                .thenReturn(Mono.just(first), Mono.just(second));
+        when(driverRepository.updateStatusIfUnchanged(eq(1L), any(), anyLong(), any(), anyInt(), any())).thenReturn(Mono.empty());
+        when(driverRepository.updateStatusIfUnchanged(eq(2L), eq(Driver.DriverStatus.WAITING), eq(0L),
+                eq(Driver.DriverStatus.CALLED), eq(1), eq(NOW))).thenReturn(Mono.just(secondCalled));
+        when(eventPublisher.publish(DriverQueueEvent.Type.CALLED, secondCalled)).thenReturn(Mono.empty());
+
+        StepVerifier.create(service.callNextDriver())
+                .expectNext(secondCalled)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Chamar próximo com fila vazia deve completar vazio; conflito persistente deve falhar")
+    void callNextDriver_emptyQueueAndPersistentConflict() {
+        when(driverRepository.findFirstByStatusOrderByEntryTimeAsc(Driver.DriverStatus.WAITING)).thenReturn(Mono.empty());
+        StepVerifier.create(service.callNextDriver()).verifyComplete();
+
+        when(driverRepository.findFirstByStatusOrderByEntryTimeAsc(Driver.DriverStatus.WAITING))
+                .thenAnswer(invocation -> Mono.just(waiting(1L)));
+        when(driverRepository.updateStatusIfUnchanged(eq(1L), any(), anyLong(), any(), anyInt(), any())).thenReturn(Mono.empty());
+        StepVerifier.create(service.callNextDriver())
+                .expectError(OptimisticLockingFailureException.class)
+                .verify();
+
+        verify(driverRepository, times(ReactiveDriverService.MAX_TRANSITION_ATTEMPTS))
+                .updateStatusIfUnchanged(eq(1L), any(), anyLong(), any(), anyInt(), any());
+        verify(eventPublisher, never()).publish(any(), any());
+    }
+
+    private static Driver waiting(Long id) {
+        Driver driver = new Driver();
+        driver.setId(id);
+        driver.setPlate("ABC1D2" + id);
+        driver.setName("Motorista " + id);
+        driver.setPhoneNumber("+551191234567" + id);
+        driver.setEntryTime(NOW.minusMinutes(10 - id));
+        driver.setStatus(Driver.DriverStatus.WAITING);
+        return driver;
+    }
+}
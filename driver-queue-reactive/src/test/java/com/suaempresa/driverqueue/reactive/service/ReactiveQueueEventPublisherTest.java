@@ -0,0 +1,81 @@
+package com.suaempresa.driverqueue.reactive.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.suaempresa.driverqueue.event.DriverQueueEvent;
+import com.suaempresa.driverqueue.model.Driver;
+import com.suaempresa.driverqueue.reactive.config.ClusterProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReactiveQueueEventPublisherTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 1, 8, 0);
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final DatabaseClient databaseClient = mock(DatabaseClient.class);
+    private final DatabaseClient.GenericExecuteSpec spec = mock(DatabaseClient.GenericExecuteSpec.class, RETURNS_SELF);
+    private final List<String> statements = new ArrayList<>();
+    private final ReactiveQueueEventPublisher publisher =
+            new ReactiveQueueEventPublisher(databaseClient, objectMapper, new ClusterProperties(), Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+
+    ReactiveQueueEventPublisherTest() {
+        when(databaseClient.sql(anyString())).thenAnswer(invocation -> {
+            statements.add(invocation.getArgument(0));
+            return spec;
+        });
+        when(spec.then()).thenReturn(Mono.empty());
+    }
+
+    @Test
+    @DisplayName("A chamada deve gravar o journal, o pedido de SMS e o NOTIFY, nessa ordem")
+    void publish_called_shouldEnqueueCallSms() {
+        StepVerifier.create(publisher.publish(DriverQueueEvent.Type.CALLED, driver(Driver.DriverStatus.CALLED, 1))).verifyComplete();
+
+        assertThat(statements).hasSize(3);
+        assertThat(statements.get(0)).startsWith("INSERT INTO queue_event");
+        assertThat(statements.get(1)).startsWith("INSERT INTO call_sms_outbox");
+        assertThat(statements.get(2)).startsWith("SELECT pg_notify");
+        // Journal e pedido de SMS
+        verify(spec, times(2)).bind("eventType", "CALLED");
+        verify(spec, times(2)).bind("callAttempts", 1);
+    }
+
+    @Test
+    @DisplayName("O cadastro não deve pedir SMS")
+    void publish_added_shouldNotEnqueueCallSms() {
+        StepVerifier.create(publisher.publish(DriverQueueEvent.Type.ADDED, driver(Driver.DriverStatus.WAITING, 0))).verifyComplete();
+
+        assertThat(statements).hasSize(2).noneMatch(sql -> sql.contains("call_sms_outbox"));
+    }
+
+    private static Driver driver(Driver.DriverStatus status, int callAttempts) {
+        Driver driver = new Driver();
+        driver.setId(7L);
+        driver.setPlate("ABC1D23");
+        driver.setName("Motorista");
+        driver.setPhoneNumber("+5511912345678");
+        driver.setEntryTime(NOW.minusMinutes(10));
+        driver.setCalledTime(callAttempts > 0 ? NOW : null);
+        driver.setStatus(status);
+        driver.setCallAttempts(callAttempts);
+        return driver;
+    }
+}
@@ -0,0 +1,27 @@
+#!/bin/sh
+# Execução de treino do CDS: sobe o contexto Spring até o refresh e encerra
+# (-Dspring.context.exit=onRefresh), gravando as classes carregadas em app.jsa.
+# Não precisa de banco nem de credenciais reais: o Flyway e a validação do schema
+# ficam desligados só nesta execução e o Hibernate não consulta metadados do JDBC.
+#
+# O treino roda sem -Dspring.aot.enabled: no modo AOT o bean do Flyway já vem
+# decidido do build e tentaria conectar. O arquivo continua válido para a execução
+# com AOT (mesmo classpath); só as classes geradas pelo AOT ficam de fora.
+#
+# Uso: scripts/cds-train.sh /app   (diretório gerado por extract-app.sh)
+set -eu
+
+cd "$1"
+java -XX:ArchiveClassesAtExit=app.jsa \
+  -Xlog:cds=off \
+  -Dspring.context.exit=onRefresh \
+  -Dspring.profiles.active=prod \
+  -DDATABASE_URL=jdbc:postgresql://localhost:5432/cds-training \
+  -DTWILIO_ACCOUNT_SID=AC00000000000000000000000000000000 \
+  -DTWILIO_AUTH_TOKEN=cds-training \
+  -DTWILIO_PHONE_NUMBER=+10000000000 \
+  -Dspring.flyway.enabled=false \
+  -Dspring.jpa.hibernate.ddl-auto=none \
+  -Dspring.jpa.properties.hibernate.temp.use_jdbc_metadata_defaults=false \
+  -jar application.jar
+test -s app.jsa
@@ -0,0 +1,27 @@
+#!/bin/sh
+# Extrai o fat jar do Spring Boot em um layout que o CDS consegue arquivar:
+#   <destino>/application.jar  (classes da aplicação, Main-Class e Class-Path no manifesto)
+#   <destino>/lib/*.jar        (dependências)
+# O CDS não arquiva classes carregadas de jars aninhados nem de diretórios.
+#
+# Uso: scripts/extract-app.sh target/driver-queue-sms-app-0.0.1-SNAPSHOT.jar /app
+set -eu
+
+JAR="$(realpath "$1")"
+DEST="$2"
+WORK="$(mktemp -d)"
+
+(cd "$WORK" && jar -xf "$JAR")
+mkdir -p "$DEST/lib"
+cp "$WORK"/BOOT-INF/lib/*.jar "$DEST/lib/"
+
+MAIN_CLASS="$(sed -n 's/^Start-Class: //p' "$WORK/META-INF/MANIFEST.MF" | tr -d '\r')"
+{
+  echo "Main-Class: $MAIN_CLASS"
+  # Linhas do manifesto têm no máximo 72 bytes; continuações começam com espaço.
+  echo "Class-Path: $(cd "$DEST" && ls lib/*.jar | tr '\n' ' ')" | fold -w 70 | sed '2,$s/^/ /'
+} > "$WORK/MANIFEST.MF"
+
+jar --create --file "$DEST/application.jar" --manifest "$WORK/MANIFEST.MF" -C "$WORK/BOOT-INF/classes" .
+rm -rf "$WORK"
+echo "Aplicação extraída em $DEST (main: $MAIN_CLASS)"
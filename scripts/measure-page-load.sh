@@ -0,0 +1,44 @@
+#!/bin/sh
+# Mede o carregamento de uma página e dos CSS/JS que ela referencia, como um navegador
+# sem cache (primeira visita): bytes transferidos, tempo de cada requisição e cabeçalhos
+# de cache/compressão. Recursos com Cache-Control "immutable" não são requisitados de
+# novo em visitas seguintes; os demais geram uma revalidação por recurso.
+#
+# Uso: scripts/measure-page-load.sh http://localhost:8080 /
+set -eu
+
+BASE="$1"
+PAGE="${2:-/}"
+TMP="$(mktemp)"
+trap 'rm -f "$TMP"' EXIT
+
+fetch() {
+  curl -s -o /dev/null --compressed -H 'Accept-Encoding: br, gzip' \
+    -w '%{size_download} %{time_total} %{http_code}' -D "$TMP.h" "$1"
+}
+
+header() {
+  grep -i "^$1:" "$TMP.h" | head -1 | cut -d' ' -f2- | tr -d '\r'
+}
+
+curl -s "$BASE$PAGE" > "$TMP"
+ASSETS="$(grep -oE '(href|src)="[^"]+\.(css|js)[^"]*"' "$TMP" | sed -E 's/^(href|src)="//; s/"$//')"
+
+TOTAL_BYTES=0
+TOTAL_MS=0
+REVALIDATE=0
+printf '%-70s %8s %7s %-8s %s\n' "recurso" "bytes" "ms" "encoding" "cache-control"
+for URL in "$PAGE" $ASSETS; do
+  case "$URL" in http*) FULL="$URL" ;; *) FULL="$BASE$URL" ;; esac
+  set -- $(fetch "$FULL")
+  MS=$(awk "BEGIN { printf \"%d\", $2 * 1000 }")
+  CACHE="$(header Cache-Control)"
+  printf '%-70s %8s %7s %-8s %s\n' "$URL" "$1" "$MS" "$(header Content-Encoding)" "$CACHE"
+  TOTAL_BYTES=$((TOTAL_BYTES + $1))
+  TOTAL_MS=$((TOTAL_MS + MS))
+  case "$CACHE" in *immutable*) ;; *) REVALIDATE=$((REVALIDATE + 1)) ;; esac
+done
+rm -f "$TMP.h"
+
+echo "Primeira visita: $TOTAL_BYTES bytes, $TOTAL_MS ms (soma sequencial)"
+echo "Visitas seguintes: $REVALIDATE requisição(ões) (página + recursos sem immutable)"
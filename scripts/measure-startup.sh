@@ -0,0 +1,35 @@
+#!/bin/sh
+# Mede o tempo até a primeira requisição atendida (time-to-first-request):
+# do início do processo java até GET /actuator/health responder.
+# Requer as mesmas variáveis de ambiente da aplicação (DATABASE_URL, TWILIO_*).
+#
+# Uso: scripts/measure-startup.sh <diretório extraído> [opções extras da JVM...]
+#   scripts/measure-startup.sh /app                                         (JVM padrão)
+#   scripts/measure-startup.sh /app -Dspring.aot.enabled=true               (AOT)
+#   scripts/measure-startup.sh /app -Dspring.aot.enabled=true -XX:SharedArchiveFile=app.jsa
+set -eu
+
+DIR="$1"
+shift
+PORT="${PORT:-8080}"
+URL="http://localhost:$PORT/actuator/health"
+LOG="$(mktemp)"
+
+cd "$DIR"
+START=$(date +%s%N)
+java -Dspring.profiles.active="${SPRING_PROFILES_ACTIVE:-prod}" "$@" -jar application.jar > "$LOG" 2>&1 &
+PID=$!
+trap 'kill $PID 2>/dev/null || true; rm -f "$LOG"' EXIT
+
+until curl -s -o /dev/null "$URL"; do
+  if ! kill -0 $PID 2>/dev/null; then
+    echo "A aplicação encerrou antes de responder:" >&2
+    tail -20 "$LOG" >&2
+    exit 1
+  fi
+  sleep 0.05
+done
+END=$(date +%s%N)
+
+echo "Primeira resposta em $(( (END - START) / 1000000 )) ms"
+grep -o 'Started .* in [0-9.]* seconds[^)]*)' "$LOG" || true
@@ -0,0 +1,9 @@
+#!/bin/sh
+# Executado pelo primário na primeira inicialização (docker-entrypoint-initdb.d):
+# cria o usuário de replicação usado pelo pg_basebackup e pelo streaming da réplica.
+set -eu
+
+psql -v ON_ERROR_STOP=1 -U "$POSTGRES_USER" -d "$POSTGRES_DB" <<-SQL
+	CREATE ROLE replicator WITH REPLICATION LOGIN PASSWORD 'replicator';
+SQL
+echo "host replication replicator all scram-sha-256" >> "$PGDATA/pg_hba.conf"
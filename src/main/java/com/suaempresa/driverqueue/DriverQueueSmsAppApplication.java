@@ -1,8 +1,12 @@
 package com.suaempresa.driverqueue;
 
+import com.suaempresa.driverqueue.config.NativeRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Classe principal da aplicação Spring Boot.
@@ -11,9 +15,15 @@ import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
  * {@code @EnableAutoConfiguration} e {@code @ComponentScan}.
  * A anotação {@code @ConfigurationPropertiesScan} habilita a detecção de classes
  * anotadas com {@code @ConfigurationProperties} (como {@link com.suaempresa.driverqueue.config.TwilioProperties}).
+ * A anotação {@code @EnableScheduling} habilita as tarefas periódicas (ex: gravação em lote do journal).
+ * A anotação {@code @EnableAsync} habilita os métodos {@code @Async} (ex: envio do SMS de chamada após o commit).
+ * A anotação {@code @ImportRuntimeHints} registra as hints do build AOT/nativo ({@link NativeRuntimeHints}).
  */
 @SpringBootApplication
 @ConfigurationPropertiesScan // Habilita o scan por @ConfigurationProperties
+@EnableScheduling // Habilita métodos @Scheduled
+@EnableAsync // Habilita métodos @Async
+@ImportRuntimeHints(NativeRuntimeHints.class) // Hints para a imagem nativa (Twilio, Hibernate)
 public class DriverQueueSmsAppApplication {
 
     /**
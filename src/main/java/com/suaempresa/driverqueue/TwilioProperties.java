@@ -5,6 +5,8 @@ import jakarta.validation.constraints.Pattern;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
+import java.time.Duration;
+
 /**
  * Classe que mapeia e valida as propriedades de configuração do Twilio
  * definidas no arquivo {@code application.properties} (com prefixo "twilio").
@@ -44,6 +46,29 @@ public class TwilioProperties {
     @Pattern(regexp = "^\\+[1-9]\\d{10,14}$", message = "Formato inválido para twilio.phone-number (Ex: +1...).")
     private String phoneNumber;
 
+    /**
+     * URL pública do webhook de status de entrega ({@code POST /webhooks/twilio/status}), enviada ao
+     * Twilio em cada SMS. Também é a URL usada para validar a assinatura dos callbacks.
+     * Opcional: se vazia, o status de entrega não é acompanhado.
+     * Pode ser fornecida via variável de ambiente {@code TWILIO_STATUS_CALLBACK_URL}.
+     */
+    private String statusCallbackUrl;
+
+    /**
+     * URL pública do webhook de SMS recebidos ({@code POST /webhooks/twilio/inbound}), configurada no
+     * número do Twilio ("A message comes in"). Usada para validar a assinatura das requisições.
+     * Opcional: se vazia, as respostas dos motoristas são recusadas.
+     * Pode ser fornecida via variável de ambiente {@code TWILIO_INBOUND_URL}.
+     */
+    private String inboundUrl;
+
+    /**
+     * Timeouts das chamadas HTTP à API do Twilio. Sem eles, um Twilio degradado prenderia cada
+     * "Chamar Próximo" até o timeout padrão do cliente HTTP.
+     */
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    private Duration readTimeout = Duration.ofSeconds(5);
+
     // --- Getters e Setters ---
     // Necessários para que o Spring Boot possa injetar os valores das propriedades.
 
@@ -53,4 +78,12 @@ public class TwilioProperties {
     public void setAuthToken(String authToken) { this.authToken = authToken; }
     public String getPhoneNumber() { return phoneNumber; }
     public void setPhoneNumber(String phoneNumber) { this.phoneNumber = phoneNumber; }
+    public String getStatusCallbackUrl() { return statusCallbackUrl; }
+    public void setStatusCallbackUrl(String statusCallbackUrl) { this.statusCallbackUrl = statusCallbackUrl; }
+    public String getInboundUrl() { return inboundUrl; }
+    public void setInboundUrl(String inboundUrl) { this.inboundUrl = inboundUrl; }
+    public Duration getConnectTimeout() { return connectTimeout; }
+    public void setConnectTimeout(Duration connectTimeout) { this.connectTimeout = connectTimeout; }
+    public Duration getReadTimeout() { return readTimeout; }
+    public void setReadTimeout(Duration readTimeout) { this.readTimeout = readTimeout; }
 }
\ No newline at end of file
@@ -0,0 +1,71 @@
+package com.suaempresa.driverqueue.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.time.LocalTime;
+
+/**
+ * Propriedades do agendamento de horários de chegada (prefixo "queue.appointments").
+ *
+ * @see com.suaempresa.driverqueue.service.AppointmentCalendar
+ * @see com.suaempresa.driverqueue.service.AppointmentService
+ * @see com.suaempresa.driverqueue.job.AppointmentMergeJob
+ */
+@ConfigurationProperties(prefix = "queue.appointments")
+@Validated
+public class AppointmentProperties {
+
+    /** Duração de cada janela de agendamento; as janelas começam no horário de abertura. */
+    @NotNull
+    private Duration slotLength = Duration.ofMinutes(30);
+
+    /** Quantidade máxima de reservas por janela. */
+    @Min(1)
+    private int capacityPerSlot = 4;
+
+    /** Início da primeira janela do dia. */
+    @NotNull
+    private LocalTime openingTime = LocalTime.of(6, 0);
+
+    /** Fim do expediente; a última janela precisa terminar até este horário. */
+    @NotNull
+    private LocalTime closingTime = LocalTime.of(18, 0);
+
+    /** Quantos dias à frente (contando hoje) podem ser reservados. */
+    @Min(1)
+    private int horizonDays = 7;
+
+    /** Capacidade do buffer de reservas aguardando gravação; ao atingi-la, o lote é gravado na própria thread. */
+    @Min(1)
+    private int bufferCapacity = 10_000;
+
+    /** Intervalo entre as verificações de agendamentos cujo horário chegou (entrada na fila). */
+    @NotNull
+    private Duration mergeInterval = Duration.ofSeconds(30);
+
+    /** Quantidade máxima de agendamentos colocados na fila por execução do job. */
+    @Min(1)
+    private int mergeBatchSize = 200;
+
+    // --- Getters e Setters ---
+    public Duration getSlotLength() { return slotLength; }
+    public void setSlotLength(Duration slotLength) { this.slotLength = slotLength; }
+    public int getCapacityPerSlot() { return capacityPerSlot; }
+    public void setCapacityPerSlot(int capacityPerSlot) { this.capacityPerSlot = capacityPerSlot; }
+    public LocalTime getOpeningTime() { return openingTime; }
+    public void setOpeningTime(LocalTime openingTime) { this.openingTime = openingTime; }
+    public LocalTime getClosingTime() { return closingTime; }
+    public void setClosingTime(LocalTime closingTime) { this.closingTime = closingTime; }
+    public int getHorizonDays() { return horizonDays; }
+    public void setHorizonDays(int horizonDays) { this.horizonDays = horizonDays; }
+    public int getBufferCapacity() { return bufferCapacity; }
+    public void setBufferCapacity(int bufferCapacity) { this.bufferCapacity = bufferCapacity; }
+    public Duration getMergeInterval() { return mergeInterval; }
+    public void setMergeInterval(Duration mergeInterval) { this.mergeInterval = mergeInterval; }
+    public int getMergeBatchSize() { return mergeBatchSize; }
+    public void setMergeBatchSize(int mergeBatchSize) { this.mergeBatchSize = mergeBatchSize; }
+}
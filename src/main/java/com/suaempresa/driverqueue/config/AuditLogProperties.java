@@ -0,0 +1,24 @@
+package com.suaempresa.driverqueue.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Propriedades do canal de auditoria da fila (prefixo "queue.audit").
+ *
+ * @see com.suaempresa.driverqueue.logging.QueueAuditLogger
+ */
+@ConfigurationProperties(prefix = "queue.audit")
+@Validated
+public class AuditLogProperties {
+
+    /** Capacidade da fila entre as threads que registram as transições e a thread "audit-writer".
+     * Com ela cheia, a linha de auditoria vai para o canal "app" (WARN) em vez de bloquear quem registra. */
+    @Min(1)
+    private int queueCapacity = 10_000;
+
+    // --- Getters e Setters ---
+    public int getQueueCapacity() { return queueCapacity; }
+    public void setQueueCapacity(int queueCapacity) { this.queueCapacity = queueCapacity; }
+}
@@ -0,0 +1,41 @@
+package com.suaempresa.driverqueue.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Regras de chamada dos motoristas (prefixo "queue.calls").
+ *
+ * @see com.suaempresa.driverqueue.service.DriverService#recallDriver(Long)
+ * @see com.suaempresa.driverqueue.job.CallSmsOutboxJob
+ */
+@ConfigurationProperties(prefix = "queue.calls")
+@Validated
+public class CallPolicyProperties {
+
+    /**
+     * Chamadas permitidas por motorista (1ª chamada + re-chamadas). Uma re-chamada depois do limite
+     * marca o motorista como NÃO COMPARECEU. O efeito de alterá-lo pode ser avaliado antes com o
+     * simulador da fila ({@code QueueSimulatorTest}).
+     */
+    @Min(1)
+    private int maxAttempts = 2;
+
+    /** Intervalo entre execuções do job que envia os SMS de chamada gravados na tabela call_sms_outbox. */
+    private Duration smsOutboxInterval = Duration.ofSeconds(2);
+
+    /** Pedidos de SMS da call_sms_outbox tratados por execução do job. */
+    @Min(1)
+    private int smsOutboxBatchSize = 50;
+
+    // --- Getters e Setters ---
+    public int getMaxAttempts() { return maxAttempts; }
+    public void setMaxAttempts(int maxAttempts) { this.maxAttempts = maxAttempts; }
+    public Duration getSmsOutboxInterval() { return smsOutboxInterval; }
+    public void setSmsOutboxInterval(Duration smsOutboxInterval) { this.smsOutboxInterval = smsOutboxInterval; }
+    public int getSmsOutboxBatchSize() { return smsOutboxBatchSize; }
+    public void setSmsOutboxBatchSize(int smsOutboxBatchSize) { this.smsOutboxBatchSize = smsOutboxBatchSize; }
+}
@@ -0,0 +1,26 @@
+package com.suaempresa.driverqueue.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Propriedades da sincronização incremental da fila para a página de admin (prefixo "queue.changes").
+ *
+ * @see com.suaempresa.driverqueue.service.QueueChangeLog
+ */
+@ConfigurationProperties(prefix = "queue.changes")
+@Validated
+public class ChangeLogProperties {
+
+    /**
+     * Quantidade de mudanças recentes mantidas em memória. Clientes mais atrasados que isso
+     * recebem a fila completa em vez das mudanças.
+     */
+    @Min(1)
+    private int capacity = 1_024;
+
+    // --- Getters e Setters ---
+    public int getCapacity() { return capacity; }
+    public void setCapacity(int capacity) { this.capacity = capacity; }
+}
@@ -0,0 +1,20 @@
+package com.suaempresa.driverqueue.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+/**
+ * Relógio usado pelos serviços para os horários de entrada e de chamada dos motoristas.
+ * Injetado (em vez de {@code LocalDateTime.now()}) para que testes e o simulador da fila
+ * controlem o tempo.
+ */
+@Configuration
+public class ClockConfig {
+
+    @Bean
+    public Clock clock() {
+        return Clock.systemDefaultZone();
+    }
+}
@@ -0,0 +1,51 @@
+package com.suaempresa.driverqueue.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.UUID;
+
+/**
+ * Propriedades da coordenação entre instâncias via Postgres LISTEN/NOTIFY (prefixo "queue.cluster").
+ *
+ * @see com.suaempresa.driverqueue.service.ClusterEventBus
+ */
+@ConfigurationProperties(prefix = "queue.cluster")
+@Validated
+public class ClusterProperties {
+
+    /** Habilita o barramento de eventos entre instâncias. Requer PostgreSQL. */
+    private boolean enabled = false;
+
+    /** Canal do LISTEN/NOTIFY. Usado diretamente no comando LISTEN, por isso só aceita identificadores simples. */
+    @NotBlank
+    @Pattern(regexp = "^[a-z_][a-z0-9_]*$", message = "queue.cluster.channel deve ser um identificador simples (ex: driver_queue_events).")
+    private String channel = "driver_queue_events";
+
+    /** Identificador desta instância; usado para ignorar as próprias notificações. */
+    @NotBlank
+    private String nodeId = UUID.randomUUID().toString().substring(0, 8);
+
+    /** Tempo máximo de espera por notificações em cada ciclo do listener. */
+    @Min(1)
+    private int pollTimeoutMs = 500;
+
+    /** Intervalo antes de tentar reconectar o listener após uma falha. */
+    @Min(1)
+    private long reconnectDelayMs = 5_000;
+
+    // --- Getters e Setters ---
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public String getChannel() { return channel; }
+    public void setChannel(String channel) { this.channel = channel; }
+    public String getNodeId() { return nodeId; }
+    public void setNodeId(String nodeId) { this.nodeId = nodeId; }
+    public int getPollTimeoutMs() { return pollTimeoutMs; }
+    public void setPollTimeoutMs(int pollTimeoutMs) { this.pollTimeoutMs = pollTimeoutMs; }
+    public long getReconnectDelayMs() { return reconnectDelayMs; }
+    public void setReconnectDelayMs(long reconnectDelayMs) { this.reconnectDelayMs = reconnectDelayMs; }
+}
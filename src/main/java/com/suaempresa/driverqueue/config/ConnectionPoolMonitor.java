@@ -0,0 +1,62 @@
+package com.suaempresa.driverqueue.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Monitora periodicamente o pool HikariCP e avisa no log quando há threads esperando por conexão.
+ * <p>
+ * As métricas detalhadas (tempo de espera, uso, timeouts) são publicadas pelo Actuator como
+ * {@code hikaricp.connections.*}; este monitor só dá visibilidade imediata no log quando o pool
+ * está saturado, sem depender de um coletor de métricas.
+ * <p>
+ * Ativado quando {@code queue.datasource.pool-monitor-interval} está definido (perfil prod).
+ */
+@Component
+@ConditionalOnProperty(prefix = "queue.datasource", name = "pool-monitor-interval")
+public class ConnectionPoolMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ConnectionPoolMonitor.class);
+
+    private final DataSource dataSource;
+
+    public ConnectionPoolMonitor(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /** Verifica o estado do pool e loga um aviso se houver threads aguardando conexão. */
+    @Scheduled(fixedDelayString = "${queue.datasource.pool-monitor-interval}")
+    public void checkPool() {
+        HikariPoolMXBean pool = poolBean();
+        if (pool == null) {
+            return;
+        }
+        int waiting = pool.getThreadsAwaitingConnection();
+        if (waiting > 0) {
+            log.warn("checkPool: Pool de conexões saturado: {} thread(s) aguardando; ativas={}, ociosas={}, total={}.",
+                    waiting, pool.getActiveConnections(), pool.getIdleConnections(), pool.getTotalConnections());
+        } else {
+            log.debug("checkPool: Pool ok: ativas={}, ociosas={}, total={}.",
+                    pool.getActiveConnections(), pool.getIdleConnections(), pool.getTotalConnections());
+        }
+    }
+
+    private HikariPoolMXBean poolBean() {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+            }
+        } catch (SQLException e) {
+            log.debug("poolBean: DataSource não é HikariCP: {}", e.getMessage());
+        }
+        return null;
+    }
+}
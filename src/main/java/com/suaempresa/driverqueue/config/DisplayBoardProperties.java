@@ -0,0 +1,23 @@
+package com.suaempresa.driverqueue.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Propriedades do painel público de chamadas exibido nas TVs (prefixo "queue.display").
+ *
+ * @see com.suaempresa.driverqueue.service.DisplayBoardService
+ */
+@ConfigurationProperties(prefix = "queue.display")
+@Validated
+public class DisplayBoardProperties {
+
+    /** Quantidade máxima de placas chamadas exibidas no painel (as mais recentes primeiro). */
+    @Min(1)
+    private int maxCalled = 10;
+
+    // --- Getters e Setters ---
+    public int getMaxCalled() { return maxCalled; }
+    public void setMaxCalled(int maxCalled) { this.maxCalled = maxCalled; }
+}
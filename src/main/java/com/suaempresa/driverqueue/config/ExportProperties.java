@@ -0,0 +1,29 @@
+package com.suaempresa.driverqueue.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Propriedades da exportação do histórico de motoristas (prefixo "queue.export").
+ *
+ * @see com.suaempresa.driverqueue.service.DriverExportService
+ */
+@ConfigurationProperties(prefix = "queue.export")
+@Validated
+public class ExportProperties {
+
+    /** Linhas buscadas do banco por vez pelo cursor; define a memória usada, independente do tamanho da exportação. */
+    @Min(1)
+    private int fetchSize = 1_000;
+
+    /** Período exportado quando não informado, em dias (incluindo hoje). */
+    @Min(1)
+    private int defaultDays = 30;
+
+    // --- Getters e Setters ---
+    public int getFetchSize() { return fetchSize; }
+    public void setFetchSize(int fetchSize) { this.fetchSize = fetchSize; }
+    public int getDefaultDays() { return defaultDays; }
+    public void setDefaultDays(int defaultDays) { this.defaultDays = defaultDays; }
+}
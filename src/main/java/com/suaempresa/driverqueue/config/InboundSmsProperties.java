@@ -0,0 +1,44 @@
+package com.suaempresa.driverqueue.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Propriedades do tratamento das respostas de SMS dos motoristas (prefixo "sms.inbound").
+ * As palavras-chave são comparadas sem acentos, maiúsculas/minúsculas e pontuação, com o início da mensagem.
+ *
+ * @see com.suaempresa.driverqueue.service.InboundSmsService
+ * @see com.suaempresa.driverqueue.controller.TwilioWebhookController
+ */
+@ConfigurationProperties(prefix = "sms.inbound")
+@Validated
+public class InboundSmsProperties {
+
+    /** Threads que aplicam as respostas (transições da fila usam uma conexão do pool cada). */
+    @Min(1)
+    private int workers = 2;
+
+    /** Respostas aguardando processamento; acima disso o webhook responde 503. */
+    @Min(1)
+    private int queueCapacity = 1_000;
+
+    /** Respostas de um motorista CALLED que o marcam como ATTENDED (compareceu). */
+    private List<String> confirmKeywords = new ArrayList<>(List.of("OK", "SIM", "CHEGANDO", "CHEGUEI", "A CAMINHO", "INDO"));
+
+    /** Respostas que marcam um motorista CALLED como NO_SHOW ou retiram um motorista WAITING da fila. */
+    private List<String> giveUpKeywords = new ArrayList<>(List.of("DESISTO", "CANCELAR", "CANCELA", "NAO VOU", "SAIR"));
+
+    // --- Getters e Setters ---
+    public int getWorkers() { return workers; }
+    public void setWorkers(int workers) { this.workers = workers; }
+    public int getQueueCapacity() { return queueCapacity; }
+    public void setQueueCapacity(int queueCapacity) { this.queueCapacity = queueCapacity; }
+    public List<String> getConfirmKeywords() { return confirmKeywords; }
+    public void setConfirmKeywords(List<String> confirmKeywords) { this.confirmKeywords = confirmKeywords; }
+    public List<String> getGiveUpKeywords() { return giveUpKeywords; }
+    public void setGiveUpKeywords(List<String> giveUpKeywords) { this.giveUpKeywords = giveUpKeywords; }
+}
@@ -0,0 +1,44 @@
+package com.suaempresa.driverqueue.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propriedades do framework de jobs com líder eleito (prefixo "queue.jobs").
+ *
+ * @see com.suaempresa.driverqueue.job.ClusteredJobScheduler
+ */
+@ConfigurationProperties(prefix = "queue.jobs")
+public class JobProperties {
+
+    /** Habilita o agendamento dos jobs {@link com.suaempresa.driverqueue.job.ClusteredJob}. */
+    private boolean enabled = true;
+
+    /**
+     * Usa advisory locks do Postgres para eleger um líder por job.
+     * Desabilite apenas em bancos sem advisory locks (ex: H2 local), onde cada instância roda todos os jobs.
+     */
+    private boolean leaderElection = true;
+
+    /** Primeiro inteiro da chave do advisory lock; separa os locks desta aplicação de outros usuários do banco. */
+    private int lockNamespace = 0x4451; // "DQ"
+
+    /** Atraso antes da primeira tentativa de execução após a aplicação subir. */
+    private Duration initialDelay = Duration.ofSeconds(30);
+
+    /** Tempo máximo para validar a conexão que segura o lease antes de cada execução. */
+    private Duration leaseValidationTimeout = Duration.ofSeconds(2);
+
+    // --- Getters e Setters ---
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public boolean isLeaderElection() { return leaderElection; }
+    public void setLeaderElection(boolean leaderElection) { this.leaderElection = leaderElection; }
+    public int getLockNamespace() { return lockNamespace; }
+    public void setLockNamespace(int lockNamespace) { this.lockNamespace = lockNamespace; }
+    public Duration getInitialDelay() { return initialDelay; }
+    public void setInitialDelay(Duration initialDelay) { this.initialDelay = initialDelay; }
+    public Duration getLeaseValidationTimeout() { return leaseValidationTimeout; }
+    public void setLeaseValidationTimeout(Duration leaseValidationTimeout) { this.leaseValidationTimeout = leaseValidationTimeout; }
+}
@@ -0,0 +1,43 @@
+package com.suaempresa.driverqueue.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Propriedades do journal de eventos da fila (prefixo "queue.journal").
+ *
+ * @see com.suaempresa.driverqueue.service.QueueEventJournal
+ */
+@ConfigurationProperties(prefix = "queue.journal")
+@Validated
+public class JournalProperties {
+
+    /** Quantidade máxima de eventos gravados em um único lote (batch insert). */
+    @Min(1)
+    private int batchSize = 200;
+
+    /** Capacidade do buffer em memória; ao atingi-la, o lote é gravado na própria thread que publicou.
+     * Eventos em buffer são perdidos se a aplicação cair antes do flush. */
+    @Min(1)
+    private int bufferCapacity = 10_000;
+
+    /** Dias de retenção dos eventos de motoristas que já saíram da fila; 0 desabilita a limpeza. */
+    @Min(0)
+    private int retentionDays = 90;
+
+    /** Intervalo entre execuções do job de retenção do journal. */
+    private Duration retentionCheckInterval = Duration.ofHours(1);
+
+    // --- Getters e Setters ---
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+    public int getBufferCapacity() { return bufferCapacity; }
+    public void setBufferCapacity(int bufferCapacity) { this.bufferCapacity = bufferCapacity; }
+    public int getRetentionDays() { return retentionDays; }
+    public void setRetentionDays(int retentionDays) { this.retentionDays = retentionDays; }
+    public Duration getRetentionCheckInterval() { return retentionCheckInterval; }
+    public void setRetentionCheckInterval(Duration retentionCheckInterval) { this.retentionCheckInterval = retentionCheckInterval; }
+}
@@ -0,0 +1,45 @@
+package com.suaempresa.driverqueue.config;
+
+import com.suaempresa.driverqueue.event.DriverQueueEvent;
+import com.twilio.exception.ApiException;
+import com.twilio.exception.RestException;
+import com.twilio.rest.api.v2010.account.Message;
+import com.twilio.type.PhoneNumber;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Hints de reflexão para a imagem nativa (GraalVM) e para o modo AOT.
+ * <p>
+ * O Twilio SDK desserializa as respostas da API com Jackson pelos construtores anotados
+ * ({@code @JsonCreator}) e converte os enums de status por nome; nenhuma dessas classes está no
+ * repositório de metadados do GraalVM. O dialeto do Hibernate é informado por nome em
+ * {@code spring.jpa.properties.hibernate.dialect} e instanciado por reflexão.
+ * <p>
+ * Registrado em {@link com.suaempresa.driverqueue.DriverQueueSmsAppApplication} via
+ * {@code @ImportRuntimeHints}.
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // Twilio: resposta do envio de SMS, enums e erros da API (todos lidos via Jackson)
+        bindingRegistrar.registerReflectionHints(hints.reflection(),
+                Message.class, Message.Status.class, Message.Direction.class,
+                Message.AddressRetention.class, Message.ContentRetention.class,
+                Message.RiskCheck.class, Message.ScheduleType.class, Message.UpdateStatus.class,
+                PhoneNumber.class, RestException.class);
+        hints.reflection().registerType(ApiException.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+        // Hibernate: dialeto configurado por nome
+        hints.reflection().registerType(PostgreSQLDialect.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+        // Eventos da fila: serializados em JSON (SSE dos admins e NOTIFY do cluster)
+        bindingRegistrar.registerReflectionHints(hints.reflection(), DriverQueueEvent.class);
+    }
+}
@@ -0,0 +1,36 @@
+package com.suaempresa.driverqueue.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Propriedades da consulta pública de posição na fila (prefixo "queue.position").
+ *
+ * @see com.suaempresa.driverqueue.controller.QueuePositionController
+ */
+@ConfigurationProperties(prefix = "queue.position")
+@Validated
+public class PositionLookupProperties {
+
+    /** Consultas permitidas em rajada por cliente (IP). */
+    @Min(1)
+    private int rateLimitCapacity = 10;
+
+    /** Intervalo para liberar mais uma consulta ao cliente (ritmo sustentado). */
+    private Duration rateLimitRefill = Duration.ofSeconds(6);
+
+    /** Clientes acompanhados em memória antes de descartar os inativos. */
+    @Min(1)
+    private int rateLimitMaxClients = 10_000;
+
+    // --- Getters e Setters ---
+    public int getRateLimitCapacity() { return rateLimitCapacity; }
+    public void setRateLimitCapacity(int rateLimitCapacity) { this.rateLimitCapacity = rateLimitCapacity; }
+    public Duration getRateLimitRefill() { return rateLimitRefill; }
+    public void setRateLimitRefill(Duration rateLimitRefill) { this.rateLimitRefill = rateLimitRefill; }
+    public int getRateLimitMaxClients() { return rateLimitMaxClients; }
+    public void setRateLimitMaxClients(int rateLimitMaxClients) { this.rateLimitMaxClients = rateLimitMaxClients; }
+}
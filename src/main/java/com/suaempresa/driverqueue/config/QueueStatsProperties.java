@@ -0,0 +1,29 @@
+package com.suaempresa.driverqueue.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Propriedades dos agregados operacionais da fila e do relatório (prefixo "queue.stats").
+ *
+ * @see com.suaempresa.driverqueue.service.QueueStatsRollup
+ */
+@ConfigurationProperties(prefix = "queue.stats")
+@Validated
+public class QueueStatsProperties {
+
+    /** Período do relatório quando não informado, em dias (incluindo hoje). */
+    @Min(1)
+    private int defaultReportDays = 7;
+
+    /** Maior período aceito em uma consulta ao relatório, em dias. */
+    @Min(1)
+    private int maxReportDays = 92;
+
+    // --- Getters e Setters ---
+    public int getDefaultReportDays() { return defaultReportDays; }
+    public void setDefaultReportDays(int defaultReportDays) { this.defaultReportDays = defaultReportDays; }
+    public int getMaxReportDays() { return maxReportDays; }
+    public void setMaxReportDays(int maxReportDays) { this.maxReportDays = maxReportDays; }
+}
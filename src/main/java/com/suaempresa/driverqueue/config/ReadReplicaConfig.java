@@ -0,0 +1,83 @@
+package com.suaempresa.driverqueue.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+/**
+ * Envia as transações {@code @Transactional(readOnly = true)} (polling da página de admin,
+ * relatórios) para uma réplica de leitura, aliviando o primário que atende as escritas
+ * ({@code callNextDriver()} etc.).
+ * <p>
+ * Ativada quando {@code queue.datasource.replica.url} está definida; sem ela o Spring Boot cria o
+ * DataSource único de sempre. Com ela:
+ * <ul>
+ *     <li>{@code primaryDataSource}: o pool do primário, configurado por {@code spring.datasource.*};</li>
+ *     <li>{@code dataSource} (principal): um {@link LazyConnectionDataSourceProxy} que só obtém a conexão
+ *         física no primeiro comando SQL, quando o Spring já marcou a transação como somente leitura.
+ *         Transações de escrita e conexões fora de transação (Flyway, LISTEN do cluster, locks dos
+ *         jobs) usam o primário; as somente leitura usam o {@link ReplicaRoutingDataSource}.</li>
+ * </ul>
+ * As leituras podem ficar até {@code queue.datasource.replica.max-lag} atrasadas em relação às escritas.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "queue.datasource.replica", name = "url")
+public class ReadReplicaConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicaConfig.class);
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(HikariDataSource primaryDataSource, ReadReplicaProperties replica,
+                                               MeterRegistry meterRegistry) {
+        // Mesmas configurações do pool do primário (timeouts, propriedades do driver), com outro servidor
+        HikariDataSource replicaDataSource = new HikariDataSource();
+        primaryDataSource.copyStateTo(replicaDataSource);
+        replicaDataSource.setPoolName(primaryDataSource.getPoolName() + "-replica");
+        replicaDataSource.setJdbcUrl(replica.getUrl());
+        if (replica.getUsername() != null) {
+            replicaDataSource.setUsername(replica.getUsername());
+        }
+        if (replica.getPassword() != null) {
+            replicaDataSource.setPassword(replica.getPassword());
+        }
+        replicaDataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+        replicaDataSource.setMinimumIdle(Math.min(replicaDataSource.getMinimumIdle(), replica.getMaximumPoolSize()));
+        replicaDataSource.setConnectionTimeout(replica.getConnectionTimeout().toMillis());
+        replicaDataSource.setReadOnly(true);
+        // Não impede a aplicação de subir com a réplica fora do ar; o monitor trata a falha
+        replicaDataSource.setInitializationFailTimeout(-1);
+        replicaDataSource.setMetricRegistry(meterRegistry);
+        log.info("replicaLagMonitor: Transações somente leitura usarão a réplica {} (atraso máximo: {}).",
+                replica.getUrl().replaceAll("password=[^&]*", "password=***"), replica.getMaxLag());
+        return new ReplicaLagMonitor(replicaDataSource, replica.getMaxLag(), meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaLagMonitor replicaLagMonitor,
+                                 MeterRegistry meterRegistry) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(new ReplicaRoutingDataSource(primaryDataSource, replicaLagMonitor, meterRegistry));
+        // Padrões do HikariCP/Postgres: evita abrir uma conexão só para descobri-los
+        dataSource.setDefaultAutoCommit(true);
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return dataSource;
+    }
+}
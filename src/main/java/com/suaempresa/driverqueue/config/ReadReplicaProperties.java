@@ -0,0 +1,55 @@
+package com.suaempresa.driverqueue.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Propriedades da réplica de leitura do Postgres (prefixo "queue.datasource.replica").
+ * As transações {@code @Transactional(readOnly = true)} usam a réplica quando {@code url} está definida.
+ *
+ * @see ReadReplicaConfig
+ * @see ReplicaLagMonitor
+ */
+@ConfigurationProperties(prefix = "queue.datasource.replica")
+@Validated
+public class ReadReplicaProperties {
+
+    /** URL JDBC da réplica; sem ela todas as transações usam o primário. */
+    private String url;
+
+    /** Usuário da réplica (padrão: o mesmo do primário). */
+    private String username;
+
+    /** Senha da réplica (padrão: a mesma do primário). */
+    private String password;
+
+    /** Tamanho máximo do pool de conexões da réplica (as demais configurações vêm do pool do primário). */
+    @Min(1)
+    private int maximumPoolSize = 6;
+
+    /**
+     * Tempo máximo de espera por uma conexão da réplica. Curto, para que uma réplica fora do ar
+     * faça a leitura cair logo para o primário.
+     */
+    private Duration connectionTimeout = Duration.ofSeconds(1);
+
+    /** Atraso máximo de replicação aceito; acima dele as leituras voltam para o primário. */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    // --- Getters e Setters ---
+    public String getUrl() { return url; }
+    public void setUrl(String url) { this.url = url; }
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+    public String getPassword() { return password; }
+    public void setPassword(String password) { this.password = password; }
+    public int getMaximumPoolSize() { return maximumPoolSize; }
+    public void setMaximumPoolSize(int maximumPoolSize) { this.maximumPoolSize = maximumPoolSize; }
+    public Duration getConnectionTimeout() { return connectionTimeout; }
+    public void setConnectionTimeout(Duration connectionTimeout) { this.connectionTimeout = connectionTimeout; }
+    public Duration getMaxLag() { return maxLag; }
+    public void setMaxLag(Duration maxLag) { this.maxLag = maxLag; }
+}
@@ -0,0 +1,42 @@
+package com.suaempresa.driverqueue.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Propriedades do controle de admissão do cadastro de motoristas e dos agendamentos (prefixo "queue.registration").
+ *
+ * @see com.suaempresa.driverqueue.security.RegistrationAdmissionFilter
+ */
+@ConfigurationProperties(prefix = "queue.registration")
+@Validated
+public class RegistrationLimitProperties {
+
+    /** Cadastros permitidos em rajada por cliente (IP). Um totem de portaria cadastra vários motoristas seguidos. */
+    @Min(1)
+    private int rateLimitCapacity = 20;
+
+    /** Intervalo para liberar mais um cadastro ao cliente (ritmo sustentado). */
+    private Duration rateLimitRefill = Duration.ofSeconds(3);
+
+    /** Clientes acompanhados em memória antes de descartar os inativos. */
+    @Min(1)
+    private int rateLimitMaxClients = 10_000;
+
+    /** Cadastros processados ao mesmo tempo na instância; os excedentes recebem 429 na hora. */
+    @Min(1)
+    private int maxConcurrent = 8;
+
+    // --- Getters e Setters ---
+    public int getRateLimitCapacity() { return rateLimitCapacity; }
+    public void setRateLimitCapacity(int rateLimitCapacity) { this.rateLimitCapacity = rateLimitCapacity; }
+    public Duration getRateLimitRefill() { return rateLimitRefill; }
+    public void setRateLimitRefill(Duration rateLimitRefill) { this.rateLimitRefill = rateLimitRefill; }
+    public int getRateLimitMaxClients() { return rateLimitMaxClients; }
+    public void setRateLimitMaxClients(int rateLimitMaxClients) { this.rateLimitMaxClients = rateLimitMaxClients; }
+    public int getMaxConcurrent() { return maxConcurrent; }
+    public void setMaxConcurrent(int maxConcurrent) { this.maxConcurrent = maxConcurrent; }
+}
@@ -0,0 +1,121 @@
+package com.suaempresa.driverqueue.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Mede periodicamente o atraso de replicação da réplica de leitura e decide se ela pode atender
+ * as transações somente leitura ({@link ReplicaRoutingDataSource}).
+ * <p>
+ * O atraso é o tempo desde a última transação reaplicada, ou zero se a réplica já reaplicou todo o
+ * WAL recebido (um primário sem escritas não conta como atraso). Uma réplica que não está recebendo
+ * WAL do primário tem atraso desconhecido e não é usada; um servidor que não está em recuperação
+ * (ex: uma segunda instância local usada em testes) é considerado em dia. Se a consulta falhar
+ * (réplica fora do ar) ou o atraso passar de {@code queue.datasource.replica.max-lag}, as leituras
+ * voltam para o primário até a próxima verificação bem-sucedida.
+ * <p>
+ * O pool da réplica pertence a este monitor e não é um bean {@link DataSource}: assim o health check
+ * da aplicação não fica DOWN quando só a réplica cai.
+ * <p>
+ * Métricas: {@code queue.datasource.replica.lag} (segundos) e {@code queue.datasource.replica.usable} (1/0);
+ * o pool publica as métricas {@code hikaricp.connections.*} com o nome do pool da réplica.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    static final String LAG_SQL = "SELECT CASE " +
+            "WHEN NOT pg_is_in_recovery() THEN 0 " +
+            "WHEN (SELECT status FROM pg_stat_wal_receiver) IS DISTINCT FROM 'streaming' THEN NULL " +
+            "WHEN pg_last_wal_receive_lsn() <= pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+
+    private final HikariDataSource replicaDataSource;
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final Duration maxLag;
+
+    /** Começa indisponível: as leituras só vão para a réplica depois da primeira verificação. */
+    private volatile boolean replicaUsable = false;
+    private volatile double lagSeconds = Double.NaN;
+    /** false até a primeira verificação, para que o estado inicial sempre apareça no log. */
+    private boolean checked = false;
+
+    public ReplicaLagMonitor(HikariDataSource replicaDataSource, Duration maxLag, MeterRegistry meterRegistry) {
+        this.replicaDataSource = replicaDataSource;
+        this.replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.maxLag = maxLag;
+        Gauge.builder("queue.datasource.replica.lag", this, m -> m.lagSeconds)
+                .description("Atraso de replicação da réplica de leitura (NaN se não foi possível medir)")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("queue.datasource.replica.usable", this, m -> m.replicaUsable ? 1 : 0)
+                .description("1 se as transações somente leitura estão usando a réplica")
+                .register(meterRegistry);
+    }
+
+    /** Mede o atraso e atualiza a disponibilidade da réplica. */
+    @Scheduled(fixedDelayString = "${queue.datasource.replica.lag-check-interval:PT2S}")
+    public void checkLag() {
+        Double lag;
+        try {
+            lag = replicaJdbcTemplate.queryForObject(LAG_SQL, Double.class);
+        } catch (Exception e) {
+            lagSeconds = Double.NaN;
+            setReplicaUsable(false, "falha ao consultar a réplica: " + e.getMessage());
+            return;
+        }
+        lagSeconds = lag != null ? lag : Double.NaN;
+        if (lag == null) {
+            setReplicaUsable(false, "a réplica não está recebendo WAL do primário");
+        } else if (lag * 1000 > maxLag.toMillis()) {
+            setReplicaUsable(false, String.format("atraso de %.1fs acima do limite de %ss", lag, maxLag.toSeconds()));
+        } else {
+            setReplicaUsable(true, String.format("atraso de %.1fs", lag));
+        }
+    }
+
+    private synchronized void setReplicaUsable(boolean usable, String reason) {
+        if (usable == replicaUsable && checked) {
+            return;
+        }
+        checked = true;
+        replicaUsable = usable;
+        if (usable) {
+            log.info("checkLag: Leituras voltaram para a réplica ({}).", reason);
+        } else {
+            log.warn("checkLag: Leituras redirecionadas para o primário: {}.", reason);
+        }
+    }
+
+    /**
+     * Tira a réplica de uso até a próxima verificação bem-sucedida (ex: conexão recusada).
+     * @param reason Motivo, para o log.
+     */
+    public void markUnavailable(String reason) {
+        setReplicaUsable(false, reason);
+    }
+
+    /** @return true se as transações somente leitura podem usar a réplica. */
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    /** @return O pool de conexões da réplica. */
+    public DataSource getReplicaDataSource() {
+        return replicaDataSource;
+    }
+
+    @PreDestroy
+    public void close() {
+        replicaDataSource.close();
+    }
+}
@@ -0,0 +1,69 @@
+package com.suaempresa.driverqueue.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * DataSource das transações somente leitura: a réplica enquanto o {@link ReplicaLagMonitor} a
+ * considera em dia, o primário caso contrário. Se a réplica cair entre duas verificações, a falha
+ * ao obter a conexão já a marca como indisponível e a leitura é atendida pelo primário.
+ * <p>
+ * Publica {@code queue.datasource.readonly.connections} (tag "target": replica/primary), a
+ * quantidade de conexões de leitura atendidas por cada servidor.
+ */
+class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final ReplicaLagMonitor lagMonitor;
+    private final Counter replicaConnections;
+    private final Counter primaryConnections;
+
+    ReplicaRoutingDataSource(DataSource primary, ReplicaLagMonitor lagMonitor, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.lagMonitor = lagMonitor;
+        this.replicaConnections = connectionCounter(meterRegistry, "replica");
+        this.primaryConnections = connectionCounter(meterRegistry, "primary");
+    }
+
+    private static Counter connectionCounter(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("queue.datasource.readonly.connections")
+                .description("Conexões de transações somente leitura, por servidor")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection route(ConnectionSource source) throws SQLException {
+        if (lagMonitor.isReplicaUsable()) {
+            try {
+                Connection connection = source.connect(lagMonitor.getReplicaDataSource());
+                replicaConnections.increment();
+                return connection;
+            } catch (SQLException e) {
+                lagMonitor.markUnavailable("falha ao obter conexão: " + e.getMessage());
+            }
+        }
+        primaryConnections.increment();
+        return source.connect(primary);
+    }
+
+    /** Forma de obter a conexão (com ou sem credenciais), aplicada ao servidor escolhido. */
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection connect(DataSource dataSource) throws SQLException;
+    }
+}
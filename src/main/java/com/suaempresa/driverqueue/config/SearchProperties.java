@@ -0,0 +1,35 @@
+package com.suaempresa.driverqueue.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Propriedades da busca de motoristas da página de admin (prefixo "queue.search").
+ *
+ * @see com.suaempresa.driverqueue.service.DriverSearchService
+ */
+@ConfigurationProperties(prefix = "queue.search")
+@Validated
+public class SearchProperties {
+
+    /** Tamanho mínimo do texto buscado; textos menores casariam com boa parte do histórico. */
+    @Min(1)
+    private int minQueryLength = 2;
+
+    /** Resultados por página quando não informado. */
+    @Min(1)
+    private int defaultPageSize = 20;
+
+    /** Maior página aceita; páginas maiores são reduzidas a este tamanho. */
+    @Min(1)
+    private int maxPageSize = 100;
+
+    // --- Getters e Setters ---
+    public int getMinQueryLength() { return minQueryLength; }
+    public void setMinQueryLength(int minQueryLength) { this.minQueryLength = minQueryLength; }
+    public int getDefaultPageSize() { return defaultPageSize; }
+    public void setDefaultPageSize(int defaultPageSize) { this.defaultPageSize = defaultPageSize; }
+    public int getMaxPageSize() { return maxPageSize; }
+    public void setMaxPageSize(int maxPageSize) { this.maxPageSize = maxPageSize; }
+}
@@ -0,0 +1,79 @@
+package com.suaempresa.driverqueue.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Propriedades do envio de SMS com circuit breaker e failover (prefixo "sms.gateway").
+ *
+ * @see com.suaempresa.driverqueue.service.SmsService
+ * @see com.suaempresa.driverqueue.service.HttpSmsGateway
+ */
+@ConfigurationProperties(prefix = "sms.gateway")
+@Validated
+public class SmsGatewayProperties {
+
+    /** Falhas consecutivas de um provedor que abrem o seu circuito. */
+    @Min(1)
+    private int failureThreshold = 5;
+
+    /** Tempo que um provedor fica sem receber chamadas após abrir o circuito, antes da chamada de teste. */
+    private Duration openDuration = Duration.ofSeconds(30);
+
+    /** Provedor secundário, usado quando o Twilio falha ou está com o circuito aberto. */
+    @Valid
+    private Secondary secondary = new Secondary();
+
+    /**
+     * Provedor secundário via HTTP: {@code POST url} com JSON {@code {"from", "to", "body"}} e
+     * {@code Authorization: Bearer <auth-token>}; a resposta 2xx deve trazer o ID da mensagem em {@code "id"}.
+     * Desabilitado se {@code url} estiver vazia.
+     */
+    public static class Secondary {
+
+        /** Nome do provedor nos logs e métricas. */
+        @NotBlank
+        private String name = "secondary";
+
+        /** URL de envio (vazia = sem provedor secundário). */
+        private String url;
+
+        /** Token de acesso enviado no cabeçalho Authorization. */
+        private String authToken;
+
+        /** Remetente (número ou identificador alfanumérico aceito pelo provedor). */
+        private String from;
+
+        /** Timeout de conexão. */
+        private Duration connectTimeout = Duration.ofSeconds(2);
+
+        /** Timeout total da requisição de envio. */
+        private Duration readTimeout = Duration.ofSeconds(5);
+
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+        public String getUrl() { return url; }
+        public void setUrl(String url) { this.url = url; }
+        public String getAuthToken() { return authToken; }
+        public void setAuthToken(String authToken) { this.authToken = authToken; }
+        public String getFrom() { return from; }
+        public void setFrom(String from) { this.from = from; }
+        public Duration getConnectTimeout() { return connectTimeout; }
+        public void setConnectTimeout(Duration connectTimeout) { this.connectTimeout = connectTimeout; }
+        public Duration getReadTimeout() { return readTimeout; }
+        public void setReadTimeout(Duration readTimeout) { this.readTimeout = readTimeout; }
+    }
+
+    // --- Getters e Setters ---
+    public int getFailureThreshold() { return failureThreshold; }
+    public void setFailureThreshold(int failureThreshold) { this.failureThreshold = failureThreshold; }
+    public Duration getOpenDuration() { return openDuration; }
+    public void setOpenDuration(Duration openDuration) { this.openDuration = openDuration; }
+    public Secondary getSecondary() { return secondary; }
+    public void setSecondary(Secondary secondary) { this.secondary = secondary; }
+}
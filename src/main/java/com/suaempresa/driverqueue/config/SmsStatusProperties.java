@@ -0,0 +1,46 @@
+package com.suaempresa.driverqueue.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Propriedades do acompanhamento de entrega dos SMS (prefixo "sms.status").
+ *
+ * @see com.suaempresa.driverqueue.service.SmsNotificationService
+ * @see com.suaempresa.driverqueue.controller.TwilioWebhookController
+ */
+@ConfigurationProperties(prefix = "sms.status")
+@Validated
+public class SmsStatusProperties {
+
+    /** Quantidade máxima de registros gravados em um único lote (batch upsert). */
+    @Min(1)
+    private int batchSize = 500;
+
+    /**
+     * Capacidade dos buffers em memória (envios e SMS com status pendente); ao atingi-la, o lote
+     * é gravado na própria thread que recebeu o callback.
+     */
+    @Min(1)
+    private int bufferCapacity = 20_000;
+
+    /** Janela da lista de SMS não entregues exibida na página de admin. */
+    private Duration undeliveredWindow = Duration.ofHours(12);
+
+    /** Quantidade máxima de SMS não entregues exibidos na página de admin. */
+    @Min(1)
+    private int undeliveredLimit = 50;
+
+    // --- Getters e Setters ---
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+    public int getBufferCapacity() { return bufferCapacity; }
+    public void setBufferCapacity(int bufferCapacity) { this.bufferCapacity = bufferCapacity; }
+    public Duration getUndeliveredWindow() { return undeliveredWindow; }
+    public void setUndeliveredWindow(Duration undeliveredWindow) { this.undeliveredWindow = undeliveredWindow; }
+    public int getUndeliveredLimit() { return undeliveredLimit; }
+    public void setUndeliveredLimit(int undeliveredLimit) { this.undeliveredLimit = undeliveredLimit; }
+}
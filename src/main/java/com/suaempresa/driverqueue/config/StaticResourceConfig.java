@@ -0,0 +1,57 @@
+package com.suaempresa.driverqueue.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import java.time.Duration;
+
+/**
+ * Pipeline dos arquivos estáticos (CSS, JS, Bootstrap e Font Awesome via WebJars).
+ * <p>
+ * As URLs geradas pelos templates ({@code th:href="@{/css/style.css}"}) são reescritas com o hash
+ * do conteúdo (ex: {@code /css/style-3f2a...css}) pelo {@link ResourceUrlEncodingFilter}; como a URL
+ * muda a cada alteração do arquivo, a resposta pode ser cacheada pelo navegador por um ano, sem
+ * revalidação ({@code Cache-Control: immutable}). As referências internas dos CSS (ex: fontes do
+ * Font Awesome) também são reescritas.
+ * <p>
+ * Quando existe uma variante pré-comprimida ({@code .br} ou {@code .gz}) ao lado do arquivo, ela é
+ * servida conforme o {@code Accept-Encoding} (o WebJar do Bootstrap já traz os {@code .gz});
+ * os demais são comprimidos pelo Tomcat ({@code server.compression}).
+ */
+@Configuration
+public class StaticResourceConfig implements WebMvcConfigurer {
+
+    /** Tempo de cache dos arquivos versionados pelo hash do conteúdo. */
+    static final Duration ASSET_MAX_AGE = Duration.ofDays(365);
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        addVersionedHandler(registry, "/webjars/**", "classpath:/META-INF/resources/webjars/");
+        addVersionedHandler(registry, "/css/**", "classpath:/static/css/");
+        addVersionedHandler(registry, "/js/**", "classpath:/static/js/");
+    }
+
+    /**
+     * Reescreve as URLs de recursos nos templates e redirects para as versões com hash.
+     * @return O filtro registrado automaticamente pelo Spring Boot.
+     */
+    @Bean
+    public ResourceUrlEncodingFilter resourceUrlEncodingFilter() {
+        return new ResourceUrlEncodingFilter();
+    }
+
+    private void addVersionedHandler(ResourceHandlerRegistry registry, String pattern, String location) {
+        registry.addResourceHandler(pattern)
+                .addResourceLocations(location)
+                .setCacheControl(CacheControl.maxAge(ASSET_MAX_AGE).cachePublic().immutable())
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver())
+                .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+    }
+}
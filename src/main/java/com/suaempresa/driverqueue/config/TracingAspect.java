@@ -0,0 +1,79 @@
+package com.suaempresa.driverqueue.config;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Cria spans (Micrometer Observation, exportados pelo OpenTelemetry) para cada camada de uma
+ * requisição: handlers dos controllers, métodos públicos do {@code DriverService}, consultas dos
+ * repositórios e envio de SMS (o {@code SmsService} e cada provedor). Assim um "Chamar Próximo"
+ * lento mostra se o tempo foi gasto no banco, no commit (flush do Hibernate) ou no Twilio.
+ * <p>
+ * O aspecto tem a maior precedência, envolvendo o interceptor de {@code @Transactional}: o span
+ * do serviço inclui o commit, e a diferença entre ele e os spans dos repositórios é o flush.
+ * <p>
+ * Cada observação também gera o timer de mesmo nome (tags "component" e "method").
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TracingAspect {
+
+    private final ObservationRegistry observationRegistry;
+
+    public TracingAspect(ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Around("@within(org.springframework.stereotype.Controller) && execution(public * com.suaempresa.driverqueue.controller..*(..))")
+    public Object observeController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return observe("queue.controller", joinPoint);
+    }
+
+    @Around("execution(public * com.suaempresa.driverqueue.service.DriverService.*(..))")
+    public Object observeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return observe("queue.service", joinPoint);
+    }
+
+    @Around("execution(public * org.springframework.data.repository.Repository+.*(..))")
+    public Object observeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return observe("queue.repository", joinPoint);
+    }
+
+    @Around("execution(public * com.suaempresa.driverqueue.service.SmsService.sendSms(..))"
+            + " || execution(public * com.suaempresa.driverqueue.service.SmsGateway+.send(..))")
+    public Object observeSms(ProceedingJoinPoint joinPoint) throws Throwable {
+        return observe("sms.send", joinPoint);
+    }
+
+    private Object observe(String name, ProceedingJoinPoint joinPoint) throws Throwable {
+        String component = componentName(joinPoint);
+        String method = joinPoint.getSignature().getName();
+        return Observation.createNotStarted(name, observationRegistry)
+                .contextualName(component + "." + method)
+                .lowCardinalityKeyValue("component", component)
+                .lowCardinalityKeyValue("method", method)
+                .observeChecked((Observation.CheckedCallable<Object, Throwable>) joinPoint::proceed);
+    }
+
+    /** Nome da classe do bean; para repositórios (proxies do Spring Data), o nome da interface. */
+    private static String componentName(ProceedingJoinPoint joinPoint) {
+        if (joinPoint.getThis() instanceof Repository<?, ?>) {
+            for (Class<?> proxied : AopProxyUtils.proxiedUserInterfaces(joinPoint.getThis())) {
+                if (Repository.class.isAssignableFrom(proxied)) {
+                    return proxied.getSimpleName();
+                }
+            }
+        }
+        return ClassUtils.getUserClass(joinPoint.getTarget()).getSimpleName();
+    }
+}
@@ -0,0 +1,50 @@
+package com.suaempresa.driverqueue.config;
+
+import io.micrometer.observation.ObservationPredicate;
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+
+/**
+ * Ajustes do tracing: exportadores de spans além do OTLP (que o Spring Boot configura quando
+ * {@code management.otlp.tracing.endpoint} está definido) e observações descartadas.
+ *
+ * @see TracingAspect
+ */
+@Configuration(proxyBeanMethods = false)
+public class TracingConfig {
+
+    /**
+     * Escreve cada span finalizado no log (logger "io.opentelemetry.exporter.logging"), para
+     * diagnosticar sem um coletor. Ativado com {@code tracing.log-spans=true}.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "tracing.log-spans", havingValue = "true")
+    public LoggingSpanExporter loggingSpanExporter() {
+        return LoggingSpanExporter.create();
+    }
+
+    /**
+     * Propaga o contexto de tracing da thread que submeteu para as tarefas {@code @Async} (aplicado
+     * pelo Spring Boot ao executor padrão), para que o SMS de chamada enviado após o commit
+     * ({@link com.suaempresa.driverqueue.service.CallSmsNotifier}) fique no trace da requisição.
+     */
+    @Bean
+    public TaskDecorator contextPropagatingTaskDecorator() {
+        return new ContextPropagatingTaskDecorator();
+    }
+
+    /**
+     * Não observa as execuções de {@code @Scheduled}: os flushes em lote (journal, status de SMS)
+     * rodam a cada 500 ms e gerariam um trace vazio cada, escondendo os traces das requisições.
+     * {@code tracing.observe-scheduled-tasks=true} volta a observá-las.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "tracing.observe-scheduled-tasks", havingValue = "false", matchIfMissing = true)
+    public ObservationPredicate skipScheduledTaskObservations() {
+        return (name, context) -> !"tasks.scheduled.execution".equals(name);
+    }
+}
@@ -1,15 +1,26 @@
 package com.suaempresa.driverqueue.controller;
 
+import com.suaempresa.driverqueue.dto.UndeliveredSmsDto;
 import com.suaempresa.driverqueue.model.Driver;
+import com.suaempresa.driverqueue.model.QueueEvent;
+import com.suaempresa.driverqueue.config.SearchProperties;
+import com.suaempresa.driverqueue.service.DriverSearchService;
 import com.suaempresa.driverqueue.service.DriverService;
+import com.suaempresa.driverqueue.service.QueueChangeLog;
+import com.suaempresa.driverqueue.service.QueueEventJournal;
+import com.suaempresa.driverqueue.service.QueueProjection;
+import com.suaempresa.driverqueue.service.QueueUpdateBroadcaster;
+import com.suaempresa.driverqueue.service.SmsNotificationService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model; // Model ainda é usado por showAdminPage
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.Collections;
 import java.util.List;
@@ -26,9 +37,26 @@ public class AdminController {
 
     private static final Logger log = LoggerFactory.getLogger(AdminController.class);
     private final DriverService driverService;
+    private final QueueEventJournal queueEventJournal;
+    private final QueueUpdateBroadcaster queueUpdateBroadcaster;
+    private final QueueChangeLog queueChangeLog;
+    private final QueueProjection queueProjection;
+    private final SmsNotificationService smsNotificationService;
+    private final DriverSearchService driverSearchService;
+    private final SearchProperties searchProperties;
 
-    public AdminController(DriverService driverService) {
+    public AdminController(DriverService driverService, QueueEventJournal queueEventJournal,
+                           QueueUpdateBroadcaster queueUpdateBroadcaster, QueueChangeLog queueChangeLog,
+                           QueueProjection queueProjection, SmsNotificationService smsNotificationService,
+                           DriverSearchService driverSearchService, SearchProperties searchProperties) {
         this.driverService = driverService;
+        this.queueEventJournal = queueEventJournal;
+        this.queueUpdateBroadcaster = queueUpdateBroadcaster;
+        this.queueChangeLog = queueChangeLog;
+        this.queueProjection = queueProjection;
+        this.smsNotificationService = smsNotificationService;
+        this.driverSearchService = driverSearchService;
+        this.searchProperties = searchProperties;
     }
 
     @GetMapping
@@ -52,6 +80,44 @@ public class AdminController {
         }
     }
 
+    /**
+     * Sincronização incremental da fila: retorna apenas os motoristas incluídos, alterados ou
+     * removidos desde a versão que o cliente já possui (ou a fila completa, se ele estiver
+     * atrasado demais ou a época mudou).
+     *
+     * @param epoch Época recebida na consulta anterior (omitida na primeira consulta).
+     * @param since Versão recebida na consulta anterior.
+     * @return As mudanças, com a nova época/versão do cliente.
+     */
+    @GetMapping("/queue/changes")
+    @ResponseBody
+    public ResponseEntity<QueueChangeLog.Changes> getQueueChanges(@RequestParam(required = false) String epoch,
+                                                                  @RequestParam(defaultValue = "0") long since) {
+        log.debug("API GET /admin/queue/changes : Mudanças desde a versão {} (época {}).", since, epoch);
+        if (!queueProjection.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        try {
+            return ResponseEntity.ok(queueChangeLog.changesSince(epoch, since));
+        } catch (Exception e) {
+            log.error("API GET /admin/queue/changes : Erro ao buscar mudanças da fila!", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Stream Server-Sent Events que avisa a página de admin sempre que a fila muda
+     * (nesta instância ou em outra instância do cluster).
+     *
+     * @return O emitter SSE da conexão.
+     */
+    @GetMapping(path = "/queue/stream", produces = "text/event-stream")
+    @ResponseBody
+    public SseEmitter streamQueueUpdates() {
+        log.debug("API GET /admin/queue/stream : Nova conexão SSE.");
+        return queueUpdateBroadcaster.subscribe();
+    }
+
     @GetMapping("/called-drivers")
     @ResponseBody
     public ResponseEntity<List<Driver>> getCalledDriversData() {
@@ -79,6 +145,9 @@ public class AdminController {
                 log.info("API POST /admin/call-next : Nenhum motorista na fila para chamar.");
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Nenhum motorista aguardando na fila.");
             }
+        } catch (OptimisticLockingFailureException e) {
+            log.warn("API POST /admin/call-next : Conflito - {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
         } catch (Exception e) {
             log.error("API POST /admin/call-next : Erro inesperado!", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Erro interno ao processar a chamada.");
@@ -113,6 +182,9 @@ public class AdminController {
         } catch (IllegalArgumentException e) {
             log.warn("API POST /admin/driver/{}/attended : Falha - {}", id, e.getMessage());
             return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            log.warn("API POST /admin/driver/{}/attended : Conflito - {}", id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
         } catch (Exception e) {
             log.error("API POST /admin/driver/{}/attended : Erro inesperado!", id, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Erro interno ao marcar comparecimento.");
@@ -144,18 +216,105 @@ public class AdminController {
         } catch (IllegalArgumentException e) {
             log.warn("API POST /admin/driver/{}/recall : Falha - {}", id, e.getMessage());
             return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            log.warn("API POST /admin/driver/{}/recall : Conflito - {}", id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
         } catch (Exception e) {
             log.error("API POST /admin/driver/{}/recall : Erro inesperado!", id, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Erro interno ao tentar chamar novamente o motorista ID " + id + ".");
         }
     }
 
-    /*
-    // Opcional: manter para ação administrativa direta
+    /**
+     * Busca motoristas de todo o histórico por prefixo da placa, trecho do nome ou telefone, paginada.
+     * Mapeado para GET /admin/drivers/search?q=ABC1D&status=WAITING&page=0&size=20.
+     *
+     * @param q      Texto buscado (mínimo {@code queue.search.min-query-length} caracteres).
+     * @param status Status a incluir (pode repetir); omitido para todos.
+     * @param page   Página, a partir de 0.
+     * @param size   Tamanho da página (padrão {@code queue.search.default-page-size}).
+     * @return 200 com a página de resultados; 400 se o texto é curto demais ou a página é inválida.
+     */
+    @GetMapping("/drivers/search")
+    @ResponseBody
+    public ResponseEntity<?> searchDrivers(@RequestParam String q,
+                                           @RequestParam(required = false) List<Driver.DriverStatus> status,
+                                           @RequestParam(defaultValue = "0") int page,
+                                           @RequestParam(required = false) Integer size) {
+        log.debug("API GET /admin/drivers/search : Buscando '{}' (página {}).", q, page);
+        try {
+            return ResponseEntity.ok(driverSearchService.search(q, status != null ? status : List.of(), page,
+                    size != null ? size : searchProperties.getDefaultPageSize()));
+        } catch (IllegalArgumentException e) {
+            log.warn("API GET /admin/drivers/search : Falha - {}", e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            log.error("API GET /admin/drivers/search : Erro ao buscar motoristas!", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Erro interno ao buscar motoristas.");
+        }
+    }
+
+    /**
+     * Retorna a linha do tempo de um motorista a partir do journal de eventos
+     * (entrada, chamadas, re-chamadas, comparecimento, não comparecimento, limpeza).
+     *
+     * @param id ID do motorista.
+     * @return Lista de eventos em ordem cronológica.
+     */
+    @GetMapping("/driver/{id}/timeline")
+    @ResponseBody
+    public ResponseEntity<List<QueueEvent>> getDriverTimeline(@PathVariable Long id) {
+        log.debug("API GET /admin/driver/{}/timeline : Buscando linha do tempo do motorista.", id);
+        try {
+            return ResponseEntity.ok(queueEventJournal.getTimeline(id));
+        } catch (Exception e) {
+            log.error("API GET /admin/driver/{}/timeline : Erro ao buscar linha do tempo!", id, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Collections.emptyList());
+        }
+    }
+
+    /**
+     * Marca um motorista chamado como NÃO COMPARECEU, sem esperar o limite de re-chamadas.
+     *
+     * @param id ID do motorista.
+     * @return 200; 400 se o motorista não está CALLED; 409 se foi alterado por outro usuário.
+     */
     @PostMapping("/driver/{id}/no-show")
     @ResponseBody
-    public ResponseEntity<String> markNoShow(@PathVariable Long id) { ... }
-    */
+    public ResponseEntity<String> markNoShow(@PathVariable Long id) {
+        log.info("API POST /admin/driver/{}/no-show : Marcando como não compareceu.", id);
+        try {
+            driverService.markDriverAsNoShow(id);
+            return ResponseEntity.ok("Motorista ID " + id + " marcado como NÃO COMPARECEU.");
+        } catch (IllegalArgumentException e) {
+            log.warn("API POST /admin/driver/{}/no-show : Falha - {}", id, e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            log.warn("API POST /admin/driver/{}/no-show : Conflito - {}", id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (Exception e) {
+            log.error("API POST /admin/driver/{}/no-show : Erro inesperado!", id, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Erro interno ao marcar não comparecimento.");
+        }
+    }
+
+    /**
+     * Retorna os SMS de chamada que o Twilio informou como não entregues (janela recente),
+     * para o operador procurar o motorista por outro meio.
+     *
+     * @return Lista dos SMS não entregues, do mais recente para o mais antigo.
+     */
+    @GetMapping("/sms/undelivered")
+    @ResponseBody
+    public ResponseEntity<List<UndeliveredSmsDto>> getUndeliveredSms() {
+        log.debug("API GET /admin/sms/undelivered : Buscando SMS não entregues.");
+        try {
+            return ResponseEntity.ok(smsNotificationService.getRecentUndelivered());
+        } catch (Exception e) {
+            log.error("API GET /admin/sms/undelivered : Erro ao buscar SMS não entregues!", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Collections.emptyList());
+        }
+    }
 
     private boolean confirmActionSafety() {
         return true;
@@ -0,0 +1,105 @@
+package com.suaempresa.driverqueue.controller;
+
+import com.suaempresa.driverqueue.service.AppointmentCalendar;
+import com.suaempresa.driverqueue.service.AppointmentService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.net.URI;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Controller público de agendamento de horários de chegada, para motoristas e transportadoras.
+ * <p>
+ * A consulta de vagas e a reserva são atendidas pelo calendário em memória ({@link AppointmentCalendar}),
+ * sem esperar o banco; a reserva é gravada em seguida, em lote, pelo {@link AppointmentService}.
+ */
+@Controller
+public class AppointmentController {
+
+    private static final Logger log = LoggerFactory.getLogger(AppointmentController.class);
+    private final AppointmentService appointmentService;
+
+    public AppointmentController(AppointmentService appointmentService) {
+        this.appointmentService = appointmentService;
+    }
+
+    /**
+     * Lista as janelas reserváveis de um dia.
+     * Mapeado para GET /appointments/slots?date=2024-05-20.
+     *
+     * @param date Dia consultado (ISO); hoje, se omitido.
+     * @return 200 com as janelas e vagas restantes; 400 se o dia está fora do horizonte de agendamento.
+     */
+    @GetMapping("/appointments/slots")
+    @ResponseBody
+    public ResponseEntity<?> getSlots(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        try {
+            List<AppointmentCalendar.SlotAvailability> slots = appointmentService.getSlots(date);
+            return ResponseEntity.ok(slots);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            log.error("API GET /appointments/slots : Erro ao listar janelas do dia {}!", date, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Erro interno ao listar os horários.");
+        }
+    }
+
+    /**
+     * Reserva uma vaga em uma janela.
+     * Mapeado para POST /appointments (parâmetros plate, name, phoneNumber e slotStart, ex: 2024-05-20T08:30).
+     *
+     * @return 201 com o agendamento (guarde o código); 400 se os dados ou o horário são inválidos;
+     *         409 se a janela está lotada ou se a placa já tem agendamento ou cadastro na fila.
+     */
+    @PostMapping("/appointments")
+    @ResponseBody
+    public ResponseEntity<?> book(@RequestParam(required = false) String plate,
+                                  @RequestParam(required = false) String name,
+                                  @RequestParam(required = false) String phoneNumber,
+                                  @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime slotStart) {
+        try {
+            AppointmentService.Appointment appointment = appointmentService.book(plate, name, phoneNumber, slotStart);
+            return ResponseEntity.created(URI.create("/appointments/" + appointment.code())).body(appointment);
+        } catch (IllegalArgumentException e) {
+            log.debug("API POST /appointments : Reserva inválida para a placa {}: {}", plate, e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (Exception e) {
+            log.error("API POST /appointments : Erro ao reservar horário {} para a placa {}!", slotStart, plate, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Erro interno ao reservar o horário.");
+        }
+    }
+
+    /**
+     * Consulta um agendamento pelo código da reserva.
+     * Mapeado para GET /appointments/{code}.
+     *
+     * @param code Código recebido na reserva.
+     * @return 200 com o agendamento; 404 se o código não existe.
+     */
+    @GetMapping("/appointments/{code}")
+    @ResponseBody
+    public ResponseEntity<?> getAppointment(@PathVariable String code) {
+        try {
+            return appointmentService.findByCode(code.trim().toUpperCase())
+                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body("Agendamento não encontrado."));
+        } catch (Exception e) {
+            log.error("API GET /appointments/{} : Erro ao consultar agendamento!", code, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Erro interno ao consultar o agendamento.");
+        }
+    }
+}
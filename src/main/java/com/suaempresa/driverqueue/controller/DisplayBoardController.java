@@ -0,0 +1,70 @@
+package com.suaempresa.driverqueue.controller;
+
+import com.suaempresa.driverqueue.service.DisplayBoardService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Controller público do painel de chamadas exibido nas TVs da área de espera.
+ * Todas as respostas vêm do snapshot pré-serializado do {@link DisplayBoardService}.
+ */
+@Controller
+public class DisplayBoardController {
+
+    private static final Logger log = LoggerFactory.getLogger(DisplayBoardController.class);
+    private final DisplayBoardService displayBoardService;
+
+    public DisplayBoardController(DisplayBoardService displayBoardService) {
+        this.displayBoardService = displayBoardService;
+    }
+
+    /**
+     * Exibe a página do painel (GET /display).
+     * @return O nome da view Thymeleaf ("display-board").
+     */
+    @GetMapping("/display")
+    public String showDisplayBoard() {
+        log.info("GET /display : Exibindo painel de chamadas.");
+        return "display-board";
+    }
+
+    /**
+     * Retorna o snapshot atual do painel em JSON. Responde 304 quando o ETag enviado pela tela
+     * ainda é o atual (usado no polling de contingência quando o SSE não está disponível).
+     *
+     * @param ifNoneMatch ETag do snapshot que a tela já possui.
+     * @return O JSON do painel ou 304.
+     */
+    @GetMapping("/display/board")
+    @ResponseBody
+    public ResponseEntity<byte[]> getBoard(@RequestHeader(name = "If-None-Match", required = false) String ifNoneMatch) {
+        DisplayBoardService.Snapshot snapshot = displayBoardService.getSnapshot();
+        if (snapshot.etag().equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(snapshot.etag()).build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .eTag(snapshot.etag())
+                .body(snapshot.json());
+    }
+
+    /**
+     * Stream Server-Sent Events com o snapshot do painel a cada mudança.
+     * @return O emitter SSE da conexão.
+     */
+    @GetMapping(path = "/display/stream", produces = "text/event-stream")
+    @ResponseBody
+    public SseEmitter streamBoard() {
+        return displayBoardService.subscribe();
+    }
+}
@@ -44,7 +44,7 @@ public class DriverController {
         if (!model.containsAttribute("driverInputDto")) {
             model.addAttribute("driverInputDto", new DriverInputDto());
         }
-        log.info("GET / : Exibindo formulário de entrada.");
+        log.debug("GET / : Exibindo formulário de entrada.");
         return "index";
     }
 
@@ -67,7 +67,7 @@ public class DriverController {
                             BindingResult bindingResult, // Necessário para @Valid
                             RedirectAttributes redirectAttributes) {
 
-        log.info("POST /drivers/add : Tentativa de adicionar motorista: {}", driverInputDto);
+        log.debug("POST /drivers/add : Tentativa de adicionar motorista: {}", driverInputDto);
 
         // A validação @Valid é tratada primeiro. Se falhar, GlobalExceptionHandler redireciona.
         // Se chegar aqui, a validação básica (formato, tamanho, etc.) passou.
@@ -0,0 +1,77 @@
+package com.suaempresa.driverqueue.controller;
+
+import com.suaempresa.driverqueue.config.ExportProperties;
+import com.suaempresa.driverqueue.model.Driver;
+import com.suaempresa.driverqueue.service.DriverExportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Exportação do histórico de motoristas para auditoria. A resposta é escrita em streaming
+ * ({@link StreamingResponseBody}) à medida que as linhas são lidas do banco.
+ */
+@Controller
+@RequestMapping("/admin/export")
+public class ExportController {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportController.class);
+    private final DriverExportService driverExportService;
+    private final ExportProperties properties;
+
+    public ExportController(DriverExportService driverExportService, ExportProperties properties) {
+        this.driverExportService = driverExportService;
+        this.properties = properties;
+    }
+
+    /**
+     * Exporta os motoristas que entraram na fila no período.
+     * Mapeado para GET /admin/export/drivers?format=CSV&from=2025-01-01&to=2025-03-31&status=ATTENDED&status=NO_SHOW.
+     *
+     * @param format CSV ou NDJSON (padrão: CSV).
+     * @param from   Primeiro dia de entrada na fila (padrão: {@code queue.export.default-days} atrás).
+     * @param to     Último dia, inclusivo (padrão: hoje).
+     * @param status Status a incluir (padrão: todos).
+     * @return 200 com o arquivo em streaming; 400 se o período é inválido.
+     */
+    @GetMapping("/drivers")
+    @ResponseBody
+    public ResponseEntity<StreamingResponseBody> exportDrivers(@RequestParam(defaultValue = "CSV") DriverExportService.Format format,
+                                                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                               @RequestParam(required = false) List<Driver.DriverStatus> status) {
+        LocalDate lastDay = to != null ? to : LocalDate.now();
+        LocalDate firstDay = from != null ? from : lastDay.minusDays(properties.getDefaultDays() - 1L);
+        if (firstDay.isAfter(lastDay)) {
+            log.warn("API GET /admin/export/drivers : Período inválido {} a {}.", firstDay, lastDay);
+            return ResponseEntity.badRequest()
+                    .contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8))
+                    .body(out -> out.write("Período inválido: a data inicial é posterior à final.".getBytes(StandardCharsets.UTF_8)));
+        }
+        List<Driver.DriverStatus> statuses = status != null ? status : List.of();
+        log.info("API GET /admin/export/drivers : Exportando {} de {} a {} (status: {}).", format, firstDay, lastDay,
+                statuses.isEmpty() ? "todos" : statuses);
+
+        StreamingResponseBody body = out -> driverExportService.export(format, firstDay.atStartOfDay(),
+                lastDay.plusDays(1).atStartOfDay(), statuses, out);
+        String filename = "motoristas_" + firstDay + "_" + lastDay + "." + format.getExtension();
+        return ResponseEntity.ok()
+                .contentType(new MediaType(MediaType.parseMediaType(format.getContentType()), StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+}
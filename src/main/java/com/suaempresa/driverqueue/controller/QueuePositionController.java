@@ -0,0 +1,79 @@
+package com.suaempresa.driverqueue.controller;
+
+import com.suaempresa.driverqueue.config.PositionLookupProperties;
+import com.suaempresa.driverqueue.dto.QueuePositionDto;
+import com.suaempresa.driverqueue.security.TokenBucketRateLimiter;
+import com.suaempresa.driverqueue.service.QueueProjection;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Controller público para o motorista consultar sua posição na fila pelo celular.
+ * <p>
+ * A resposta vem da projeção em memória ({@link QueueProjection#findPosition(String)}), em O(log n)
+ * e sem acesso ao banco, já que os motoristas tendem a atualizar a consulta repetidamente.
+ * Cada cliente (IP) é limitado por um token bucket; acima do limite a resposta é 429.
+ */
+@Controller
+public class QueuePositionController {
+
+    private static final Logger log = LoggerFactory.getLogger(QueuePositionController.class);
+    private final QueueProjection queueProjection;
+    private final TokenBucketRateLimiter rateLimiter;
+
+    public QueuePositionController(QueueProjection queueProjection, PositionLookupProperties properties) {
+        this.queueProjection = queueProjection;
+        this.rateLimiter = new TokenBucketRateLimiter(properties.getRateLimitCapacity(),
+                properties.getRateLimitRefill(), properties.getRateLimitMaxClients());
+    }
+
+    /**
+     * Retorna a posição do motorista na fila.
+     * Mapeado para GET /queue/position?plate=ABC1D23.
+     *
+     * @param plate   Placa do veículo (maiúsculas/minúsculas e hífen são ignorados).
+     * @param request Requisição, usada para identificar o cliente no limite de consultas.
+     * @return 200 com a posição; 404 se a placa não está na fila; 429 acima do limite de consultas;
+     *         503 enquanto a fila em memória ainda está sendo carregada.
+     */
+    @GetMapping("/queue/position")
+    @ResponseBody
+    public ResponseEntity<?> getPosition(@RequestParam(required = false) String plate, HttpServletRequest request) {
+        long waitNanos = rateLimiter.tryAcquire(request.getRemoteAddr());
+        if (waitNanos > 0) {
+            log.debug("API GET /queue/position : Limite de consultas atingido para {}.", request.getRemoteAddr());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos))))
+                    .body("Muitas consultas. Aguarde alguns segundos e tente novamente.");
+        }
+        if (plate == null || plate.isBlank()) {
+            return ResponseEntity.badRequest().body("Informe a placa do veículo.");
+        }
+        if (!queueProjection.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .body("A fila está sendo carregada. Tente novamente em instantes.");
+        }
+        try {
+            Optional<QueueProjection.Position> position = queueProjection.findPosition(plate);
+            if (position.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Placa não encontrada na fila.");
+            }
+            return ResponseEntity.ok(QueuePositionDto.from(position.get()));
+        } catch (Exception e) {
+            log.error("API GET /queue/position : Erro ao consultar posição da placa {}!", plate, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Erro interno ao consultar a posição.");
+        }
+    }
+}
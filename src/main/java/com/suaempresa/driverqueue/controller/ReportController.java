@@ -0,0 +1,72 @@
+package com.suaempresa.driverqueue.controller;
+
+import com.suaempresa.driverqueue.config.QueueStatsProperties;
+import com.suaempresa.driverqueue.service.QueueStatsRollup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Relatórios operacionais da fila para a gestão (vazão, espera média e p90, taxa de não
+ * comparecimento e de re-chamada), calculados só a partir dos agregados por hora do
+ * {@link QueueStatsRollup}, sem consultas à tabela de motoristas.
+ */
+@Controller
+@RequestMapping("/admin/reports")
+public class ReportController {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportController.class);
+    private final QueueStatsRollup queueStatsRollup;
+    private final QueueStatsProperties properties;
+
+    public ReportController(QueueStatsRollup queueStatsRollup, QueueStatsProperties properties) {
+        this.queueStatsRollup = queueStatsRollup;
+        this.properties = properties;
+    }
+
+    @GetMapping
+    public String showReportsPage() {
+        log.info("GET /admin/reports : Exibindo página de relatórios.");
+        return "admin-reports";
+    }
+
+    /**
+     * Indicadores da fila por hora ou por dia.
+     * Mapeado para GET /admin/reports/stats?granularity=DAY&from=2025-01-01&to=2025-01-31.
+     *
+     * @param granularity HOUR ou DAY (padrão: DAY).
+     * @param from        Primeiro dia do período (padrão: {@code queue.stats.default-report-days} atrás).
+     * @param to          Último dia do período, inclusivo (padrão: hoje).
+     * @return 200 com o relatório; 400 se o período é inválido ou maior que {@code queue.stats.max-report-days}.
+     */
+    @GetMapping("/stats")
+    @ResponseBody
+    public ResponseEntity<?> getStats(@RequestParam(defaultValue = "DAY") QueueStatsRollup.Granularity granularity,
+                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate lastDay = to != null ? to : LocalDate.now();
+        LocalDate firstDay = from != null ? from : lastDay.minusDays(properties.getDefaultReportDays() - 1L);
+        long days = ChronoUnit.DAYS.between(firstDay, lastDay) + 1;
+        if (days < 1 || days > properties.getMaxReportDays()) {
+            log.warn("API GET /admin/reports/stats : Período inválido {} a {}.", firstDay, lastDay);
+            return ResponseEntity.badRequest().body("Período inválido: informe de 1 a " + properties.getMaxReportDays() + " dias.");
+        }
+        log.debug("API GET /admin/reports/stats : Relatório {} de {} a {}.", granularity, firstDay, lastDay);
+        try {
+            return ResponseEntity.ok(queueStatsRollup.getReport(granularity, firstDay.atStartOfDay(), lastDay.plusDays(1).atStartOfDay()));
+        } catch (Exception e) {
+            log.error("API GET /admin/reports/stats : Erro ao montar relatório!", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Erro interno ao montar o relatório.");
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.suaempresa.driverqueue.controller;
+
+import com.suaempresa.driverqueue.config.TwilioProperties;
+import com.suaempresa.driverqueue.service.InboundSmsService;
+import com.suaempresa.driverqueue.service.SmsNotificationService;
+import com.twilio.security.RequestValidator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.Map;
+
+/**
+ * Webhooks chamados pelo Twilio.
+ * <p>
+ * Os callbacks são autenticados pela assinatura {@code X-Twilio-Signature} (HMAC do Auth Token
+ * sobre a URL configurada e os parâmetros) e apenas enfileirados para gravação em lote, para
+ * que o Twilio receba a resposta rapidamente mesmo em picos de callbacks.
+ * <p>
+ * As respostas dos motoristas aos SMS de chamada chegam em {@code /inbound} e são aplicadas à fila
+ * de forma assíncrona pelo {@link InboundSmsService}.
+ */
+@Controller
+@RequestMapping("/webhooks/twilio")
+public class TwilioWebhookController {
+
+    private static final Logger log = LoggerFactory.getLogger(TwilioWebhookController.class);
+    /** TwiML vazio: a mensagem foi recebida e nenhuma resposta é enviada ao motorista. */
+    private static final String EMPTY_TWIML = "<?xml version=\"1.0\" encoding=\"UTF-8\"?><Response></Response>";
+
+    private final SmsNotificationService smsNotificationService;
+    private final InboundSmsService inboundSmsService;
+    private final RequestValidator requestValidator;
+    private final String statusCallbackUrl;
+    private final String inboundUrl;
+
+    public TwilioWebhookController(SmsNotificationService smsNotificationService, InboundSmsService inboundSmsService,
+                                   TwilioProperties twilioProperties) {
+        this.smsNotificationService = smsNotificationService;
+        this.inboundSmsService = inboundSmsService;
+        this.requestValidator = new RequestValidator(twilioProperties.getAuthToken());
+        this.statusCallbackUrl = twilioProperties.getStatusCallbackUrl();
+        this.inboundUrl = twilioProperties.getInboundUrl();
+    }
+
+    /**
+     * Recebe o status de entrega de um SMS enviado com {@code twilio.status-callback-url}.
+     * Mapeado para POST /webhooks/twilio/status.
+     *
+     * @param params    Parâmetros do callback (MessageSid, MessageStatus, ErrorCode, ...).
+     * @param signature Assinatura do Twilio.
+     * @return 204 se o status foi aceito; 403 se a assinatura é inválida; 400 se faltam parâmetros.
+     */
+    @PostMapping(path = "/status", consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+    @ResponseBody
+    public ResponseEntity<Void> statusCallback(@RequestParam Map<String, String> params,
+                                               @RequestHeader(name = "X-Twilio-Signature", required = false) String signature) {
+        if (statusCallbackUrl == null || statusCallbackUrl.isBlank() || signature == null
+                || !requestValidator.validate(statusCallbackUrl, params, signature)) {
+            log.warn("API POST /webhooks/twilio/status : Assinatura inválida ou webhook não configurado. SID: {}", params.get("MessageSid"));
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        String messageSid = params.get("MessageSid");
+        String messageStatus = params.get("MessageStatus");
+        if (messageSid == null || messageStatus == null) {
+            log.warn("API POST /webhooks/twilio/status : Callback sem MessageSid/MessageStatus.");
+            return ResponseEntity.badRequest().build();
+        }
+        log.debug("API POST /webhooks/twilio/status : SMS {} -> {}.", messageSid, messageStatus);
+        smsNotificationService.recordStatus(messageSid, messageStatus, parseErrorCode(params.get("ErrorCode")));
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Recebe um SMS enviado por um motorista ao número do Twilio (ex: resposta à chamada).
+     * Mapeado para POST /webhooks/twilio/inbound ({@code twilio.inbound-url}).
+     *
+     * @param params    Parâmetros do webhook (From, Body, MessageSid, ...).
+     * @param signature Assinatura do Twilio.
+     * @return 200 com TwiML vazio se a mensagem foi aceita; 403 se a assinatura é inválida; 400 se faltam
+     *         parâmetros; 503 se a fila de processamento está cheia.
+     */
+    @PostMapping(path = "/inbound", consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+    @ResponseBody
+    public ResponseEntity<String> inboundMessage(@RequestParam Map<String, String> params,
+                                                 @RequestHeader(name = "X-Twilio-Signature", required = false) String signature) {
+        if (inboundUrl == null || inboundUrl.isBlank() || signature == null
+                || !requestValidator.validate(inboundUrl, params, signature)) {
+            log.warn("API POST /webhooks/twilio/inbound : Assinatura inválida ou webhook não configurado. SID: {}", params.get("MessageSid"));
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        String from = params.get("From");
+        String messageSid = params.get("MessageSid");
+        if (from == null || messageSid == null) {
+            log.warn("API POST /webhooks/twilio/inbound : Mensagem sem From/MessageSid.");
+            return ResponseEntity.badRequest().build();
+        }
+        log.debug("API POST /webhooks/twilio/inbound : SMS {} recebido de {}.", messageSid, from);
+        if (!inboundSmsService.submit(from.trim(), params.get("Body"), messageSid)) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "5").build();
+        }
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_XML).body(EMPTY_TWIML);
+    }
+
+    private static Integer parseErrorCode(String errorCode) {
+        if (errorCode == null || errorCode.isBlank()) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(errorCode.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.suaempresa.driverqueue.dto;
+
+import com.suaempresa.driverqueue.model.Driver;
+import com.suaempresa.driverqueue.service.QueueProjection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resposta da consulta pública de posição na fila ({@code GET /queue/position}).
+ * Não expõe nome nem telefone do motorista, apenas dados da placa consultada.
+ *
+ * @param plate        Placa do veículo.
+ * @param status       WAITING (aguardando) ou CALLED (já chamado).
+ * @param position     Posição na fila de espera (1 = próximo); 0 quando já foi chamado.
+ * @param driversAhead Motoristas à frente na fila de espera.
+ * @param waitingCount Total de motoristas aguardando.
+ * @param entryTime    Horário de entrada na fila.
+ * @param calledTime   Horário da última chamada (nulo enquanto aguarda).
+ */
+public record QueuePositionDto(String plate,
+                               Driver.DriverStatus status,
+                               int position,
+                               int driversAhead,
+                               int waitingCount,
+                               LocalDateTime entryTime,
+                               LocalDateTime calledTime) {
+
+    /**
+     * @param position Posição calculada pela projeção da fila.
+     * @return O DTO correspondente.
+     */
+    public static QueuePositionDto from(QueueProjection.Position position) {
+        return new QueuePositionDto(position.driver().plate(), position.driver().status(), position.position(),
+                Math.max(0, position.position() - 1), position.waitingCount(),
+                position.driver().entryTime(), position.driver().calledTime());
+    }
+}
@@ -0,0 +1,34 @@
+package com.suaempresa.driverqueue.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Indicadores operacionais da fila em um período (uma hora, um dia ou o total do relatório),
+ * retornados por {@code GET /admin/reports/stats}.
+ *
+ * @param bucketStart    Início do período (nulo no total).
+ * @param added          Motoristas que entraram na fila.
+ * @param called         Motoristas chamados pela primeira vez (vazão da fila).
+ * @param recalled       Re-chamadas.
+ * @param attended       Motoristas que compareceram.
+ * @param noShow         Motoristas que não compareceram.
+ * @param cleared        Motoristas removidos pela limpeza da fila.
+ * @param avgWaitSeconds Espera média da entrada até a primeira chamada (nulo sem chamadas).
+ * @param p90WaitSeconds Percentil 90 da espera, estimado pelo histograma (nulo sem chamadas).
+ * @param maxWaitSeconds Maior espera.
+ * @param noShowRate     Não comparecimentos / (comparecimentos + não comparecimentos); nulo sem desfechos.
+ * @param recallRate     Re-chamadas / primeiras chamadas; nulo sem chamadas.
+ */
+public record QueueStatsDto(LocalDateTime bucketStart,
+                            long added,
+                            long called,
+                            long recalled,
+                            long attended,
+                            long noShow,
+                            long cleared,
+                            Double avgWaitSeconds,
+                            Double p90WaitSeconds,
+                            long maxWaitSeconds,
+                            Double noShowRate,
+                            Double recallRate) {
+}
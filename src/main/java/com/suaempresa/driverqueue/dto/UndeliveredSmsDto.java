@@ -0,0 +1,26 @@
+package com.suaempresa.driverqueue.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * SMS de chamada que o Twilio informou como não entregue, exibido na página de admin
+ * ({@code GET /admin/sms/undelivered}) para que o operador procure o motorista por outro meio.
+ *
+ * @param driverId        ID do motorista (nulo se o envio ainda não foi registrado).
+ * @param driverName      Nome do motorista.
+ * @param plate           Placa do veículo.
+ * @param phoneNumber     Telefone de destino.
+ * @param callAttempt     Chamada que gerou o SMS (1 = primeira chamada).
+ * @param status          Status do Twilio (failed ou undelivered).
+ * @param errorCode       Código de erro do Twilio, se informado.
+ * @param statusUpdatedAt Momento em que a falha foi informada.
+ */
+public record UndeliveredSmsDto(Long driverId,
+                                String driverName,
+                                String plate,
+                                String phoneNumber,
+                                Integer callAttempt,
+                                String status,
+                                Integer errorCode,
+                                LocalDateTime statusUpdatedAt) {
+}
@@ -0,0 +1,12 @@
+package com.suaempresa.driverqueue.event;
+
+/**
+ * Publicado pelo {@link com.suaempresa.driverqueue.service.ClusterEventBus} quando a conexão
+ * LISTEN com o Postgres é (re)estabelecida ou quando outra instância avisa que descartou
+ * notificações. Nos dois casos transições foram perdidas, então as visões em memória devem se
+ * reconstruir a partir do banco.
+ *
+ * @param nodeId Identificador desta instância.
+ */
+public record ClusterResyncEvent(String nodeId) {
+}
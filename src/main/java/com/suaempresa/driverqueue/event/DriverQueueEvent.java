@@ -0,0 +1,64 @@
+package com.suaempresa.driverqueue.event;
+
+import com.suaempresa.driverqueue.model.Driver;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento de domínio publicado pelo {@link com.suaempresa.driverqueue.service.DriverService}
+ * a cada transição de um motorista na fila.
+ * <p>
+ * Carrega uma cópia imutável do estado do motorista logo após a transição, para que os
+ * consumidores (journal, projeções em memória, etc.) não precisem consultar o banco novamente.
+ *
+ * @param type        Tipo da transição ocorrida.
+ * @param driverId    ID do motorista.
+ * @param plate       Placa do veículo.
+ * @param name        Nome do motorista.
+ * @param phoneNumber Telefone no formato E.164.
+ * @param status      Status do motorista após a transição.
+ * @param callAttempts Número de chamadas após a transição.
+ * @param entryTime   Horário de entrada na fila.
+ * @param calledTime  Horário da última chamada (pode ser nulo).
+ * @param occurredAt  Momento em que a transição ocorreu.
+ */
+public record DriverQueueEvent(Type type,
+                               Long driverId,
+                               String plate,
+                               String name,
+                               String phoneNumber,
+                               Driver.DriverStatus status,
+                               int callAttempts,
+                               LocalDateTime entryTime,
+                               LocalDateTime calledTime,
+                               LocalDateTime occurredAt) {
+
+    /**
+     * Tipos de transição registrados no journal.
+     */
+    public enum Type {
+        ADDED, CALLED, RECALLED, ATTENDED, NO_SHOW, CLEARED
+    }
+
+    /**
+     * Cria um evento a partir do estado atual do motorista.
+     *
+     * @param type       Tipo da transição.
+     * @param driver     Motorista já com o novo estado aplicado.
+     * @param occurredAt Momento da transição (do {@link java.time.Clock} de quem a aplicou).
+     * @return O evento correspondente.
+     */
+    public static DriverQueueEvent of(Type type, Driver driver, LocalDateTime occurredAt) {
+        return new DriverQueueEvent(type, driver.getId(), driver.getPlate(), driver.getName(),
+                driver.getPhoneNumber(), driver.getStatus(), driver.getCallAttempts(),
+                driver.getEntryTime(), driver.getCalledTime(), occurredAt);
+    }
+
+    /**
+     * Indica se, após este evento, o motorista ainda faz parte da fila ativa (WAITING ou CALLED).
+     * @return true se o motorista continua ativo na fila.
+     */
+    public boolean isActive() {
+        return status == Driver.DriverStatus.WAITING || status == Driver.DriverStatus.CALLED;
+    }
+}
@@ -0,0 +1,15 @@
+package com.suaempresa.driverqueue.event;
+
+/**
+ * Transição da fila ocorrida em outra instância da aplicação e recebida pelo
+ * {@link com.suaempresa.driverqueue.service.ClusterEventBus}.
+ * <p>
+ * É publicada como evento local (sem transação) para que as visões em memória desta instância
+ * se atualizem. Não deve ser gravada no journal nem retransmitida, pois a instância de origem
+ * já fez isso.
+ *
+ * @param event      A transição original.
+ * @param sourceNode Identificador da instância onde a transição ocorreu.
+ */
+public record RemoteDriverQueueEvent(DriverQueueEvent event, String sourceNode) {
+}
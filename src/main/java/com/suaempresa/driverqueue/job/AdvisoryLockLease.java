@@ -0,0 +1,136 @@
+package com.suaempresa.driverqueue.job;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Lease de liderança de um job, baseado em um advisory lock de sessão do Postgres.
+ * <p>
+ * O líder mantém aberta a conexão que obteve o lock. Se a instância morrer ou perder a conexão,
+ * o Postgres encerra a sessão e libera o lock automaticamente, permitindo que outra instância
+ * assuma o job na sua próxima tentativa (failover).
+ * <p>
+ * Não é thread-safe; cada job é executado por uma única thread do agendador por vez.
+ */
+class AdvisoryLockLease {
+
+    private static final Logger log = LoggerFactory.getLogger(AdvisoryLockLease.class);
+
+    private final DataSource dataSource;
+    private final String jobName;
+    private final int namespace;
+    private final int validationTimeoutSeconds;
+
+    /** Conexão que segura o lock; nula quando esta instância não é líder. */
+    private Connection connection;
+
+    AdvisoryLockLease(DataSource dataSource, String jobName, int namespace, int validationTimeoutSeconds) {
+        this.dataSource = dataSource;
+        this.jobName = jobName;
+        this.namespace = namespace;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+    }
+
+    /**
+     * Garante que esta instância é a líder do job: valida o lease atual ou tenta obtê-lo.
+     * @return true se esta instância detém o lock e pode executar o job.
+     */
+    boolean acquireOrRenew() {
+        if (connection != null) {
+            if (isConnectionValid()) {
+                return true;
+            }
+            log.warn("acquireOrRenew: Conexão do lease do job '{}' perdida. Liderança abandonada.", jobName);
+            release();
+        }
+        Connection candidate = null;
+        try {
+            candidate = dataSource.getConnection();
+            candidate.setAutoCommit(true);
+            try (PreparedStatement ps = candidate.prepareStatement("SELECT pg_try_advisory_lock(?, hashtext(?))")) {
+                ps.setInt(1, namespace);
+                ps.setString(2, jobName);
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (rs.next() && rs.getBoolean(1)) {
+                        connection = candidate;
+                        log.info("acquireOrRenew: Esta instância assumiu a liderança do job '{}'.", jobName);
+                        return true;
+                    }
+                }
+            }
+            closeQuietly(candidate);
+            return false;
+        } catch (SQLException e) {
+            log.error("acquireOrRenew: Falha ao tentar obter o lease do job '{}': {}", jobName, e.getMessage());
+            closeQuietly(candidate);
+            return false;
+        }
+    }
+
+    /** @return true se esta instância é a líder atual do job. */
+    boolean isHeld() {
+        return connection != null;
+    }
+
+    /**
+     * Libera o lock (se detido) e descarta a conexão física, para que uma conexão com lock
+     * de sessão pendente nunca volte ao pool e seja reutilizada por outra parte da aplicação.
+     */
+    void release() {
+        if (connection == null) {
+            return;
+        }
+        try (PreparedStatement ps = connection.prepareStatement("SELECT pg_advisory_unlock(?, hashtext(?))")) {
+            ps.setInt(1, namespace);
+            ps.setString(2, jobName);
+            ps.execute();
+        } catch (SQLException e) {
+            log.debug("release: Não foi possível liberar explicitamente o lock do job '{}': {}", jobName, e.getMessage());
+        } finally {
+            discard(connection);
+            connection = null;
+        }
+    }
+
+    private boolean isConnectionValid() {
+        try {
+            return connection.isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void discard(Connection leaseConnection) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                // Fecha a conexão física; encerrar a sessão libera qualquer advisory lock restante.
+                // Com a réplica de leitura, a conexão vem embrulhada pelo LazyConnectionDataSourceProxy.
+                Connection pooled = leaseConnection instanceof ConnectionProxy proxy ? proxy.getTargetConnection() : leaseConnection;
+                dataSource.unwrap(HikariDataSource.class).evictConnection(pooled);
+                return;
+            }
+        } catch (SQLException e) {
+            log.debug("discard: Não foi possível remover a conexão do pool: {}", e.getMessage());
+        }
+        closeQuietly(leaseConnection);
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // Conexão já inválida; nada a fazer
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.suaempresa.driverqueue.job;
+
+import com.suaempresa.driverqueue.config.AppointmentProperties;
+import com.suaempresa.driverqueue.model.Driver;
+import com.suaempresa.driverqueue.service.DriverService;
+import jakarta.validation.ConstraintViolationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Job que coloca na fila os motoristas agendados cujo horário chegou.
+ * <p>
+ * Cada agendamento BOOKED com início da janela já alcançado entra como WAITING pelo
+ * {@link DriverService#addScheduledDriver}, com o início da janela como horário de entrada, e passa a
+ * QUEUED, na mesma transação: se a aplicação cair entre os dois passos, nem o motorista fica na fila com o
+ * agendamento ainda BOOKED (e entraria de novo no próximo ciclo) nem o contrário. Se o cadastro for
+ * recusado (ex: placa já cadastrada ou dados que não passam na validação do motorista), o agendamento
+ * fica FAILED; um erro inesperado em um agendamento não impede os seguintes de entrar na fila.
+ * Roda em uma única instância graças ao {@link ClusteredJobScheduler}, então ninguém entra duas vezes.
+ */
+@Component
+public class AppointmentMergeJob implements ClusteredJob {
+
+    private static final Logger log = LoggerFactory.getLogger(AppointmentMergeJob.class);
+
+    private static final String SELECT_DUE_SQL =
+            "SELECT id, slot_start, plate, name, phone_number FROM appointment " +
+            "WHERE status = 'BOOKED' AND slot_start <= ? ORDER BY slot_start, id LIMIT ?";
+
+    private static final String UPDATE_STATUS_SQL =
+            "UPDATE appointment SET status = ?, driver_id = ? WHERE id = ? AND status = 'BOOKED'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DriverService driverService;
+    private final AppointmentProperties properties;
+    private final Clock clock;
+    private final TransactionTemplate mergeTransaction;
+
+    public AppointmentMergeJob(JdbcTemplate jdbcTemplate, DriverService driverService,
+                               AppointmentProperties properties, Clock clock,
+                               PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.driverService = driverService;
+        this.properties = properties;
+        this.clock = clock;
+        this.mergeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public String getName() {
+        return "appointment-merge";
+    }
+
+    @Override
+    public Duration getInterval() {
+        return properties.getMergeInterval();
+    }
+
+    @Override
+    public void execute() {
+        List<Map<String, Object>> due = jdbcTemplate.queryForList(SELECT_DUE_SQL,
+                Timestamp.valueOf(LocalDateTime.now(clock)), properties.getMergeBatchSize());
+        int queued = 0;
+        for (Map<String, Object> appointment : due) {
+            long id = ((Number) appointment.get("id")).longValue();
+            LocalDateTime slotStart = ((Timestamp) appointment.get("slot_start")).toLocalDateTime();
+            try {
+                Boolean merged = mergeTransaction.execute(status -> {
+                    Driver driver = driverService.addScheduledDriver((String) appointment.get("plate"),
+                            (String) appointment.get("name"), (String) appointment.get("phone_number"), slotStart);
+                    if (jdbcTemplate.update(UPDATE_STATUS_SQL, "QUEUED", driver.getId(), id) == 0) {
+                        // O agendamento deixou de estar BOOKED: desfaz a entrada na fila
+                        status.setRollbackOnly();
+                        return false;
+                    }
+                    return true;
+                });
+                if (Boolean.TRUE.equals(merged)) {
+                    queued++;
+                } else {
+                    log.warn("execute: Agendamento ID {} não está mais BOOKED; entrada na fila desfeita.", id);
+                }
+            } catch (DataIntegrityViolationException | IllegalArgumentException | ConstraintViolationException e) {
+                log.warn("execute: Agendamento ID {} (placa {}) não pôde entrar na fila: {}", id,
+                        appointment.get("plate"), e.getMessage());
+                jdbcTemplate.update(UPDATE_STATUS_SQL, "FAILED", null, id);
+            } catch (DataAccessResourceFailureException | TransientDataAccessException | CannotCreateTransactionException e) {
+                // Banco indisponível: os demais também falhariam; o próximo ciclo retoma do mesmo ponto
+                throw e;
+            } catch (RuntimeException e) {
+                // Falha inesperada de um agendamento: segue para os próximos em vez de travar a fila de agendados
+                log.error("execute: Erro inesperado ao colocar o agendamento ID {} (placa {}) na fila. Mantido BOOKED.",
+                        id, appointment.get("plate"), e);
+            }
+        }
+        if (!due.isEmpty()) {
+            log.info("execute: {} de {} agendamento(s) colocado(s) na fila.", queued, due.size());
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.suaempresa.driverqueue.job;
+
+import com.suaempresa.driverqueue.config.CallPolicyProperties;
+import com.suaempresa.driverqueue.event.DriverQueueEvent;
+import com.suaempresa.driverqueue.model.Driver;
+import com.suaempresa.driverqueue.service.CallSmsNotifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Job que envia os SMS de chamada pedidos pela tabela "call_sms_outbox".
+ * <p>
+ * A variante reativa chama motoristas mas não tem cliente do Twilio: grava o pedido na mesma transação
+ * da chamada e este job o envia pelo {@link CallSmsNotifier}, como nas chamadas feitas aqui. Cada lote é
+ * retirado da tabela (DELETE ... RETURNING) antes do envio, então um pedido gera no máximo um SMS, mesmo
+ * com a eleição de líder desligada; se a instância cair entre a retirada e o envio, o SMS se perde, como
+ * acontece com o envio assíncrono das chamadas locais. Pedidos de motoristas que já não estão CALLED com
+ * a mesma tentativa (compareceram, foram re-chamados ou marcados NO_SHOW antes do envio) são descartados.
+ * Roda em uma única instância graças ao {@link ClusteredJobScheduler}.
+ */
+@Component
+public class CallSmsOutboxJob implements ClusteredJob {
+
+    private static final Logger log = LoggerFactory.getLogger(CallSmsOutboxJob.class);
+
+    private static final String CLAIM_SQL =
+            "WITH claimed AS (" +
+            "DELETE FROM call_sms_outbox WHERE id IN (" +
+            "SELECT id FROM call_sms_outbox ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED) " +
+            "RETURNING id, driver_id, event_type, call_attempts, created_at) " +
+            "SELECT c.id, c.driver_id, c.event_type, c.call_attempts, c.created_at, d.plate, d.name, d.phone_number, " +
+            "d.status, d.call_attempts AS current_attempts, d.entry_time, d.called_time " +
+            "FROM claimed c JOIN driver d ON d.id = c.driver_id ORDER BY c.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CallSmsNotifier callSmsNotifier;
+    private final CallPolicyProperties properties;
+
+    public CallSmsOutboxJob(JdbcTemplate jdbcTemplate, CallSmsNotifier callSmsNotifier, CallPolicyProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.callSmsNotifier = callSmsNotifier;
+        this.properties = properties;
+    }
+
+    @Override
+    public String getName() {
+        return "call-sms-outbox";
+    }
+
+    @Override
+    public Duration getInterval() {
+        return properties.getSmsOutboxInterval();
+    }
+
+    @Override
+    public void execute() {
+        List<PendingCall> pending = jdbcTemplate.query(CLAIM_SQL, CallSmsOutboxJob::toPendingCall, properties.getSmsOutboxBatchSize());
+        int sent = 0;
+        for (PendingCall call : pending) {
+            if (!call.current()) {
+                log.debug("execute: Pedido de SMS {} descartado: Motorista ID {} não está mais CALLED na tentativa {}.",
+                        call.outboxId(), call.event().driverId(), call.event().callAttempts());
+                continue;
+            }
+            callSmsNotifier.notifyCall(call.event());
+            sent++;
+        }
+        if (!pending.isEmpty()) {
+            log.info("execute: {} pedido(s) de SMS de chamada retirado(s) da outbox; {} encaminhado(s) para envio.", pending.size(), sent);
+        }
+    }
+
+    private static PendingCall toPendingCall(ResultSet rs, int rowNum) throws SQLException {
+        int callAttempts = rs.getInt("call_attempts");
+        DriverQueueEvent event = new DriverQueueEvent(
+                DriverQueueEvent.Type.valueOf(rs.getString("event_type")),
+                rs.getLong("driver_id"),
+                rs.getString("plate"),
+                rs.getString("name"),
+                rs.getString("phone_number"),
+                Driver.DriverStatus.CALLED,
+                callAttempts,
+                toLocalDateTime(rs.getTimestamp("entry_time")),
+                toLocalDateTime(rs.getTimestamp("called_time")),
+                toLocalDateTime(rs.getTimestamp("created_at")));
+        boolean current = Driver.DriverStatus.CALLED.name().equals(rs.getString("status"))
+                && rs.getInt("current_attempts") == callAttempts;
+        return new PendingCall(rs.getLong("id"), event, current);
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    /**
+     * Pedido retirado da outbox.
+     *
+     * @param outboxId ID da linha na call_sms_outbox.
+     * @param event    Chamada a notificar, com os dados atuais do motorista.
+     * @param current  Se o motorista ainda está CALLED na tentativa do pedido.
+     */
+    private record PendingCall(long outboxId, DriverQueueEvent event, boolean current) {
+    }
+}
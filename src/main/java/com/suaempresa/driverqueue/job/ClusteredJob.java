@@ -0,0 +1,31 @@
+package com.suaempresa.driverqueue.job;
+
+import java.time.Duration;
+
+/**
+ * Tarefa periódica que deve rodar em apenas uma instância do cluster por vez.
+ * <p>
+ * Basta registrar a implementação como bean Spring: o {@link ClusteredJobScheduler} a agenda
+ * em todas as instâncias, mas só a que detém o lease (advisory lock no Postgres) do job executa.
+ */
+public interface ClusteredJob {
+
+    /**
+     * Nome único e estável do job. Também define a chave do advisory lock,
+     * portanto não deve mudar entre versões da aplicação.
+     * @return Nome do job (ex: "journal-retention").
+     */
+    String getName();
+
+    /**
+     * Intervalo entre o fim de uma execução e o início da próxima.
+     * @return Intervalo de agendamento.
+     */
+    Duration getInterval();
+
+    /**
+     * Executa uma rodada do job. Só é chamado na instância líder do job.
+     * Exceções são registradas e contabilizadas nas métricas, sem cancelar o agendamento.
+     */
+    void execute();
+}
@@ -0,0 +1,110 @@
+package com.suaempresa.driverqueue.job;
+
+import com.suaempresa.driverqueue.config.JobProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Agenda os {@link ClusteredJob} registrados e garante que cada um rode em apenas uma instância.
+ * <p>
+ * Todas as instâncias agendam todos os jobs. A cada disparo, a instância tenta obter (ou renovar)
+ * o lease do job via {@link AdvisoryLockLease}; só a líder executa. A líder mantém o lease entre
+ * execuções bem-sucedidas e o libera quando o job falha ou quando a aplicação encerra. Se a líder
+ * cair, o lock é liberado pelo Postgres e a próxima instância a disparar assume o job.
+ * <p>
+ * Métricas publicadas por job (tag "job"):
+ * <ul>
+ *     <li>{@code queue.jobs.duration} — tempo de execução, com a tag "outcome" (success/failure);</li>
+ *     <li>{@code queue.jobs.leader} — 1 se esta instância é a líder do job, 0 caso contrário.</li>
+ * </ul>
+ */
+@Component
+@ConditionalOnProperty(prefix = "queue.jobs", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ClusteredJobScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusteredJobScheduler.class);
+
+    private final List<ClusteredJob> jobs;
+    private final TaskScheduler taskScheduler;
+    private final DataSource dataSource;
+    private final MeterRegistry meterRegistry;
+    private final JobProperties properties;
+
+    private final List<AdvisoryLockLease> leases = new ArrayList<>();
+    private final List<ScheduledFuture<?>> scheduledJobs = new ArrayList<>();
+
+    public ClusteredJobScheduler(ObjectProvider<ClusteredJob> jobs, TaskScheduler taskScheduler, DataSource dataSource,
+                                 MeterRegistry meterRegistry, JobProperties properties) {
+        this.jobs = jobs.orderedStream().toList();
+        this.taskScheduler = taskScheduler;
+        this.dataSource = dataSource;
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+    }
+
+    /** Agenda os jobs quando a aplicação termina de subir. */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void scheduleJobs() {
+        Instant firstRun = Instant.now().plus(properties.getInitialDelay());
+        for (ClusteredJob job : jobs) {
+            AdvisoryLockLease lease = new AdvisoryLockLease(dataSource, job.getName(), properties.getLockNamespace(),
+                    (int) Math.max(1, properties.getLeaseValidationTimeout().toSeconds()));
+            leases.add(lease);
+            Gauge.builder("queue.jobs.leader", lease, l -> l.isHeld() ? 1 : 0)
+                    .description("1 se esta instância é a líder do job")
+                    .tag("job", job.getName())
+                    .register(meterRegistry);
+            scheduledJobs.add(taskScheduler.scheduleWithFixedDelay(() -> runIfLeader(job, lease), firstRun, job.getInterval()));
+            log.info("scheduleJobs: Job '{}' agendado a cada {} (eleição de líder: {}).",
+                    job.getName(), job.getInterval(), properties.isLeaderElection());
+        }
+    }
+
+    private void runIfLeader(ClusteredJob job, AdvisoryLockLease lease) {
+        if (properties.isLeaderElection() && !lease.acquireOrRenew()) {
+            log.debug("runIfLeader: Job '{}' ignorado; outra instância é a líder.", job.getName());
+            return;
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            job.execute();
+        } catch (Exception e) {
+            outcome = "failure";
+            log.error("runIfLeader: Falha na execução do job '{}': {}", job.getName(), e.getMessage(), e);
+            // Cede a liderança: se a falha for desta instância (ex: pool ou rede), outra assume no próximo disparo
+            lease.release();
+        } finally {
+            long nanos = sample.stop(Timer.builder("queue.jobs.duration")
+                    .description("Tempo de execução dos jobs com líder eleito")
+                    .tag("job", job.getName())
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+            log.debug("runIfLeader: Job '{}' concluído em {} ms ({}).", job.getName(), nanos / 1_000_000, outcome);
+        }
+    }
+
+    /** Cancela os agendamentos e libera os leases, permitindo failover imediato para outra instância. */
+    @PreDestroy
+    public synchronized void shutdown() {
+        scheduledJobs.forEach(future -> future.cancel(false));
+        leases.forEach(AdvisoryLockLease::release);
+        log.info("shutdown: {} job(s) cancelado(s) e leases liberados.", scheduledJobs.size());
+    }
+}
@@ -0,0 +1,60 @@
+package com.suaempresa.driverqueue.job;
+
+import com.suaempresa.driverqueue.config.JournalProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Job de arquivamento do journal: remove eventos antigos da tabela "queue_event".
+ * <p>
+ * Só apaga eventos de motoristas que já saíram da fila (não WAITING/CALLED), para que a linha do
+ * tempo dos motoristas ativos continue completa.
+ * Roda em uma única instância graças ao {@link ClusteredJobScheduler}.
+ */
+@Component
+public class JournalRetentionJob implements ClusteredJob {
+
+    private static final Logger log = LoggerFactory.getLogger(JournalRetentionJob.class);
+
+    private static final String DELETE_SQL =
+            "DELETE FROM queue_event e WHERE e.occurred_at < ? " +
+            "AND NOT EXISTS (SELECT 1 FROM driver d WHERE d.id = e.driver_id AND d.status IN ('WAITING', 'CALLED'))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JournalProperties properties;
+    private final Clock clock;
+
+    public JournalRetentionJob(JdbcTemplate jdbcTemplate, JournalProperties properties, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    @Override
+    public String getName() {
+        return "journal-retention";
+    }
+
+    @Override
+    public Duration getInterval() {
+        return properties.getRetentionCheckInterval();
+    }
+
+    @Override
+    public void execute() {
+        if (properties.getRetentionDays() <= 0) {
+            log.debug("execute: Retenção do journal desabilitada (queue.journal.retention-days <= 0).");
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now(clock).minusDays(properties.getRetentionDays());
+        int deleted = jdbcTemplate.update(DELETE_SQL, Timestamp.valueOf(cutoff));
+        log.info("execute: {} evento(s) do journal anteriores a {} removido(s).", deleted, cutoff);
+    }
+}
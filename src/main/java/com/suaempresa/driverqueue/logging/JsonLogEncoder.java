@@ -0,0 +1,98 @@
+package com.suaempresa.driverqueue.logging;
+
+import ch.qos.logback.classic.pattern.ThrowableProxyConverter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.encoder.EncoderBase;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Encoder do Logback que grava cada evento como uma linha JSON (para agregadores de log).
+ * <p>
+ * Campos: {@code @timestamp}, {@code level}, {@code channel} (ex: "app" ou "audit"), {@code logger},
+ * {@code thread}, {@code traceId}/{@code spanId} (MDC preenchido pelo Micrometer Tracing, os mesmos
+ * do padrão de correlação do Spring Boot), {@code message} e {@code stack_trace}. Telefones na
+ * mensagem e no stack trace são mascarados pelo {@link PhoneNumberMasker}.
+ * <p>
+ * Usado atrás de um AsyncAppender, a serialização roda na thread do appender e não na da requisição.
+ */
+public class JsonLogEncoder extends EncoderBase<ILoggingEvent> {
+
+    private static final String[] MDC_FIELDS = {"traceId", "spanId"};
+
+    private final ThrowableProxyConverter throwableConverter = new ThrowableProxyConverter();
+    private String channel = "app";
+
+    @Override
+    public void start() {
+        throwableConverter.setContext(getContext());
+        throwableConverter.start();
+        super.start();
+    }
+
+    @Override
+    public byte[] headerBytes() {
+        return null;
+    }
+
+    @Override
+    public byte[] encode(ILoggingEvent event) {
+        StringBuilder json = new StringBuilder(256);
+        json.append("{\"@timestamp\":\"").append(Instant.ofEpochMilli(event.getTimeStamp())).append('"');
+        appendField(json, "level", event.getLevel().toString());
+        appendField(json, "channel", channel);
+        appendField(json, "logger", event.getLoggerName());
+        appendField(json, "thread", event.getThreadName());
+        Map<String, String> mdc = event.getMDCPropertyMap();
+        for (String key : MDC_FIELDS) {
+            String value = mdc.get(key);
+            if (value != null && !value.isEmpty()) {
+                appendField(json, key, value);
+            }
+        }
+        appendField(json, "message", PhoneNumberMasker.mask(event.getFormattedMessage()));
+        if (event.getThrowableProxy() != null) {
+            appendField(json, "stack_trace", PhoneNumberMasker.mask(throwableConverter.convert(event)));
+        }
+        json.append("}\n");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public byte[] footerBytes() {
+        return null;
+    }
+
+    private static void appendField(StringBuilder json, String name, String value) {
+        json.append(",\"").append(name).append("\":");
+        if (value == null) {
+            json.append("null");
+            return;
+        }
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+
+    // --- Getters e Setters ---
+    public String getChannel() { return channel; }
+    public void setChannel(String channel) { this.channel = channel; }
+}
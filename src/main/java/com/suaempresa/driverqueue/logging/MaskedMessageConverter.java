@@ -0,0 +1,16 @@
+package com.suaempresa.driverqueue.logging;
+
+import ch.qos.logback.classic.pattern.ClassicConverter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/**
+ * Conversor de padrão do Logback ({@code %maskedMsg} no logback-spring.xml): a mensagem do evento
+ * com os telefones mascarados pelo {@link PhoneNumberMasker}.
+ */
+public class MaskedMessageConverter extends ClassicConverter {
+
+    @Override
+    public String convert(ILoggingEvent event) {
+        return PhoneNumberMasker.mask(event.getFormattedMessage());
+    }
+}
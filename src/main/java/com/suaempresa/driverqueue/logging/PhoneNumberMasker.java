@@ -0,0 +1,70 @@
+package com.suaempresa.driverqueue.logging;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Mascara números de telefone em mensagens de log, mantendo só os 4 últimos dígitos
+ * (ex: "+5511912345678" vira "+*********5678").
+ * <p>
+ * Reconhece os formatos usados pela aplicação: E.164 (+55...), "(11) 91234-5678" e só dígitos
+ * (10 a 13). Mensagens com menos de 10 dígitos (a grande maioria) nem passam pela expressão regular.
+ */
+public final class PhoneNumberMasker {
+
+    private static final Pattern PHONE_PATTERN =
+            Pattern.compile("(?<![\\w+])(\\+?\\d{2}\\s?)?\\(?\\d{2}\\)?\\s?\\d{4,5}-?\\d{4}(?![\\w])");
+
+    private static final int MIN_PHONE_DIGITS = 10;
+    private static final int VISIBLE_DIGITS = 4;
+
+    private PhoneNumberMasker() {
+    }
+
+    /**
+     * Mascara os telefones do texto.
+     *
+     * @param text Texto (mensagem ou stack trace); pode ser nulo.
+     * @return O texto com os telefones mascarados, ou o próprio texto se não houver nenhum.
+     */
+    public static String mask(String text) {
+        if (text == null || countDigits(text) < MIN_PHONE_DIGITS) {
+            return text;
+        }
+        Matcher matcher = PHONE_PATTERN.matcher(text);
+        if (!matcher.find()) {
+            return text;
+        }
+        StringBuilder masked = new StringBuilder(text.length());
+        do {
+            matcher.appendReplacement(masked, Matcher.quoteReplacement(maskDigits(matcher.group())));
+        } while (matcher.find());
+        matcher.appendTail(masked);
+        return masked.toString();
+    }
+
+    private static String maskDigits(String phone) {
+        if (countDigits(phone) < MIN_PHONE_DIGITS) {
+            return phone;
+        }
+        char[] chars = phone.toCharArray();
+        int visible = 0;
+        for (int i = chars.length - 1; i >= 0; i--) {
+            if (Character.isDigit(chars[i]) && visible++ >= VISIBLE_DIGITS) {
+                chars[i] = '*';
+            }
+        }
+        return new String(chars);
+    }
+
+    private static int countDigits(String text) {
+        int digits = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits++;
+            }
+        }
+        return digits;
+    }
+}
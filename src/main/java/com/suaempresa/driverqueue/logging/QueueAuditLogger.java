@@ -0,0 +1,97 @@
+package com.suaempresa.driverqueue.logging;
+
+import com.suaempresa.driverqueue.config.AuditLogProperties;
+import com.suaempresa.driverqueue.event.DriverQueueEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Canal de auditoria das transições da fila (logger "audit.queue").
+ * <p>
+ * Registra uma linha por {@link DriverQueueEvent} confirmado (após o commit), com os dados necessários
+ * para reconstruir quem entrou, foi chamado ou saiu da fila. O logger "audit" tem appender próprio no
+ * logback-spring.xml: não é amostrado, não é descartado antes dos logs de depuração e pode ser
+ * encaminhado separadamente (campo "channel" = "audit" no JSON).
+ * <p>
+ * O listener roda na thread da requisição que confirmou a transição, e o appender "audit" espera vaga
+ * quando a sua fila enche (neverBlock=false). Por isso a linha não é registrada aqui: o evento vai para
+ * uma fila limitada ({@code queue.audit.queue-capacity}) consumida pela thread dedicada "audit-writer",
+ * a única que pode esperar pelo appender. A thread da requisição nunca bloqueia: com essa fila cheia,
+ * a linha é registrada no canal "app" em WARN (que não bloqueia) e contada em
+ * {@code queue.audit.overflow}. O traceId/spanId da requisição é levado junto com o evento.
+ */
+@Component
+public class QueueAuditLogger {
+
+    private static final Logger audit = LoggerFactory.getLogger("audit.queue");
+    private static final Logger log = LoggerFactory.getLogger(QueueAuditLogger.class);
+
+    private static final String AUDIT_FORMAT = "{} driverId={} plate={} phone={} status={} callAttempts={} occurredAt={}";
+
+    private final ThreadPoolExecutor writer;
+    private final Counter overflowCounter;
+
+    public QueueAuditLogger(AuditLogProperties properties, MeterRegistry meterRegistry) {
+        this.overflowCounter = Counter.builder("queue.audit.overflow")
+                .description("Linhas de auditoria desviadas para o canal app porque a fila do audit-writer estava cheia")
+                .register(meterRegistry);
+        this.writer = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()), r -> new Thread(r, "audit-writer"), this::onOverflow);
+    }
+
+    /**
+     * Enfileira a transição para o canal de auditoria. Não bloqueia.
+     *
+     * @param event Evento publicado pelo DriverService.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDriverQueueEvent(DriverQueueEvent event) {
+        writer.execute(new AuditEntry(event, MDC.getCopyOfContextMap()));
+    }
+
+    /** Política de rejeição do writer: registra a linha no canal "app", sem bloquear nem perdê-la em silêncio. */
+    private void onOverflow(Runnable task, ThreadPoolExecutor executor) {
+        overflowCounter.increment();
+        DriverQueueEvent event = ((AuditEntry) task).event();
+        log.warn("onDriverQueueEvent: Fila de auditoria cheia; linha registrada no canal app. " + AUDIT_FORMAT,
+                event.type(), event.driverId(), event.plate(), event.phoneNumber(), event.status(),
+                event.callAttempts(), event.occurredAt());
+    }
+
+    /** Grava as linhas pendentes antes de a aplicação encerrar. */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        writer.shutdown();
+        if (!writer.awaitTermination(5, TimeUnit.SECONDS)) {
+            log.warn("shutdown: {} linha(s) de auditoria não gravada(s) no encerramento.", writer.shutdownNow().size());
+        }
+    }
+
+    /** Transição a registrar, com o MDC (traceId/spanId) da thread que a confirmou. */
+    private record AuditEntry(DriverQueueEvent event, Map<String, String> mdc) implements Runnable {
+
+        @Override
+        public void run() {
+            if (mdc != null) {
+                MDC.setContextMap(mdc);
+            }
+            try {
+                audit.info(AUDIT_FORMAT, event.type(), event.driverId(), event.plate(), event.phoneNumber(),
+                        event.status(), event.callAttempts(), event.occurredAt());
+            } finally {
+                MDC.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.suaempresa.driverqueue.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Filtro do Logback que amostra os eventos até um nível (por padrão DEBUG): só uma fração
+ * ({@code rate}) deles é registrada; eventos acima do nível (ex: WARN e ERROR) passam sempre.
+ * <p>
+ * Configurado nos appenders do logback-spring.xml, roda na thread que gerou o log, antes do
+ * enfileiramento no AsyncAppender, então os eventos descartados não custam nada além do sorteio.
+ */
+public class SamplingFilter extends Filter<ILoggingEvent> {
+
+    private Level level = Level.DEBUG;
+    private double rate = 1.0;
+
+    @Override
+    public FilterReply decide(ILoggingEvent event) {
+        if (rate >= 1.0 || event.getLevel().toInt() > level.toInt()) {
+            return FilterReply.NEUTRAL;
+        }
+        return ThreadLocalRandom.current().nextDouble() < rate ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    @Override
+    public void start() {
+        if (rate < 0.0 || rate > 1.0) {
+            addError("SamplingFilter: rate deve estar entre 0 e 1, recebido " + rate);
+            return;
+        }
+        super.start();
+    }
+
+    // --- Getters e Setters ---
+    public String getLevel() { return level.toString(); }
+    public void setLevel(String level) { this.level = Level.toLevel(level, Level.DEBUG); }
+    public double getRate() { return rate; }
+    public void setRate(double rate) { this.rate = rate; }
+}
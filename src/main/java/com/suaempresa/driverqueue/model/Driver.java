@@ -54,6 +54,14 @@ public class Driver {
     @Column(nullable = false, columnDefinition = "INT DEFAULT 0")
     private int callAttempts = 0;
 
+    /**
+     * Versão da linha para controle de concorrência otimista. Incrementada a cada transição de status;
+     * evita que duas ações simultâneas na página de admin sobrescrevam uma à outra.
+     */
+    @Version
+    @Column(nullable = false)
+    private long version;
+
     /**
      * Enumeração representando os possíveis status de um motorista na fila.
      */
@@ -82,6 +90,8 @@ public class Driver {
     public void setStatus(DriverStatus status) { this.status = status; }
     public int getCallAttempts() { return callAttempts; }
     public void setCallAttempts(int callAttempts) { this.callAttempts = callAttempts; }
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
 
     // --- equals, hashCode, toString ---
     @Override
@@ -113,6 +123,7 @@ public class Driver {
                 ", calledTime=" + calledTime +
                 ", status=" + status +
                 ", callAttempts=" + callAttempts + // <-- Adicionado aqui
+                ", version=" + version +
                 '}';
     }
 }
\ No newline at end of file
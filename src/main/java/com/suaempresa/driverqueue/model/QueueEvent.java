@@ -0,0 +1,105 @@
+package com.suaempresa.driverqueue.model;
+
+import com.suaempresa.driverqueue.event.DriverQueueEvent;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Entidade JPA que representa uma entrada do journal de eventos da fila.
+ * Mapeada para a tabela "queue_event", que é append-only: as linhas são inseridas em lote
+ * pelo {@link com.suaempresa.driverqueue.service.QueueEventJournal} e nunca atualizadas.
+ */
+@Entity
+@Table(name = "queue_event")
+public class QueueEvent {
+
+    /** Identificador sequencial do evento (também define a ordem da linha do tempo). */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** ID do motorista ao qual o evento se refere. */
+    @Column(nullable = false, updatable = false)
+    private Long driverId;
+
+    /** Tipo da transição registrada. */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false, length = 20)
+    private DriverQueueEvent.Type eventType;
+
+    /** Status do motorista após a transição. */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false, length = 10)
+    private Driver.DriverStatus status;
+
+    /** Número de chamadas após a transição. */
+    @Column(nullable = false, updatable = false)
+    private int callAttempts;
+
+    /** Placa do veículo no momento do evento. */
+    @Column(nullable = false, updatable = false)
+    private String plate;
+
+    /** Nome do motorista no momento do evento. */
+    @Column(nullable = false, updatable = false)
+    private String name;
+
+    /** Telefone do motorista no momento do evento. */
+    @Column(nullable = false, updatable = false)
+    private String phoneNumber;
+
+    /** Horário de entrada do motorista na fila. */
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime entryTime;
+
+    /** Horário da última chamada (pode ser nulo). */
+    @Column(updatable = false)
+    private LocalDateTime calledTime;
+
+    /** Momento em que a transição ocorreu. */
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime occurredAt;
+
+    /** Construtor padrão sem argumentos exigido pelo JPA. */
+    public QueueEvent() {
+    }
+
+    // --- Getters e Setters ---
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Long getDriverId() { return driverId; }
+    public void setDriverId(Long driverId) { this.driverId = driverId; }
+    public DriverQueueEvent.Type getEventType() { return eventType; }
+    public void setEventType(DriverQueueEvent.Type eventType) { this.eventType = eventType; }
+    public Driver.DriverStatus getStatus() { return status; }
+    public void setStatus(Driver.DriverStatus status) { this.status = status; }
+    public int getCallAttempts() { return callAttempts; }
+    public void setCallAttempts(int callAttempts) { this.callAttempts = callAttempts; }
+    public String getPlate() { return plate; }
+    public void setPlate(String plate) { this.plate = plate; }
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    public String getPhoneNumber() { return phoneNumber; }
+    public void setPhoneNumber(String phoneNumber) { this.phoneNumber = phoneNumber; }
+    public LocalDateTime getEntryTime() { return entryTime; }
+    public void setEntryTime(LocalDateTime entryTime) { this.entryTime = entryTime; }
+    public LocalDateTime getCalledTime() { return calledTime; }
+    public void setCalledTime(LocalDateTime calledTime) { this.calledTime = calledTime; }
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+    public void setOccurredAt(LocalDateTime occurredAt) { this.occurredAt = occurredAt; }
+
+    // --- equals, hashCode ---
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        QueueEvent that = (QueueEvent) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
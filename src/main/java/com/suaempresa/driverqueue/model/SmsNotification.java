@@ -0,0 +1,96 @@
+package com.suaempresa.driverqueue.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Entidade JPA que representa um SMS enviado a um motorista e seu último status de entrega.
+ * Mapeada para a tabela "sms_notification". As linhas são gravadas em lote (upsert via JDBC) pelo
+ * {@link com.suaempresa.driverqueue.service.SmsNotificationService}; a entidade é usada só para leitura.
+ */
+@Entity
+@Table(name = "sms_notification")
+public class SmsNotification {
+
+    /** Identificador sequencial do registro. */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Message SID retornado pelo Twilio no envio. */
+    @Column(nullable = false, unique = true, length = 64)
+    private String messageSid;
+
+    /** ID do motorista notificado (nulo enquanto só o callback de status foi recebido). */
+    @Column
+    private Long driverId;
+
+    /** Telefone de destino. */
+    @Column(length = 20)
+    private String phoneNumber;
+
+    /** Número da chamada (1ª chamada, re-chamada...) que gerou o SMS. */
+    @Column
+    private Integer callAttempt;
+
+    /** Último status informado pelo Twilio (queued, sent, delivered, undelivered, failed...). */
+    @Column(nullable = false, length = 20)
+    private String status;
+
+    /** Ordem do status no ciclo de entrega; callbacks atrasados com ordem menor são ignorados. */
+    @Column(nullable = false)
+    private int statusRank;
+
+    /** Código de erro do Twilio para status failed/undelivered (ex: 30003 - aparelho inalcançável). */
+    @Column
+    private Integer errorCode;
+
+    /** Momento em que o envio foi solicitado ao Twilio. */
+    @Column
+    private LocalDateTime sentAt;
+
+    /** Momento em que o último status foi recebido. */
+    @Column(nullable = false)
+    private LocalDateTime statusUpdatedAt;
+
+    /** Construtor padrão sem argumentos exigido pelo JPA. */
+    public SmsNotification() {
+    }
+
+    // --- Getters e Setters ---
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getMessageSid() { return messageSid; }
+    public void setMessageSid(String messageSid) { this.messageSid = messageSid; }
+    public Long getDriverId() { return driverId; }
+    public void setDriverId(Long driverId) { this.driverId = driverId; }
+    public String getPhoneNumber() { return phoneNumber; }
+    public void setPhoneNumber(String phoneNumber) { this.phoneNumber = phoneNumber; }
+    public Integer getCallAttempt() { return callAttempt; }
+    public void setCallAttempt(Integer callAttempt) { this.callAttempt = callAttempt; }
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    public int getStatusRank() { return statusRank; }
+    public void setStatusRank(int statusRank) { this.statusRank = statusRank; }
+    public Integer getErrorCode() { return errorCode; }
+    public void setErrorCode(Integer errorCode) { this.errorCode = errorCode; }
+    public LocalDateTime getSentAt() { return sentAt; }
+    public void setSentAt(LocalDateTime sentAt) { this.sentAt = sentAt; }
+    public LocalDateTime getStatusUpdatedAt() { return statusUpdatedAt; }
+    public void setStatusUpdatedAt(LocalDateTime statusUpdatedAt) { this.statusUpdatedAt = statusUpdatedAt; }
+
+    // --- equals, hashCode ---
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SmsNotification that = (SmsNotification) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
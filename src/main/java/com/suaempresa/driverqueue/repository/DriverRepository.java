@@ -2,8 +2,13 @@ package com.suaempresa.driverqueue.repository;
 
 import com.suaempresa.driverqueue.model.Driver;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,4 +31,39 @@ public interface DriverRepository extends JpaRepository<Driver, Long> {
      * @return Uma lista de motoristas chamados, ordenada por calledTime.
      */
     List<Driver> findByStatusOrderByCalledTimeDesc(Driver.DriverStatus status); // NOVO MÉTODO
+
+    /**
+     * Encontra os motoristas em qualquer um dos status informados, sem ordem definida.
+     * Usado para carregar a fila ativa (WAITING e CALLED) na projeção em memória.
+     *
+     * @param statuses Os status a serem buscados.
+     * @return Os motoristas encontrados.
+     */
+    List<Driver> findByStatusIn(Collection<Driver.DriverStatus> statuses);
+
+    /**
+     * Aplica uma transição de status somente se o motorista ainda está no status e na versão lidos
+     * (controle otimista, sem lock pessimista). A versão é incrementada.
+     * <p>
+     * O contexto de persistência é sincronizado antes e limpo depois da atualização, então entidades
+     * {@link Driver} carregadas antes ficam desanexadas e podem ser ajustadas sem gerar novos UPDATEs.
+     *
+     * @param id              ID do motorista.
+     * @param expectedStatus  Status lido antes da transição.
+     * @param expectedVersion Versão lida antes da transição.
+     * @param newStatus       Novo status.
+     * @param callAttempts    Novo número de tentativas de chamada.
+     * @param calledTime      Novo horário da última chamada.
+     * @return 1 se a transição foi aplicada; 0 se o motorista foi alterado por outra operação.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Driver d SET d.status = :newStatus, d.callAttempts = :callAttempts, d.calledTime = :calledTime, " +
+            "d.version = d.version + 1 " +
+            "WHERE d.id = :id AND d.status = :expectedStatus AND d.version = :expectedVersion")
+    int updateStatusIfUnchanged(@Param("id") Long id,
+                                @Param("expectedStatus") Driver.DriverStatus expectedStatus,
+                                @Param("expectedVersion") long expectedVersion,
+                                @Param("newStatus") Driver.DriverStatus newStatus,
+                                @Param("callAttempts") int callAttempts,
+                                @Param("calledTime") LocalDateTime calledTime);
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.suaempresa.driverqueue.repository;
+
+import com.suaempresa.driverqueue.model.QueueEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repositório Spring Data JPA para leitura do journal de eventos ({@link QueueEvent}).
+ * A escrita é feita em lote via JDBC pelo {@link com.suaempresa.driverqueue.service.QueueEventJournal}.
+ */
+@Repository
+public interface QueueEventRepository extends JpaRepository<QueueEvent, Long> {
+
+    /**
+     * Linha do tempo completa de um motorista, na ordem em que os eventos ocorreram.
+     *
+     * @param driverId ID do motorista.
+     * @return Eventos do motorista ordenados pelo ID (ordem de gravação).
+     */
+    List<QueueEvent> findByDriverIdOrderByIdAsc(Long driverId);
+}
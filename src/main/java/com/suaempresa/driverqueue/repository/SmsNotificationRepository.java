@@ -0,0 +1,35 @@
+package com.suaempresa.driverqueue.repository;
+
+import com.suaempresa.driverqueue.dto.UndeliveredSmsDto;
+import com.suaempresa.driverqueue.model.SmsNotification;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repositório Spring Data JPA para leitura dos SMS enviados ({@link SmsNotification}).
+ * A escrita é feita em lote via JDBC pelo {@link com.suaempresa.driverqueue.service.SmsNotificationService}.
+ */
+@Repository
+public interface SmsNotificationRepository extends JpaRepository<SmsNotification, Long> {
+
+    /**
+     * SMS não entregues recentes, com os dados do motorista, do mais recente para o mais antigo.
+     * Os status ficam fixos na consulta para que o índice parcial da tabela seja usado.
+     *
+     * @param since    Considera apenas falhas informadas a partir deste momento.
+     * @param pageable Define a quantidade máxima de resultados.
+     * @return Os SMS não entregues.
+     */
+    @Query("SELECT new com.suaempresa.driverqueue.dto.UndeliveredSmsDto(n.driverId, d.name, d.plate, n.phoneNumber, " +
+            "n.callAttempt, n.status, n.errorCode, n.statusUpdatedAt) " +
+            "FROM SmsNotification n LEFT JOIN Driver d ON d.id = n.driverId " +
+            "WHERE n.status IN ('failed', 'undelivered') AND n.statusUpdatedAt >= :since " +
+            "ORDER BY n.statusUpdatedAt DESC")
+    List<UndeliveredSmsDto> findUndeliveredSince(@Param("since") LocalDateTime since, Pageable pageable);
+}
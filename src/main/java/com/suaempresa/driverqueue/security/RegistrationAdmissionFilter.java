@@ -0,0 +1,109 @@
+package com.suaempresa.driverqueue.security;
+
+import com.suaempresa.driverqueue.config.RegistrationLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Controle de admissão dos cadastros públicos: motoristas (POST /drivers/add) e agendamentos
+ * (POST /appointments). Os dois caminhos compartilham o limite por cliente e o de concorrência.
+ * <p>
+ * Roda antes do Spring Security, da validação do formulário e de qualquer acesso ao banco, e
+ * responde 429 (com Retry-After) quando:
+ * <ul>
+ *   <li>o cliente (IP) passou do seu limite de cadastros ({@link TokenBucketRateLimiter}), ou</li>
+ *   <li>a instância já está processando {@code queue.registration.max-concurrent} cadastros. O
+ *       excedente é recusado na hora, sem esperar, para que um pico não ocupe todas as threads
+ *       e conexões do banco.</li>
+ * </ul>
+ * Métricas: {@code queue.registration.rejected} (tag "reason": rate_limit/concurrency) e
+ * {@code queue.registration.in_flight} (cadastros em andamento).
+ */
+public class RegistrationAdmissionFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RegistrationAdmissionFilter.class);
+
+    private static final String RATE_LIMITED_MESSAGE = "Muitos cadastros deste dispositivo. Aguarde alguns segundos e tente novamente.";
+    private static final String BUSY_MESSAGE = "O sistema está ocupado. Tente novamente em instantes.";
+
+    private final TokenBucketRateLimiter rateLimiter;
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final Counter rateLimitedRejections;
+    private final Counter concurrencyRejections;
+
+    public RegistrationAdmissionFilter(RegistrationLimitProperties properties, MeterRegistry meterRegistry) {
+        this.rateLimiter = new TokenBucketRateLimiter(properties.getRateLimitCapacity(),
+                properties.getRateLimitRefill(), properties.getRateLimitMaxClients());
+        this.maxConcurrent = properties.getMaxConcurrent();
+        this.permits = new Semaphore(maxConcurrent);
+        this.rateLimitedRejections = rejectionCounter(meterRegistry, "rate_limit");
+        this.concurrencyRejections = rejectionCounter(meterRegistry, "concurrency");
+        Gauge.builder("queue.registration.in_flight", permits, p -> maxConcurrent - p.availablePermits())
+                .description("Cadastros de motoristas em processamento")
+                .register(meterRegistry);
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("queue.registration.rejected")
+                .description("Cadastros de motoristas recusados com 429, por motivo")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String clientKey = request.getRemoteAddr();
+        long waitNanos = rateLimiter.tryAcquire(clientKey);
+        if (waitNanos > 0) {
+            rateLimitedRejections.increment();
+            log.debug("POST {} : Limite de cadastros atingido para {}.", request.getRequestURI(), clientKey);
+            // Arredonda para cima: um Retry-After menor que a espera real só gera outra recusa
+            reject(response, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1), RATE_LIMITED_MESSAGE);
+            return;
+        }
+        if (!permits.tryAcquire()) {
+            concurrencyRejections.increment();
+            log.warn("POST {} : {} cadastros já em andamento; requisição de {} recusada.", request.getRequestURI(),
+                    maxConcurrent, clientKey);
+            reject(response, 1, BUSY_MESSAGE);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private static void reject(HttpServletResponse response, long retryAfterSeconds, String message) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write(message);
+    }
+}
@@ -1,5 +1,9 @@
 package com.suaempresa.driverqueue.security;
 
+import com.suaempresa.driverqueue.config.RegistrationLimitProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -39,7 +43,11 @@ public class SecurityConfig {
                 .authorizeHttpRequests(authorizeRequests ->
                         authorizeRequests
                                 .requestMatchers("/admin/**").hasRole("ADMIN") // URLs /admin/** exigem role ADMIN
-                                .requestMatchers("/css/**", "/js/**", "/error").permitAll() // Permite acesso a recursos estáticos e página de erro
+                                .requestMatchers("/actuator/health").permitAll() // Health check do balanceador/Railway
+                                .requestMatchers("/actuator/**").hasRole("ADMIN") // Métricas só para administradores
+                                .requestMatchers("/appointments/**").permitAll() // Agendamento de horários pelos motoristas/transportadoras
+                                .requestMatchers("/webhooks/**").permitAll() // Callbacks do Twilio (autenticados pela assinatura X-Twilio-Signature)
+                                .requestMatchers("/css/**", "/js/**", "/webjars/**", "/error").permitAll() // Permite acesso a recursos estáticos e página de erro
                                 .anyRequest().permitAll() // Todas as outras URLs (ex: "/") são permitidas sem autenticação
                 )
                 // Configura o formulário de login para usar a página padrão gerada pelo Spring Security.
@@ -58,6 +66,25 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * Registra o {@link RegistrationAdmissionFilter} só para POST /drivers/add e POST /appointments, antes
+     * da cadeia do Spring Security, para que cadastros acima do limite sejam recusados com o menor custo
+     * possível.
+     *
+     * @param properties    Limites do cadastro.
+     * @param meterRegistry Registro das métricas de recusas.
+     * @return O registro do filtro no container de servlets.
+     */
+    @Bean
+    public FilterRegistrationBean<RegistrationAdmissionFilter> registrationAdmissionFilter(RegistrationLimitProperties properties,
+                                                                                         MeterRegistry meterRegistry) {
+        FilterRegistrationBean<RegistrationAdmissionFilter> registration =
+                new FilterRegistrationBean<>(new RegistrationAdmissionFilter(properties, meterRegistry));
+        registration.addUrlPatterns("/drivers/add", "/appointments");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+
     /**
      * Define um {@link UserDetailsService} que gerencia usuários em memória.
      * Útil para desenvolvimento e prototipagem. Em produção, geralmente se usa
@@ -0,0 +1,134 @@
+package com.suaempresa.driverqueue.security;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Limitador de requisições por cliente (token bucket).
+ * <p>
+ * Cada cliente (ex: IP) tem um balde com até {@code capacity} fichas, reabastecido com uma ficha
+ * a cada {@code refillPeriod}; cada requisição consome uma ficha. Isso permite rajadas curtas
+ * (ex: o motorista atualizando a página algumas vezes) e limita o ritmo sustentado.
+ * <p>
+ * Os baldes ficam em memória, por instância, divididos em {@value #STRIPES} partições pelo hash do
+ * cliente, cada uma com seu próprio lock: requisições de clientes diferentes raramente disputam o
+ * mesmo lock, e a limpeza dos baldes inativos percorre só uma partição. Quando uma partição passa
+ * da sua parte de {@code maxClients}, os baldes já cheios (clientes inativos) dela são descartados.
+ */
+public class TokenBucketRateLimiter {
+
+    /** Quantidade de partições (potência de 2). */
+    static final int STRIPES = 16;
+
+    private final int capacity;
+    private final long refillPeriodNanos;
+    private final int maxClientsPerStripe;
+    private final LongSupplier nanoClock;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    /**
+     * @param capacity     Fichas máximas por cliente (tamanho da rajada).
+     * @param refillPeriod Intervalo para repor uma ficha.
+     * @param maxClients   Quantidade de clientes a partir da qual os baldes inativos são descartados.
+     */
+    public TokenBucketRateLimiter(int capacity, Duration refillPeriod, int maxClients) {
+        this(capacity, refillPeriod, maxClients, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(int capacity, Duration refillPeriod, int maxClients, LongSupplier nanoClock) {
+        if (capacity < 1 || refillPeriod.isZero() || refillPeriod.isNegative()) {
+            throw new IllegalArgumentException("Capacidade e período de reposição devem ser positivos.");
+        }
+        this.capacity = capacity;
+        this.refillPeriodNanos = refillPeriod.toNanos();
+        this.maxClientsPerStripe = Math.max(1, (maxClients + STRIPES - 1) / STRIPES);
+        this.nanoClock = nanoClock;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Tenta consumir uma ficha do cliente.
+     * @param clientKey Identificador do cliente (ex: IP).
+     * @return 0 se a requisição foi permitida; caso contrário, o tempo em nanossegundos até a próxima ficha.
+     */
+    public long tryAcquire(String clientKey) {
+        Stripe stripe = stripeFor(clientKey);
+        stripe.lock.lock();
+        try {
+            long now = nanoClock.getAsLong();
+            Bucket bucket = stripe.buckets.get(clientKey);
+            if (bucket == null) {
+                if (stripe.buckets.size() >= maxClientsPerStripe) {
+                    stripe.buckets.values().removeIf(b -> b.isFull(now));
+                }
+                bucket = new Bucket(capacity, now);
+                stripe.buckets.put(clientKey, bucket);
+            }
+            return bucket.tryAcquire(now);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /** @return Quantidade de clientes com balde em memória. */
+    public int trackedClients() {
+        int total = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                total += stripe.buckets.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return total;
+    }
+
+    private Stripe stripeFor(String clientKey) {
+        int h = clientKey.hashCode();
+        return stripes[(h ^ (h >>> 16)) & (STRIPES - 1)];
+    }
+
+    /** Partição dos baldes. ReentrantLock para não prender a thread portadora com virtual threads. */
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, Bucket> buckets = new HashMap<>();
+    }
+
+    /** Balde de um cliente; acessado só com o lock da sua partição. */
+    private final class Bucket {
+        private double tokens;
+        private long lastRefill;
+
+        Bucket(int tokens, long now) {
+            this.tokens = tokens;
+            this.lastRefill = now;
+        }
+
+        long tryAcquire(long now) {
+            refill(now);
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0L;
+            }
+            return (long) ((1 - tokens) * refillPeriodNanos);
+        }
+
+        boolean isFull(long now) {
+            refill(now);
+            return tokens >= capacity;
+        }
+
+        private void refill(long now) {
+            if (now > lastRefill) {
+                tokens = Math.min(capacity, tokens + (double) (now - lastRefill) / refillPeriodNanos);
+                lastRefill = now;
+            }
+        }
+    }
+}
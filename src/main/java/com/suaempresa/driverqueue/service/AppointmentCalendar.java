@@ -0,0 +1,215 @@
+package com.suaempresa.driverqueue.service;
+
+import com.suaempresa.driverqueue.config.AppointmentProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Calendário de capacidade dos agendamentos, mantido em memória.
+ * <p>
+ * Cada janela tem um contador atômico de reservas; {@link #tryReserve} incrementa o contador por
+ * compare-and-set só se ainda houver vaga, sem lock e sem ir ao banco, então milhares de tentativas
+ * simultâneas na abertura da agenda não se enfileiram umas atrás das outras. A gravação é feita
+ * depois, em lote, pelo {@link AppointmentService}.
+ * <p>
+ * Os contadores são carregados da tabela "appointment_slot" quando a aplicação sobe e acompanham os
+ * totais gravados por outras instâncias a cada flush ({@link #observe}); o limite definitivo entre
+ * instâncias é o upsert condicional do {@link AppointmentService}.
+ * <p>
+ * Também guarda as placas que já têm agendamento gravado ({@link #isPlateBooked}), para que a reserva
+ * recuse uma segunda reserva da placa sem consultar o banco. Placas gravadas por outras instâncias
+ * entram no conjunto a cada flush.
+ */
+@Component
+public class AppointmentCalendar {
+
+    private static final Logger log = LoggerFactory.getLogger(AppointmentCalendar.class);
+
+    private static final String LOAD_SQL = "SELECT slot_start, booked FROM appointment_slot WHERE slot_start >= ?";
+
+    private static final String LOAD_BOOKED_PLATES_SQL = "SELECT plate FROM appointment WHERE status = 'BOOKED'";
+
+    /**
+     * Disponibilidade de uma janela.
+     *
+     * @param start     Início da janela.
+     * @param end       Fim da janela.
+     * @param capacity  Capacidade da janela.
+     * @param booked    Reservas já aceitas.
+     * @param available Vagas restantes.
+     */
+    public record SlotAvailability(LocalDateTime start, LocalDateTime end, int capacity, int booked, int available) {
+    }
+
+    private final AppointmentProperties properties;
+    private final Clock clock;
+    private final JdbcTemplate jdbcTemplate;
+    private final ConcurrentHashMap<LocalDateTime, AtomicInteger> bookedBySlot = new ConcurrentHashMap<>();
+    /**
+     * Placas com agendamento gravado. Não encolhe quando o agendamento entra na fila: a placa passa a
+     * existir em "driver", que é única por placa, e também não poderia reservar de novo.
+     */
+    private final Set<String> bookedPlates = ConcurrentHashMap.newKeySet();
+
+    public AppointmentCalendar(AppointmentProperties properties, Clock clock, JdbcTemplate jdbcTemplate) {
+        this.properties = properties;
+        this.clock = clock;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Carrega as reservas já gravadas das janelas de hoje em diante e as placas com agendamento. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        LocalDateTime startOfToday = LocalDate.now(clock).atStartOfDay();
+        jdbcTemplate.query(LOAD_SQL, rs -> {
+            observe(rs.getTimestamp("slot_start").toLocalDateTime(), rs.getInt("booked"));
+        }, Timestamp.valueOf(startOfToday));
+        jdbcTemplate.query(LOAD_BOOKED_PLATES_SQL, rs -> {
+            bookedPlates.add(rs.getString("plate"));
+        });
+        log.info("load: Calendário de agendamentos carregado com {} janela(s) com reservas e {} placa(s) agendada(s).",
+                bookedBySlot.size(), bookedPlates.size());
+    }
+
+    /**
+     * Tenta reservar uma vaga na janela.
+     *
+     * @param slotStart Início da janela (já validado por {@link #validateSlot}).
+     * @return true se a vaga foi reservada; false se a janela está lotada.
+     */
+    public boolean tryReserve(LocalDateTime slotStart) {
+        AtomicInteger booked = bookedBySlot.computeIfAbsent(slotStart, slot -> new AtomicInteger());
+        int capacity = properties.getCapacityPerSlot();
+        while (true) {
+            int current = booked.get();
+            if (current >= capacity) {
+                return false;
+            }
+            if (booked.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Devolve uma vaga reservada (ex: reserva recusada na gravação).
+     *
+     * @param slotStart Início da janela.
+     */
+    public void release(LocalDateTime slotStart) {
+        AtomicInteger booked = bookedBySlot.get(slotStart);
+        if (booked != null) {
+            booked.updateAndGet(current -> Math.max(0, current - 1));
+        }
+    }
+
+    /**
+     * Ajusta o contador da janela ao total confirmado no banco, que pode incluir reservas de outras
+     * instâncias. O contador nunca diminui aqui, porque também conta reservas locais ainda não gravadas.
+     *
+     * @param slotStart Início da janela.
+     * @param persisted Reservas gravadas na tabela "appointment_slot".
+     */
+    public void observe(LocalDateTime slotStart, int persisted) {
+        bookedBySlot.computeIfAbsent(slotStart, slot -> new AtomicInteger()).accumulateAndGet(persisted, Math::max);
+    }
+
+    /**
+     * Verifica se o horário é o início de uma janela que ainda pode ser reservada.
+     *
+     * @param slotStart Início da janela pedida.
+     * @throws IllegalArgumentException Se o horário não é início de janela, está fora do expediente,
+     *                                  já passou ou está além do horizonte de agendamento.
+     */
+    public void validateSlot(LocalDateTime slotStart) {
+        if (slotStart == null) {
+            throw new IllegalArgumentException("Horário do agendamento é obrigatório.");
+        }
+        validateDate(slotStart.toLocalDate());
+        LocalDateTime opening = slotStart.toLocalDate().atTime(properties.getOpeningTime());
+        LocalDateTime closing = slotStart.toLocalDate().atTime(properties.getClosingTime());
+        if (slotStart.isBefore(opening) || slotStart.plus(properties.getSlotLength()).isAfter(closing)) {
+            throw new IllegalArgumentException("Horário fora do expediente de agendamento (" + properties.getOpeningTime()
+                    + " às " + properties.getClosingTime() + ").");
+        }
+        if (Duration.between(opening, slotStart).toNanos() % properties.getSlotLength().toNanos() != 0) {
+            throw new IllegalArgumentException("Horário não corresponde ao início de uma janela de "
+                    + properties.getSlotLength().toMinutes() + " minutos.");
+        }
+        if (!slotStart.isAfter(LocalDateTime.now(clock))) {
+            throw new IllegalArgumentException("O horário " + slotStart + " já passou.");
+        }
+    }
+
+    /**
+     * Lista as janelas ainda reserváveis de um dia, com as vagas restantes.
+     *
+     * @param date Dia consultado.
+     * @return Janelas futuras do dia, em ordem.
+     * @throws IllegalArgumentException Se o dia está fora do horizonte de agendamento.
+     */
+    public List<SlotAvailability> getSlots(LocalDate date) {
+        validateDate(date);
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDateTime closing = date.atTime(properties.getClosingTime());
+        int capacity = properties.getCapacityPerSlot();
+        List<SlotAvailability> slots = new ArrayList<>();
+        for (LocalDateTime start = date.atTime(properties.getOpeningTime()), end = start.plus(properties.getSlotLength());
+             !end.isAfter(closing); start = end, end = end.plus(properties.getSlotLength())) {
+            if (!start.isAfter(now)) {
+                continue;
+            }
+            AtomicInteger counter = bookedBySlot.get(start);
+            int booked = counter != null ? counter.get() : 0;
+            slots.add(new SlotAvailability(start, end, capacity, booked, Math.max(0, capacity - booked)));
+        }
+        return slots;
+    }
+
+    /**
+     * @param plate Placa em maiúsculas, como gravada no agendamento.
+     * @return true se a placa já tem agendamento gravado (por esta ou outra instância).
+     */
+    public boolean isPlateBooked(String plate) {
+        return bookedPlates.contains(plate);
+    }
+
+    /**
+     * Registra placas com agendamento gravado ou que o flush encontrou ocupadas no banco.
+     *
+     * @param plates Placas em maiúsculas.
+     */
+    public void markPlatesBooked(Collection<String> plates) {
+        bookedPlates.addAll(plates);
+    }
+
+    /** Descarta os contadores de dias anteriores. */
+    public void evictPastDays() {
+        LocalDateTime startOfToday = LocalDate.now(clock).atStartOfDay();
+        bookedBySlot.keySet().removeIf(slot -> slot.isBefore(startOfToday));
+    }
+
+    private void validateDate(LocalDate date) {
+        LocalDate today = LocalDate.now(clock);
+        if (date == null || date.isBefore(today) || !date.isBefore(today.plusDays(properties.getHorizonDays()))) {
+            throw new IllegalArgumentException("Agendamentos só podem ser feitos de " + today + " até "
+                    + today.plusDays(properties.getHorizonDays() - 1L) + ".");
+        }
+    }
+}
@@ -0,0 +1,422 @@
+package com.suaempresa.driverqueue.service;
+
+import com.suaempresa.driverqueue.config.AppointmentProperties;
+import com.suaempresa.driverqueue.dto.DriverInputDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.SecureRandom;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Reserva de horários de chegada, como alternativa à entrada por ordem de chegada.
+ * <p>
+ * A reserva é decidida pelo {@link AppointmentCalendar} em memória e a resposta sai sem tocar no banco;
+ * as reservas aceitas ficam em um buffer e são gravadas em lote periodicamente. No flush, o total de
+ * cada janela é somado em "appointment_slot" por um upsert que só é aplicado se a janela continuar dentro
+ * da capacidade: com várias instâncias, as reservas que excederem a capacidade são gravadas como
+ * REJECTED e a vaga é devolvida ao calendário. Até a gravação, a reserva é consultável como PENDING.
+ * <p>
+ * Cada placa tem no máximo um agendamento ativo (PENDING ou BOOKED), e placas já cadastradas em "driver"
+ * (única por placa) não podem reservar, pois não conseguiriam entrar na fila no horário. A reserva confere
+ * só a memória: o buffer, as placas agendadas do {@link AppointmentCalendar} e os motoristas ativos da
+ * {@link QueueProjection}. O flush confere o banco fora da requisição: placas de motoristas que já saíram
+ * da fila, ou que ganharam agendamento ou cadastro em outra instância, ficam REJECTED, e o índice único
+ * parcial da V12 garante a regra no banco.
+ * <p>
+ * Placa e nome passam pelas mesmas regras do cadastro ({@link DriverInputDto}) antes de ocupar a vaga.
+ * Se mesmo assim o banco recusar o lote (ex: violação de restrição), as reservas são gravadas uma a uma
+ * e as recusadas são descartadas do buffer com a vaga devolvida, em vez de travar os flushes seguintes.
+ * <p>
+ * Quando o horário chega, o {@link com.suaempresa.driverqueue.job.AppointmentMergeJob} coloca o
+ * motorista na fila (WAITING) com o horário da janela como entrada.
+ */
+@Service
+public class AppointmentService {
+
+    private static final Logger log = LoggerFactory.getLogger(AppointmentService.class);
+
+    private static final String RESERVE_SLOT_SQL =
+            "INSERT INTO appointment_slot (slot_start, booked) VALUES (?, ?) " +
+            "ON CONFLICT (slot_start) DO UPDATE SET booked = appointment_slot.booked + EXCLUDED.booked " +
+            "WHERE appointment_slot.booked + EXCLUDED.booked <= ? RETURNING booked";
+
+    private static final String SELECT_SLOT_SQL = "SELECT booked FROM appointment_slot WHERE slot_start = ?";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO appointment (code, slot_start, plate, name, phone_number, status, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_TAKEN_PLATES_SQL =
+            "SELECT plate FROM driver WHERE plate IN (%1$s) " +
+            "UNION SELECT plate FROM appointment WHERE status = 'BOOKED' AND plate IN (%1$s)";
+
+    private static final String SELECT_BY_CODE_SQL =
+            "SELECT code, slot_start, plate, name, phone_number, status, driver_id, created_at FROM appointment WHERE code = ?";
+
+    /** Alfabeto dos códigos de reserva, sem caracteres fáceis de confundir (0/O, 1/I/L). */
+    private static final char[] CODE_ALPHABET = "23456789ABCDEFGHJKMNPQRSTUVWXYZ".toCharArray();
+    private static final int CODE_LENGTH = 10;
+
+    private static final RowMapper<Appointment> APPOINTMENT_ROW_MAPPER = (rs, rowNum) -> new Appointment(
+            rs.getString("code"),
+            rs.getTimestamp("slot_start").toLocalDateTime(),
+            rs.getString("plate"),
+            rs.getString("name"),
+            rs.getString("phone_number"),
+            Status.valueOf(rs.getString("status")),
+            rs.getObject("driver_id", Long.class),
+            rs.getTimestamp("created_at").toLocalDateTime());
+
+    /** Situação de um agendamento. */
+    public enum Status {
+        /** Aceito em memória, ainda não gravado. */
+        PENDING,
+        /** Gravado, aguardando o horário. */
+        BOOKED,
+        /** Já colocado na fila. */
+        QUEUED,
+        /** Recusado na gravação: a janela foi lotada, ou a placa agendada/cadastrada, por outra instância. */
+        REJECTED,
+        /** O horário chegou, mas não foi possível colocar o motorista na fila. */
+        FAILED
+    }
+
+    /**
+     * Um agendamento.
+     *
+     * @param code        Código da reserva, informado ao motorista.
+     * @param slotStart   Início da janela reservada.
+     * @param plate       Placa do veículo (maiúsculas).
+     * @param name        Nome do motorista.
+     * @param phoneNumber Telefone em E.164.
+     * @param status      Situação atual.
+     * @param driverId    ID do motorista na fila, depois de QUEUED.
+     * @param createdAt   Momento da reserva.
+     */
+    public record Appointment(String code, LocalDateTime slotStart, String plate, String name, String phoneNumber,
+                              Status status, Long driverId, LocalDateTime createdAt) {
+
+        Appointment withStatus(Status newStatus) {
+            return new Appointment(code, slotStart, plate, name, phoneNumber, newStatus, driverId, createdAt);
+        }
+    }
+
+    private final AppointmentCalendar calendar;
+    private final QueueProjection queueProjection;
+    private final AppointmentProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final Clock clock;
+    private final TransactionTemplate batchTransaction;
+    private final Validator validator;
+    private final Counter discardedAppointments;
+    private final SecureRandom random = new SecureRandom();
+    /** Reservas aceitas ainda não gravadas, por código (também atende às consultas até o flush). */
+    private final Map<String, Appointment> pending = new ConcurrentHashMap<>();
+    /** Placas com reserva no buffer, para recusar a segunda reserva da mesma placa antes do flush. */
+    private final Map<String, String> pendingCodeByPlate = new ConcurrentHashMap<>();
+    /** Serializa os flushes. ReentrantLock em vez de synchronized (virtual threads). */
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public AppointmentService(AppointmentCalendar calendar, QueueProjection queueProjection,
+                              AppointmentProperties properties, JdbcTemplate jdbcTemplate,
+                              Clock clock, PlatformTransactionManager transactionManager, Validator validator,
+                              MeterRegistry meterRegistry) {
+        this.calendar = calendar;
+        this.queueProjection = queueProjection;
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.clock = clock;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.batchTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.validator = validator;
+        this.discardedAppointments = Counter.builder("queue.appointments.discarded")
+                .description("Reservas descartadas do buffer porque o banco recusou a gravação")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reserva uma vaga na janela.
+     *
+     * @param plate            Placa do veículo.
+     * @param name             Nome do motorista.
+     * @param phoneNumberInput Telefone como digitado (normalizado para E.164 como no cadastro).
+     * @param slotStart        Início da janela desejada.
+     * @return O agendamento aceito (PENDING até a gravação).
+     * @throws IllegalArgumentException Se os dados (regras do {@link DriverInputDto}) ou o horário forem inválidos.
+     * @throws IllegalStateException    Se a janela está lotada, ou se a placa já tem agendamento ativo ou
+     *                                  já está cadastrada na fila.
+     */
+    public Appointment book(String plate, String name, String phoneNumberInput, LocalDateTime slotStart) {
+        if (plate == null || plate.isBlank()) {
+            throw new IllegalArgumentException("Placa do veículo é obrigatória.");
+        }
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Nome do motorista é obrigatório.");
+        }
+        String cleanedPlate = plate.trim().toUpperCase();
+        validateDriverInput(cleanedPlate, name.trim());
+        String phoneNumber = PhoneNumbers.requireE164(phoneNumberInput);
+        calendar.validateSlot(slotStart);
+        String code = newCode();
+        // Reserva a placa no buffer antes das demais verificações: duas reservas simultâneas da mesma
+        // placa nesta instância não passam as duas
+        if (pendingCodeByPlate.putIfAbsent(cleanedPlate, code) != null) {
+            log.debug("book: Placa {} já tem reserva pendente; nova reserva recusada.", cleanedPlate);
+            throw new IllegalStateException("A placa " + cleanedPlate + " já tem um horário agendado.");
+        }
+        try {
+            if (calendar.isPlateBooked(cleanedPlate) || queueProjection.findPosition(cleanedPlate).isPresent()) {
+                log.debug("book: Placa {} já agendada ou cadastrada na fila; reserva recusada.", cleanedPlate);
+                throw new IllegalStateException("A placa " + cleanedPlate + " já tem um horário agendado ou já está cadastrada na fila.");
+            }
+            if (!calendar.tryReserve(slotStart)) {
+                log.debug("book: Janela {} lotada; reserva da placa {} recusada.", slotStart, cleanedPlate);
+                throw new IllegalStateException("Não há mais vagas para o horário " + slotStart + ".");
+            }
+        } catch (RuntimeException e) {
+            pendingCodeByPlate.remove(cleanedPlate, code);
+            throw e;
+        }
+        Appointment appointment = new Appointment(code, slotStart, cleanedPlate, name.trim(),
+                phoneNumber, Status.PENDING, null, LocalDateTime.now(clock));
+        pending.put(appointment.code(), appointment);
+        log.info("book: Horário {} reservado para a placa {} (código {}).", slotStart, appointment.plate(), appointment.code());
+        if (pending.size() >= properties.getBufferCapacity()) {
+            log.warn("book: Buffer de agendamentos cheio ({} reservas). Gravando lote na thread atual.", pending.size());
+            flush();
+        }
+        return appointment;
+    }
+
+    /**
+     * Aplica à placa e ao nome as validações do formulário de cadastro: um agendamento aceito aqui tem que
+     * caber nas colunas de "appointment" e passar pela validação do {@code Driver} quando entrar na fila.
+     */
+    private void validateDriverInput(String plate, String name) {
+        DriverInputDto input = new DriverInputDto();
+        input.setPlate(plate);
+        input.setName(name);
+        for (String property : List.of("plate", "name")) {
+            Set<ConstraintViolation<DriverInputDto>> violations = validator.validateProperty(input, property);
+            if (!violations.isEmpty()) {
+                throw new IllegalArgumentException(violations.iterator().next().getMessage());
+            }
+        }
+    }
+
+    /**
+     * Consulta um agendamento pelo código.
+     *
+     * @param code Código da reserva.
+     * @return O agendamento, se existir.
+     */
+    public Optional<Appointment> findByCode(String code) {
+        Appointment buffered = pending.get(code);
+        if (buffered != null) {
+            return Optional.of(buffered);
+        }
+        return jdbcTemplate.query(SELECT_BY_CODE_SQL, APPOINTMENT_ROW_MAPPER, code).stream().findFirst();
+    }
+
+    /**
+     * Janelas reserváveis de um dia, servidas pelo calendário em memória.
+     *
+     * @param date Dia consultado; hoje, se nulo.
+     * @return Janelas futuras do dia com as vagas restantes.
+     */
+    public List<AppointmentCalendar.SlotAvailability> getSlots(LocalDate date) {
+        return calendar.getSlots(date != null ? date : LocalDate.now(clock));
+    }
+
+    /**
+     * Grava as reservas pendentes: confirma a capacidade de cada janela em "appointment_slot" e insere
+     * os agendamentos em lote, tudo em uma transação. Se o banco recusar os dados do lote, grava uma a
+     * uma e descarta as recusadas; se a gravação falhar por outro motivo (ex: banco fora do ar), as
+     * reservas continuam pendentes e são gravadas no próximo ciclo.
+     */
+    @Scheduled(fixedDelayString = "${queue.appointments.flush-interval-ms:500}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            calendar.evictPastDays();
+            if (pending.isEmpty()) {
+                return;
+            }
+            Map<LocalDateTime, List<Appointment>> bySlot = new TreeMap<>();
+            for (Appointment appointment : pending.values()) {
+                bySlot.computeIfAbsent(appointment.slotStart(), slot -> new ArrayList<>()).add(appointment);
+            }
+            Map<LocalDateTime, Integer> fullSlots = new TreeMap<>();
+            List<Appointment> written;
+            try {
+                written = batchTransaction.execute(status -> writeBatch(bySlot, fullSlots));
+            } catch (DataIntegrityViolationException e) {
+                log.warn("flush: Lote de {} agendamento(s) recusado pelo banco ({}). Gravando um a um.",
+                        pending.size(), e.getMostSpecificCause().getMessage());
+                written = writeOneByOne(bySlot, fullSlots);
+            } catch (Exception e) {
+                log.error("flush: Falha ao gravar {} agendamento(s). Nova tentativa no próximo ciclo: {}",
+                        pending.size(), e.getMessage());
+                return;
+            }
+            // Antes de tirar as placas do buffer, para que não haja intervalo em que a placa não está em nenhum dos dois
+            calendar.markPlatesBooked(written.stream()
+                    .filter(appointment -> appointment.status() == Status.BOOKED).map(Appointment::plate).toList());
+            int rejected = 0;
+            for (Appointment appointment : written) {
+                pending.remove(appointment.code());
+                pendingCodeByPlate.remove(appointment.plate(), appointment.code());
+                if (appointment.status() == Status.REJECTED) {
+                    calendar.release(appointment.slotStart());
+                    rejected++;
+                }
+            }
+            // Depois de devolver as vagas recusadas, o calendário volta a refletir o total já gravado
+            fullSlots.forEach(calendar::observe);
+            log.debug("flush: {} agendamento(s) gravado(s), {} recusado(s).", written.size(), rejected);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private List<Appointment> writeBatch(Map<LocalDateTime, List<Appointment>> bySlot, Map<LocalDateTime, Integer> fullSlots) {
+        List<Appointment> written = new ArrayList<>();
+        Set<String> takenPlates = findTakenPlates(bySlot);
+        calendar.markPlatesBooked(takenPlates);
+        for (Map.Entry<LocalDateTime, List<Appointment>> entry : bySlot.entrySet()) {
+            LocalDateTime slot = entry.getKey();
+            List<Appointment> appointments = new ArrayList<>();
+            for (Appointment appointment : entry.getValue()) {
+                if (takenPlates.contains(appointment.plate())) {
+                    log.warn("flush: Placa {} agendada ou cadastrada por outra instância; reserva {} recusada.",
+                            appointment.plate(), appointment.code());
+                    written.add(appointment.withStatus(Status.REJECTED));
+                } else {
+                    appointments.add(appointment);
+                }
+            }
+            if (appointments.isEmpty()) {
+                continue;
+            }
+            // Caso comum: a janela inteira cabe de uma vez. Senão, confirma uma a uma até lotar.
+            int accepted = reserveSlot(slot, appointments.size()) ? appointments.size() : 0;
+            while (accepted < appointments.size() && reserveSlot(slot, 1)) {
+                accepted++;
+            }
+            if (accepted < appointments.size()) {
+                log.warn("flush: Janela {} lotada por outra instância; {} reserva(s) recusada(s).", slot,
+                        appointments.size() - accepted);
+                Integer persisted = jdbcTemplate.queryForObject(SELECT_SLOT_SQL, Integer.class, Timestamp.valueOf(slot));
+                fullSlots.put(slot, persisted != null ? persisted : 0);
+            }
+            for (int i = 0; i < appointments.size(); i++) {
+                written.add(appointments.get(i).withStatus(i < accepted ? Status.BOOKED : Status.REJECTED));
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, written, written.size(), (ps, appointment) -> {
+            ps.setString(1, appointment.code());
+            ps.setTimestamp(2, Timestamp.valueOf(appointment.slotStart()));
+            ps.setString(3, appointment.plate());
+            ps.setString(4, appointment.name());
+            ps.setString(5, appointment.phoneNumber());
+            ps.setString(6, appointment.status().name());
+            ps.setTimestamp(7, Timestamp.valueOf(appointment.createdAt()));
+        });
+        return written;
+    }
+
+    /**
+     * Grava as reservas uma a uma, cada uma na sua transação. As recusadas pelo banco saem do buffer e
+     * devolvem a vaga ao calendário; em outra falha, para e deixa o restante para o próximo ciclo.
+     *
+     * @return As reservas gravadas (BOOKED ou REJECTED).
+     */
+    private List<Appointment> writeOneByOne(Map<LocalDateTime, List<Appointment>> bySlot, Map<LocalDateTime, Integer> fullSlots) {
+        List<Appointment> written = new ArrayList<>();
+        for (Appointment appointment : bySlot.values().stream().flatMap(List::stream).toList()) {
+            Map<LocalDateTime, List<Appointment>> single = Map.of(appointment.slotStart(), List.of(appointment));
+            try {
+                written.addAll(batchTransaction.execute(status -> writeBatch(single, fullSlots)));
+            } catch (DataIntegrityViolationException e) {
+                log.error("flush: Reserva {} (placa {}, janela {}) recusada pelo banco e descartada: {}", appointment.code(),
+                        appointment.plate(), appointment.slotStart(), e.getMostSpecificCause().getMessage());
+                pending.remove(appointment.code());
+                pendingCodeByPlate.remove(appointment.plate(), appointment.code());
+                calendar.release(appointment.slotStart());
+                discardedAppointments.increment();
+            } catch (Exception e) {
+                log.error("flush: Falha ao gravar a reserva {}. Restante fica para o próximo ciclo: {}",
+                        appointment.code(), e.getMessage());
+                break;
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Placas do lote que já têm agendamento BOOKED ou cadastro em "driver", gravados por outra instância
+     * depois da reserva. Uma corrida restante esbarra no índice único da V12: o lote é regravado uma a
+     * uma e a reserva da placa repetida é descartada.
+     */
+    private Set<String> findTakenPlates(Map<LocalDateTime, List<Appointment>> bySlot) {
+        List<String> plates = bySlot.values().stream().flatMap(List::stream).map(Appointment::plate).toList();
+        String placeholders = String.join(", ", Collections.nCopies(plates.size(), "?"));
+        List<String> args = new ArrayList<>(plates);
+        args.addAll(plates);
+        return new HashSet<>(jdbcTemplate.queryForList(String.format(SELECT_TAKEN_PLATES_SQL, placeholders),
+                String.class, args.toArray()));
+    }
+
+    /** Soma reservas à janela no banco se couberem na capacidade, e atualiza o calendário com o novo total. */
+    private boolean reserveSlot(LocalDateTime slot, int count) {
+        List<Integer> booked = jdbcTemplate.queryForList(RESERVE_SLOT_SQL, Integer.class,
+                Timestamp.valueOf(slot), count, properties.getCapacityPerSlot());
+        if (booked.isEmpty()) {
+            return false;
+        }
+        calendar.observe(slot, booked.get(0));
+        return true;
+    }
+
+    private String newCode() {
+        char[] code = new char[CODE_LENGTH];
+        for (int i = 0; i < CODE_LENGTH; i++) {
+            code[i] = CODE_ALPHABET[random.nextInt(CODE_ALPHABET.length)];
+        }
+        return new String(code);
+    }
+
+    /** Grava as reservas pendentes antes de a aplicação encerrar. */
+    @PreDestroy
+    public void shutdown() {
+        log.info("shutdown: Gravando {} agendamento(s) pendente(s).", pending.size());
+        flush();
+    }
+}
@@ -0,0 +1,79 @@
+package com.suaempresa.driverqueue.service;
+
+import com.suaempresa.driverqueue.event.DriverQueueEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Envia o SMS de chamada ao motorista depois que a chamada (CALLED) ou re-chamada (RECALLED)
+ * foi confirmada no banco.
+ * <p>
+ * O envio pode levar segundos (timeouts e failover do {@link SmsService}); feito dentro da transação
+ * do {@link DriverService}, prenderia uma conexão do pool durante toda a espera. Aqui ele roda após
+ * o commit, no executor de tarefas assíncronas do Spring ({@code @Async}; virtual threads com o
+ * perfil "vthreads"), e a requisição de "Chamar Próximo" responde sem esperar o provedor. Uma chamada
+ * desfeita por rollback não gera SMS. O Message SID é registrado pelo {@link SmsNotificationService},
+ * que grava em lote na sua própria transação.
+ * <p>
+ * Só reage às transições desta instância: as recebidas do cluster já geraram o SMS na instância de origem.
+ * As chamadas feitas pela variante reativa, que não envia SMS, chegam pela tabela call_sms_outbox e são
+ * enviadas pelo {@link com.suaempresa.driverqueue.job.CallSmsOutboxJob} com {@link #notifyCall}.
+ */
+@Service
+public class CallSmsNotifier {
+
+    private static final Logger log = LoggerFactory.getLogger(CallSmsNotifier.class);
+
+    private final SmsService smsService;
+    private final SmsNotificationService smsNotificationService;
+
+    public CallSmsNotifier(SmsService smsService, SmsNotificationService smsNotificationService) {
+        this.smsService = smsService;
+        this.smsNotificationService = smsNotificationService;
+    }
+
+    /**
+     * @param event Transição local confirmada; só CALLED e RECALLED geram SMS.
+     */
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDriverQueueEvent(DriverQueueEvent event) {
+        notifyCall(event);
+    }
+
+    /**
+     * Envia o SMS da chamada na thread de quem chama. Erros do envio são apenas registrados no log.
+     *
+     * @param event Transição já confirmada no banco; só CALLED e RECALLED geram SMS.
+     */
+    public void notifyCall(DriverQueueEvent event) {
+        switch (event.type()) {
+            case CALLED -> sendSmsNotification(event, "sua vez na fila chegou!");
+            case RECALLED -> sendSmsNotification(event, "Lembrete: sua vez na fila chegou!");
+            default -> { }
+        }
+    }
+
+    private void sendSmsNotification(DriverQueueEvent driver, String baseMessage) {
+        try {
+            String phone = driver.phoneNumber();
+            if (phone != null && !phone.isBlank()) {
+                String attemptInfo = driver.callAttempts() > 1 ? " (Tentativa " + driver.callAttempts() + ")" : "";
+                String message = "Ola " + driver.name() + ", " + baseMessage + attemptInfo + ". Por favor, dirija-se ao local indicado.";
+
+                log.info("sendSmsNotification: Solicitando envio de SMS para Motorista ID {} ({}) no número {}. Tentativa: {}",
+                        driver.driverId(), driver.name(), phone, driver.callAttempts());
+                smsService.sendSms(phone, message)
+                        .ifPresent(messageSid -> smsNotificationService.recordSent(messageSid, driver.driverId(), phone, driver.callAttempts()));
+            } else {
+                log.warn("sendSmsNotification: Motorista ID {} ({}) não possui número de telefone. SMS não enviado.", driver.driverId(), driver.name());
+            }
+        } catch (Exception e) {
+            log.error("sendSmsNotification: Erro ao tentar enviar SMS para Motorista ID {} ({}): {}",
+                    driver.driverId(), driver.name(), e.getMessage(), e);
+        }
+    }
+}
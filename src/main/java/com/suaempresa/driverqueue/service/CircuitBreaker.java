@@ -0,0 +1,90 @@
+package com.suaempresa.driverqueue.service;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker simples para as chamadas a um provedor externo.
+ * <ul>
+ *     <li>CLOSED: as chamadas passam; após {@code failureThreshold} falhas consecutivas o circuito abre.</li>
+ *     <li>OPEN: as chamadas são recusadas na hora (sem esperar o timeout do provedor) durante {@code openDuration}.</li>
+ *     <li>HALF_OPEN: passado esse tempo, uma única chamada de teste é liberada; se der certo o circuito
+ *         fecha, se falhar volta a abrir por mais {@code openDuration}.</li>
+ * </ul>
+ * Os métodos são curtos e não bloqueiam, então {@code synchronized} é suficiente.
+ */
+public class CircuitBreaker {
+
+    /** Estados do circuito; a ordem (0, 1, 2) é usada na métrica de estado. */
+    public enum State { CLOSED, HALF_OPEN, OPEN }
+
+    private final int failureThreshold;
+    private final long openDurationNanos;
+    private final LongSupplier nanoClock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures = 0;
+    private long openedAt;
+    private boolean probeInFlight = false;
+
+    /**
+     * @param failureThreshold Falhas consecutivas que abrem o circuito.
+     * @param openDuration     Tempo com o circuito aberto antes da chamada de teste.
+     */
+    public CircuitBreaker(int failureThreshold, Duration openDuration) {
+        this(failureThreshold, openDuration, System::nanoTime);
+    }
+
+    CircuitBreaker(int failureThreshold, Duration openDuration, LongSupplier nanoClock) {
+        if (failureThreshold < 1 || openDuration.isNegative() || openDuration.isZero()) {
+            throw new IllegalArgumentException("Limite de falhas e tempo de circuito aberto devem ser positivos.");
+        }
+        this.failureThreshold = failureThreshold;
+        this.openDurationNanos = openDuration.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Verifica se uma chamada pode ser feita. Com o circuito meio-aberto, só a chamada de teste é liberada;
+     * quem recebe true deve informar o resultado com {@link #onSuccess()} ou {@link #onFailure()}.
+     * @return true se a chamada pode prosseguir; false se deve falhar imediatamente.
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN && nanoClock.getAsLong() - openedAt >= openDurationNanos) {
+            state = State.HALF_OPEN;
+        }
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> {
+                if (probeInFlight) {
+                    yield false;
+                }
+                probeInFlight = true;
+                yield true;
+            }
+        };
+    }
+
+    /** Registra uma chamada bem-sucedida: fecha o circuito e zera as falhas. */
+    public synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        probeInFlight = false;
+        state = State.CLOSED;
+    }
+
+    /** Registra uma falha: abre o circuito se a chamada de teste falhou ou se o limite foi atingido. */
+    public synchronized void onFailure() {
+        probeInFlight = false;
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = nanoClock.getAsLong();
+        }
+    }
+
+    /** @return O estado atual (OPEN só vira HALF_OPEN na próxima tentativa de chamada). */
+    public synchronized State getState() {
+        return state;
+    }
+}
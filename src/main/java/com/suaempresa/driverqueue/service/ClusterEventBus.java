@@ -0,0 +1,221 @@
+package com.suaempresa.driverqueue.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.suaempresa.driverqueue.config.ClusterProperties;
+import com.suaempresa.driverqueue.event.ClusterResyncEvent;
+import com.suaempresa.driverqueue.event.DriverQueueEvent;
+import com.suaempresa.driverqueue.event.RemoteDriverQueueEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Barramento de eventos entre instâncias da aplicação usando Postgres LISTEN/NOTIFY.
+ * <p>
+ * Cada transição local confirmada ({@link DriverQueueEvent}) é enviada com {@code pg_notify}
+ * no canal configurado. Uma thread dedicada mantém uma conexão em LISTEN e republica as
+ * notificações das outras instâncias como {@link RemoteDriverQueueEvent}, para que cada nó
+ * atualize suas visões em memória e notifique os admins conectados a ele.
+ * Não exige infraestrutura além do próprio banco.
+ * <p>
+ * Se um NOTIFY desta instância se perde (fila de envio cheia ou falha no banco), o descarte é
+ * contado em {@code queue.cluster.notify.dropped} e, assim que a fila esvazia, as demais instâncias
+ * recebem um pedido de ressincronização e recarregam suas visões do banco ({@link ClusterResyncEvent}).
+ * <p>
+ * Ativado com {@code queue.cluster.enabled=true}.
+ */
+@Service
+@ConditionalOnProperty(prefix = "queue.cluster", name = "enabled", havingValue = "true")
+@RegisterReflectionForBinding(ClusterEventBus.ClusterMessage.class) // Payload JSON na imagem nativa
+public class ClusterEventBus {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterEventBus.class);
+
+    /**
+     * Envelope serializado no payload do NOTIFY (limite do Postgres: 8000 bytes).
+     * Sem evento, é um pedido de ressincronização enviado pelo nó após descartar notificações.
+     */
+    record ClusterMessage(String node, DriverQueueEvent event) {
+    }
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ClusterProperties properties;
+    private final Counter droppedNotifications;
+
+    /**
+     * Envia os NOTIFY fora da thread da requisição e fora da transação de origem. Com a fila cheia,
+     * descarta a notificação mais antiga e marca as demais instâncias como desatualizadas.
+     */
+    private final ThreadPoolExecutor notifyExecutor;
+    /** Notificações foram perdidas desde o último pedido de ressincronização enviado. */
+    private final AtomicBoolean peersOutOfSync = new AtomicBoolean(false);
+
+    private volatile boolean running = false;
+    private Thread listenerThread;
+
+    public ClusterEventBus(DataSource dataSource, JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                           ApplicationEventPublisher eventPublisher, ClusterProperties properties, MeterRegistry meterRegistry) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+        this.droppedNotifications = Counter.builder("queue.cluster.notify.dropped")
+                .description("Transições locais não transmitidas às demais instâncias")
+                .register(meterRegistry);
+        this.notifyExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(10_000), r -> new Thread(r, "cluster-notify"), this::discardOldest);
+    }
+
+    /** Inicia a thread que escuta o canal do Postgres. */
+    @PostConstruct
+    public void start() {
+        running = true;
+        listenerThread = new Thread(this::listenLoop, "cluster-listen");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+        log.info("ClusterEventBus iniciado. Nó: {}, canal: {}.", properties.getNodeId(), properties.getChannel());
+    }
+
+    /** Encerra o listener e o envio de notificações. */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+        notifyExecutor.shutdown();
+    }
+
+    /**
+     * Transmite uma transição local confirmada para as demais instâncias.
+     * @param event Evento publicado pelo DriverService.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDriverQueueEvent(DriverQueueEvent event) {
+        notifyExecutor.execute(() -> {
+            try {
+                sendNotify(new ClusterMessage(properties.getNodeId(), event));
+            } catch (Exception e) {
+                log.error("onDriverQueueEvent: Falha ao enviar NOTIFY do evento {} do motorista ID {}: {}",
+                        event.type(), event.driverId(), e.getMessage());
+                markPeersOutOfSync();
+            }
+            requestPeerResyncIfNeeded();
+        });
+    }
+
+    private void sendNotify(ClusterMessage message) throws Exception {
+        String payload = objectMapper.writeValueAsString(message);
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null, properties.getChannel(), payload);
+    }
+
+    /** Política de rejeição do envio: descarta a notificação mais antiga da fila e enfileira a nova. */
+    private void discardOldest(Runnable task, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            return;
+        }
+        if (executor.getQueue().poll() != null) {
+            markPeersOutOfSync();
+        }
+        executor.execute(task);
+    }
+
+    private void markPeersOutOfSync() {
+        droppedNotifications.increment();
+        if (peersOutOfSync.compareAndSet(false, true)) {
+            log.warn("markPeersOutOfSync: Notificação do cluster descartada; as demais instâncias serão ressincronizadas.");
+        }
+    }
+
+    /** Com a fila de envio vazia, pede às demais instâncias que recarreguem a fila do banco. */
+    private void requestPeerResyncIfNeeded() {
+        if (!notifyExecutor.getQueue().isEmpty() || !peersOutOfSync.compareAndSet(true, false)) {
+            return;
+        }
+        try {
+            sendNotify(new ClusterMessage(properties.getNodeId(), null));
+            log.info("requestPeerResyncIfNeeded: Pedido de ressincronização enviado às demais instâncias.");
+        } catch (Exception e) {
+            peersOutOfSync.set(true); // Tenta de novo após o próximo envio
+            log.error("requestPeerResyncIfNeeded: Falha ao enviar pedido de ressincronização: {}", e.getMessage());
+        }
+    }
+
+    private void listenLoop() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + properties.getChannel());
+                }
+                log.info("listenLoop: LISTEN ativo no canal '{}'.", properties.getChannel());
+                // Notificações enviadas enquanto estávamos desconectados foram perdidas
+                eventPublisher.publishEvent(new ClusterResyncEvent(properties.getNodeId()));
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(properties.getPollTimeoutMs());
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            handleNotification(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (Exception e) {
+                if (!running) {
+                    break;
+                }
+                log.error("listenLoop: Conexão LISTEN perdida ({}). Reconectando em {} ms.", e.getMessage(), properties.getReconnectDelayMs());
+                try {
+                    Thread.sleep(properties.getReconnectDelayMs());
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        log.info("listenLoop: Listener do cluster encerrado.");
+    }
+
+    private void handleNotification(String payload) {
+        try {
+            ClusterMessage message = objectMapper.readValue(payload, ClusterMessage.class);
+            if (properties.getNodeId().equals(message.node())) {
+                return; // Notificação da própria instância; já aplicada localmente
+            }
+            if (message.event() == null) {
+                log.info("handleNotification: Nó {} descartou notificações. Ressincronizando.", message.node());
+                eventPublisher.publishEvent(new ClusterResyncEvent(properties.getNodeId()));
+                return;
+            }
+            log.debug("handleNotification: Evento {} do motorista ID {} recebido do nó {}.",
+                    message.event().type(), message.event().driverId(), message.node());
+            eventPublisher.publishEvent(new RemoteDriverQueueEvent(message.event(), message.node()));
+        } catch (Exception e) {
+            log.error("handleNotification: Payload de notificação inválido ignorado: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.suaempresa.driverqueue.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.suaempresa.driverqueue.config.DisplayBoardProperties;
+import com.suaempresa.driverqueue.event.ClusterResyncEvent;
+import com.suaempresa.driverqueue.event.DriverQueueEvent;
+import com.suaempresa.driverqueue.event.RemoteDriverQueueEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Painel público de chamadas ("chamando agora") exibido nas TVs da área de espera.
+ * <p>
+ * Mantém um único snapshot imutável, já serializado em JSON, reconstruído a partir da
+ * {@link QueueProjection} somente quando a fila muda. Todas as telas recebem os mesmos bytes:
+ * a consulta {@code GET /display/board} responde com o snapshot (ou 304 pelo ETag) e as telas
+ * conectadas via SSE recebem o snapshot novo assim que ele é gerado. O custo por tela é só o
+ * envio dos bytes, independente do número de telas.
+ * <p>
+ * Os listeners rodam depois dos da {@link QueueProjection} (que tem precedência), de modo que
+ * a projeção já reflete a transição quando o snapshot é reconstruído.
+ */
+@Service
+@RegisterReflectionForBinding(DisplayBoardService.BoardView.class) // Serializado com Jackson na imagem nativa
+public class DisplayBoardService {
+
+    private static final Logger log = LoggerFactory.getLogger(DisplayBoardService.class);
+
+    /** Tempo máximo de uma conexão SSE; o EventSource do navegador reconecta sozinho. */
+    private static final long EMITTER_TIMEOUT_MS = 30 * 60 * 1000L;
+
+    /**
+     * Conteúdo do painel.
+     *
+     * @param calling      Placas chamadas, da chamada mais recente para a mais antiga.
+     * @param waitingCount Motoristas aguardando.
+     */
+    public record BoardView(List<CalledPlate> calling, int waitingCount) {
+    }
+
+    /**
+     * @param plate        Placa chamada.
+     * @param calledTime   Horário da última chamada.
+     * @param callAttempts Número de chamadas (maior que 1 indica re-chamada).
+     */
+    public record CalledPlate(String plate, LocalDateTime calledTime, int callAttempts) {
+    }
+
+    /**
+     * Snapshot serializado do painel.
+     *
+     * @param json        Conteúdo em JSON (UTF-8); não deve ser modificado.
+     * @param etag        ETag derivado do conteúdo (igual em todas as instâncias para o mesmo conteúdo).
+     * @param generatedAt Momento em que o snapshot foi gerado.
+     */
+    public record Snapshot(byte[] json, String etag, LocalDateTime generatedAt) {
+    }
+
+    private final QueueProjection queueProjection;
+    private final ObjectMapper objectMapper;
+    private final DisplayBoardProperties properties;
+
+    private volatile Snapshot current;
+    private final Set<SseEmitter> emitters = new CopyOnWriteArraySet<>();
+
+    /** Envio para as telas fora da thread que confirmou a transação. */
+    private final ExecutorService sendExecutor = Executors.newSingleThreadExecutor(r -> new Thread(r, "display-sse"));
+
+    public DisplayBoardService(QueueProjection queueProjection, ObjectMapper objectMapper,
+                               DisplayBoardProperties properties) {
+        this.queueProjection = queueProjection;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.current = serialize(new BoardView(List.of(), 0));
+    }
+
+    /** @return O snapshot atual do painel. */
+    public Snapshot getSnapshot() {
+        return current;
+    }
+
+    /**
+     * Registra uma nova tela via SSE e envia o snapshot atual imediatamente.
+     * @return O emitter a ser devolvido pelo controller.
+     */
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+        emitters.add(emitter);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(e -> emitters.remove(emitter));
+        Snapshot snapshot = current;
+        sendExecutor.execute(() -> send(emitter, snapshot));
+        log.debug("subscribe: Nova tela conectada ao painel. Telas ativas: {}.", emitters.size());
+        return emitter;
+    }
+
+    /** Gera o primeiro snapshot após a carga da fila ativa. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /** @param event Transição local confirmada. */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDriverQueueEvent(DriverQueueEvent event) {
+        rebuild();
+    }
+
+    /** @param remoteEvent Transição de outra instância. */
+    @EventListener
+    public void onRemoteDriverQueueEvent(RemoteDriverQueueEvent remoteEvent) {
+        rebuild();
+    }
+
+    /** @param resyncEvent Reconexão do cluster (a projeção já foi reconstruída). */
+    @EventListener
+    public void onClusterResync(ClusterResyncEvent resyncEvent) {
+        rebuild();
+    }
+
+    /**
+     * Reconstrói o snapshot a partir da projeção. Se o conteúdo não mudou (ex: re-chamada de
+     * quem não aparece no painel), mantém o snapshot atual e não notifica as telas.
+     */
+    synchronized void rebuild() {
+        if (!queueProjection.isReady()) {
+            return;
+        }
+        List<CalledPlate> calling = queueProjection.getCalled().stream()
+                .limit(properties.getMaxCalled())
+                .map(e -> new CalledPlate(e.plate(), e.calledTime(), e.callAttempts()))
+                .toList();
+        Snapshot snapshot = serialize(new BoardView(calling, queueProjection.getWaitingCount()));
+        if (Arrays.equals(snapshot.json(), current.json())) {
+            return;
+        }
+        current = snapshot;
+        if (!emitters.isEmpty()) {
+            sendExecutor.execute(() -> emitters.forEach(emitter -> send(emitter, snapshot)));
+        }
+    }
+
+    private Snapshot serialize(BoardView view) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(view);
+            String etag = "\"" + DigestUtils.md5DigestAsHex(json) + "\"";
+            return new Snapshot(json, etag, LocalDateTime.now());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar o painel de chamadas.", e);
+        }
+    }
+
+    private void send(SseEmitter emitter, Snapshot snapshot) {
+        try {
+            emitter.send(SseEmitter.event().name("board").id(snapshot.etag()).data(snapshot.json(), MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            emitters.remove(emitter);
+            log.debug("send: Conexão SSE do painel encerrada pelo cliente: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        emitters.forEach(SseEmitter::complete);
+        sendExecutor.shutdown();
+    }
+}
@@ -0,0 +1,229 @@
+package com.suaempresa.driverqueue.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.suaempresa.driverqueue.config.ExportProperties;
+import com.suaempresa.driverqueue.model.Driver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Exportação do histórico de motoristas (tabela "driver") para auditoria, em CSV ou NDJSON.
+ * <p>
+ * As linhas são lidas por um cursor do banco, {@code queue.export.fetch-size} por vez, e escritas
+ * direto na saída (a resposta HTTP), sem montar a lista em memória: o uso de memória é o mesmo para
+ * uma exportação de um dia ou de meses. No Postgres o cursor só é usado com o autocommit desligado,
+ * por isso a consulta roda em uma transação somente leitura (atendida pela réplica de leitura,
+ * quando configurada).
+ */
+@Service
+public class DriverExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(DriverExportService.class);
+
+    private static final String SELECT_SQL =
+            "SELECT id, plate, name, phone_number, status, call_attempts, entry_time, called_time FROM driver " +
+            "WHERE entry_time >= ? AND entry_time < ? AND (cardinality(?::varchar[]) = 0 OR status = ANY(?::varchar[])) " +
+            "ORDER BY entry_time, id";
+
+    /** Formatos de exportação. */
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() { return contentType; }
+        public String getExtension() { return extension; }
+    }
+
+    /** Uma linha exportada. */
+    record ExportRow(long id, String plate, String name, String phoneNumber, String status, int callAttempts,
+                     LocalDateTime entryTime, LocalDateTime calledTime) {
+    }
+
+    /** Escreve as linhas em um formato. */
+    interface RowWriter {
+        void writeRow(ExportRow row) throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    private final JdbcTemplate cursorJdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+
+    public DriverExportService(DataSource dataSource, PlatformTransactionManager transactionManager,
+                               ObjectMapper objectMapper, ExportProperties properties) {
+        this.cursorJdbcTemplate = new JdbcTemplate(dataSource);
+        this.cursorJdbcTemplate.setFetchSize(properties.getFetchSize());
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Escreve os motoristas que entraram na fila no período na saída informada.
+     *
+     * @param format   CSV ou NDJSON.
+     * @param from     Início do período de entrada na fila (inclusivo).
+     * @param to       Fim do período (exclusivo).
+     * @param statuses Status a incluir; vazio para todos.
+     * @param out      Saída (não é fechada).
+     * @return Quantidade de linhas exportadas.
+     * @throws UncheckedIOException Se a escrita falhar (ex: o cliente desconectou); a consulta é interrompida.
+     */
+    public long export(Format format, LocalDateTime from, LocalDateTime to, Collection<Driver.DriverStatus> statuses,
+                       OutputStream out) {
+        long start = System.nanoTime();
+        String[] statusNames = statuses.stream().map(Enum::name).toArray(String[]::new);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        RowWriter rowWriter = newRowWriter(format, writer);
+        long[] count = {0};
+        readOnlyTransaction.executeWithoutResult(status -> cursorJdbcTemplate.query(SELECT_SQL, (RowCallbackHandler) rs -> {
+            try {
+                rowWriter.writeRow(new ExportRow(rs.getLong("id"), rs.getString("plate"), rs.getString("name"),
+                        rs.getString("phone_number"), rs.getString("status"), rs.getInt("call_attempts"),
+                        toLocalDateTime(rs.getTimestamp("entry_time")), toLocalDateTime(rs.getTimestamp("called_time"))));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            count[0]++;
+        }, Timestamp.valueOf(from), Timestamp.valueOf(to), statusNames, statusNames));
+        try {
+            rowWriter.finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.info("export: {} motorista(s) exportado(s) em {} ({} a {}, status {}) em {} ms.", count[0], format, from, to,
+                statusNames.length == 0 ? "todos" : String.join(",", statusNames), (System.nanoTime() - start) / 1_000_000);
+        return count[0];
+    }
+
+    RowWriter newRowWriter(Format format, Writer writer) {
+        try {
+            return format == Format.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(objectMapper, writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    /** CSV (RFC 4180) com cabeçalho. */
+    static final class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+
+        CsvRowWriter(Writer writer) throws IOException {
+            this.writer = writer;
+            writer.write("id,plate,name,phone_number,status,call_attempts,entry_time,called_time\r\n");
+        }
+
+        @Override
+        public void writeRow(ExportRow row) throws IOException {
+            writer.write(Long.toString(row.id()));
+            writer.write(',');
+            writer.write(field(row.plate()));
+            writer.write(',');
+            writer.write(field(row.name()));
+            writer.write(',');
+            writer.write(field(row.phoneNumber()));
+            writer.write(',');
+            writer.write(row.status());
+            writer.write(',');
+            writer.write(Integer.toString(row.callAttempts()));
+            writer.write(',');
+            writer.write(row.entryTime() != null ? row.entryTime().toString() : "");
+            writer.write(',');
+            writer.write(row.calledTime() != null ? row.calledTime().toString() : "");
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+
+        /**
+         * Escapa um campo de texto. Textos digitados pelo motorista que começam com =, +, -, @ (exceto
+         * telefones) ganham um apóstrofo, para que a planilha não os interprete como fórmula.
+         */
+        static String field(String value) {
+            if (value == null || value.isEmpty()) {
+                return "";
+            }
+            String text = value;
+            char first = text.charAt(0);
+            if (first == '=' || first == '@' || first == '\t' || first == '\r'
+                    || ((first == '+' || first == '-') && !text.substring(1).chars().allMatch(Character::isDigit))) {
+                text = "'" + text;
+            }
+            if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+                return '"' + text.replace("\"", "\"\"") + '"';
+            }
+            return text;
+        }
+    }
+
+    /** Um objeto JSON por linha (NDJSON), escrito em streaming. */
+    static final class NdjsonRowWriter implements RowWriter {
+        private final JsonGenerator generator;
+        private boolean empty = true;
+
+        NdjsonRowWriter(ObjectMapper objectMapper, Writer writer) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(writer);
+            this.generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+            // A saída pertence ao chamador (resposta HTTP)
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+
+        @Override
+        public void writeRow(ExportRow row) throws IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("id", row.id());
+            generator.writeStringField("plate", row.plate());
+            generator.writeStringField("name", row.name());
+            generator.writeStringField("phoneNumber", row.phoneNumber());
+            generator.writeStringField("status", row.status());
+            generator.writeNumberField("callAttempts", row.callAttempts());
+            generator.writeStringField("entryTime", row.entryTime() != null ? row.entryTime().toString() : null);
+            generator.writeStringField("calledTime", row.calledTime() != null ? row.calledTime().toString() : null);
+            generator.writeEndObject();
+            empty = false;
+        }
+
+        @Override
+        public void finish() throws IOException {
+            if (!empty) {
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+        }
+    }
+}
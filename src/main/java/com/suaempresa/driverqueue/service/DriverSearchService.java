@@ -0,0 +1,179 @@
+package com.suaempresa.driverqueue.service;
+
+import com.suaempresa.driverqueue.config.SearchProperties;
+import com.suaempresa.driverqueue.model.Driver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Busca de motoristas por placa, nome ou telefone para a página de admin, em todo o histórico
+ * da tabela "driver" (não só na fila ativa).
+ * <p>
+ * Cada critério usa um índice próprio da migração V9, e o Postgres combina os três (BitmapOr):
+ * <ul>
+ *   <li>placa: prefixo da placa normalizada (só letras e dígitos, em maiúsculas);</li>
+ *   <li>nome: trecho em qualquer posição, sem diferenciar maiúsculas (índice de trigramas), a partir
+ *       de 3 caracteres;</li>
+ *   <li>telefone: igualdade com o número normalizado para E.164, como no cadastro.</li>
+ * </ul>
+ * Os resultados vêm dos mais recentes para os mais antigos (os motoristas ainda na fila estão entre os
+ * primeiros); para buscas pouco seletivas o Postgres percorre o índice de entrada e para na página
+ * pedida. A paginação busca uma linha a mais para saber se há próxima página, sem contar os resultados.
+ */
+@Service
+public class DriverSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(DriverSearchService.class);
+
+    /** Expressão da placa normalizada; deve ser idêntica à do índice idx_driver_plate_normalized. */
+    private static final String NORMALIZED_PLATE_SQL = "upper(regexp_replace(plate, '[^A-Za-z0-9]', '', 'g'))";
+
+    /** Tamanho mínimo de um trecho de nome para o índice de trigramas ser usado. */
+    static final int MIN_NAME_LENGTH = 3;
+
+    /** Tamanho mínimo do prefixo de placa (só letras e dígitos); prefixos menores casariam com quase tudo. */
+    static final int MIN_PLATE_PREFIX_LENGTH = 2;
+
+    private static final RowMapper<Driver> DRIVER_ROW_MAPPER = (rs, rowNum) -> {
+        Driver driver = new Driver();
+        driver.setId(rs.getLong("id"));
+        driver.setPlate(rs.getString("plate"));
+        driver.setName(rs.getString("name"));
+        driver.setPhoneNumber(rs.getString("phone_number"));
+        driver.setStatus(Driver.DriverStatus.valueOf(rs.getString("status")));
+        driver.setCallAttempts(rs.getInt("call_attempts"));
+        driver.setEntryTime(toLocalDateTime(rs.getTimestamp("entry_time")));
+        driver.setCalledTime(toLocalDateTime(rs.getTimestamp("called_time")));
+        return driver;
+    };
+
+    /**
+     * Uma página de resultados.
+     *
+     * @param query   Texto buscado.
+     * @param page    Página (a partir de 0).
+     * @param size    Tamanho da página.
+     * @param hasNext true se há mais resultados depois desta página.
+     * @param drivers Motoristas encontrados.
+     */
+    public record Result(String query, int page, int size, boolean hasNext, List<Driver> drivers) {
+    }
+
+    /**
+     * Critérios derivados do texto buscado; os nulos não entram na consulta.
+     *
+     * @param platePrefix Padrão LIKE do prefixo da placa normalizada.
+     * @param namePattern Padrão ILIKE do trecho do nome (com %, _ e \ escapados).
+     * @param phoneNumber Telefone em E.164.
+     */
+    record Criteria(String platePrefix, String namePattern, String phoneNumber) {
+        boolean isEmpty() {
+            return platePrefix == null && namePattern == null && phoneNumber == null;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final SearchProperties properties;
+
+    public DriverSearchService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                               SearchProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.properties = properties;
+    }
+
+    /**
+     * Busca motoristas cuja placa começa com o texto, cujo nome contém o texto ou cujo telefone é o texto.
+     *
+     * @param query    Texto buscado (placa, parte do nome ou telefone).
+     * @param statuses Status a incluir; vazio para todos.
+     * @param page     Página (a partir de 0).
+     * @param size     Tamanho da página (limitado a {@code queue.search.max-page-size}).
+     * @return A página de resultados.
+     * @throws IllegalArgumentException Se o texto tem menos de {@code queue.search.min-query-length} caracteres
+     *                                  ou a página é negativa.
+     */
+    public Result search(String query, Collection<Driver.DriverStatus> statuses, int page, int size) {
+        String text = query == null ? "" : query.trim();
+        if (text.length() < properties.getMinQueryLength()) {
+            throw new IllegalArgumentException("Informe ao menos " + properties.getMinQueryLength() + " caracteres para a busca.");
+        }
+        if (page < 0) {
+            throw new IllegalArgumentException("Página inválida: " + page);
+        }
+        int pageSize = Math.min(Math.max(size, 1), properties.getMaxPageSize());
+        Criteria criteria = criteria(text);
+        if (criteria.isEmpty()) {
+            return new Result(text, page, pageSize, false, List.of());
+        }
+
+        List<String> conditions = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        if (criteria.platePrefix() != null) {
+            conditions.add(NORMALIZED_PLATE_SQL + " LIKE ?");
+            args.add(criteria.platePrefix());
+        }
+        if (criteria.namePattern() != null) {
+            conditions.add("name ILIKE ?");
+            args.add(criteria.namePattern());
+        }
+        if (criteria.phoneNumber() != null) {
+            conditions.add("phone_number = ?");
+            args.add(criteria.phoneNumber());
+        }
+        StringBuilder sql = new StringBuilder(
+                "SELECT id, plate, name, phone_number, status, call_attempts, entry_time, called_time FROM driver WHERE (")
+                .append(String.join(" OR ", conditions)).append(')');
+        if (!statuses.isEmpty()) {
+            sql.append(" AND status = ANY(?::varchar[])");
+            args.add(statuses.stream().map(Enum::name).toArray(String[]::new));
+        }
+        sql.append(" ORDER BY entry_time DESC, id DESC LIMIT ? OFFSET ?");
+        args.add(pageSize + 1);
+        args.add((long) page * pageSize);
+
+        long start = System.nanoTime();
+        List<Driver> rows = readOnlyTransaction.execute(status -> jdbcTemplate.query(sql.toString(), DRIVER_ROW_MAPPER, args.toArray()));
+        boolean hasNext = rows.size() > pageSize;
+        List<Driver> drivers = hasNext ? rows.subList(0, pageSize) : rows;
+        log.debug("search: '{}' (página {}) retornou {} motorista(s) em {} ms.", text, page, drivers.size(),
+                (System.nanoTime() - start) / 1_000_000);
+        return new Result(text, page, pageSize, hasNext, drivers);
+    }
+
+    /**
+     * Deriva os critérios do texto buscado.
+     *
+     * @param text Texto buscado, sem espaços nas pontas.
+     * @return Os critérios aplicáveis ao texto.
+     */
+    static Criteria criteria(String text) {
+        String plate = QueueProjection.normalizePlate(text);
+        String platePrefix = plate.length() < MIN_PLATE_PREFIX_LENGTH ? null : plate + "%";
+        String namePattern = text.length() >= MIN_NAME_LENGTH ? "%" + escapeLike(text) + "%" : null;
+        // Só textos com cara de telefone: um nome com dígitos não vira busca por telefone
+        String phoneNumber = text.matches("[+0-9() .-]+") ? PhoneNumbers.toE164(text) : null;
+        return new Criteria(platePrefix, namePattern, phoneNumber);
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
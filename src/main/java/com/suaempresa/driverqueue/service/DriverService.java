@@ -1,20 +1,35 @@
 package com.suaempresa.driverqueue.service;
 
+import com.suaempresa.driverqueue.config.CallPolicyProperties;
+import com.suaempresa.driverqueue.event.DriverQueueEvent;
 import com.suaempresa.driverqueue.model.Driver;
 import com.suaempresa.driverqueue.repository.DriverRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.time.Clock;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 /**
  * Serviço responsável pela lógica de negócio principal relacionada aos motoristas e à fila.
  * Gerencia a adição, chamada, limpeza e visualização da fila, incluindo re-chamadas
  * com limite de tentativas.
+ * <p>
+ * Cada transição bem-sucedida publica um {@link DriverQueueEvent}, consumido após o commit
+ * pelo journal de eventos, pelas projeções em memória da fila e pelo {@link CallSmsNotifier},
+ * que envia o SMS das chamadas fora da transação.
+ * <p>
+ * As transições de status usam controle de concorrência otimista: o UPDATE só é aplicado se o
+ * motorista ainda tem o status e a versão lidos ({@link DriverRepository#updateStatusIfUnchanged}).
+ * Se outra operação alterou o motorista no meio tempo, o estado é relido e a regra reavaliada,
+ * até {@value #MAX_TRANSITION_ATTEMPTS} vezes, sem locks pessimistas.
  */
 @Service
 public class DriverService {
@@ -22,20 +37,32 @@ public class DriverService {
     private static final Logger log = LoggerFactory.getLogger(DriverService.class);
 
     private final DriverRepository driverRepository;
-    private final TwilioService twilioService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
 
-    /** Limite máximo de chamadas permitidas (1ª chamada + 1 re-chamada = 2 tentativas). */
-    private static final int MAX_CALL_ATTEMPTS = 2;
+    /** Limite de chamadas por motorista ({@code queue.calls.max-attempts}; padrão: 1ª chamada + 1 re-chamada). */
+    private final int maxCallAttempts;
 
-    public DriverService(DriverRepository driverRepository, TwilioService twilioService) {
+    /** Tentativas de uma transição quando outra operação altera o mesmo motorista ao mesmo tempo. */
+    static final int MAX_TRANSITION_ATTEMPTS = 3;
+
+    /** Novo estado de um motorista em uma transição de status e o evento correspondente. */
+    private record Transition(Driver.DriverStatus status, int callAttempts, LocalDateTime calledTime,
+                              DriverQueueEvent.Type eventType) {
+    }
+
+    public DriverService(DriverRepository driverRepository, ApplicationEventPublisher eventPublisher,
+                         CallPolicyProperties callPolicyProperties, Clock clock) {
         this.driverRepository = driverRepository;
-        this.twilioService = twilioService;
-        log.info("DriverService inicializado e pronto.");
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
+        this.maxCallAttempts = callPolicyProperties.getMaxAttempts();
+        log.info("DriverService inicializado e pronto (limite de {} chamada(s) por motorista).", maxCallAttempts);
     }
 
     /**
      * Adiciona um novo motorista à fila de espera.
-     * Normaliza o número de telefone para o formato E.164 (+55...) antes de salvar.
+     * Normaliza o número de telefone para o formato E.164 (+55...) antes de salvar ({@link PhoneNumbers}).
      * Inicializa tentativas de chamada como 0.
      *
      * @param plate Placa do veículo.
@@ -46,6 +73,29 @@ public class DriverService {
      */
     @Transactional
     public Driver addDriver(String plate, String name, String phoneNumberInput) { // <<< CORREÇÃO NO NOME DO PARÂMETRO
+        return addDriver(plate, name, phoneNumberInput, LocalDateTime.now(clock));
+    }
+
+    /**
+     * Adiciona à fila de espera um motorista com horário agendado, usando o início da janela reservada
+     * como horário de entrada: ele é ordenado entre os WAITING como se tivesse chegado naquele horário.
+     *
+     * @param plate Placa do veículo.
+     * @param name Nome do motorista.
+     * @param phoneNumberInput Número de telefone (normalizado como em {@link #addDriver(String, String, String)}).
+     * @param slotStart Início da janela agendada.
+     * @return O objeto Driver persistido.
+     * @throws IllegalArgumentException Se dados de entrada forem inválidos ou o telefone não puder ser normalizado.
+     */
+    @Transactional
+    public Driver addScheduledDriver(String plate, String name, String phoneNumberInput, LocalDateTime slotStart) {
+        if (slotStart == null) {
+            throw new IllegalArgumentException("Horário agendado é obrigatório.");
+        }
+        return addDriver(plate, name, phoneNumberInput, slotStart);
+    }
+
+    private Driver addDriver(String plate, String name, String phoneNumberInput, LocalDateTime entryTime) {
         log.debug("addDriver: Iniciando adição para Placa={}, Nome={}, Telefone (entrada)='{}'", plate, name, phoneNumberInput);
 
         if (plate == null || plate.trim().isEmpty()) {
@@ -56,33 +106,15 @@ public class DriverService {
             log.warn("addDriver: Falha na validação - Nome obrigatório.");
             throw new IllegalArgumentException("Nome do motorista é obrigatório.");
         }
-        if (phoneNumberInput == null || phoneNumberInput.trim().isEmpty()) { // <<< USA O PARÂMETRO CORRETO
-            log.warn("addDriver: Falha na validação - Telefone obrigatório.");
-            throw new IllegalArgumentException("Número de telefone é obrigatório.");
-        }
-
-        String digitsOnly = phoneNumberInput.replaceAll("[^0-9]", "");
 
         String e164PhoneNumber;
-        if (digitsOnly.length() == 10 || digitsOnly.length() == 11) {
-            e164PhoneNumber = "+55" + digitsOnly;
-            log.debug("addDriver: Telefone normalizado de '{}' ({} dígitos) para '{}'", phoneNumberInput, digitsOnly.length(), e164PhoneNumber);
-        } else if (digitsOnly.startsWith("55") && (digitsOnly.length() == 12 || digitsOnly.length() == 13)) {
-            e164PhoneNumber = "+" + digitsOnly;
-            log.debug("addDriver: Telefone normalizado de '{}' (já com 55) para '{}'", phoneNumberInput, e164PhoneNumber);
-        } else if (phoneNumberInput.startsWith("+55") && (phoneNumberInput.replaceAll("[^0-9]", "").length() == 12 || phoneNumberInput.replaceAll("[^0-9]", "").length() == 13)) {
-            e164PhoneNumber = "+" + phoneNumberInput.replaceAll("[^0-9]", "");
-            log.debug("addDriver: Telefone normalizado de '{}' (já com +55) para '{}'", phoneNumberInput, e164PhoneNumber);
-        }
-        else {
-            log.warn("addDriver: Formato de telefone não reconhecido após limpeza: '{}' (original: '{}'). Não foi possível adicionar '+55'.", digitsOnly, phoneNumberInput);
-            throw new IllegalArgumentException("Formato de telefone inválido. Forneça DDD e número (ex: (XX) XXXXX-XXXX ou XX XXXXXXXXX).");
-        }
-
-        if (!e164PhoneNumber.matches("^\\+[1-9]\\d{10,14}$")) {
-            log.warn("addDriver: Falha na validação final do formato E.164 para o telefone normalizado: '{}'", e164PhoneNumber);
-            throw new IllegalArgumentException("Formato de telefone inválido após tentativa de normalização para o padrão internacional.");
+        try {
+            e164PhoneNumber = PhoneNumbers.requireE164(phoneNumberInput);
+        } catch (IllegalArgumentException e) {
+            log.warn("addDriver: Falha na validação do telefone '{}': {}", phoneNumberInput, e.getMessage());
+            throw e;
         }
+        log.debug("addDriver: Telefone normalizado de '{}' para '{}'", phoneNumberInput, e164PhoneNumber);
 
         String cleanedPlate = plate.toUpperCase().trim();
 
@@ -90,13 +122,14 @@ public class DriverService {
         driver.setPlate(cleanedPlate); // <<< CORREÇÃO: USA cleanedPlate
         driver.setName(name.trim());
         driver.setPhoneNumber(e164PhoneNumber); // <<< CORREÇÃO: Apenas esta chamada para setPhoneNumber
-        driver.setEntryTime(LocalDateTime.now());
+        driver.setEntryTime(entryTime);
         driver.setStatus(Driver.DriverStatus.WAITING);
         driver.setCallAttempts(0);
 
         Driver savedDriver = driverRepository.save(driver);
         log.info("addDriver: Motorista adicionado com sucesso: ID={}, Placa={}, Telefone (E.164)='{}', Tentativas={}",
                 savedDriver.getId(), savedDriver.getPlate(), savedDriver.getPhoneNumber(), savedDriver.getCallAttempts());
+        publishEvent(DriverQueueEvent.Type.ADDED, savedDriver);
         return savedDriver;
     }
 
@@ -116,106 +149,195 @@ public class DriverService {
         return calledDrivers != null ? calledDrivers : Collections.emptyList();
     }
 
-    // ... (callNextDriver - sem mudanças na lógica principal, mas note que a variável 'driverToCall' foi usada no log do recallDriver,
-    // o que estava incorreto, mas já corrigi no recallDriver abaixo) ...
+    /**
+     * Chama o próximo motorista da fila de espera. Se o primeiro da fila for chamado por outra
+     * operação ao mesmo tempo, tenta o seguinte.
+     *
+     * @return O motorista chamado, ou vazio se não há ninguém aguardando.
+     * @throws OptimisticLockingFailureException Se a fila mudou a cada tentativa.
+     */
     @Transactional
     public Optional<Driver> callNextDriver() {
-        log.info("callNextDriver: Iniciando processo de chamada para o próximo da fila.");
-        Optional<Driver> nextDriverOpt = driverRepository.findFirstByStatusOrderByEntryTimeAsc(Driver.DriverStatus.WAITING);
-
-        if (nextDriverOpt.isPresent()) {
+        log.debug("callNextDriver: Iniciando processo de chamada para o próximo da fila.");
+        for (int attempt = 1; attempt <= MAX_TRANSITION_ATTEMPTS; attempt++) {
+            Optional<Driver> nextDriverOpt = driverRepository.findFirstByStatusOrderByEntryTimeAsc(Driver.DriverStatus.WAITING);
+            if (nextDriverOpt.isEmpty()) {
+                log.info("callNextDriver: Nenhum motorista WAITING encontrado para chamar.");
+                return Optional.empty();
+            }
             Driver driverToCall = nextDriverOpt.get();
-            driverToCall.setStatus(Driver.DriverStatus.CALLED);
-            driverToCall.setCalledTime(LocalDateTime.now());
-            driverToCall.setCallAttempts(1);
-            driverRepository.save(driverToCall);
-            log.info("callNextDriver: Motorista ID {} ({}) chamado. Status: CALLED. Tentativa: {}.",
-                    driverToCall.getId(), driverToCall.getName(), driverToCall.getCallAttempts());
-
-            sendSmsNotification(driverToCall, "sua vez na fila chegou!");
-            return Optional.of(driverToCall);
-        } else {
-            log.info("callNextDriver: Nenhum motorista WAITING encontrado para chamar.");
-            return Optional.empty();
+            if (applyTransition(driverToCall, new Transition(Driver.DriverStatus.CALLED, 1, LocalDateTime.now(clock), DriverQueueEvent.Type.CALLED))) {
+                log.info("callNextDriver: Motorista ID {} ({}) chamado. Status: CALLED. Tentativa: {}.",
+                        driverToCall.getId(), driverToCall.getName(), driverToCall.getCallAttempts());
+                return Optional.of(driverToCall);
+            }
+            log.info("callNextDriver: Motorista ID {} foi chamado por outra operação. Buscando o próximo ({}/{}).",
+                    driverToCall.getId(), attempt, MAX_TRANSITION_ATTEMPTS);
         }
+        throw conflict("callNextDriver", "A fila foi alterada por outro usuário. Tente chamar novamente.");
     }
 
-    // ... (recallDriver - código que você já tinha e que eu ajustei na mensagem anterior, mantido aqui) ...
+    /**
+     * Chama novamente um motorista CALLED. Ao atingir o limite de chamadas ({@code queue.calls.max-attempts}),
+     * o motorista é marcado como NO_SHOW em vez de ser chamado.
+     *
+     * @param driverId ID do motorista.
+     * @return O motorista após a transição (CALLED com mais uma tentativa, ou NO_SHOW).
+     * @throws IllegalArgumentException Se o motorista não existe ou não está CALLED.
+     * @throws OptimisticLockingFailureException Se o motorista foi alterado a cada tentativa.
+     */
     @Transactional
     public Optional<Driver> recallDriver(Long driverId) {
-        log.info("recallDriver: Tentando chamar novamente o motorista ID {}.", driverId);
-        Driver driverToRecall = driverRepository.findById(driverId)
-                .orElseThrow(() -> {
-                    log.warn("recallDriver: Motorista com ID {} não encontrado.", driverId);
-                    return new IllegalArgumentException("Motorista não encontrado com ID: " + driverId);
-                });
-
-        if (driverToRecall.getStatus() != Driver.DriverStatus.CALLED) {
-            log.warn("recallDriver: Motorista ID {} não está CALLED (status: {}). Não pode ser chamado novamente.", driverId, driverToRecall.getStatus());
-            throw new IllegalArgumentException("Motorista " + driverToRecall.getName() + " não está aguardando confirmação (status não é CALLED).");
-        }
+        log.debug("recallDriver: Tentando chamar novamente o motorista ID {}.", driverId);
+        Driver driverToRecall = transitionDriver(driverId, "recallDriver", driver -> {
+            if (driver.getStatus() != Driver.DriverStatus.CALLED) {
+                log.warn("recallDriver: Motorista ID {} não está CALLED (status: {}). Não pode ser chamado novamente.", driverId, driver.getStatus());
+                throw new IllegalArgumentException("Motorista " + driver.getName() + " não está aguardando confirmação (status não é CALLED).");
+            }
+            int currentAttempts = driver.getCallAttempts();
+            if (currentAttempts >= maxCallAttempts) {
+                log.warn("recallDriver: Motorista ID {} ({}) já atingiu o limite de {} tentativas. Marcando como NO_SHOW.",
+                        driverId, driver.getName(), maxCallAttempts);
+                return new Transition(Driver.DriverStatus.NO_SHOW, currentAttempts, driver.getCalledTime(), DriverQueueEvent.Type.NO_SHOW);
+            }
+            return new Transition(Driver.DriverStatus.CALLED, currentAttempts + 1, LocalDateTime.now(clock), DriverQueueEvent.Type.RECALLED);
+        });
 
-        int currentAttempts = driverToRecall.getCallAttempts();
-        if (currentAttempts >= MAX_CALL_ATTEMPTS) {
-            log.warn("recallDriver: Motorista ID {} ({}) já atingiu o limite de {} tentativas. Marcando como NO_SHOW.",
-                    driverId, driverToRecall.getName(), MAX_CALL_ATTEMPTS);
-            driverToRecall.setStatus(Driver.DriverStatus.NO_SHOW);
-            driverRepository.save(driverToRecall);
-            return Optional.of(driverToRecall);
+        if (driverToRecall.getStatus() == Driver.DriverStatus.CALLED) {
+            log.info("recallDriver: Motorista ID {} ({}) chamado novamente. Tentativa: {} de {}.",
+                    driverId, driverToRecall.getName(), driverToRecall.getCallAttempts(), maxCallAttempts);
         }
-
-        driverToRecall.setCallAttempts(currentAttempts + 1);
-        driverToRecall.setCalledTime(LocalDateTime.now()); // << CORREÇÃO AQUI: usei driverToCall antes, agora é driverToRecall
-        driverRepository.save(driverToRecall);
-        log.info("recallDriver: Motorista ID {} ({}) chamado novamente. Tentativa: {} de {}.",
-                driverId, driverToRecall.getName(), driverToRecall.getCallAttempts(), MAX_CALL_ATTEMPTS);
-
-        sendSmsNotification(driverToRecall, "Lembrete: sua vez na fila chegou!");
         return Optional.of(driverToRecall);
     }
 
-    // ... (markDriverAsAttended - sem mudanças) ...
+    /**
+     * Marca um motorista CALLED como ATTENDED (compareceu).
+     *
+     * @param driverId ID do motorista.
+     * @throws IllegalArgumentException Se o motorista não existe ou não está CALLED.
+     * @throws OptimisticLockingFailureException Se o motorista foi alterado a cada tentativa.
+     */
     @Transactional
     public void markDriverAsAttended(Long driverId) {
-        log.info("markDriverAsAttended: Tentando marcar motorista ID {} como ATTENDED.", driverId);
-        Driver driver = driverRepository.findById(driverId)
-                .orElseThrow(() -> {
-                    log.warn("markDriverAsAttended: Motorista com ID {} não encontrado.", driverId);
-                    return new IllegalArgumentException("Motorista não encontrado com ID: " + driverId);
-                });
+        log.debug("markDriverAsAttended: Tentando marcar motorista ID {} como ATTENDED.", driverId);
+        Driver driver = transitionDriver(driverId, "markDriverAsAttended",
+                current -> leaveCalled(current, Driver.DriverStatus.ATTENDED, DriverQueueEvent.Type.ATTENDED, "markDriverAsAttended"));
+        log.info("markDriverAsAttended: Motorista ID {} ({}) marcado como ATTENDED com sucesso.", driverId, driver.getName());
+    }
+
+    /**
+     * Marca um motorista CALLED como NO_SHOW (não compareceu), sem esperar o limite de re-chamadas.
+     *
+     * @param driverId ID do motorista.
+     * @throws IllegalArgumentException Se o motorista não existe ou não está CALLED.
+     * @throws OptimisticLockingFailureException Se o motorista foi alterado a cada tentativa.
+     */
+    @Transactional
+    public void markDriverAsNoShow(Long driverId) {
+        log.debug("markDriverAsNoShow: Tentando marcar motorista ID {} como NO_SHOW.", driverId);
+        Driver driver = transitionDriver(driverId, "markDriverAsNoShow",
+                current -> leaveCalled(current, Driver.DriverStatus.NO_SHOW, DriverQueueEvent.Type.NO_SHOW, "markDriverAsNoShow"));
+        log.info("markDriverAsNoShow: Motorista ID {} ({}) marcado como NO_SHOW com sucesso.", driverId, driver.getName());
+    }
+
+    /**
+     * Retira da fila um motorista WAITING que desistiu de esperar (ex: respondeu "desisto" por SMS).
+     * O motorista fica CLEARED, como na limpeza da fila.
+     *
+     * @param driverId ID do motorista.
+     * @throws IllegalArgumentException Se o motorista não existe ou não está WAITING.
+     * @throws OptimisticLockingFailureException Se o motorista foi alterado a cada tentativa.
+     */
+    @Transactional
+    public void withdrawWaitingDriver(Long driverId) {
+        log.debug("withdrawWaitingDriver: Tentando retirar o motorista ID {} da fila de espera.", driverId);
+        Driver driver = transitionDriver(driverId, "withdrawWaitingDriver", current -> {
+            if (current.getStatus() != Driver.DriverStatus.WAITING) {
+                log.warn("withdrawWaitingDriver: Motorista ID {} não está com status WAITING (status atual: {}).",
+                        current.getId(), current.getStatus());
+                throw new IllegalArgumentException("Motorista " + current.getName() + " não está aguardando na fila (status não é WAITING).");
+            }
+            return new Transition(Driver.DriverStatus.CLEARED, current.getCallAttempts(), current.getCalledTime(), DriverQueueEvent.Type.CLEARED);
+        });
+        log.info("withdrawWaitingDriver: Motorista ID {} ({}) retirado da fila de espera (CLEARED).", driverId, driver.getName());
+    }
 
+    /** Regra comum de ATTENDED/NO_SHOW: só motoristas CALLED saem da lista de chamados. */
+    private Transition leaveCalled(Driver driver, Driver.DriverStatus newStatus, DriverQueueEvent.Type eventType, String operation) {
         if (driver.getStatus() != Driver.DriverStatus.CALLED) {
-            log.warn("markDriverAsAttended: Motorista ID {} não está com status CALLED (status atual: {}). Não pode ser marcado como ATTENDED.", driverId, driver.getStatus());
+            log.warn("{}: Motorista ID {} não está com status CALLED (status atual: {}). Não pode ser marcado como {}.",
+                    operation, driver.getId(), driver.getStatus(), newStatus);
             throw new IllegalArgumentException("Motorista " + driver.getName() + " não está aguardando confirmação (status não é CALLED).");
         }
-
-        driver.setStatus(Driver.DriverStatus.ATTENDED);
-        driverRepository.save(driver);
-        log.info("markDriverAsAttended: Motorista ID {} ({}) marcado como ATTENDED com sucesso.", driverId, driver.getName());
+        return new Transition(newStatus, driver.getCallAttempts(), driver.getCalledTime(), eventType);
     }
 
-
-    // ... (sendSmsNotification - sem mudanças) ...
-    private void sendSmsNotification(Driver driver, String baseMessage) {
-        try {
-            String phone = driver.getPhoneNumber();
-            if (phone != null && !phone.isBlank()) {
-                String attemptInfo = driver.getCallAttempts() > 1 ? " (Tentativa " + driver.getCallAttempts() + ")" : "";
-                String message = "Ola " + driver.getName() + ", " + baseMessage + attemptInfo + ". Por favor, dirija-se ao local indicado.";
-
-                log.info("sendSmsNotification: Solicitando envio de SMS para Motorista ID {} ({}) no número {}. Tentativa: {}",
-                        driver.getId(), driver.getName(), phone, driver.getCallAttempts());
-                twilioService.sendSms(phone, message);
-            } else {
-                log.warn("sendSmsNotification: Motorista ID {} ({}) não possui número de telefone. SMS não enviado.", driver.getId(), driver.getName());
+    /**
+     * Lê o motorista, decide a transição pela regra e a aplica de forma condicional. Se outra operação
+     * alterou o motorista entre a leitura e o UPDATE, relê e reavalia a regra (que pode então recusar
+     * a transição com {@link IllegalArgumentException}).
+     *
+     * @param driverId  ID do motorista.
+     * @param operation Nome da operação, para os logs.
+     * @param rule      Valida o estado atual e retorna o novo estado.
+     * @return O motorista (desanexado) com o novo estado.
+     */
+    private Driver transitionDriver(Long driverId, String operation, Function<Driver, Transition> rule) {
+        for (int attempt = 1; attempt <= MAX_TRANSITION_ATTEMPTS; attempt++) {
+            Driver driver = driverRepository.findById(driverId)
+                    .orElseThrow(() -> {
+                        log.warn("{}: Motorista com ID {} não encontrado.", operation, driverId);
+                        return new IllegalArgumentException("Motorista não encontrado com ID: " + driverId);
+                    });
+            if (applyTransition(driver, rule.apply(driver))) {
+                return driver;
             }
-        } catch (Exception e) {
-            log.error("sendSmsNotification: Erro ao tentar enviar SMS para Motorista ID {} ({}): {}",
-                    driver.getId(), driver.getName(), e.getMessage(), e);
+            log.info("{}: Motorista ID {} foi alterado por outra operação. Relendo ({}/{}).",
+                    operation, driverId, attempt, MAX_TRANSITION_ATTEMPTS);
+        }
+        throw conflict(operation, "O motorista ID " + driverId + " foi alterado por outro usuário. Atualize a lista e tente novamente.");
+    }
+
+    /**
+     * Aplica a transição somente se o motorista não mudou desde a leitura e, em caso de sucesso,
+     * atualiza o objeto (já desanexado pelo repositório) e publica o evento.
+     *
+     * @return true se a transição foi aplicada; false se houve conflito.
+     */
+    private boolean applyTransition(Driver driver, Transition transition) {
+        int updated = driverRepository.updateStatusIfUnchanged(driver.getId(), driver.getStatus(), driver.getVersion(),
+                transition.status(), transition.callAttempts(), transition.calledTime());
+        if (updated == 0) {
+            return false;
         }
+        driver.setStatus(transition.status());
+        driver.setCallAttempts(transition.callAttempts());
+        driver.setCalledTime(transition.calledTime());
+        driver.setVersion(driver.getVersion() + 1);
+        publishEvent(transition.eventType(), driver);
+        return true;
+    }
+
+    private OptimisticLockingFailureException conflict(String operation, String message) {
+        log.warn("{}: Conflito persistente após {} tentativas. {}", operation, MAX_TRANSITION_ATTEMPTS, message);
+        return new OptimisticLockingFailureException(message);
     }
 
-    // ... (clearWaitingList - sem mudanças) ...
+
+    /**
+     * Publica a transição para os ouvintes (journal, projeções, SMS de chamada). Os ouvintes transacionais
+     * só a recebem após o commit, então um rollback descarta o evento.
+     */
+    private void publishEvent(DriverQueueEvent.Type type, Driver driver) {
+        eventPublisher.publishEvent(DriverQueueEvent.of(type, driver, LocalDateTime.now(clock)));
+    }
+
+    /**
+     * Marca todos os motoristas WAITING como CLEARED. Motoristas chamados por outra operação
+     * durante a limpeza são mantidos como estão.
+     *
+     * @return Quantidade de motoristas removidos da fila.
+     */
     @Transactional
     public int clearWaitingList() {
         log.warn("clearWaitingList: Iniciando limpeza da fila de espera...");
@@ -225,12 +347,15 @@ public class DriverService {
             log.info("clearWaitingList: Fila de espera já está vazia.");
             return 0;
         }
+        int clearedCount = 0;
         for (Driver driverLoop : waitingDrivers) {
-            driverLoop.setStatus(Driver.DriverStatus.CLEARED);
-            driverLoop.setCallAttempts(0);
+            if (applyTransition(driverLoop, new Transition(Driver.DriverStatus.CLEARED, 0, driverLoop.getCalledTime(), DriverQueueEvent.Type.CLEARED))) {
+                clearedCount++;
+            } else {
+                log.info("clearWaitingList: Motorista ID {} foi alterado por outra operação durante a limpeza. Mantido.", driverLoop.getId());
+            }
         }
-        driverRepository.saveAll(waitingDrivers);
-        log.warn("clearWaitingList: Fila limpa. {} motoristas tiveram o status alterado para CLEARED.", waitingDrivers.size());
-        return waitingDrivers.size();
+        log.warn("clearWaitingList: Fila limpa. {} motoristas tiveram o status alterado para CLEARED.", clearedCount);
+        return clearedCount;
     }
-}
\ No newline at end of file
+}
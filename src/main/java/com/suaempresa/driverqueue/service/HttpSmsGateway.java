@@ -0,0 +1,107 @@
+package com.suaempresa.driverqueue.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.suaempresa.driverqueue.config.SmsGatewayProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Provedor secundário de SMS, acessado por uma API HTTP/JSON genérica (ver
+ * {@link SmsGatewayProperties.Secondary}). Usado pelo {@link SmsService} quando o Twilio falha.
+ * <p>
+ * Só fica habilitado se {@code sms.gateway.secondary.url} estiver configurada.
+ */
+@Service
+@Order(2)
+public class HttpSmsGateway implements SmsGateway {
+
+    private static final Logger log = LoggerFactory.getLogger(HttpSmsGateway.class);
+
+    private final SmsGatewayProperties.Secondary properties;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+
+    public HttpSmsGateway(SmsGatewayProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties.getSecondary();
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(this.properties.getConnectTimeout())
+                .build();
+    }
+
+    @Override
+    public String getName() {
+        return properties.getName();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return properties.getUrl() != null && !properties.getUrl().isBlank();
+    }
+
+    /**
+     * Envia o SMS pelo provedor secundário.
+     * @return O ID da mensagem retornado pelo provedor.
+     * @throws SmsGatewayException se o provedor não respondeu, respondeu com erro ou sem ID.
+     */
+    @Override
+    public String send(String toPhoneNumber, String messageBody) throws SmsGatewayException {
+        Map<String, String> payload = new LinkedHashMap<>();
+        payload.put("from", properties.getFrom());
+        payload.put("to", toPhoneNumber);
+        payload.put("body", messageBody);
+
+        HttpResponse<String> response;
+        try {
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(properties.getUrl()))
+                    .timeout(properties.getReadTimeout())
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(payload)));
+            if (properties.getAuthToken() != null && !properties.getAuthToken().isBlank()) {
+                request.header(HttpHeaders.AUTHORIZATION, "Bearer " + properties.getAuthToken());
+            }
+            response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) { // Inclui HttpTimeoutException e falhas de conexão
+            throw new SmsGatewayException("Falha ao chamar " + getName() + ": " + e, true, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SmsGatewayException("Envio por " + getName() + " interrompido.", true, e);
+        }
+
+        int status = response.statusCode();
+        if (status < 200 || status >= 300) {
+            // Demais 4xx: a mensagem foi recusada, o provedor está respondendo normalmente
+            boolean providerFault = SmsGateway.isProviderFault(status);
+            throw new SmsGatewayException(getName() + " recusou o SMS (HTTP " + status + "): " + response.body(),
+                    providerFault, null);
+        }
+        String messageId = parseMessageId(response.body());
+        log.info("send: SMS para {} solicitado com sucesso via {}. ID: {}", toPhoneNumber, getName(), messageId);
+        return messageId;
+    }
+
+    private String parseMessageId(String body) throws SmsGatewayException {
+        try {
+            JsonNode id = objectMapper.readTree(body).get("id");
+            if (id == null || id.isNull() || id.asText().isBlank()) {
+                throw new SmsGatewayException(getName() + " respondeu sem o ID da mensagem: " + body, true, null);
+            }
+            return id.asText();
+        } catch (IOException e) {
+            throw new SmsGatewayException(getName() + " respondeu com JSON inválido: " + body, true, e);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.suaempresa.driverqueue.service;
+
+import com.suaempresa.driverqueue.config.InboundSmsProperties;
+import com.suaempresa.driverqueue.event.DriverQueueEvent;
+import com.suaempresa.driverqueue.model.Driver;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Aplica as respostas de SMS dos motoristas ("OK", "chegando", "desisto"...) à fila.
+ * <p>
+ * O remetente é encontrado no índice por telefone da {@link QueueProjection} (em memória, atualizado a
+ * cada transição confirmada pelo {@link DriverService}), sem consulta ao banco por mensagem. A resposta
+ * é classificada por palavra-chave e vira a transição correspondente:
+ * <ul>
+ *   <li>motorista CALLED que confirma: ATTENDED;</li>
+ *   <li>motorista CALLED que desiste: NO_SHOW;</li>
+ *   <li>motorista WAITING que desiste: retirado da fila (CLEARED).</li>
+ * </ul>
+ * As mensagens são processadas por poucas threads com uma fila limitada, para que uma rajada de respostas
+ * não ocupe as threads do servidor nem o pool de conexões; com a fila cheia, {@link #submit} recusa.
+ */
+@Service
+public class InboundSmsService {
+
+    private static final Logger log = LoggerFactory.getLogger(InboundSmsService.class);
+
+    /** Intenção expressa pela resposta. */
+    enum Intent {
+        CONFIRM, GIVE_UP, UNKNOWN
+    }
+
+    /** Resultado do processamento de uma resposta (tag "outcome" da métrica sms.inbound.processed). */
+    enum Outcome {
+        ATTENDED, NO_SHOW, WITHDRAWN, IGNORED, UNMATCHED, STALE, FAILED
+    }
+
+    private final DriverService driverService;
+    private final QueueProjection queueProjection;
+    private final List<String> confirmKeywords;
+    private final List<String> giveUpKeywords;
+    private final ThreadPoolExecutor executor;
+    private final Map<Outcome, Counter> outcomeCounters = new EnumMap<>(Outcome.class);
+    private final Counter rejectedCounter;
+
+    public InboundSmsService(DriverService driverService, QueueProjection queueProjection,
+                             InboundSmsProperties properties, MeterRegistry meterRegistry) {
+        this.driverService = driverService;
+        this.queueProjection = queueProjection;
+        this.confirmKeywords = properties.getConfirmKeywords().stream().map(InboundSmsService::normalize).toList();
+        this.giveUpKeywords = properties.getGiveUpKeywords().stream().map(InboundSmsService::normalize).toList();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(properties.getWorkers(), properties.getWorkers(), 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "sms-inbound-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        for (Outcome outcome : Outcome.values()) {
+            outcomeCounters.put(outcome, Counter.builder("sms.inbound.processed")
+                    .description("Respostas de SMS dos motoristas processadas, por resultado")
+                    .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+        this.rejectedCounter = Counter.builder("sms.inbound.rejected")
+                .description("Respostas recusadas por fila de processamento cheia")
+                .register(meterRegistry);
+        Gauge.builder("sms.inbound.queue.size", executor, e -> e.getQueue().size())
+                .description("Respostas de SMS aguardando processamento")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Enfileira uma resposta para processamento.
+     *
+     * @param from       Telefone do remetente (E.164, como enviado pelo Twilio).
+     * @param body       Texto da mensagem.
+     * @param messageSid SID da mensagem no Twilio (para os logs).
+     * @return true se a resposta foi aceita; false se a fila de processamento está cheia.
+     */
+    public boolean submit(String from, String body, String messageSid) {
+        try {
+            executor.execute(() -> handle(from, body, messageSid));
+            return true;
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            log.warn("submit: Fila de respostas de SMS cheia ({} pendentes). Mensagem {} recusada.",
+                    executor.getQueue().size(), messageSid);
+            return false;
+        }
+    }
+
+    /**
+     * Processa uma resposta: encontra o motorista ativo do telefone e aplica a transição da intenção.
+     *
+     * @return O resultado do processamento.
+     */
+    Outcome handle(String from, String body, String messageSid) {
+        Outcome outcome;
+        try {
+            outcome = apply(from, body, messageSid);
+        } catch (IllegalArgumentException | OptimisticLockingFailureException e) {
+            // O motorista mudou de estado entre a leitura do índice e a transição (ex: admin já o marcou)
+            log.info("handle: Resposta {} não aplicada; o motorista mudou de estado: {}", messageSid, e.getMessage());
+            outcome = Outcome.STALE;
+        } catch (Exception e) {
+            log.error("handle: Erro ao processar a resposta {} de {}: {}", messageSid, from, e.getMessage(), e);
+            outcome = Outcome.FAILED;
+        }
+        outcomeCounters.get(outcome).increment();
+        return outcome;
+    }
+
+    private Outcome apply(String from, String body, String messageSid) {
+        Optional<DriverQueueEvent> match = queueProjection.findByPhoneNumber(from);
+        if (match.isEmpty()) {
+            log.info("handle: Resposta {} de {} sem motorista ativo na fila. Ignorada.", messageSid, from);
+            return Outcome.UNMATCHED;
+        }
+        DriverQueueEvent driver = match.get();
+        Intent intent = classify(body);
+        if (driver.status() == Driver.DriverStatus.CALLED && intent == Intent.CONFIRM) {
+            driverService.markDriverAsAttended(driver.driverId());
+            log.info("handle: Motorista ID {} confirmou por SMS ({}): ATTENDED.", driver.driverId(), messageSid);
+            return Outcome.ATTENDED;
+        }
+        if (driver.status() == Driver.DriverStatus.CALLED && intent == Intent.GIVE_UP) {
+            driverService.markDriverAsNoShow(driver.driverId());
+            log.info("handle: Motorista ID {} desistiu por SMS ({}): NO_SHOW.", driver.driverId(), messageSid);
+            return Outcome.NO_SHOW;
+        }
+        if (driver.status() == Driver.DriverStatus.WAITING && intent == Intent.GIVE_UP) {
+            driverService.withdrawWaitingDriver(driver.driverId());
+            log.info("handle: Motorista ID {} desistiu de esperar por SMS ({}): CLEARED.", driver.driverId(), messageSid);
+            return Outcome.WITHDRAWN;
+        }
+        log.info("handle: Resposta {} do motorista ID {} ({}) sem ação: '{}'.", messageSid, driver.driverId(),
+                driver.status(), body);
+        return Outcome.IGNORED;
+    }
+
+    /**
+     * Classifica a resposta pelas palavras-chave configuradas (a mensagem começa com a palavra-chave).
+     *
+     * @param body Texto da mensagem.
+     * @return A intenção da resposta; UNKNOWN se nenhuma palavra-chave casar.
+     */
+    Intent classify(String body) {
+        String text = normalize(body);
+        if (startsWithAny(text, giveUpKeywords)) {
+            return Intent.GIVE_UP;
+        }
+        if (startsWithAny(text, confirmKeywords)) {
+            return Intent.CONFIRM;
+        }
+        return Intent.UNKNOWN;
+    }
+
+    private static boolean startsWithAny(String text, List<String> keywords) {
+        for (String keyword : keywords) {
+            if (!keyword.isEmpty() && (text.equals(keyword) || text.startsWith(keyword + " "))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Remove acentos e pontuação e deixa as palavras em maiúsculas, separadas por um espaço. */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String withoutAccents = Normalizer.normalize(text, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return withoutAccents.toUpperCase(Locale.ROOT).replaceAll("[^A-Z0-9]+", " ").trim();
+    }
+
+    /** Processa as respostas já aceitas antes de encerrar (até 5 segundos). */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+            log.warn("shutdown: {} resposta(s) de SMS não processada(s).", executor.shutdownNow().size());
+        }
+    }
+}
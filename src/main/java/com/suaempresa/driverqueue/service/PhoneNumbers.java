@@ -0,0 +1,53 @@
+package com.suaempresa.driverqueue.service;
+
+/**
+ * Normalização dos telefones brasileiros informados pelos motoristas para o formato E.164
+ * ("+55" + DDD + número), o formato gravado em "driver" e usado no envio de SMS.
+ * <p>
+ * Regra única do cadastro ({@link DriverService}), dos agendamentos ({@link AppointmentService}),
+ * da busca ({@link DriverSearchService}) e da variante reativa: pontuação e espaços são ignorados;
+ * 10 ou 11 dígitos recebem o "+55"; 12 ou 13 dígitos começando com 55 recebem só o "+".
+ */
+public final class PhoneNumbers {
+
+    private PhoneNumbers() {
+    }
+
+    /**
+     * Normaliza um telefone para E.164.
+     *
+     * @param phoneNumberInput Telefone como digitado (ex: "(11) 91234-5678", "+55 11 91234-5678").
+     * @return O telefone no formato +55DDNNNNNNNNN, ou nulo se o texto não é um telefone reconhecido.
+     */
+    public static String toE164(String phoneNumberInput) {
+        if (phoneNumberInput == null) {
+            return null;
+        }
+        String digitsOnly = phoneNumberInput.replaceAll("[^0-9]", "");
+        if (digitsOnly.length() == 10 || digitsOnly.length() == 11) {
+            return "+55" + digitsOnly;
+        }
+        if (digitsOnly.startsWith("55") && (digitsOnly.length() == 12 || digitsOnly.length() == 13)) {
+            return "+" + digitsOnly;
+        }
+        return null;
+    }
+
+    /**
+     * Normaliza um telefone obrigatório para E.164 (cadastro e agendamento).
+     *
+     * @param phoneNumberInput Telefone como digitado.
+     * @return O telefone no formato +55DDNNNNNNNNN.
+     * @throws IllegalArgumentException Se o telefone está vazio ou em formato não reconhecido.
+     */
+    public static String requireE164(String phoneNumberInput) {
+        if (phoneNumberInput == null || phoneNumberInput.trim().isEmpty()) {
+            throw new IllegalArgumentException("Número de telefone é obrigatório.");
+        }
+        String e164PhoneNumber = toE164(phoneNumberInput);
+        if (e164PhoneNumber == null) {
+            throw new IllegalArgumentException("Formato de telefone inválido. Forneça DDD e número (ex: (XX) XXXXX-XXXX ou XX XXXXXXXXX).");
+        }
+        return e164PhoneNumber;
+    }
+}
@@ -0,0 +1,143 @@
+package com.suaempresa.driverqueue.service;
+
+import com.suaempresa.driverqueue.config.ChangeLogProperties;
+import com.suaempresa.driverqueue.event.ClusterResyncEvent;
+import com.suaempresa.driverqueue.event.DriverQueueEvent;
+import com.suaempresa.driverqueue.event.RemoteDriverQueueEvent;
+import com.suaempresa.driverqueue.model.Driver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Log versionado das mudanças recentes da fila, para a sincronização incremental da página de admin
+ * ({@code GET /admin/queue/changes?epoch=...&since=...}).
+ * <p>
+ * Cada transição aplicada à {@link QueueProjection} recebe uma versão crescente e o ID do motorista
+ * é guardado em um buffer circular de tamanho fixo. Um cliente na versão {@code since} recebe apenas
+ * os motoristas alterados depois dela, com o estado atual de cada um na projeção (ou a indicação de
+ * que saiu da fila). Se o cliente está mais atrasado do que o buffer cobre, ou se a época mudou
+ * (reinício da instância ou ressincronização do cluster), recebe a fila completa.
+ * <p>
+ * Os listeners rodam depois dos da {@link QueueProjection}, que tem precedência.
+ */
+@Service
+public class QueueChangeLog {
+
+    private static final Logger log = LoggerFactory.getLogger(QueueChangeLog.class);
+
+    /**
+     * Estado de um motorista ativo, com os mesmos campos que {@link Driver} expõe em JSON,
+     * para que a página de admin renderize as duas fontes da mesma forma.
+     */
+    public record DriverState(Long id, String plate, String name, String phoneNumber,
+                              Driver.DriverStatus status, int callAttempts,
+                              LocalDateTime entryTime, LocalDateTime calledTime) {
+
+        static DriverState of(DriverQueueEvent event) {
+            return new DriverState(event.driverId(), event.plate(), event.name(), event.phoneNumber(),
+                    event.status(), event.callAttempts(), event.entryTime(), event.calledTime());
+        }
+    }
+
+    /**
+     * Resposta da sincronização.
+     *
+     * @param epoch   Época do log; o cliente deve enviá-la de volta na próxima consulta.
+     * @param version Versão atual; o cliente deve enviá-la como {@code since} na próxima consulta.
+     * @param full    true se {@code upserts} contém a fila completa (o cliente deve descartar seu estado).
+     * @param upserts Motoristas ativos incluídos ou alterados.
+     * @param removed IDs de motoristas que saíram da fila.
+     */
+    public record Changes(String epoch, long version, boolean full, List<DriverState> upserts, List<Long> removed) {
+    }
+
+    private final QueueProjection queueProjection;
+
+    /** ID do motorista alterado em cada versão: a versão v fica em ring[v % capacidade]. */
+    private final long[] ring;
+    private long version = 0L;
+    private String epoch = newEpoch();
+
+    public QueueChangeLog(QueueProjection queueProjection, ChangeLogProperties properties) {
+        this.queueProjection = queueProjection;
+        this.ring = new long[properties.getCapacity()];
+    }
+
+    /** @param event Transição local confirmada (já aplicada à projeção). */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDriverQueueEvent(DriverQueueEvent event) {
+        record(event.driverId());
+    }
+
+    /** @param remoteEvent Transição de outra instância (já aplicada à projeção). */
+    @EventListener
+    public void onRemoteDriverQueueEvent(RemoteDriverQueueEvent remoteEvent) {
+        record(remoteEvent.event().driverId());
+    }
+
+    /**
+     * A projeção foi reconstruída e mudanças podem ter sido perdidas: inicia uma nova época,
+     * forçando todos os clientes a recarregar a fila completa.
+     * @param resyncEvent Sinal de ressincronização.
+     */
+    @EventListener
+    public synchronized void onClusterResync(ClusterResyncEvent resyncEvent) {
+        epoch = newEpoch();
+        version = 0L;
+        log.info("onClusterResync: Nova época do log de mudanças: {}.", epoch);
+    }
+
+    synchronized void record(long driverId) {
+        version++;
+        ring[(int) (version % ring.length)] = driverId;
+    }
+
+    /**
+     * Retorna as mudanças desde a versão informada, ou a fila completa se elas não estão mais no buffer.
+     *
+     * @param clientEpoch Época recebida na consulta anterior (nula na primeira consulta).
+     * @param since       Versão recebida na consulta anterior.
+     * @return As mudanças e a nova versão do cliente.
+     */
+    public synchronized Changes changesSince(String clientEpoch, long since) {
+        boolean covered = epoch.equals(clientEpoch) && since <= version && version - since <= ring.length;
+        if (!covered) {
+            List<DriverState> all = Stream.concat(queueProjection.getWaiting().stream(), queueProjection.getCalled().stream())
+                    .map(DriverState::of)
+                    .toList();
+            return new Changes(epoch, version, true, all, List.of());
+        }
+
+        Set<Long> changedIds = new LinkedHashSet<>();
+        for (long v = since + 1; v <= version; v++) {
+            changedIds.add(ring[(int) (v % ring.length)]);
+        }
+        List<DriverState> upserts = new ArrayList<>();
+        List<Long> removed = new ArrayList<>();
+        for (Long driverId : changedIds) {
+            Optional<DriverQueueEvent> current = queueProjection.find(driverId);
+            if (current.isPresent()) {
+                upserts.add(DriverState.of(current.get()));
+            } else {
+                removed.add(driverId);
+            }
+        }
+        return new Changes(epoch, version, false, upserts, removed);
+    }
+
+    private static String newEpoch() {
+        return UUID.randomUUID().toString().substring(0, 8);
+    }
+}
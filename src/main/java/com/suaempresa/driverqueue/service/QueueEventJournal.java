@@ -0,0 +1,150 @@
+package com.suaempresa.driverqueue.service;
+
+import com.suaempresa.driverqueue.config.JournalProperties;
+import com.suaempresa.driverqueue.event.DriverQueueEvent;
+import com.suaempresa.driverqueue.model.QueueEvent;
+import com.suaempresa.driverqueue.repository.QueueEventRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Journal append-only das transições da fila.
+ * <p>
+ * Recebe os {@link DriverQueueEvent} publicados pelo {@link DriverService} somente após o commit
+ * da transação, acumula-os em um buffer em memória e os grava em lote (JDBC batch insert) na
+ * tabela "queue_event". O journal é consultado por motorista (linha do tempo); a fila em memória
+ * ({@link QueueProjection}) é carregada da tabela "driver", não do journal.
+ * <p>
+ * <b>Durabilidade:</b> a gravação é assíncrona em relação à transição. Se a aplicação cair entre o
+ * commit e o próximo flush (até {@code queue.journal.flush-interval-ms}, ou mais enquanto o banco
+ * estiver indisponível), os eventos em buffer são perdidos; com o banco fora do ar e o buffer cheio,
+ * eventos também são descartados (com log de erro). O journal é, portanto, uma linha do tempo de
+ * melhor esforço e não uma trilha de auditoria confiável: a tabela "driver" é a fonte da verdade.
+ */
+@Service
+public class QueueEventJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(QueueEventJournal.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO queue_event (driver_id, event_type, status, call_attempts, plate, name, phone_number, " +
+            "entry_time, called_time, occurred_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final QueueEventRepository queueEventRepository;
+    private final JournalProperties properties;
+    private final TransactionTemplate batchTransaction;
+    private final BlockingDeque<DriverQueueEvent> buffer;
+    /** Serializa os flushes (preserva a ordem do journal). ReentrantLock em vez de synchronized
+     * para não prender a thread portadora quando rodando com virtual threads. */
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public QueueEventJournal(JdbcTemplate jdbcTemplate, QueueEventRepository queueEventRepository,
+                             JournalProperties properties, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.queueEventRepository = queueEventRepository;
+        this.properties = properties;
+        // Cada lote roda em transação própria: o flush pode ser disparado dentro de um callback
+        // pós-commit, onde a transação original já foi confirmada e não confirmaria novas escritas.
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.batchTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.buffer = new LinkedBlockingDeque<>(properties.getBufferCapacity());
+    }
+
+    /**
+     * Enfileira um evento para gravação. Chamado apenas após o commit da transação que o gerou,
+     * para que o journal nunca contenha transições que foram desfeitas (rollback).
+     * Se o buffer estiver cheio, o lote é gravado imediatamente nesta thread (backpressure).
+     *
+     * @param event Evento publicado pelo DriverService.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDriverQueueEvent(DriverQueueEvent event) {
+        while (!buffer.offerLast(event)) {
+            log.warn("onDriverQueueEvent: Buffer do journal cheio ({} eventos). Gravando lote na thread atual.", buffer.size());
+            flush();
+        }
+    }
+
+    /**
+     * Grava no banco todos os eventos pendentes, em lotes de até {@code queue.journal.batch-size}.
+     * Executado periodicamente e no encerramento da aplicação.
+     */
+    @Scheduled(fixedDelayString = "${queue.journal.flush-interval-ms:500}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushBatches();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushBatches() {
+        List<DriverQueueEvent> batch = new ArrayList<>(properties.getBatchSize());
+        while (buffer.drainTo(batch, properties.getBatchSize()) > 0) {
+            try {
+                batchTransaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, event) -> {
+                    ps.setLong(1, event.driverId());
+                    ps.setString(2, event.type().name());
+                    ps.setString(3, event.status().name());
+                    ps.setInt(4, event.callAttempts());
+                    ps.setString(5, event.plate());
+                    ps.setString(6, event.name());
+                    ps.setString(7, event.phoneNumber());
+                    ps.setTimestamp(8, toTimestamp(event.entryTime()));
+                    ps.setTimestamp(9, toTimestamp(event.calledTime()));
+                    ps.setTimestamp(10, toTimestamp(event.occurredAt()));
+                }));
+                log.debug("flush: {} evento(s) gravado(s) no journal.", batch.size());
+            } catch (Exception e) {
+                log.error("flush: Falha ao gravar lote de {} evento(s) no journal. Nova tentativa no próximo ciclo: {}",
+                        batch.size(), e.getMessage());
+                for (int i = batch.size() - 1; i >= 0; i--) {
+                    if (!buffer.offerFirst(batch.get(i))) {
+                        log.error("flush: Buffer cheio; evento descartado do journal: {}", batch.get(i));
+                    }
+                }
+                return;
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * Retorna a linha do tempo de um motorista (todas as transições já gravadas).
+     *
+     * @param driverId ID do motorista.
+     * @return Eventos em ordem cronológica; lista vazia se não houver registros.
+     */
+    public List<QueueEvent> getTimeline(Long driverId) {
+        flush(); // Garante que eventos recentes ainda em buffer apareçam na consulta
+        return queueEventRepository.findByDriverIdOrderByIdAsc(driverId);
+    }
+
+    /** Grava o que restar no buffer antes de a aplicação encerrar. */
+    @PreDestroy
+    public void shutdown() {
+        log.info("shutdown: Gravando {} evento(s) pendente(s) do journal.", buffer.size());
+        flush();
+    }
+
+    private static Timestamp toTimestamp(java.time.LocalDateTime dateTime) {
+        return dateTime != null ? Timestamp.valueOf(dateTime) : null;
+    }
+}
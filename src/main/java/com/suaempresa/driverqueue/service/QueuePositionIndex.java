@@ -0,0 +1,149 @@
+package com.suaempresa.driverqueue.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Índice de posições da fila de espera (order statistics) sobre uma árvore de Fenwick.
+ * <p>
+ * Cada motorista WAITING ocupa um slot na ordem de entrada na fila (horário de entrada e ID);
+ * a árvore guarda 1 nos slots ocupados, de modo que a posição de um motorista é a soma
+ * de prefixo até o seu slot: inclusão, remoção e consulta de posição em O(log n).
+ * <p>
+ * Como os motoristas entram quase sempre em ordem, os slots são atribuídos em sequência.
+ * O índice é reconstruído (O(n log n)) quando acaba a capacidade ou quando chega uma entrada
+ * fora de ordem (ex: evento de outra instância do cluster com horário anterior ao último slot).
+ * <p>
+ * Não é thread-safe: o acesso é sincronizado pela {@link QueueProjection}.
+ */
+final class QueuePositionIndex {
+
+    private static final int MIN_CAPACITY = 64;
+
+    private record Entry(long driverId, LocalDateTime entryTime) {
+    }
+
+    private static final Comparator<Entry> ENTRY_ORDER =
+            Comparator.comparing(Entry::entryTime).thenComparingLong(Entry::driverId);
+
+    /** Árvore de Fenwick (base 1): tree[i] soma os slots ocupados em (i - lowbit(i), i]. */
+    private int[] tree;
+    /** Entrada de cada slot (base 1); nulo para slots livres. */
+    private Entry[] slots;
+    private final Map<Long, Integer> slotByDriver = new HashMap<>();
+    /** Próximo slot livre no final da sequência. */
+    private int nextSlot = 1;
+    /** Maior entrada já alocada em sequência; novas entradas menores forçam a reconstrução. */
+    private Entry lastAppended;
+
+    QueuePositionIndex() {
+        allocate(MIN_CAPACITY);
+    }
+
+    /**
+     * Inclui um motorista na fila de espera. Sem efeito se ele já estiver no índice.
+     * @param driverId  ID do motorista.
+     * @param entryTime Horário de entrada na fila.
+     */
+    void add(long driverId, LocalDateTime entryTime) {
+        if (slotByDriver.containsKey(driverId)) {
+            return;
+        }
+        Entry entry = new Entry(driverId, entryTime);
+        if (nextSlot > capacity() || (lastAppended != null && ENTRY_ORDER.compare(entry, lastAppended) < 0)) {
+            rebuild(entry);
+            return;
+        }
+        place(entry, nextSlot++);
+        lastAppended = entry;
+    }
+
+    /**
+     * Remove um motorista da fila de espera. Sem efeito se ele não estiver no índice.
+     * @param driverId ID do motorista.
+     */
+    void remove(long driverId) {
+        Integer slot = slotByDriver.remove(driverId);
+        if (slot != null) {
+            slots[slot] = null;
+            update(slot, -1);
+        }
+    }
+
+    /**
+     * @param driverId ID do motorista.
+     * @return Posição (1 = próximo a ser chamado) ou 0 se o motorista não está na fila de espera.
+     */
+    int position(long driverId) {
+        Integer slot = slotByDriver.get(driverId);
+        return slot == null ? 0 : prefixSum(slot);
+    }
+
+    /** @return Quantidade de motoristas na fila de espera. */
+    int size() {
+        return slotByDriver.size();
+    }
+
+    private void rebuild(Entry incoming) {
+        List<Entry> entries = new ArrayList<>(slotByDriver.size() + 1);
+        for (int slot = 1; slot < nextSlot; slot++) {
+            if (slots[slot] != null) {
+                entries.add(slots[slot]);
+            }
+        }
+        entries.add(incoming);
+        entries.sort(ENTRY_ORDER);
+
+        allocate(Math.max(MIN_CAPACITY, entries.size() * 2));
+        slotByDriver.clear();
+        for (Entry entry : entries) {
+            int slot = nextSlot++;
+            slots[slot] = entry;
+            slotByDriver.put(entry.driverId(), slot);
+            tree[slot] = 1;
+        }
+        // Construção linear: cada nó repassa sua soma ao pai
+        for (int i = 1; i <= capacity(); i++) {
+            int parent = i + (i & -i);
+            if (parent <= capacity()) {
+                tree[parent] += tree[i];
+            }
+        }
+        lastAppended = entries.get(entries.size() - 1);
+    }
+
+    private void place(Entry entry, int slot) {
+        slots[slot] = entry;
+        slotByDriver.put(entry.driverId(), slot);
+        update(slot, 1);
+    }
+
+    private void allocate(int capacity) {
+        tree = new int[capacity + 1];
+        slots = new Entry[capacity + 1];
+        nextSlot = 1;
+        lastAppended = null;
+    }
+
+    private int capacity() {
+        return tree.length - 1;
+    }
+
+    private void update(int slot, int delta) {
+        for (int i = slot; i <= capacity(); i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    private int prefixSum(int slot) {
+        int sum = 0;
+        for (int i = slot; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,333 @@
+package com.suaempresa.driverqueue.service;
+
+import com.suaempresa.driverqueue.event.ClusterResyncEvent;
+import com.suaempresa.driverqueue.event.DriverQueueEvent;
+import com.suaempresa.driverqueue.event.RemoteDriverQueueEvent;
+import com.suaempresa.driverqueue.model.Driver;
+import com.suaempresa.driverqueue.repository.DriverRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Projeção em memória da fila ativa (motoristas WAITING e CALLED).
+ * <p>
+ * É carregada na inicialização a partir dos motoristas WAITING e CALLED da tabela "driver" (a
+ * fonte da verdade; o journal {@link QueueEventJournal} é gravado em lote e serve apenas à linha do
+ * tempo) e mantida atualizada pelos {@link DriverQueueEvent} publicados após cada commit. Motoristas que saem da fila (ATTENDED, NO_SHOW, CLEARED)
+ * são removidos, de modo que o consumo de memória acompanha apenas o tamanho da fila ativa.
+ * Com o cluster habilitado, também aplica as transições das outras instâncias.
+ * <p>
+ * Mantém também um índice de posições ({@link QueuePositionIndex}) e um índice por placa,
+ * para que a consulta de posição pelo próprio motorista ({@link #findPosition(String)}) seja
+ * respondida em O(log n), sem ordenar a fila nem consultar o banco, e um índice por telefone,
+ * usado para encaminhar as respostas de SMS ao motorista ({@link #findByPhoneNumber(String)}).
+ * <p>
+ * Os listeners têm precedência sobre os demais, para que consumidores que leem a projeção
+ * (ex: {@link DisplayBoardService}) já vejam a transição aplicada.
+ */
+@Service
+public class QueueProjection {
+
+    private static final Logger log = LoggerFactory.getLogger(QueueProjection.class);
+
+    private static final Comparator<DriverQueueEvent> BY_ENTRY_TIME =
+            Comparator.comparing(DriverQueueEvent::entryTime).thenComparing(DriverQueueEvent::driverId);
+    private static final Comparator<DriverQueueEvent> BY_CALLED_TIME_DESC =
+            Comparator.comparing(DriverQueueEvent::calledTime, Comparator.nullsLast(Comparator.reverseOrder()))
+                    .thenComparing(DriverQueueEvent::driverId);
+
+    private static final List<Driver.DriverStatus> ACTIVE_STATUSES =
+            List.of(Driver.DriverStatus.WAITING, Driver.DriverStatus.CALLED);
+
+    private final DriverRepository driverRepository;
+    /** Leitura no primário: uma transação somente leitura poderia ir para a réplica, que pode estar atrasada. */
+    private final TransactionTemplate primaryTransaction;
+
+    /** Último evento conhecido de cada motorista ativo, por ID do motorista. */
+    private final Map<Long, DriverQueueEvent> activeDrivers = new ConcurrentHashMap<>();
+
+    /** Posições dos motoristas WAITING; protegido por {@link #indexLock}. */
+    private final QueuePositionIndex positionIndex = new QueuePositionIndex();
+    /** ID do motorista ativo por placa normalizada; protegido por {@link #indexLock}. */
+    private final Map<String, Long> driverIdByPlate = new ConcurrentHashMap<>();
+    /** IDs dos motoristas ativos por telefone (E.164); um telefone pode ter mais de um motorista
+     * (ex: transportadora). Protegido por {@link #indexLock}. */
+    private final Map<String, Set<Long>> driverIdsByPhone = new HashMap<>();
+    private final ReadWriteLock indexLock = new ReentrantReadWriteLock();
+
+    /**
+     * Posição de um motorista ativo na fila.
+     *
+     * @param driver       Último estado conhecido do motorista.
+     * @param position     Posição na fila de espera (1 = próximo a ser chamado); 0 se já foi chamado.
+     * @param waitingCount Total de motoristas aguardando.
+     */
+    public record Position(DriverQueueEvent driver, int position, int waitingCount) {
+    }
+
+    /** Eventos recebidos enquanto a carga está em andamento; nulo fora da carga. */
+    private List<DriverQueueEvent> pendingDuringLoad;
+    private final Object loadLock = new Object();
+    private volatile boolean ready = false;
+
+    public QueueProjection(DriverRepository driverRepository, PlatformTransactionManager transactionManager) {
+        this.driverRepository = driverRepository;
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Carrega a fila ativa da tabela "driver" assim que a aplicação termina de subir (e a cada
+     * ressincronização do cluster). Eventos que chegam durante a carga são guardados e aplicados ao
+     * final, na ordem recebida.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void loadActiveDrivers() {
+        synchronized (loadLock) {
+            pendingDuringLoad = new ArrayList<>();
+        }
+        long start = System.currentTimeMillis();
+        try {
+            List<Driver> drivers = primaryTransaction.execute(status -> driverRepository.findByStatusIn(ACTIVE_STATUSES));
+            merge(drivers.stream().map(QueueProjection::snapshotOf).toList());
+        } catch (Exception e) {
+            log.error("loadActiveDrivers: Falha ao carregar a fila ativa: {}", e.getMessage(), e);
+        } finally {
+            synchronized (loadLock) {
+                pendingDuringLoad.forEach(this::apply);
+                pendingDuringLoad = null;
+                ready = true;
+            }
+        }
+        log.info("loadActiveDrivers: Fila ativa carregada em {} ms. Motoristas ativos na fila: {}.",
+                System.currentTimeMillis() - start, activeDrivers.size());
+    }
+
+    /**
+     * Incorpora a fila ativa lida do banco sem esvaziar a projeção, para que as consultas nunca vejam
+     * a fila vazia durante uma ressincronização. Motoristas que não estão mais ativos no banco são
+     * removidos: o evento que os tirou da fila foi confirmado antes da leitura, ou está entre os
+     * pendentes e será aplicado em seguida.
+     */
+    private void merge(List<DriverQueueEvent> snapshot) {
+        Set<Long> loadedIds = snapshot.stream().map(DriverQueueEvent::driverId).collect(Collectors.toSet());
+        indexLock.writeLock().lock();
+        try {
+            for (DriverQueueEvent current : List.copyOf(activeDrivers.values())) {
+                if (!loadedIds.contains(current.driverId())) {
+                    activeDrivers.remove(current.driverId());
+                    updateIndexes(current);
+                }
+            }
+            snapshot.forEach(this::apply);
+        } finally {
+            indexLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Converte um motorista ativo lido do banco em um evento equivalente ao da sua última transição,
+     * datado pela própria transição (chamada ou entrada na fila). Assim um evento publicado depois da
+     * leitura sempre prevalece sobre o snapshot.
+     */
+    static DriverQueueEvent snapshotOf(Driver driver) {
+        boolean called = driver.getStatus() == Driver.DriverStatus.CALLED;
+        return DriverQueueEvent.of(called ? DriverQueueEvent.Type.CALLED : DriverQueueEvent.Type.ADDED, driver,
+                called && driver.getCalledTime() != null ? driver.getCalledTime() : driver.getEntryTime());
+    }
+
+    /**
+     * Atualiza a projeção com uma transição confirmada (após o commit).
+     * @param event Evento publicado pelo DriverService.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onDriverQueueEvent(DriverQueueEvent event) {
+        synchronized (loadLock) {
+            if (pendingDuringLoad != null) {
+                pendingDuringLoad.add(event);
+                return;
+            }
+        }
+        apply(event);
+    }
+
+    /**
+     * Aplica uma transição ocorrida em outra instância do cluster.
+     * @param remoteEvent Evento recebido via LISTEN/NOTIFY.
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onRemoteDriverQueueEvent(RemoteDriverQueueEvent remoteEvent) {
+        onDriverQueueEvent(remoteEvent.event());
+    }
+
+    /**
+     * Recarrega a projeção da tabela "driver" quando o listener do cluster reconecta ou outra
+     * instância avisa que descartou notificações, pois transições podem ter sido perdidas.
+     * @param resyncEvent Sinal de ressincronização.
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onClusterResync(ClusterResyncEvent resyncEvent) {
+        if (ready) {
+            log.info("onClusterResync: Recarregando a projeção após ressincronização do cluster (nó {}).", resyncEvent.nodeId());
+            loadActiveDrivers();
+        }
+    }
+
+    /**
+     * Aplica um evento à projeção. Eventos mais antigos que o estado já conhecido do motorista são ignorados.
+     * @param event Evento a aplicar.
+     */
+    void apply(DriverQueueEvent event) {
+        indexLock.writeLock().lock();
+        try {
+            if (event.isActive()) {
+                activeDrivers.merge(event.driverId(), event,
+                        (current, incoming) -> incoming.occurredAt().isBefore(current.occurredAt()) ? current : incoming);
+            } else {
+                activeDrivers.computeIfPresent(event.driverId(),
+                        (id, current) -> event.occurredAt().isBefore(current.occurredAt()) ? current : null);
+            }
+            updateIndexes(event);
+        } finally {
+            indexLock.writeLock().unlock();
+        }
+    }
+
+    /** Sincroniza os índices com o estado resultante do motorista após aplicar o evento. */
+    private void updateIndexes(DriverQueueEvent event) {
+        DriverQueueEvent current = activeDrivers.get(event.driverId());
+        if (current != null && current.status() == Driver.DriverStatus.WAITING) {
+            positionIndex.add(current.driverId(), current.entryTime());
+        } else {
+            positionIndex.remove(event.driverId());
+        }
+        if (current != null) {
+            driverIdByPlate.put(normalizePlate(current.plate()), current.driverId());
+            if (current.phoneNumber() != null) {
+                driverIdsByPhone.computeIfAbsent(current.phoneNumber(), phone -> new HashSet<>()).add(current.driverId());
+            }
+        } else {
+            driverIdByPlate.remove(normalizePlate(event.plate()), event.driverId());
+            if (event.phoneNumber() != null) {
+                driverIdsByPhone.computeIfPresent(event.phoneNumber(),
+                        (phone, ids) -> ids.remove(event.driverId()) && ids.isEmpty() ? null : ids);
+            }
+        }
+    }
+
+    /** @return Motoristas aguardando (WAITING), em ordem de entrada na fila. */
+    public List<DriverQueueEvent> getWaiting() {
+        return activeDrivers.values().stream()
+                .filter(e -> e.status() == Driver.DriverStatus.WAITING)
+                .sorted(BY_ENTRY_TIME)
+                .toList();
+    }
+
+    /** @return Quantidade de motoristas aguardando (WAITING), sem ordenar a fila. */
+    public int getWaitingCount() {
+        indexLock.readLock().lock();
+        try {
+            return positionIndex.size();
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    /** @return Motoristas chamados (CALLED), do chamado mais recente para o mais antigo. */
+    public List<DriverQueueEvent> getCalled() {
+        return activeDrivers.values().stream()
+                .filter(e -> e.status() == Driver.DriverStatus.CALLED)
+                .sorted(BY_CALLED_TIME_DESC)
+                .toList();
+    }
+
+    /**
+     * @param driverId ID do motorista.
+     * @return Último estado conhecido do motorista, se ele ainda estiver ativo na fila.
+     */
+    public Optional<DriverQueueEvent> find(Long driverId) {
+        return Optional.ofNullable(activeDrivers.get(driverId));
+    }
+
+    /**
+     * Consulta a posição de um motorista ativo pela placa, em O(log n).
+     * @param plate Placa informada pelo motorista (maiúsculas/minúsculas e hífen são ignorados).
+     * @return Posição do motorista, ou vazio se a placa não está na fila ativa.
+     */
+    public Optional<Position> findPosition(String plate) {
+        indexLock.readLock().lock();
+        try {
+            Long driverId = driverIdByPlate.get(normalizePlate(plate));
+            DriverQueueEvent driver = driverId == null ? null : activeDrivers.get(driverId);
+            if (driver == null) {
+                return Optional.empty();
+            }
+            return Optional.of(new Position(driver, positionIndex.position(driverId), positionIndex.size()));
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Encontra o motorista ativo de um telefone, sem consultar o banco. Se houver mais de um, prefere o
+     * chamado mais recentemente (CALLED) e, sem chamados, o que está há mais tempo aguardando.
+     * @param phoneNumber Telefone em E.164 (ex: "+5511912345678").
+     * @return Último estado conhecido do motorista, ou vazio se o telefone não tem motorista ativo.
+     */
+    public Optional<DriverQueueEvent> findByPhoneNumber(String phoneNumber) {
+        indexLock.readLock().lock();
+        try {
+            Set<Long> driverIds = driverIdsByPhone.get(phoneNumber);
+            if (driverIds == null) {
+                return Optional.empty();
+            }
+            return driverIds.stream()
+                    .map(activeDrivers::get)
+                    .filter(Objects::nonNull)
+                    .min(Comparator.comparing((DriverQueueEvent e) -> e.status() == Driver.DriverStatus.CALLED ? 0 : 1)
+                            .thenComparing((a, b) -> a.status() == Driver.DriverStatus.CALLED
+                                    ? BY_CALLED_TIME_DESC.compare(a, b) : BY_ENTRY_TIME.compare(a, b)));
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Normaliza a placa para busca: apenas letras e dígitos, em maiúsculas ("abc-1d23" vira "ABC1D23").
+     * @param plate Placa como informada.
+     * @return Placa normalizada (vazia se nula).
+     */
+    static String normalizePlate(String plate) {
+        return plate == null ? "" : plate.replaceAll("[^A-Za-z0-9]", "").toUpperCase();
+    }
+
+    /** @return true quando a carga inicial terminou e a projeção reflete a fila ativa. */
+    public boolean isReady() {
+        return ready;
+    }
+}
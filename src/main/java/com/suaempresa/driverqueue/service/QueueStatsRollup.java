@@ -0,0 +1,281 @@
+package com.suaempresa.driverqueue.service;
+
+import com.suaempresa.driverqueue.dto.QueueStatsDto;
+import com.suaempresa.driverqueue.event.DriverQueueEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Agregados operacionais da fila por hora (tabela "queue_stats_hourly"), para o relatório de gestão.
+ * <p>
+ * Cada transição confirmada pelo {@link DriverService} incrementa, em memória, os contadores da hora
+ * em que ocorreu (entradas, chamadas, re-chamadas, comparecimentos, não comparecimentos, limpezas) e o
+ * histograma de espera ({@link WaitTimeHistogram}) na primeira chamada. Os incrementos pendentes são
+ * gravados periodicamente com um upsert que soma ao que já está no banco, então várias instâncias
+ * podem gravar na mesma hora.
+ * <p>
+ * O relatório ({@link #getReport}) lê só os agregados, em uma transação somente leitura (atendida
+ * pela réplica de leitura, quando configurada), e calcula médias, percentis e taxas por hora ou por dia.
+ */
+@Service
+public class QueueStatsRollup {
+
+    private static final Logger log = LoggerFactory.getLogger(QueueStatsRollup.class);
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO queue_stats_hourly (bucket_start, added, called, recalled, attended, no_show, cleared, " +
+            "wait_count, wait_sum_seconds, wait_max_seconds, wait_histogram) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (bucket_start) DO UPDATE SET " +
+            "added = queue_stats_hourly.added + EXCLUDED.added, " +
+            "called = queue_stats_hourly.called + EXCLUDED.called, " +
+            "recalled = queue_stats_hourly.recalled + EXCLUDED.recalled, " +
+            "attended = queue_stats_hourly.attended + EXCLUDED.attended, " +
+            "no_show = queue_stats_hourly.no_show + EXCLUDED.no_show, " +
+            "cleared = queue_stats_hourly.cleared + EXCLUDED.cleared, " +
+            "wait_count = queue_stats_hourly.wait_count + EXCLUDED.wait_count, " +
+            "wait_sum_seconds = queue_stats_hourly.wait_sum_seconds + EXCLUDED.wait_sum_seconds, " +
+            "wait_max_seconds = GREATEST(queue_stats_hourly.wait_max_seconds, EXCLUDED.wait_max_seconds), " +
+            "wait_histogram = ARRAY(SELECT a + b FROM unnest(queue_stats_hourly.wait_histogram, EXCLUDED.wait_histogram) " +
+            "WITH ORDINALITY AS t(a, b, i) ORDER BY i)";
+
+    private static final String SELECT_SQL =
+            "SELECT bucket_start, added, called, recalled, attended, no_show, cleared, wait_count, wait_sum_seconds, " +
+            "wait_max_seconds, wait_histogram FROM queue_stats_hourly " +
+            "WHERE bucket_start >= ? AND bucket_start < ? ORDER BY bucket_start";
+
+    /** Agrupamento das linhas do relatório. */
+    public enum Granularity {
+        HOUR, DAY
+    }
+
+    /**
+     * Relatório de um período.
+     *
+     * @param granularity Agrupamento das linhas.
+     * @param from        Início do período (inclusivo).
+     * @param to          Fim do período (exclusivo).
+     * @param buckets     Indicadores por hora/dia, só dos períodos com movimento.
+     * @param total       Indicadores do período inteiro.
+     */
+    public record Report(Granularity granularity, LocalDateTime from, LocalDateTime to,
+                         List<QueueStatsDto> buckets, QueueStatsDto total) {
+    }
+
+    /** Contadores de um período; usado tanto para os incrementos pendentes quanto para somar as horas no relatório. */
+    static final class Counters {
+        long added;
+        long called;
+        long recalled;
+        long attended;
+        long noShow;
+        long cleared;
+        long waitCount;
+        long waitSumSeconds;
+        long waitMaxSeconds;
+        final long[] waitHistogram = new long[WaitTimeHistogram.BUCKETS];
+
+        void apply(DriverQueueEvent event) {
+            switch (event.type()) {
+                case ADDED -> added++;
+                case CALLED -> {
+                    called++;
+                    LocalDateTime calledAt = event.calledTime() != null ? event.calledTime() : event.occurredAt();
+                    recordWait(Math.max(0, Duration.between(event.entryTime(), calledAt).toSeconds()));
+                }
+                case RECALLED -> recalled++;
+                case ATTENDED -> attended++;
+                case NO_SHOW -> noShow++;
+                case CLEARED -> cleared++;
+            }
+        }
+
+        void recordWait(long waitSeconds) {
+            waitCount++;
+            waitSumSeconds += waitSeconds;
+            waitMaxSeconds = Math.max(waitMaxSeconds, waitSeconds);
+            waitHistogram[WaitTimeHistogram.bucketIndex(waitSeconds)]++;
+        }
+
+        Counters merge(Counters other) {
+            added += other.added;
+            called += other.called;
+            recalled += other.recalled;
+            attended += other.attended;
+            noShow += other.noShow;
+            cleared += other.cleared;
+            waitCount += other.waitCount;
+            waitSumSeconds += other.waitSumSeconds;
+            waitMaxSeconds = Math.max(waitMaxSeconds, other.waitMaxSeconds);
+            for (int i = 0; i < waitHistogram.length && i < other.waitHistogram.length; i++) {
+                waitHistogram[i] += other.waitHistogram[i];
+            }
+            return this;
+        }
+
+        QueueStatsDto toDto(LocalDateTime bucketStart) {
+            Double avgWait = waitCount > 0 ? (double) waitSumSeconds / waitCount : null;
+            long outcomes = attended + noShow;
+            return new QueueStatsDto(bucketStart, added, called, recalled, attended, noShow, cleared,
+                    avgWait, WaitTimeHistogram.quantile(waitHistogram, 0.9, waitMaxSeconds), waitMaxSeconds,
+                    outcomes > 0 ? (double) noShow / outcomes : null,
+                    called > 0 ? (double) recalled / called : null);
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate batchTransaction;
+    private final TransactionTemplate readOnlyTransaction;
+    /** Incrementos ainda não gravados, por hora. */
+    private final Map<LocalDateTime, Counters> pending = new ConcurrentHashMap<>();
+    /** Serializa os flushes. ReentrantLock para não prender a thread portadora com virtual threads. */
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public QueueStatsRollup(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Como no journal: o flush pode rodar em um callback pós-commit, então usa transação própria.
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.batchTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Soma a transição aos contadores da hora em que ocorreu. Chamado só após o commit, para que
+     * transições desfeitas não entrem nos agregados.
+     * @param event Transição publicada pelo DriverService.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDriverQueueEvent(DriverQueueEvent event) {
+        LocalDateTime hour = event.occurredAt().truncatedTo(ChronoUnit.HOURS);
+        pending.compute(hour, (key, counters) -> {
+            Counters current = counters != null ? counters : new Counters();
+            current.apply(event);
+            return current;
+        });
+    }
+
+    /** Grava os incrementos pendentes (um upsert por hora alterada). */
+    @Scheduled(fixedDelayString = "${queue.stats.flush-interval-ms:5000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<Map.Entry<LocalDateTime, Counters>> batch = new ArrayList<>();
+            for (LocalDateTime hour : pending.keySet()) {
+                // remove() é atômico por hora: uma transição que chegar depois entra no próximo flush
+                Counters counters = pending.remove(hour);
+                if (counters != null) {
+                    batch.add(Map.entry(hour, counters));
+                }
+            }
+            if (!batch.isEmpty()) {
+                writeBatch(batch);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void writeBatch(List<Map.Entry<LocalDateTime, Counters>> batch) {
+        try {
+            batchTransaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPSERT_SQL, batch, batch.size(), (ps, entry) -> {
+                Counters c = entry.getValue();
+                Integer[] histogram = new Integer[c.waitHistogram.length];
+                for (int i = 0; i < histogram.length; i++) {
+                    histogram[i] = (int) c.waitHistogram[i];
+                }
+                ps.setTimestamp(1, Timestamp.valueOf(entry.getKey()));
+                ps.setLong(2, c.added);
+                ps.setLong(3, c.called);
+                ps.setLong(4, c.recalled);
+                ps.setLong(5, c.attended);
+                ps.setLong(6, c.noShow);
+                ps.setLong(7, c.cleared);
+                ps.setLong(8, c.waitCount);
+                ps.setLong(9, c.waitSumSeconds);
+                ps.setLong(10, c.waitMaxSeconds);
+                ps.setArray(11, ps.getConnection().createArrayOf("integer", histogram));
+            }));
+            log.debug("flush: Agregados de {} hora(s) gravados.", batch.size());
+        } catch (Exception e) {
+            log.error("flush: Falha ao gravar agregados de {} hora(s). Nova tentativa no próximo ciclo: {}",
+                    batch.size(), e.getMessage());
+            batch.forEach(entry -> pending.merge(entry.getKey(), entry.getValue(), Counters::merge));
+        }
+    }
+
+    /**
+     * Monta o relatório do período a partir dos agregados por hora.
+     *
+     * @param granularity Agrupamento das linhas (hora ou dia).
+     * @param from        Início do período (inclusivo).
+     * @param to          Fim do período (exclusivo).
+     * @return Indicadores por período e do total.
+     */
+    public Report getReport(Granularity granularity, LocalDateTime from, LocalDateTime to) {
+        flush(); // Inclui as transições dos últimos segundos desta instância
+        List<Map.Entry<LocalDateTime, Counters>> hours = readOnlyTransaction.execute(status ->
+                jdbcTemplate.query(SELECT_SQL, (rs, rowNum) -> Map.entry(rs.getTimestamp("bucket_start").toLocalDateTime(), readCounters(rs)),
+                        Timestamp.valueOf(from), Timestamp.valueOf(to)));
+
+        Map<LocalDateTime, Counters> grouped = new TreeMap<>();
+        Counters total = new Counters();
+        for (Map.Entry<LocalDateTime, Counters> hour : hours) {
+            LocalDateTime key = granularity == Granularity.DAY ? hour.getKey().truncatedTo(ChronoUnit.DAYS) : hour.getKey();
+            grouped.computeIfAbsent(key, k -> new Counters()).merge(hour.getValue());
+            total.merge(hour.getValue());
+        }
+        List<QueueStatsDto> buckets = grouped.entrySet().stream()
+                .map(entry -> entry.getValue().toDto(entry.getKey()))
+                .toList();
+        return new Report(granularity, from, to, buckets, total.toDto(null));
+    }
+
+    private static Counters readCounters(ResultSet rs) throws SQLException {
+        Counters c = new Counters();
+        c.added = rs.getLong("added");
+        c.called = rs.getLong("called");
+        c.recalled = rs.getLong("recalled");
+        c.attended = rs.getLong("attended");
+        c.noShow = rs.getLong("no_show");
+        c.cleared = rs.getLong("cleared");
+        c.waitCount = rs.getLong("wait_count");
+        c.waitSumSeconds = rs.getLong("wait_sum_seconds");
+        c.waitMaxSeconds = rs.getLong("wait_max_seconds");
+        Array histogram = rs.getArray("wait_histogram");
+        Integer[] values = (Integer[]) histogram.getArray();
+        for (int i = 0; i < values.length && i < c.waitHistogram.length; i++) {
+            c.waitHistogram[i] = values[i];
+        }
+        histogram.free();
+        return c;
+    }
+
+    /** Grava os incrementos pendentes antes de a aplicação encerrar. */
+    @PreDestroy
+    public void shutdown() {
+        log.info("shutdown: Gravando agregados pendentes de {} hora(s).", pending.size());
+        flush();
+    }
+}
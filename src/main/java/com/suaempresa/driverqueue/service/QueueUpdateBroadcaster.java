@@ -0,0 +1,109 @@
+package com.suaempresa.driverqueue.service;
+
+import com.suaempresa.driverqueue.event.ClusterResyncEvent;
+import com.suaempresa.driverqueue.event.DriverQueueEvent;
+import com.suaempresa.driverqueue.event.RemoteDriverQueueEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Mantém as conexões Server-Sent Events das páginas de admin abertas nesta instância e
+ * as avisa sempre que a fila muda, seja por uma transição local ou por uma transição
+ * recebida de outra instância do cluster. O admin.js usa o aviso para atualizar as tabelas
+ * imediatamente, sem esperar o próximo ciclo de polling.
+ */
+@Service
+public class QueueUpdateBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(QueueUpdateBroadcaster.class);
+
+    /** Tempo máximo de uma conexão SSE; o EventSource do navegador reconecta sozinho. */
+    private static final long EMITTER_TIMEOUT_MS = 30 * 60 * 1000L;
+
+    private final Set<SseEmitter> emitters = new CopyOnWriteArraySet<>();
+
+    /** Envio para os clientes fora da thread que confirmou a transação. */
+    private final ExecutorService sendExecutor = Executors.newSingleThreadExecutor(r -> new Thread(r, "queue-sse"));
+
+    /**
+     * Registra uma nova conexão SSE de admin. Começa com um comentário (ignorado pelo EventSource)
+     * porque o Spring MVC só envia o cabeçalho da resposta na primeira escrita: sem ele, a conexão
+     * ficaria "abrindo" no cliente até a próxima mudança da fila.
+     *
+     * @return O emitter a ser devolvido pelo controller.
+     */
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+        emitters.add(emitter);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(e -> emitters.remove(emitter));
+        try {
+            emitter.send(SseEmitter.event().comment("conectado"));
+        } catch (IOException | IllegalStateException e) {
+            emitters.remove(emitter);
+            log.debug("subscribe: Conexão SSE encerrada antes do primeiro envio: {}", e.getMessage());
+        }
+        log.debug("subscribe: Nova conexão SSE de admin. Conexões ativas: {}.", emitters.size());
+        return emitter;
+    }
+
+    /** @param event Transição local confirmada. */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDriverQueueEvent(DriverQueueEvent event) {
+        broadcast(event);
+    }
+
+    /** @param remoteEvent Transição de outra instância. */
+    @EventListener
+    public void onRemoteDriverQueueEvent(RemoteDriverQueueEvent remoteEvent) {
+        broadcast(remoteEvent.event());
+    }
+
+    /** @param resyncEvent Reconexão do cluster; clientes devem recarregar tudo. */
+    @EventListener
+    public void onClusterResync(ClusterResyncEvent resyncEvent) {
+        sendToAll("queue-resync", Map.of("node", resyncEvent.nodeId()));
+    }
+
+    private void broadcast(DriverQueueEvent event) {
+        sendToAll("queue-changed", Map.of(
+                "type", event.type().name(),
+                "driverId", event.driverId(),
+                "status", event.status().name()));
+    }
+
+    private void sendToAll(String eventName, Object data) {
+        if (emitters.isEmpty()) {
+            return;
+        }
+        sendExecutor.execute(() -> {
+            for (SseEmitter emitter : emitters) {
+                try {
+                    emitter.send(SseEmitter.event().name(eventName).data(data));
+                } catch (IOException | IllegalStateException e) {
+                    emitters.remove(emitter);
+                    log.debug("sendToAll: Conexão SSE encerrada pelo cliente: {}", e.getMessage());
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        emitters.forEach(SseEmitter::complete);
+        sendExecutor.shutdown();
+    }
+}
@@ -0,0 +1,35 @@
+package com.suaempresa.driverqueue.service;
+
+/**
+ * Provedor de envio de SMS (Twilio, provedor secundário, ...).
+ * <p>
+ * As implementações apenas fazem a chamada ao provedor; o circuit breaker, o failover entre
+ * provedores e as métricas ficam no {@link SmsService}. A ordem de tentativa segue a anotação
+ * {@code @Order} de cada implementação.
+ */
+public interface SmsGateway {
+
+    /** @return Nome do provedor, usado nos logs e na tag "provider" das métricas. */
+    String getName();
+
+    /** @return false se o provedor não está configurado/inicializado e deve ser ignorado. */
+    boolean isEnabled();
+
+    /**
+     * Envia um SMS.
+     *
+     * @param toPhoneNumber Número de destino (formato E.164).
+     * @param messageBody   Texto da mensagem.
+     * @return Identificador da mensagem no provedor (ex: Message SID do Twilio).
+     * @throws SmsGatewayException se o provedor não aceitou a mensagem.
+     */
+    String send(String toPhoneNumber, String messageBody) throws SmsGatewayException;
+
+    /**
+     * Classifica um status HTTP de erro do provedor.
+     * @return true para erros do provedor (5xx, 429, credenciais recusadas); false para mensagens recusadas.
+     */
+    static boolean isProviderFault(int httpStatus) {
+        return httpStatus >= 500 || httpStatus == 429 || httpStatus == 401 || httpStatus == 403;
+    }
+}
@@ -0,0 +1,23 @@
+package com.suaempresa.driverqueue.service;
+
+/**
+ * Falha no envio de um SMS por um {@link SmsGateway}.
+ * <p>
+ * {@code providerFault} distingue falhas do provedor (timeout, erro 5xx, limite de requisições),
+ * que contam para o circuit breaker e levam ao próximo provedor, de mensagens recusadas por
+ * problema nelas mesmas (ex: número inválido), que falhariam em qualquer provedor.
+ */
+public class SmsGatewayException extends Exception {
+
+    private final boolean providerFault;
+
+    public SmsGatewayException(String message, boolean providerFault, Throwable cause) {
+        super(message, cause);
+        this.providerFault = providerFault;
+    }
+
+    /** @return true se a falha é do provedor (indisponível, lento ou sobrecarregado). */
+    public boolean isProviderFault() {
+        return providerFault;
+    }
+}
@@ -0,0 +1,253 @@
+package com.suaempresa.driverqueue.service;
+
+import com.suaempresa.driverqueue.config.SmsStatusProperties;
+import com.suaempresa.driverqueue.dto.UndeliveredSmsDto;
+import com.suaempresa.driverqueue.repository.SmsNotificationRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Registro dos SMS enviados aos motoristas e do status de entrega informado pelo Twilio.
+ * <p>
+ * O envio ({@link #recordSent}) e os callbacks de status ({@link #recordStatus}) são apenas
+ * enfileirados em memória e gravados em lote (JDBC batch upsert) na tabela "sms_notification",
+ * como no {@link QueueEventJournal}, para que o webhook responda rápido mesmo com muitos callbacks.
+ * Os callbacks de um mesmo SMS que chegam dentro do mesmo intervalo são agrupados: só o status mais
+ * avançado é gravado (queued -> sending -> sent -> delivered/undelivered/failed).
+ * <p>
+ * Como o Twilio pode entregar callbacks fora de ordem, ou antes de o envio ser registrado, os
+ * upserts nunca retrocedem o status nem apagam os dados do motorista.
+ */
+@Service
+public class SmsNotificationService {
+
+    private static final Logger log = LoggerFactory.getLogger(SmsNotificationService.class);
+
+    private static final String UPSERT_SENT_SQL =
+            "INSERT INTO sms_notification (message_sid, driver_id, phone_number, call_attempt, status, status_rank, " +
+            "sent_at, status_updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (message_sid) DO UPDATE SET driver_id = EXCLUDED.driver_id, " +
+            "phone_number = EXCLUDED.phone_number, call_attempt = EXCLUDED.call_attempt, sent_at = EXCLUDED.sent_at";
+
+    private static final String UPSERT_STATUS_SQL =
+            "INSERT INTO sms_notification (message_sid, status, status_rank, error_code, status_updated_at) " +
+            "VALUES (?, ?, ?, ?, ?) " +
+            "ON CONFLICT (message_sid) DO UPDATE SET status = EXCLUDED.status, status_rank = EXCLUDED.status_rank, " +
+            "error_code = COALESCE(EXCLUDED.error_code, sms_notification.error_code), " +
+            "status_updated_at = EXCLUDED.status_updated_at " +
+            "WHERE sms_notification.status_rank <= EXCLUDED.status_rank";
+
+    /** Status inicial de um SMS aceito pela API do Twilio. */
+    static final String INITIAL_STATUS = "queued";
+
+    /** Envio registrado, aguardando gravação. */
+    record SentRecord(String messageSid, Long driverId, String phoneNumber, int callAttempt, LocalDateTime sentAt) {
+    }
+
+    /** Último status recebido de um SMS, aguardando gravação. */
+    record StatusUpdate(String status, int rank, Integer errorCode, LocalDateTime receivedAt) {
+
+        /** @return O status mais avançado entre os dois (o mais recente, em caso de empate). */
+        StatusUpdate merge(StatusUpdate newer) {
+            return newer.rank >= rank ? newer : this;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SmsNotificationRepository smsNotificationRepository;
+    private final SmsStatusProperties properties;
+    private final TransactionTemplate batchTransaction;
+    private final BlockingQueue<SentRecord> pendingSent;
+    /** Status pendentes por Message SID: callbacks repetidos do mesmo SMS ocupam uma única entrada. */
+    private final Map<String, StatusUpdate> pendingStatus = new ConcurrentHashMap<>();
+    /** Serializa os flushes. ReentrantLock para não prender a thread portadora com virtual threads. */
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public SmsNotificationService(JdbcTemplate jdbcTemplate, SmsNotificationRepository smsNotificationRepository,
+                                  SmsStatusProperties properties, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.smsNotificationRepository = smsNotificationRepository;
+        this.properties = properties;
+        // Transação própria: o registro do envio acontece dentro da transação da chamada do motorista,
+        // mas um rollback dela não deve apagar o registro de um SMS que já foi enviado.
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.batchTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.pendingSent = new LinkedBlockingQueue<>(properties.getBufferCapacity());
+    }
+
+    /**
+     * Registra um SMS aceito pelo Twilio.
+     *
+     * @param messageSid  Message SID retornado pelo Twilio.
+     * @param driverId    ID do motorista notificado.
+     * @param phoneNumber Telefone de destino.
+     * @param callAttempt Chamada que gerou o SMS (1 = primeira chamada).
+     */
+    public void recordSent(String messageSid, Long driverId, String phoneNumber, int callAttempt) {
+        SentRecord sent = new SentRecord(messageSid, driverId, phoneNumber, callAttempt, LocalDateTime.now());
+        while (!pendingSent.offer(sent)) {
+            log.warn("recordSent: Buffer de envios cheio ({} registros). Gravando lote na thread atual.", pendingSent.size());
+            flush();
+        }
+    }
+
+    /**
+     * Registra um status de entrega recebido pelo webhook do Twilio.
+     *
+     * @param messageSid Message SID do SMS.
+     * @param status     Status informado (ex: sent, delivered, undelivered, failed).
+     * @param errorCode  Código de erro do Twilio (nulo quando não houve erro).
+     */
+    public void recordStatus(String messageSid, String status, Integer errorCode) {
+        String normalized = status.toLowerCase(Locale.ROOT);
+        StatusUpdate update = new StatusUpdate(normalized, statusRank(normalized), errorCode, LocalDateTime.now());
+        if (pendingStatus.size() >= properties.getBufferCapacity() && !pendingStatus.containsKey(messageSid)) {
+            log.warn("recordStatus: Buffer de status cheio ({} SMS). Gravando lote na thread atual.", pendingStatus.size());
+            flush();
+        }
+        pendingStatus.merge(messageSid, update, StatusUpdate::merge);
+        if ("undelivered".equals(normalized) || "failed".equals(normalized)) {
+            log.warn("recordStatus: SMS {} não entregue (status: {}, erro Twilio: {}).", messageSid, normalized, errorCode);
+        }
+    }
+
+    /**
+     * SMS não entregues na janela configurada, para a página de admin.
+     * @return Os SMS com status failed/undelivered, do mais recente para o mais antigo.
+     */
+    public List<UndeliveredSmsDto> getRecentUndelivered() {
+        flush(); // Inclui callbacks recebidos há pouco e ainda em buffer
+        LocalDateTime since = LocalDateTime.now().minus(properties.getUndeliveredWindow());
+        return smsNotificationRepository.findUndeliveredSince(since, PageRequest.ofSize(properties.getUndeliveredLimit()));
+    }
+
+    /**
+     * Grava no banco os envios e status pendentes, em lotes de até {@code sms.status.batch-size}.
+     * Os envios são gravados antes dos status, para que o status de um SMS nunca seja sobrescrito.
+     */
+    @Scheduled(fixedDelayString = "${sms.status.flush-interval-ms:500}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushSent();
+            flushStatuses();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushSent() {
+        List<SentRecord> batch = new ArrayList<>(properties.getBatchSize());
+        while (pendingSent.drainTo(batch, properties.getBatchSize()) > 0) {
+            try {
+                batchTransaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPSERT_SENT_SQL, batch, batch.size(), (ps, sent) -> {
+                    ps.setString(1, sent.messageSid());
+                    ps.setLong(2, sent.driverId());
+                    ps.setString(3, sent.phoneNumber());
+                    ps.setInt(4, sent.callAttempt());
+                    ps.setString(5, INITIAL_STATUS);
+                    ps.setInt(6, statusRank(INITIAL_STATUS));
+                    ps.setTimestamp(7, Timestamp.valueOf(sent.sentAt()));
+                    ps.setTimestamp(8, Timestamp.valueOf(sent.sentAt()));
+                }));
+                log.debug("flushSent: {} envio(s) de SMS gravado(s).", batch.size());
+            } catch (Exception e) {
+                log.error("flushSent: Falha ao gravar lote de {} envio(s) de SMS. Nova tentativa no próximo ciclo: {}",
+                        batch.size(), e.getMessage());
+                batch.forEach(sent -> {
+                    if (!pendingSent.offer(sent)) {
+                        log.error("flushSent: Buffer cheio; registro de envio descartado: {}", sent.messageSid());
+                    }
+                });
+                return;
+            }
+            batch.clear();
+        }
+    }
+
+    private void flushStatuses() {
+        Iterator<String> sids = pendingStatus.keySet().iterator();
+        List<Map.Entry<String, StatusUpdate>> batch = new ArrayList<>(properties.getBatchSize());
+        while (sids.hasNext()) {
+            // remove() é atômico por SMS: um callback que chegar depois entra no próximo lote
+            String sid = sids.next();
+            StatusUpdate update = pendingStatus.remove(sid);
+            if (update != null) {
+                batch.add(Map.entry(sid, update));
+            }
+            if (batch.size() == properties.getBatchSize() || (!sids.hasNext() && !batch.isEmpty())) {
+                if (!writeStatuses(batch)) {
+                    return;
+                }
+                batch.clear();
+            }
+        }
+    }
+
+    private boolean writeStatuses(List<Map.Entry<String, StatusUpdate>> batch) {
+        try {
+            batchTransaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPSERT_STATUS_SQL, batch, batch.size(), (ps, entry) -> {
+                StatusUpdate update = entry.getValue();
+                ps.setString(1, entry.getKey());
+                ps.setString(2, update.status());
+                ps.setInt(3, update.rank());
+                if (update.errorCode() != null) {
+                    ps.setInt(4, update.errorCode());
+                } else {
+                    ps.setNull(4, Types.INTEGER);
+                }
+                ps.setTimestamp(5, Timestamp.valueOf(update.receivedAt()));
+            }));
+            log.debug("flushStatuses: {} status de SMS gravado(s).", batch.size());
+            return true;
+        } catch (Exception e) {
+            log.error("flushStatuses: Falha ao gravar lote de {} status de SMS. Nova tentativa no próximo ciclo: {}",
+                    batch.size(), e.getMessage());
+            batch.forEach(entry -> pendingStatus.merge(entry.getKey(), entry.getValue(), (newer, failed) -> failed.merge(newer)));
+            return false;
+        }
+    }
+
+    /**
+     * Ordem de um status do Twilio no ciclo de entrega. Status finais têm a mesma ordem, então o
+     * último recebido prevalece; "read" (confirmação de leitura) vem depois da entrega.
+     */
+    static int statusRank(String status) {
+        return switch (status) {
+            case "accepted", "scheduled", "queued" -> 0;
+            case "sending" -> 1;
+            case "sent" -> 2;
+            case "delivered", "undelivered", "failed", "canceled" -> 3;
+            case "read" -> 4;
+            default -> 1;
+        };
+    }
+
+    /** Grava o que restar nos buffers antes de a aplicação encerrar. */
+    @PreDestroy
+    public void shutdown() {
+        log.info("shutdown: Gravando {} envio(s) e {} status de SMS pendente(s).", pendingSent.size(), pendingStatus.size());
+        flush();
+    }
+}
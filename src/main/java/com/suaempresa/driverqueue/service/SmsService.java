@@ -0,0 +1,131 @@
+package com.suaempresa.driverqueue.service;
+
+import com.suaempresa.driverqueue.config.SmsGatewayProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Envio de SMS com circuit breaker por provedor e failover entre provedores.
+ * <p>
+ * Os {@link SmsGateway} habilitados são tentados na ordem de {@code @Order} (Twilio e depois o
+ * secundário). Cada um tem seu {@link CircuitBreaker}: depois de {@code sms.gateway.failure-threshold}
+ * falhas consecutivas o provedor é pulado na hora, sem esperar o timeout, e após
+ * {@code sms.gateway.open-duration} uma única chamada de teste verifica se ele voltou. Assim um
+ * provedor degradado não atrasa cada "Chamar Próximo".
+ * <p>
+ * Mensagens recusadas pelo próprio conteúdo (ex: número inválido) não abrem o circuito nem são
+ * reenviadas pelo próximo provedor.
+ * <p>
+ * Métricas publicadas por provedor (tag "provider"):
+ * <ul>
+ *     <li>{@code sms.gateway.send} — latência das chamadas, com a tag "outcome" (success/failure/rejected);</li>
+ *     <li>{@code sms.gateway.short.circuited} — chamadas não feitas porque o circuito estava aberto;</li>
+ *     <li>{@code sms.gateway.circuit.state} — 0 fechado, 1 meio-aberto, 2 aberto.</li>
+ * </ul>
+ */
+@Service
+public class SmsService {
+
+    private static final Logger log = LoggerFactory.getLogger(SmsService.class);
+
+    /** Provedor com o seu circuit breaker e métricas. */
+    private record GuardedGateway(SmsGateway gateway, CircuitBreaker circuitBreaker, Timer success, Timer failure,
+                                  Timer rejected, Counter shortCircuited) {
+    }
+
+    private final List<GuardedGateway> gateways = new ArrayList<>();
+
+    /**
+     * @param gateways Provedores, já ordenados pelo Spring conforme {@code @Order}.
+     */
+    public SmsService(List<SmsGateway> gateways, SmsGatewayProperties properties, MeterRegistry meterRegistry) {
+        gateways.stream().filter(SmsGateway::isEnabled).forEach(gateway -> {
+            String provider = gateway.getName();
+            CircuitBreaker circuitBreaker = new CircuitBreaker(properties.getFailureThreshold(), properties.getOpenDuration());
+            Gauge.builder("sms.gateway.circuit.state", circuitBreaker, cb -> cb.getState().ordinal())
+                    .description("Estado do circuit breaker do provedor: 0 fechado, 1 meio-aberto, 2 aberto")
+                    .tag("provider", provider)
+                    .register(meterRegistry);
+            this.gateways.add(new GuardedGateway(gateway, circuitBreaker,
+                    sendTimer(meterRegistry, provider, "success"),
+                    sendTimer(meterRegistry, provider, "failure"),
+                    sendTimer(meterRegistry, provider, "rejected"),
+                    Counter.builder("sms.gateway.short.circuited")
+                            .description("Envios não tentados porque o circuito do provedor estava aberto")
+                            .tag("provider", provider)
+                            .register(meterRegistry)));
+        });
+        if (this.gateways.isEmpty()) {
+            log.error("### Nenhum provedor de SMS habilitado. Os motoristas não receberão SMS. ###");
+        } else {
+            log.info("SmsService: Provedores de SMS, em ordem de tentativa: {}.",
+                    this.gateways.stream().map(g -> g.gateway().getName()).toList());
+        }
+    }
+
+    private static Timer sendTimer(MeterRegistry meterRegistry, String provider, String outcome) {
+        return Timer.builder("sms.gateway.send")
+                .description("Latência do envio de SMS por provedor")
+                .tag("provider", provider)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Envia o SMS pelo primeiro provedor disponível.
+     * Loga erros se nenhum provedor aceitar a mensagem, mas nunca lança exceção.
+     *
+     * @param toPhoneNumber O número de telefone do destinatário (formato E.164, ex: +55...).
+     * @param messageBody   O conteúdo da mensagem SMS a ser enviada.
+     * @return O ID da mensagem no provedor que a aceitou (Message SID, no caso do Twilio), ou vazio se não foi enviada.
+     */
+    public Optional<String> sendSms(String toPhoneNumber, String messageBody) {
+        if (toPhoneNumber == null || !toPhoneNumber.startsWith("+")) {
+            log.error("sendSms: Formato inválido para o número de destino do SMS: '{}'.", toPhoneNumber);
+            return Optional.empty();
+        }
+        for (GuardedGateway guarded : gateways) {
+            String provider = guarded.gateway().getName();
+            if (!guarded.circuitBreaker().tryAcquirePermission()) {
+                guarded.shortCircuited().increment();
+                log.debug("sendSms: Circuito de {} aberto; provedor ignorado.", provider);
+                continue;
+            }
+            long start = System.nanoTime();
+            try {
+                String messageId = guarded.gateway().send(toPhoneNumber, messageBody);
+                guarded.circuitBreaker().onSuccess();
+                guarded.success().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return Optional.ofNullable(messageId);
+            } catch (SmsGatewayException e) {
+                if (!e.isProviderFault()) {
+                    // O provedor respondeu normalmente; outro provedor também recusaria a mensagem
+                    guarded.circuitBreaker().onSuccess();
+                    guarded.rejected().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    log.error("sendSms: SMS para {} recusado por {}: {}", toPhoneNumber, provider, e.getMessage());
+                    return Optional.empty();
+                }
+                guarded.circuitBreaker().onFailure();
+                guarded.failure().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                log.warn("sendSms: Falha ao enviar SMS para {} via {} (circuito: {}): {}",
+                        toPhoneNumber, provider, guarded.circuitBreaker().getState(), e.getMessage());
+            } catch (RuntimeException e) {
+                guarded.circuitBreaker().onFailure();
+                guarded.failure().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                log.warn("sendSms: Erro inesperado ao enviar SMS para {} via {}: {}", toPhoneNumber, provider, e.getMessage());
+            }
+        }
+        log.error("sendSms: SMS para {} não enviado: nenhum provedor disponível.", toPhoneNumber);
+        return Optional.empty();
+    }
+}
@@ -2,22 +2,33 @@ package com.suaempresa.driverqueue.service;
 
 import com.suaempresa.driverqueue.config.TwilioProperties;
 import com.twilio.Twilio;
+import com.twilio.exception.ApiException;
+import com.twilio.http.NetworkHttpClient;
+import com.twilio.http.TwilioRestClient;
 import com.twilio.rest.api.v2010.account.Message;
+import com.twilio.rest.api.v2010.account.MessageCreator;
 import com.twilio.type.PhoneNumber;
 import jakarta.annotation.PostConstruct;
+import org.apache.http.client.config.RequestConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Service;
 
 /**
  * Serviço responsável pela interação com a API do Twilio para envio de SMS.
  * Utiliza as propriedades configuradas em {@link TwilioProperties}.
+ * <p>
+ * É o provedor principal do {@link SmsService}, que aplica o circuit breaker e o failover.
  */
 @Service
-public class TwilioService {
+@Order(1)
+public class TwilioService implements SmsGateway {
 
     private static final Logger log = LoggerFactory.getLogger(TwilioService.class);
 
+    static final String PROVIDER_NAME = "twilio";
+
     private final TwilioProperties twilioProperties;
     private boolean isInitialized = false;
 
@@ -48,6 +59,13 @@ public class TwilioService {
 
         try {
             Twilio.init(sid, token);
+            Twilio.setRestClient(new TwilioRestClient.Builder(sid, token)
+                    .httpClient(new NetworkHttpClient(RequestConfig.custom()
+                            .setConnectTimeout((int) twilioProperties.getConnectTimeout().toMillis())
+                            .setConnectionRequestTimeout((int) twilioProperties.getConnectTimeout().toMillis())
+                            .setSocketTimeout((int) twilioProperties.getReadTimeout().toMillis())
+                            .build()))
+                    .build());
             isInitialized = true;
             log.info("Twilio Service inicializado com sucesso. Account SID: {}..., Número Twilio: {}",
                     sid.substring(0, 6), twilioProperties.getPhoneNumber());
@@ -59,43 +77,57 @@ public class TwilioService {
         }
     }
 
+    @Override
+    public String getName() {
+        return PROVIDER_NAME;
+    }
+
+    /** @return true se o SDK foi inicializado e o número remetente é válido. */
+    @Override
+    public boolean isEnabled() {
+        String fromNumber = twilioProperties.getPhoneNumber();
+        return isInitialized && fromNumber != null && fromNumber.startsWith("+");
+    }
+
     /**
      * Envia uma mensagem SMS para o número de telefone de destino especificado.
      * Utiliza o número de telefone remetente configurado nas propriedades.
-     * Loga erros se o serviço não estiver inicializado ou se a API do Twilio retornar um erro.
+     *
+     * Se {@code twilio.status-callback-url} estiver configurada, o Twilio informará o status de
+     * entrega do SMS nessa URL.
      *
      * @param toPhoneNumber O número de telefone do destinatário (formato E.164, ex: +55...).
      * @param messageBody O conteúdo da mensagem SMS a ser enviada.
+     * @return O Message SID do SMS aceito pelo Twilio.
+     * @throws SmsGatewayException se a API do Twilio recusou a mensagem ou não respondeu.
      */
-    public void sendSms(String toPhoneNumber, String messageBody) {
-        if (!isInitialized) {
-            log.error("sendSms: Tentativa de enviar SMS falhou: Twilio Service não está inicializado corretamente.");
-            // Não enviar se não inicializado
-            return;
-        }
-
-        if (toPhoneNumber == null || !toPhoneNumber.startsWith("+")) {
-            log.error("sendSms: Formato inválido para o número de destino do SMS: '{}'.", toPhoneNumber);
-            return;
-        }
-        String fromNumber = twilioProperties.getPhoneNumber();
-        if (fromNumber == null || !fromNumber.startsWith("+")) {
-            log.error("sendSms: Número de telefone Twilio (remetente) inválido nas propriedades: '{}'.", fromNumber);
-            return;
-        }
-
+    @Override
+    public String send(String toPhoneNumber, String messageBody) throws SmsGatewayException {
         try {
             PhoneNumber to = new PhoneNumber(toPhoneNumber);
-            PhoneNumber from = new PhoneNumber(fromNumber);
+            PhoneNumber from = new PhoneNumber(twilioProperties.getPhoneNumber());
 
             // Cria e envia a mensagem via API Twilio
-            Message message = Message.creator(to, from, messageBody).create();
+            MessageCreator creator = Message.creator(to, from, messageBody);
+            String statusCallbackUrl = twilioProperties.getStatusCallbackUrl();
+            if (statusCallbackUrl != null && !statusCallbackUrl.isBlank()) {
+                creator.setStatusCallback(statusCallbackUrl);
+            }
+            Message message = creator.create();
 
-            log.info("sendSms: SMS para {} solicitado com sucesso. Message SID: {}", toPhoneNumber, message.getSid());
+            log.info("send: SMS para {} solicitado com sucesso. Message SID: {}", toPhoneNumber, message.getSid());
+            return message.getSid();
 
-        } catch (Exception e) { // Captura exceções da API Twilio
-            // Log detalhado do erro, mas não impede o fluxo principal da aplicação que chamou este método.
-            log.error("sendSms: Falha ao enviar SMS via Twilio para {}: {}", toPhoneNumber, e.getMessage());
+        } catch (ApiException e) {
+            Integer status = e.getStatusCode();
+            if (status == null) { // ApiConnectionException: timeout ou falha de conexão
+                throw new SmsGatewayException("Falha ao chamar a API do Twilio: " + e.getMessage(), true, e);
+            }
+            // Demais 4xx: a mensagem foi recusada (ex: número inválido), o Twilio está respondendo normalmente
+            throw new SmsGatewayException("Twilio recusou o SMS (HTTP " + status + ", código " + e.getCode() + "): "
+                    + e.getMessage(), SmsGateway.isProviderFault(status), e);
+        } catch (Exception e) { // Timeout, falha de conexão, ...
+            throw new SmsGatewayException("Falha ao chamar a API do Twilio: " + e.getMessage(), true, e);
         }
     }
-}
\ No newline at end of file
+}
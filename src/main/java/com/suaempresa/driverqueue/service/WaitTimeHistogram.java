@@ -0,0 +1,67 @@
+package com.suaempresa.driverqueue.service;
+
+/**
+ * Histograma de tempos de espera com faixas fixas, usado nos agregados por hora ("queue_stats_hourly").
+ * <p>
+ * As faixas são mais estreitas nos primeiros minutos e mais largas nas esperas longas, o que dá
+ * percentis com erro de no máximo meia faixa. Histogramas de horas diferentes (ou de instâncias
+ * diferentes) são combinados somando os contadores de cada faixa, ao contrário de uma média ou de
+ * um percentil já calculado.
+ */
+final class WaitTimeHistogram {
+
+    /**
+     * Limites superiores (exclusivos) das faixas, em segundos. Iguais aos da migração V7
+     * ({@code width_bucket}): alterá-los exige migrar os histogramas gravados.
+     */
+    static final int[] BOUNDS_SECONDS = {60, 120, 180, 300, 420, 600, 900, 1200, 1800, 2700, 3600,
+            5400, 7200, 10800, 14400, 21600, 28800, 43200};
+
+    /** Quantidade de faixas: uma por limite mais a faixa "acima do último limite". */
+    static final int BUCKETS = BOUNDS_SECONDS.length + 1;
+
+    private WaitTimeHistogram() {
+    }
+
+    /**
+     * @param waitSeconds Tempo de espera.
+     * @return A faixa da espera (mesma numeração do {@code width_bucket} do Postgres).
+     */
+    static int bucketIndex(long waitSeconds) {
+        int index = 0;
+        while (index < BOUNDS_SECONDS.length && waitSeconds >= BOUNDS_SECONDS[index]) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Estima um percentil interpolando linearmente dentro da faixa que o contém.
+     *
+     * @param counts     Contadores por faixa.
+     * @param quantile   Percentil desejado, entre 0 e 1 (ex: 0.9).
+     * @param maxSeconds Maior espera observada; limita a estimativa (e fecha a última faixa).
+     * @return O percentil em segundos, ou nulo se o histograma está vazio.
+     */
+    static Double quantile(long[] counts, double quantile, long maxSeconds) {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        if (total == 0) {
+            return null;
+        }
+        double rank = quantile * total;
+        long cumulative = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0 && cumulative + counts[i] >= rank) {
+                double lower = i == 0 ? 0 : BOUNDS_SECONDS[i - 1];
+                double upper = i < BOUNDS_SECONDS.length ? BOUNDS_SECONDS[i] : Math.max(lower, maxSeconds);
+                double estimate = lower + (rank - cumulative) / counts[i] * (upper - lower);
+                return Math.min(estimate, (double) maxSeconds);
+            }
+            cumulative += counts[i];
+        }
+        return (double) maxSeconds;
+    }
+}
@@ -0,0 +1,5 @@
+-- V10__Analyze_driver_search_indexes.sql
+-- Coleta as estatísticas da expressão do índice idx_driver_plate_normalized (V9) sem esperar o
+-- autovacuum; sem elas o planejador estima mal quantas placas casam com um prefixo. Separada da V9
+-- porque o Flyway não mistura comandos transacionais com CREATE INDEX CONCURRENTLY.
+ANALYZE driver;
@@ -0,0 +1,29 @@
+-- V11__Create_appointment_tables.sql
+-- Agendamento de horários de chegada. As reservas são aceitas pelo calendário de capacidade em memória
+-- (AppointmentCalendar) e gravadas em lote pelo AppointmentService; 'appointment_slot' guarda quantas
+-- reservas cada janela já tem e é a referência de capacidade entre instâncias: o upsert só soma se o
+-- total continuar dentro da capacidade, senão as reservas excedentes ficam REJECTED.
+CREATE TABLE appointment_slot (
+    slot_start timestamp with time zone NOT NULL PRIMARY KEY,
+    booked int NOT NULL CHECK (booked >= 0)
+);
+
+-- status: BOOKED (aguardando o horário), QUEUED (entrou na fila como WAITING), REJECTED (janela já
+-- lotada por outra instância), FAILED (não pôde entrar na fila, ex: placa já cadastrada).
+CREATE TABLE appointment (
+    id bigserial NOT NULL PRIMARY KEY,
+    code varchar(16) NOT NULL UNIQUE,
+    slot_start timestamp with time zone NOT NULL,
+    plate varchar(255) NOT NULL,
+    name varchar(100) NOT NULL,
+    phone_number varchar(20) NOT NULL,
+    status varchar(10) NOT NULL CHECK (status IN ('BOOKED', 'QUEUED', 'REJECTED', 'FAILED')),
+    driver_id bigint,
+    created_at timestamp with time zone NOT NULL
+);
+
+-- Busca dos agendamentos cujo horário chegou (AppointmentMergeJob).
+CREATE INDEX idx_appointment_booked_slot ON appointment (slot_start) WHERE status = 'BOOKED';
+
+COMMENT ON TABLE appointment IS 'Horários de chegada reservados por motoristas/transportadoras.';
+COMMENT ON TABLE appointment_slot IS 'Reservas confirmadas por janela de agendamento (controle de capacidade).';
@@ -0,0 +1,4 @@
+-- V12__Add_appointment_plate_unique_index.sql
+-- No máximo um agendamento aguardando o horário (BOOKED) por placa. O AppointmentService já recusa a
+-- segunda reserva da placa; o índice cobre a corrida entre instâncias que gravam o lote ao mesmo tempo.
+CREATE UNIQUE INDEX uq_appointment_booked_plate ON appointment (plate) WHERE status = 'BOOKED';
@@ -0,0 +1,14 @@
+-- V13__Create_call_sms_outbox_table.sql
+-- SMS de chamada pendentes de envio. Quem chama o motorista fora da aplicação principal (a variante
+-- reativa, sem cliente do Twilio) grava aqui, na mesma transação da chamada, um pedido de SMS; o job
+-- "call-sms-outbox" da aplicação principal o envia e apaga a linha. Uma chamada desfeita por rollback
+-- não deixa pedido, e um pedido não se perde se a instância que chamou cair logo após o commit.
+CREATE TABLE call_sms_outbox (
+    id bigserial NOT NULL PRIMARY KEY,
+    driver_id bigint NOT NULL REFERENCES driver (id) ON DELETE CASCADE,
+    event_type varchar(10) NOT NULL CHECK (event_type IN ('CALLED', 'RECALLED')),
+    call_attempts int NOT NULL,
+    created_at timestamp with time zone NOT NULL DEFAULT now()
+);
+
+COMMENT ON TABLE call_sms_outbox IS 'Pedidos de SMS de chamada gravados junto com a chamada e enviados pelo job call-sms-outbox.';
@@ -0,0 +1,22 @@
+-- V4__Create_queue_event_table.sql
+-- Journal append-only das transições da fila (ADDED, CALLED, RECALLED, ATTENDED, NO_SHOW, CLEARED).
+-- Cada linha guarda uma cópia do estado do motorista logo após a transição (linha do tempo por motorista).
+CREATE TABLE queue_event (
+    id bigserial NOT NULL PRIMARY KEY,
+    driver_id bigint NOT NULL,
+    event_type varchar(20) NOT NULL
+        CHECK (event_type IN ('ADDED', 'CALLED', 'RECALLED', 'ATTENDED', 'NO_SHOW', 'CLEARED')),
+    status varchar(10) NOT NULL,
+    call_attempts int NOT NULL,
+    plate varchar(255) NOT NULL,
+    name varchar(100) NOT NULL,
+    phone_number varchar(20) NOT NULL,
+    entry_time timestamp with time zone NOT NULL,
+    called_time timestamp with time zone,
+    occurred_at timestamp with time zone NOT NULL
+);
+
+-- Consulta da linha do tempo por motorista.
+CREATE INDEX idx_queue_event_driver_id ON queue_event (driver_id, id);
+
+COMMENT ON TABLE queue_event IS 'Journal append-only das transições de status dos motoristas na fila.';
@@ -0,0 +1,7 @@
+-- V5__Add_version_to_driver_table.sql
+-- Versão para controle de concorrência otimista: toda transição de status incrementa a versão,
+-- e as atualizações só são aplicadas se o status e a versão ainda forem os lidos pelo serviço.
+ALTER TABLE driver
+ADD COLUMN version bigint NOT NULL DEFAULT 0;
+
+COMMENT ON COLUMN driver.version IS 'Versão da linha (controle de concorrência otimista das transições de status)';
@@ -0,0 +1,23 @@
+-- V6__Create_sms_notification_table.sql
+-- Um registro por SMS enviado (identificado pelo Message SID do Twilio), com o último status de
+-- entrega recebido pelo webhook de status. As linhas são inseridas/atualizadas em lote (upsert):
+-- o callback de status pode chegar antes do registro do envio, e os callbacks podem chegar fora
+-- de ordem, por isso o status só avança (status_rank nunca diminui).
+CREATE TABLE sms_notification (
+    id bigserial NOT NULL PRIMARY KEY,
+    message_sid varchar(64) NOT NULL UNIQUE,
+    driver_id bigint,
+    phone_number varchar(20),
+    call_attempt int,
+    status varchar(20) NOT NULL,
+    status_rank int NOT NULL,
+    error_code int,
+    sent_at timestamp with time zone,
+    status_updated_at timestamp with time zone NOT NULL
+);
+
+-- Lista de SMS não entregues exibida na página de admin.
+CREATE INDEX idx_sms_notification_undelivered ON sms_notification (status_updated_at DESC)
+    WHERE status IN ('failed', 'undelivered');
+
+COMMENT ON TABLE sms_notification IS 'SMS enviados aos motoristas e o último status de entrega informado pelo Twilio.';
@@ -0,0 +1,60 @@
+-- V7__Create_queue_stats_hourly_table.sql
+-- Agregados operacionais por hora (rollup), mantidos incrementalmente pelo QueueStatsRollup a cada
+-- transição da fila, para que os relatórios não precisem agregar a tabela 'driver' inteira.
+-- Os contadores são somados por upsert (cada instância grava só as suas transições).
+-- wait_histogram: quantidade de primeiras chamadas por faixa de espera (entrada -> primeira chamada),
+-- com os limites em segundos de WaitTimeHistogram.BOUNDS_SECONDS; o último elemento é "acima do último
+-- limite". Alterar os limites exige migrar os histogramas existentes.
+CREATE TABLE queue_stats_hourly (
+    bucket_start timestamp with time zone NOT NULL PRIMARY KEY,
+    added int NOT NULL DEFAULT 0,
+    called int NOT NULL DEFAULT 0,
+    recalled int NOT NULL DEFAULT 0,
+    attended int NOT NULL DEFAULT 0,
+    no_show int NOT NULL DEFAULT 0,
+    cleared int NOT NULL DEFAULT 0,
+    wait_count int NOT NULL DEFAULT 0,
+    wait_sum_seconds bigint NOT NULL DEFAULT 0,
+    wait_max_seconds int NOT NULL DEFAULT 0,
+    wait_histogram int[] NOT NULL
+);
+
+COMMENT ON TABLE queue_stats_hourly IS 'Contadores e histograma de espera da fila por hora, para os relatórios operacionais.';
+
+-- Preenche o histórico a partir do journal (eventos ainda não removidos pela retenção).
+WITH ev AS (
+    SELECT date_trunc('hour', occurred_at) AS bucket_start,
+           event_type,
+           GREATEST(0, EXTRACT(EPOCH FROM COALESCE(called_time, occurred_at) - entry_time))::int AS wait_seconds
+    FROM queue_event
+),
+counts AS (
+    SELECT bucket_start,
+           count(*) FILTER (WHERE event_type = 'ADDED') AS added,
+           count(*) FILTER (WHERE event_type = 'CALLED') AS called,
+           count(*) FILTER (WHERE event_type = 'RECALLED') AS recalled,
+           count(*) FILTER (WHERE event_type = 'ATTENDED') AS attended,
+           count(*) FILTER (WHERE event_type = 'NO_SHOW') AS no_show,
+           count(*) FILTER (WHERE event_type = 'CLEARED') AS cleared,
+           COALESCE(sum(wait_seconds) FILTER (WHERE event_type = 'CALLED'), 0) AS wait_sum_seconds,
+           COALESCE(max(wait_seconds) FILTER (WHERE event_type = 'CALLED'), 0) AS wait_max_seconds
+    FROM ev
+    GROUP BY bucket_start
+),
+hist AS (
+    SELECT bucket_start,
+           width_bucket(wait_seconds, ARRAY[60, 120, 180, 300, 420, 600, 900, 1200, 1800, 2700, 3600,
+                                            5400, 7200, 10800, 14400, 21600, 28800, 43200]) AS idx,
+           count(*) AS n
+    FROM ev
+    WHERE event_type = 'CALLED'
+    GROUP BY bucket_start, idx
+)
+INSERT INTO queue_stats_hourly (bucket_start, added, called, recalled, attended, no_show, cleared,
+                                wait_count, wait_sum_seconds, wait_max_seconds, wait_histogram)
+SELECT c.bucket_start, c.added, c.called, c.recalled, c.attended, c.no_show, c.cleared,
+       c.called, c.wait_sum_seconds, c.wait_max_seconds,
+       ARRAY(SELECT COALESCE((SELECT h.n FROM hist h WHERE h.bucket_start = c.bucket_start AND h.idx = i), 0)::int
+             FROM generate_series(0, 18) AS i
+             ORDER BY i)
+FROM counts c;
@@ -0,0 +1,4 @@
+-- V8__Enable_pg_trgm_extension.sql
+-- Extensão de trigramas, usada pelo índice de busca por nome (V9). É "trusted" a partir do
+-- Postgres 13: o dono do banco pode criá-la sem ser superusuário.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
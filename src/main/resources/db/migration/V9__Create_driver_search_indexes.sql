@@ -0,0 +1,23 @@
+-- V9__Create_driver_search_indexes.sql
+-- Índices da busca de motoristas da página de admin (DriverSearchService), para que a busca por
+-- placa, nome ou telefone não percorra todo o histórico da tabela 'driver'.
+-- Criados com CONCURRENTLY para não bloquear os cadastros e chamadas durante o deploy; o Flyway
+-- executa esta migração fora de transação (exige spring.flyway.postgresql.transactional-lock=false).
+
+-- Prefixo da placa normalizada (só letras e dígitos, em maiúsculas, como QueueProjection.normalizePlate):
+-- "abc-1d" encontra ABC1D23. text_pattern_ops permite o LIKE 'ABC1D%' com qualquer collation.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_driver_plate_normalized
+    ON driver (upper(regexp_replace(plate, '[^A-Za-z0-9]', '', 'g')) text_pattern_ops);
+
+-- Trecho do nome em qualquer posição (name ILIKE '%silva%'), a partir de 3 caracteres.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_driver_name_trgm
+    ON driver USING gin (name gin_trgm_ops);
+
+-- Telefone exato, já normalizado para E.164 (+55...) como no cadastro.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_driver_phone_number
+    ON driver (phone_number);
+
+-- Ordem dos resultados (mais recentes primeiro): com LIMIT, buscas pouco seletivas (ex: "AB")
+-- percorrem este índice de trás para frente e param na primeira página, sem ordenar todo o histórico.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_driver_entry_time_id
+    ON driver (entry_time, id);
@@ -0,0 +1,115 @@
+/**
+ * admin-reports.js - Página de relatórios da fila (GET /admin/reports/stats).
+ */
+document.addEventListener('DOMContentLoaded', function() {
+
+    const form = document.getElementById('report-form');
+    const fromInput = document.getElementById('report-from');
+    const toInput = document.getElementById('report-to');
+    const granularitySelect = document.getElementById('report-granularity');
+    const feedbackDiv = document.getElementById('report-feedback');
+    const summary = document.getElementById('report-summary');
+    const tableBody = document.getElementById('report-body');
+
+    const DEFAULT_DAYS = 7;
+
+    function isoDate(date) {
+        const local = new Date(date.getTime() - date.getTimezoneOffset() * 60000);
+        return local.toISOString().slice(0, 10);
+    }
+
+    /** Formata segundos como "12 min" ou "1 h 05 min". */
+    function formatDuration(seconds) {
+        if (seconds === null || seconds === undefined) return '-';
+        const minutes = Math.round(seconds / 60);
+        if (minutes < 60) return minutes + ' min';
+        return Math.floor(minutes / 60) + ' h ' + String(minutes % 60).padStart(2, '0') + ' min';
+    }
+
+    function formatRate(rate) {
+        return rate === null || rate === undefined ? '-' : (rate * 100).toFixed(1) + '%';
+    }
+
+    function formatBucket(bucketStart, granularity) {
+        const date = new Date(bucketStart);
+        if (granularity === 'DAY') {
+            return date.toLocaleDateString('pt-BR', { weekday: 'short', day: '2-digit', month: '2-digit', year: 'numeric' });
+        }
+        return date.toLocaleString('pt-BR', { day: '2-digit', month: '2-digit', hour: '2-digit', minute: '2-digit', hour12: false });
+    }
+
+    function renderSummary(total) {
+        summary.querySelectorAll('[data-field]').forEach(el => {
+            const field = el.dataset.field;
+            const value = total[field];
+            if (field.endsWith('WaitSeconds')) el.textContent = formatDuration(value);
+            else if (field.endsWith('Rate')) el.textContent = formatRate(value);
+            else el.textContent = value;
+        });
+    }
+
+    function renderTable(report) {
+        tableBody.replaceChildren();
+        if (report.buckets.length === 0) {
+            const cell = tableBody.insertRow().insertCell(0);
+            cell.colSpan = 12;
+            cell.className = 'text-center p-3';
+            cell.textContent = 'Nenhum movimento no período.';
+            return;
+        }
+        report.buckets.forEach(bucket => {
+            const row = tableBody.insertRow();
+            const values = [
+                formatBucket(bucket.bucketStart, report.granularity),
+                bucket.added, bucket.called, bucket.recalled, bucket.attended, bucket.noShow, bucket.cleared,
+                formatDuration(bucket.avgWaitSeconds), formatDuration(bucket.p90WaitSeconds), formatDuration(bucket.maxWaitSeconds),
+                formatRate(bucket.noShowRate), formatRate(bucket.recallRate)
+            ];
+            values.forEach((value, index) => {
+                const cell = row.insertCell(index);
+                cell.textContent = value;
+                if (index > 0) cell.className = 'num';
+            });
+        });
+    }
+
+    async function loadReport() {
+        feedbackDiv.replaceChildren();
+        const params = new URLSearchParams({ granularity: granularitySelect.value, from: fromInput.value, to: toInput.value });
+        try {
+            const response = await fetch('/admin/reports/stats?' + params);
+            if (!response.ok) {
+                throw new Error(await response.text() || ('HTTP ' + response.status));
+            }
+            const report = await response.json();
+            renderSummary(report.total);
+            renderTable(report);
+        } catch (error) {
+            console.error('Erro ao carregar relatório:', error);
+            const alert = document.createElement('div');
+            alert.className = 'alert alert-danger';
+            alert.textContent = 'Erro ao carregar o relatório: ' + error.message;
+            feedbackDiv.appendChild(alert);
+        }
+    }
+
+    /** Os links de exportação usam o período selecionado no formulário. */
+    function updateExportLinks() {
+        document.querySelectorAll('a[data-format]').forEach(link => {
+            const params = new URLSearchParams({ format: link.dataset.format, from: fromInput.value, to: toInput.value });
+            link.href = '/admin/export/drivers?' + params;
+        });
+    }
+
+    const today = new Date();
+    toInput.value = isoDate(today);
+    fromInput.value = isoDate(new Date(today.getTime() - (DEFAULT_DAYS - 1) * 86400000));
+    fromInput.addEventListener('change', updateExportLinks);
+    toInput.addEventListener('change', updateExportLinks);
+    updateExportLinks();
+    form.addEventListener('submit', event => {
+        event.preventDefault();
+        loadReport();
+    });
+    loadReport();
+});
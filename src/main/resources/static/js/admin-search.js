@@ -0,0 +1,105 @@
+/**
+ * admin-search.js - Busca de motoristas por placa, nome ou telefone na página de admin
+ * (GET /admin/drivers/search), paginada.
+ */
+document.addEventListener('DOMContentLoaded', function() {
+
+    const form = document.getElementById('driver-search-form');
+    const input = document.getElementById('driver-search-input');
+    const statusSelect = document.getElementById('driver-search-status');
+    const resultsDiv = document.getElementById('driver-search-results');
+    const tableBody = document.getElementById('driver-search-body');
+    const prevButton = document.getElementById('driver-search-prev');
+    const nextButton = document.getElementById('driver-search-next');
+    const pageLabel = document.getElementById('driver-search-page');
+    if (!form || !input || !tableBody) return;
+
+    const MIN_QUERY_LENGTH = 2;
+    const PAGE_SIZE = 20;
+    const TYPING_DEBOUNCE_MS = 300;
+
+    const STATUS_LABELS = {
+        WAITING: 'Aguardando', CALLED: 'Chamado', ATTENDED: 'Compareceu', NO_SHOW: 'Não Compareceu', CLEARED: 'Removido'
+    };
+
+    let currentPage = 0;
+    let debounceId = null;
+    // Descarta respostas de buscas anteriores que chegam depois da mais recente
+    let requestSeq = 0;
+
+    function formatDateTime(dateTimeString) {
+        if (!dateTimeString) return '-';
+        return new Date(dateTimeString).toLocaleString('pt-BR', {
+            day: '2-digit', month: '2-digit', year: 'numeric', hour: '2-digit', minute: '2-digit', hour12: false
+        });
+    }
+
+    function showMessage(message) {
+        tableBody.replaceChildren();
+        const cell = tableBody.insertRow().insertCell(0);
+        cell.colSpan = 6;
+        cell.className = 'text-center p-3';
+        cell.textContent = message;
+        prevButton.disabled = true;
+        nextButton.disabled = true;
+        pageLabel.textContent = '';
+    }
+
+    function renderResult(result) {
+        if (result.drivers.length === 0) {
+            showMessage(result.page > 0 ? 'Não há mais resultados.' : 'Nenhum motorista encontrado.');
+            prevButton.disabled = result.page === 0;
+            return;
+        }
+        tableBody.replaceChildren(...result.drivers.map(driver => {
+            const row = document.createElement('tr');
+            row.insertCell(0).textContent = driver.name || 'N/A';
+            row.insertCell(1).textContent = driver.plate || 'N/A';
+            row.insertCell(2).textContent = driver.phoneNumber || 'N/A';
+            row.insertCell(3).textContent = STATUS_LABELS[driver.status] || driver.status;
+            row.insertCell(4).textContent = formatDateTime(driver.entryTime);
+            row.insertCell(5).textContent = formatDateTime(driver.calledTime);
+            return row;
+        }));
+        prevButton.disabled = result.page === 0;
+        nextButton.disabled = !result.hasNext;
+        pageLabel.textContent = 'Página ' + (result.page + 1);
+    }
+
+    async function search(page) {
+        const query = input.value.trim();
+        if (query.length < MIN_QUERY_LENGTH) {
+            resultsDiv.style.display = 'none';
+            return;
+        }
+        currentPage = page;
+        const seq = ++requestSeq;
+        const params = new URLSearchParams({ q: query, page: page, size: PAGE_SIZE });
+        if (statusSelect.value) params.append('status', statusSelect.value);
+        resultsDiv.style.display = '';
+        try {
+            const response = await fetch('/admin/drivers/search?' + params);
+            if (!response.ok) {
+                throw new Error(await response.text() || ('HTTP ' + response.status));
+            }
+            const result = await response.json();
+            if (seq === requestSeq) renderResult(result);
+        } catch (error) {
+            console.error('Erro na busca de motoristas:', error);
+            if (seq === requestSeq) showMessage('Erro na busca: ' + error.message);
+        }
+    }
+
+    input.addEventListener('input', () => {
+        clearTimeout(debounceId);
+        debounceId = setTimeout(() => search(0), TYPING_DEBOUNCE_MS);
+    });
+    statusSelect.addEventListener('change', () => search(0));
+    form.addEventListener('submit', event => {
+        event.preventDefault();
+        clearTimeout(debounceId);
+        search(0);
+    });
+    prevButton.addEventListener('click', () => search(Math.max(0, currentPage - 1)));
+    nextButton.addEventListener('click', () => search(currentPage + 1));
+});
@@ -16,128 +16,197 @@ document.addEventListener('DOMContentLoaded', function() {
     const noCalledDriversMessageDiv = document.getElementById('no-called-drivers-message');
     const calledDriversTable = document.getElementById('called-drivers-table');
 
+    const undeliveredSmsCard = document.getElementById('undelivered-sms-card');
+    const undeliveredSmsTableBody = document.getElementById('undelivered-sms-body');
+
     console.log('[DEBUG] Elementos UI Espera:', { queueTableBody, callNextButton, clearQueueButton, noDriversMessageDiv, queueTable });
     console.log('[DEBUG] Elementos UI Chamados:', { calledDriversTableBody, noCalledDriversMessageDiv, calledDriversTable });
 
     // === Estado ===
     let pollingIntervalId = null;
     const POLLING_INTERVAL_MS = 7000;
+    let queueEventSource = null;
+    let streamRefreshTimeoutId = null;
+    const STREAM_REFRESH_DEBOUNCE_MS = 300;
+
+    // Cópia local da fila ativa, mantida por /admin/queue/changes (sincronização incremental)
+    const queueState = { epoch: null, version: 0, drivers: new Map() };
+    let syncInFlight = null;
+    let syncAgain = false;
+
+    // Renderizadores por chave (ID do motorista), virtualizados para filas longas (queue-table.js)
+    const waitingTableRenderer = queueTableBody && queueTable ? QueueTable.create({
+        tbody: queueTableBody,
+        scrollContainer: queueTable.parentElement,
+        columnCount: 5,
+        renderRow: renderWaitingRow,
+        renderIndex: (row, index) => { row.cells[0].textContent = index + 1; },
+        rowSignature: driverRowSignature
+    }) : null;
+    const calledTableRenderer = calledDriversTableBody && calledDriversTable ? QueueTable.create({
+        tbody: calledDriversTableBody,
+        scrollContainer: calledDriversTable.parentElement,
+        columnCount: 6,
+        renderRow: renderCalledRow,
+        rowSignature: driverRowSignature
+    }) : null;
 
     // === Funções de Atualização da UI ===
 
-    /** Busca e atualiza AMBAS as listas (espera e chamados). */
+    /**
+     * Atualiza AMBAS as listas (espera e chamados) buscando apenas as mudanças desde a última versão
+     * recebida. Chamadas concorrentes (SSE + polling + ações) são agrupadas em uma única sincronização.
+     */
     async function fetchAndRefreshAllQueues() {
-        console.log('[DEBUG] fetchAndRefreshAllQueues - Iniciando busca de ambas as filas.');
-        try {
-            // Executa em paralelo para um pouco mais de velocidade
-            await Promise.all([
-                fetchAndUpdateWaitingQueue(),
-                fetchAndUpdateCalledDrivers()
-            ]);
-             console.log('[DEBUG] fetchAndRefreshAllQueues - Busca de ambas as filas concluída.');
-        } catch (error) {
-             console.error("[DEBUG] Erro GERAL em fetchAndRefreshAllQueues:", error);
-             displayAdminFeedback("Erro ao conectar com o servidor. Verifique os logs e tente recarregar.", "error");
-             disableActionButtons();
-             stopPolling();
+        if (syncInFlight) {
+            syncAgain = true;
+            return syncInFlight;
         }
+        syncInFlight = (async () => {
+            try {
+                do {
+                    syncAgain = false;
+                    await syncQueueChanges();
+                } while (syncAgain);
+            } catch (error) {
+                console.error("[DEBUG] Erro GERAL em fetchAndRefreshAllQueues:", error);
+                displayAdminFeedback("Erro ao conectar com o servidor. Verifique os logs e tente recarregar.", "error");
+                disableActionButtons();
+                stopPolling();
+            } finally {
+                syncInFlight = null;
+            }
+        })();
+        return syncInFlight;
     }
 
-    /** Busca dados da fila de ESPERA e atualiza a tabela. */
-    async function fetchAndUpdateWaitingQueue() {
-        console.log('[DEBUG] fetchAndUpdateWaitingQueue - Buscando /admin/queue...');
-        try {
-            const response = await fetch('/admin/queue');
-            console.log('[DEBUG] fetchAndUpdateWaitingQueue - Resposta status:', response.status);
-            if (!response.ok) throw new Error(`Erro ${response.status}: ${response.statusText || 'Falha ao buscar fila de espera'}`);
-            const drivers = await response.json();
-            console.log('[DEBUG] fetchAndUpdateWaitingQueue - Dados recebidos:', drivers);
-            updateWaitingQueueTable(drivers);
-        } catch (error) {
-             console.error("[DEBUG] Erro em fetchAndUpdateWaitingQueue:", error);
-             displayAdminFeedback(`Erro ao buscar fila de espera: ${error.message}`, 'error');
-             if(queueTableBody) queueTableBody.innerHTML = '<tr><td colspan="5" class="error-message">Falha ao carregar.</td></tr>';
-             if(noDriversMessageDiv) noDriversMessageDiv.style.display = 'none';
-             if(queueTable) queueTable.style.display = '';
-             disableActionButtons();
+    /** Busca as mudanças da fila desde a versão local e aplica no estado local. */
+    async function syncQueueChanges() {
+        const params = new URLSearchParams({ since: queueState.version });
+        if (queueState.epoch) params.set('epoch', queueState.epoch);
+        const response = await fetch('/admin/queue/changes?' + params);
+        if (!response.ok) throw new Error(`Erro ${response.status}: ${response.statusText || 'Falha ao buscar mudanças da fila'}`);
+        const changes = await response.json();
+        console.log('[DEBUG] syncQueueChanges - full:', changes.full, 'alterados:', changes.upserts.length, 'removidos:', changes.removed.length);
+
+        if (changes.full) queueState.drivers.clear();
+        changes.upserts.forEach(driver => queueState.drivers.set(driver.id, driver));
+        changes.removed.forEach(id => queueState.drivers.delete(id));
+        queueState.epoch = changes.epoch;
+        queueState.version = changes.version;
+
+        if (changes.full || changes.upserts.length > 0 || changes.removed.length > 0) {
+            renderQueuesFromState();
         }
     }
 
-    /** Atualiza a tabela HTML da FILA DE ESPERA. */
+    /** Monta as duas tabelas a partir do estado local, na mesma ordem dos endpoints completos. */
+    function renderQueuesFromState() {
+        const drivers = Array.from(queueState.drivers.values());
+        updateWaitingQueueTable(drivers
+            .filter(d => d.status === 'WAITING')
+            .sort((a, b) => compareDateTime(a.entryTime, b.entryTime) || a.id - b.id));
+        updateCalledDriversTable(drivers
+            .filter(d => d.status === 'CALLED')
+            .sort((a, b) => compareDateTime(b.calledTime, a.calledTime) || a.id - b.id));
+    }
+
+    function compareDateTime(a, b) {
+        // Datas ISO-8601 locais do servidor: a ordem lexicográfica é a ordem cronológica
+        if (a === b) return 0;
+        if (!a) return 1;
+        if (!b) return -1;
+        return a < b ? -1 : 1;
+    }
+
+    /** Atualiza a tabela HTML da FILA DE ESPERA (só as linhas que mudaram). */
     function updateWaitingQueueTable(drivers) {
         console.log('[DEBUG] updateWaitingQueueTable - Atualizando tabela de espera com', drivers ? drivers.length : 0, 'motoristas.');
-        if (!queueTableBody || !queueTable || !noDriversMessageDiv) {
+        if (!waitingTableRenderer || !queueTable || !noDriversMessageDiv) {
             console.error('[DEBUG] updateWaitingQueueTable - Elementos da tabela de espera não encontrados!');
             return;
         }
-        queueTableBody.innerHTML = '';
+        waitingTableRenderer.update(drivers);
         if (drivers && drivers.length > 0) {
-            console.log('[DEBUG] updateWaitingQueueTable - Fila de espera não vazia. Habilitando botões.');
             queueTable.style.display = '';
             noDriversMessageDiv.style.display = 'none';
-            drivers.forEach((driver, index) => {
-                const row = queueTableBody.insertRow();
-                row.insertCell(0).textContent = index + 1;
-                row.insertCell(1).textContent = driver.name || 'N/A';
-                row.insertCell(2).textContent = driver.plate || 'N/A';
-                row.insertCell(3).textContent = driver.phoneNumber || 'N/A';
-                row.insertCell(4).textContent = driver.entryTime ? formatDateTime(driver.entryTime) : 'N/A';
-            });
             enableActionButtons();
         } else {
-             console.log('[DEBUG] updateWaitingQueueTable - Fila de espera vazia. Desabilitando botões.');
+            console.log('[DEBUG] updateWaitingQueueTable - Fila de espera vazia. Desabilitando botões.');
             queueTable.style.display = 'none';
             noDriversMessageDiv.style.display = 'block';
             disableActionButtons();
         }
     }
 
-    /** Busca dados dos MOTORISTAS CHAMADOS e atualiza a tabela. */
-    async function fetchAndUpdateCalledDrivers() {
-         console.log('[DEBUG] fetchAndUpdateCalledDrivers - Buscando /admin/called-drivers...');
-         try {
-            const response = await fetch('/admin/called-drivers');
-             console.log('[DEBUG] fetchAndUpdateCalledDrivers - Resposta status:', response.status);
-            if (!response.ok) throw new Error(`Erro ${response.status}: ${response.statusText || 'Falha ao buscar motoristas chamados'}`);
-            const drivers = await response.json();
-            console.log('[DEBUG] fetchAndUpdateCalledDrivers - Dados recebidos:', drivers);
-            updateCalledDriversTable(drivers);
-        } catch (error) {
-            console.error("[DEBUG] Erro em fetchAndUpdateCalledDrivers:", error);
-            if(calledDriversTableBody) calledDriversTableBody.innerHTML = '<tr><td colspan="6" class="error-message">Falha ao carregar.</td></tr>';
-            if(noCalledDriversMessageDiv) noCalledDriversMessageDiv.style.display = 'none';
-            if(calledDriversTable) calledDriversTable.style.display = '';
-        }
-    }
-
-    /** Atualiza a tabela HTML dos MOTORISTAS CHAMADOS. */
+    /** Atualiza a tabela HTML dos MOTORISTAS CHAMADOS (só as linhas que mudaram). */
     function updateCalledDriversTable(drivers) {
         console.log('[DEBUG] updateCalledDriversTable - Atualizando tabela de chamados com', drivers ? drivers.length : 0, 'motoristas.');
-        if (!calledDriversTableBody || !calledDriversTable || !noCalledDriversMessageDiv) {
+        if (!calledTableRenderer || !calledDriversTable || !noCalledDriversMessageDiv) {
              console.error('[DEBUG] updateCalledDriversTable - Elementos da tabela de chamados não encontrados!');
              return;
         }
-        calledDriversTableBody.innerHTML = '';
+        calledTableRenderer.update(drivers);
         if (drivers && drivers.length > 0) {
             calledDriversTable.style.display = '';
             noCalledDriversMessageDiv.style.display = 'none';
-            drivers.forEach((driver) => {
-                const row = calledDriversTableBody.insertRow();
-                row.insertCell(0).textContent = driver.name || 'N/A';
-                row.insertCell(1).textContent = driver.plate || 'N/A';
-                row.insertCell(2).textContent = driver.phoneNumber || 'N/A';
-                row.insertCell(3).textContent = driver.entryTime ? formatDateTime(driver.entryTime) : 'N/A';
-                row.insertCell(4).textContent = driver.calledTime ? formatDateTime(driver.calledTime) : 'N/A';
-                const actionCell = row.insertCell(5);
-                actionCell.appendChild(createActionButton('Compareceu', ['btn', 'btn-success', 'btn-sm', 'btn-attended'], driver.id));
-                actionCell.appendChild(createActionButton('Chamar Novamente', ['btn', 'btn-info', 'btn-sm', 'btn-recall'], driver.id));
-            });
         } else {
             calledDriversTable.style.display = 'none';
             noCalledDriversMessageDiv.style.display = 'block';
         }
     }
 
+    /** Preenche uma linha da fila de espera. */
+    function renderWaitingRow(row, driver, index) {
+        row.insertCell(0).textContent = index + 1;
+        row.insertCell(1).textContent = driver.name || 'N/A';
+        row.insertCell(2).textContent = driver.plate || 'N/A';
+        row.insertCell(3).textContent = driver.phoneNumber || 'N/A';
+        row.insertCell(4).textContent = driver.entryTime ? formatDateTime(driver.entryTime) : 'N/A';
+    }
+
+    /** Preenche uma linha dos motoristas chamados. */
+    function renderCalledRow(row, driver) {
+        row.insertCell(0).textContent = driver.name || 'N/A';
+        row.insertCell(1).textContent = driver.plate || 'N/A';
+        row.insertCell(2).textContent = driver.phoneNumber || 'N/A';
+        row.insertCell(3).textContent = driver.entryTime ? formatDateTime(driver.entryTime) : 'N/A';
+        row.insertCell(4).textContent = driver.calledTime ? formatDateTime(driver.calledTime) : 'N/A';
+        const actionCell = row.insertCell(5);
+        actionCell.appendChild(createActionButton('Compareceu', ['btn', 'btn-success', 'btn-sm', 'btn-attended'], driver.id));
+        actionCell.appendChild(createActionButton('Chamar Novamente', ['btn', 'btn-info', 'btn-sm', 'btn-recall'], driver.id));
+        actionCell.appendChild(createActionButton('Não Compareceu', ['btn', 'btn-outline-danger', 'btn-sm', 'btn-no-show'], driver.id));
+    }
+
+    /** Campos exibidos de um motorista: a linha só é redesenhada quando algum deles muda. */
+    function driverRowSignature(driver) {
+        return [driver.name, driver.plate, driver.phoneNumber, driver.entryTime, driver.calledTime].join('|');
+    }
+
+    /** Busca os SMS não entregues (status informado pelo Twilio) e atualiza o card. */
+    async function fetchAndUpdateUndeliveredSms() {
+        if (!undeliveredSmsCard || !undeliveredSmsTableBody) return;
+        try {
+            const response = await fetch('/admin/sms/undelivered');
+            if (!response.ok) throw new Error(`Erro ${response.status}`);
+            const notifications = await response.json();
+            undeliveredSmsTableBody.replaceChildren(...notifications.map(sms => {
+                const row = document.createElement('tr');
+                row.insertCell(0).textContent = sms.driverName || 'N/A';
+                row.insertCell(1).textContent = sms.plate || 'N/A';
+                row.insertCell(2).textContent = sms.phoneNumber || 'N/A';
+                row.insertCell(3).textContent = sms.callAttempt || 'N/A';
+                row.insertCell(4).textContent = sms.status === 'failed' ? 'Falhou' : 'Não entregue';
+                row.insertCell(5).textContent = sms.errorCode || '-';
+                row.insertCell(6).textContent = formatDateTime(sms.statusUpdatedAt);
+                return row;
+            }));
+            undeliveredSmsCard.style.display = notifications.length > 0 ? '' : 'none';
+        } catch (error) {
+            console.error("[DEBUG] Erro em fetchAndUpdateUndeliveredSms:", error);
+        }
+    }
+
     // === Funções de Ação ===
 
     /** Chama o próximo motorista na fila de espera. */
@@ -157,6 +226,7 @@ document.addEventListener('DOMContentLoaded', function() {
                  // A fila vazia será tratada por updateWaitingQueueTable que chamará disableActionButtons
             } else {
                 const errorText = await response.text();
+                if (response.status === 409) await fetchAndRefreshAllQueues(); // A fila mudou durante a chamada
                 throw new Error(`Erro ${response.status}: ${errorText || 'Falha ao chamar próximo'}`);
             }
         } catch (error) {
@@ -199,8 +269,8 @@ document.addEventListener('DOMContentLoaded', function() {
                 displayAdminFeedback(responseText || `Motorista ${driverId} marcado como compareceu.`, 'success');
                  await fetchAndRefreshAllQueues();
             } else {
-                 const message = response.status === 400 ? responseText : (await response.text() || `Erro ${response.status}`);
-                throw new Error(message);
+                if (response.status === 409) await fetchAndRefreshAllQueues(); // Outro usuário alterou o motorista
+                throw new Error(responseText || `Erro ${response.status}`);
             }
         } catch (error) {
             console.error(`Erro ao marcar motorista ${driverId} como compareceu:`, error);
@@ -208,6 +278,26 @@ document.addEventListener('DOMContentLoaded', function() {
         }
     }
 
+    /** Marca um motorista chamado como não compareceu. */
+    async function markNoShowAction(driverId) {
+        console.log(`[DEBUG] markNoShowAction - Função chamada para ID: ${driverId}`);
+        if (!confirm(`Confirmar que o motorista ID ${driverId} NÃO compareceu?`)) return;
+        try {
+            const response = await fetch(`/admin/driver/${driverId}/no-show`, { method: 'POST' });
+            const responseText = await response.text();
+            if (response.ok) {
+                displayAdminFeedback(responseText || `Motorista ${driverId} marcado como não compareceu.`, 'warning');
+                await fetchAndRefreshAllQueues();
+            } else {
+                if (response.status === 409) await fetchAndRefreshAllQueues(); // Outro usuário alterou o motorista
+                throw new Error(responseText || `Erro ${response.status}`);
+            }
+        } catch (error) {
+            console.error(`Erro ao marcar motorista ${driverId} como não compareceu:`, error);
+            displayAdminFeedback(`Erro: ${error.message || 'Falha ao marcar não comparecimento'}`, 'error');
+        }
+    }
+
      /** Tenta chamar novamente um motorista que já foi chamado. */
     async function recallDriverAction(driverId) {
         console.log(`[DEBUG] recallDriverAction - Função chamada para ID: ${driverId}`);
@@ -230,6 +320,7 @@ document.addEventListener('DOMContentLoaded', function() {
                 await fetchAndRefreshAllQueues();
             } else {
                 const errorText = await response.text();
+                if (response.status === 409) await fetchAndRefreshAllQueues(); // Outro usuário alterou o motorista
                 throw new Error(`Erro ${response.status}: ${errorText || 'Falha ao chamar novamente'}`);
             }
         } catch (error) {
@@ -297,6 +388,8 @@ document.addEventListener('DOMContentLoaded', function() {
                     markAttendedAction(driverId);
                 } else if (target.classList.contains('btn-recall')) {
                     recallDriverAction(driverId);
+                } else if (target.classList.contains('btn-no-show')) {
+                    markNoShowAction(driverId);
                 }
             }
         });
@@ -326,7 +419,9 @@ document.addEventListener('DOMContentLoaded', function() {
         console.log(`[DEBUG] Iniciando polling a cada ${interval}ms para todas as filas.`);
         stopPolling();
         fetchAndRefreshAllQueues().catch(err => console.error("[DEBUG] Erro na busca inicial do polling:", err));
+        fetchAndUpdateUndeliveredSms();
         pollingIntervalId = setInterval(() => {
+             fetchAndUpdateUndeliveredSms();
              fetchAndRefreshAllQueues().catch(err => {
                  console.error("[DEBUG] Erro durante execução do polling:", err);
                  displayAdminFeedback("Erro periódico ao buscar dados. Verifique a conexão/servidor.", "error");
@@ -342,12 +437,45 @@ document.addEventListener('DOMContentLoaded', function() {
         }
     }
 
+    // --- Stream de Atualizações (SSE) ---
+    // O servidor avisa quando a fila muda (nesta ou em outra instância); o polling continua como fallback.
+    function startQueueStream() {
+        if (!window.EventSource || queueEventSource) return;
+        console.log('[DEBUG] Conectando ao stream /admin/queue/stream.');
+        queueEventSource = new EventSource('/admin/queue/stream');
+        const scheduleRefresh = () => {
+            // Agrupa rajadas de eventos (ex: limpeza da fila) em uma única atualização
+            if (streamRefreshTimeoutId) clearTimeout(streamRefreshTimeoutId);
+            streamRefreshTimeoutId = setTimeout(() => {
+                streamRefreshTimeoutId = null;
+                fetchAndRefreshAllQueues().catch(err => console.error("[DEBUG] Erro ao atualizar após evento SSE:", err));
+            }, STREAM_REFRESH_DEBOUNCE_MS);
+        };
+        queueEventSource.addEventListener('queue-changed', scheduleRefresh);
+        queueEventSource.addEventListener('queue-resync', scheduleRefresh);
+        queueEventSource.onerror = () => console.warn('[DEBUG] Stream SSE interrompido; o navegador tentará reconectar.');
+    }
+
+    function stopQueueStream() {
+        if (queueEventSource) {
+            console.log('[DEBUG] Fechando stream SSE.');
+            queueEventSource.close();
+            queueEventSource = null;
+        }
+    }
+
     // --- Inicia ---
     console.log('[DEBUG] Iniciando polling...');
     startPolling();
+    startQueueStream();
     document.addEventListener('visibilitychange', () => {
-        if (document.hidden) stopPolling();
-        else startPolling();
+        if (document.hidden) {
+            stopPolling();
+            stopQueueStream();
+        } else {
+            startPolling();
+            startQueueStream();
+        }
     });
 
     console.log('[DEBUG] Script admin.js carregado e inicializado.');
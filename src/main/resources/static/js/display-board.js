@@ -0,0 +1,118 @@
+/**
+ * display-board.js - Painel de chamadas para as TVs da área de espera.
+ *
+ * Recebe o snapshot do painel via Server-Sent Events (/display/stream). Se o SSE cair,
+ * consulta /display/board a cada POLLING_INTERVAL_MS com If-None-Match, recebendo 304
+ * enquanto nada mudar.
+ */
+document.addEventListener('DOMContentLoaded', function() {
+
+    // === Elementos da UI ===
+    const currentDiv = document.getElementById('board-current');
+    const currentPlate = document.getElementById('board-current-plate');
+    const recentDiv = document.getElementById('board-recent');
+    const waitingCount = document.getElementById('board-waiting-count');
+    const statusSpan = document.getElementById('board-status');
+    const clockSpan = document.getElementById('board-clock');
+
+    // === Estado ===
+    const POLLING_INTERVAL_MS = 10000;
+    let lastEtag = null;
+    let lastCurrentKey = null;
+    let pollingIntervalId = null;
+
+    /** Atualiza a tela com o conteúdo do painel. */
+    function render(board) {
+        const calling = board.calling || [];
+        const current = calling[0];
+        const currentKey = current ? current.plate + '|' + current.calledTime : null;
+
+        currentPlate.textContent = current ? current.plate : '---';
+        if (currentKey && currentKey !== lastCurrentKey) {
+            // Reinicia a animação de destaque para a nova chamada
+            currentDiv.classList.remove('flash');
+            void currentDiv.offsetWidth;
+            currentDiv.classList.add('flash');
+        }
+        lastCurrentKey = currentKey;
+
+        recentDiv.replaceChildren(...calling.slice(1).map(function(called) {
+            const item = document.createElement('div');
+            item.className = 'plate';
+            item.textContent = called.plate;
+            if (called.callAttempts > 1) {
+                const recall = document.createElement('span');
+                recall.className = 'recall';
+                recall.textContent = 'Chamada ' + called.callAttempts;
+                item.appendChild(recall);
+            }
+            return item;
+        }));
+        waitingCount.textContent = board.waitingCount;
+    }
+
+    function setOnline(online) {
+        statusSpan.textContent = online ? '' : 'Reconectando...';
+        statusSpan.classList.toggle('board-offline', !online);
+    }
+
+    /** Consulta de contingência: só baixa o painel quando o ETag mudou. */
+    async function poll() {
+        try {
+            const headers = lastEtag ? { 'If-None-Match': lastEtag } : {};
+            const response = await fetch('/display/board', { headers: headers });
+            if (response.status === 304) {
+                setOnline(true);
+                return;
+            }
+            if (!response.ok) throw new Error('Erro ' + response.status);
+            lastEtag = response.headers.get('ETag');
+            render(await response.json());
+            setOnline(true);
+        } catch (error) {
+            console.error('Falha ao atualizar o painel:', error);
+            setOnline(false);
+        }
+    }
+
+    function startPolling() {
+        if (pollingIntervalId === null) {
+            pollingIntervalId = setInterval(poll, POLLING_INTERVAL_MS);
+        }
+    }
+
+    function stopPolling() {
+        if (pollingIntervalId !== null) {
+            clearInterval(pollingIntervalId);
+            pollingIntervalId = null;
+        }
+    }
+
+    function connectStream() {
+        if (!window.EventSource) {
+            startPolling();
+            return;
+        }
+        const source = new EventSource('/display/stream');
+        source.addEventListener('board', function(event) {
+            lastEtag = event.lastEventId || lastEtag;
+            render(JSON.parse(event.data));
+            setOnline(true);
+            stopPolling();
+        });
+        source.onerror = function() {
+            // O EventSource reconecta sozinho; enquanto isso, o polling mantém o painel atualizado
+            setOnline(false);
+            startPolling();
+        };
+    }
+
+    function updateClock() {
+        clockSpan.textContent = new Date().toLocaleTimeString('pt-BR', { hour: '2-digit', minute: '2-digit' });
+    }
+
+    updateClock();
+    setInterval(updateClock, 15000);
+    poll();
+    connectStream();
+});
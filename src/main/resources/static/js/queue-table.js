@@ -0,0 +1,180 @@
+/**
+ * queue-table.js - Renderização das tabelas da página de admin com linhas indexadas pelo ID do motorista.
+ *
+ * Em vez de recriar o <tbody> a cada atualização, cada linha é mantida em um Map (ID -> <tr>) e só é
+ * redesenhada quando os dados daquele motorista mudam; linhas que saíram da fila são removidas e as
+ * demais só são movidas se a ordem mudou. Assim a rolagem, o foco e a seleção de texto são preservados.
+ *
+ * Acima de `virtualizeAbove` linhas a tabela passa a ser virtualizada: o container rola com altura
+ * fixa e só as linhas visíveis (mais uma margem) ficam no DOM, entre duas linhas espaçadoras que
+ * ocupam a altura das demais. O custo de cada atualização passa a depender da altura da tela, não
+ * do tamanho da fila.
+ */
+window.QueueTable = (function() {
+
+    const DEFAULT_ROW_HEIGHT_PX = 41;
+
+    /**
+     * Cria o renderizador de uma tabela.
+     *
+     * @param {Object} options
+     * @param {HTMLTableSectionElement} options.tbody    Corpo da tabela (passa a ser controlado pelo renderizador).
+     * @param {HTMLElement} options.scrollContainer      Elemento que rola quando a tabela está virtualizada.
+     * @param {number} options.columnCount               Quantidade de colunas (para as linhas espaçadoras).
+     * @param {function(HTMLTableRowElement, Object, number)} options.renderRow  Preenche as células de uma linha.
+     * @param {function(Object): string} options.rowSignature  Resumo dos campos exibidos; a linha só é redesenhada quando muda.
+     * @param {function(HTMLTableRowElement, number)} [options.renderIndex]  Atualiza só as células que dependem da posição.
+     * @param {number} [options.virtualizeAbove=200]      Quantidade de linhas a partir da qual a tabela é virtualizada.
+     * @param {number} [options.overscan=20]              Linhas extras renderizadas acima e abaixo da área visível.
+     * @param {string} [options.maxHeight='70vh']         Altura do container quando virtualizada.
+     */
+    function create(options) {
+        const {
+            tbody, scrollContainer, columnCount, renderRow, rowSignature, renderIndex,
+            virtualizeAbove = 200, overscan = 20, maxHeight = '70vh'
+        } = options;
+
+        const rows = new Map(); // ID -> { tr, signature, index }
+        let items = [];
+        let virtual = false;
+        let rowHeight = 0;
+        let frameRequested = false;
+        const topSpacer = createSpacer();
+        const bottomSpacer = createSpacer();
+
+        /**
+         * Atualiza a tabela para a lista informada (já ordenada).
+         * @param {Array<Object>} newItems Motoristas a exibir; cada um precisa de um `id`.
+         */
+        function update(newItems) {
+            items = newItems || [];
+            setVirtual(items.length > virtualizeAbove);
+            render();
+        }
+
+        /** @return {number} Quantidade de linhas de dados presentes no DOM (para diagnóstico/testes). */
+        function renderedRowCount() {
+            return rows.size;
+        }
+
+        function setVirtual(enabled) {
+            if (enabled === virtual) return;
+            virtual = enabled;
+            if (enabled) {
+                scrollContainer.style.maxHeight = maxHeight;
+                scrollContainer.style.overflowY = 'auto';
+                scrollContainer.classList.add('queue-table-virtual');
+                tbody.insertBefore(topSpacer, tbody.firstChild);
+                tbody.appendChild(bottomSpacer);
+            } else {
+                scrollContainer.style.maxHeight = '';
+                scrollContainer.style.overflowY = '';
+                scrollContainer.classList.remove('queue-table-virtual');
+                topSpacer.remove();
+                bottomSpacer.remove();
+            }
+        }
+
+        function render() {
+            let start = 0;
+            let end = items.length;
+            if (virtual) {
+                const height = measureRowHeight();
+                const viewportHeight = scrollContainer.clientHeight || window.innerHeight;
+                const scrollTop = scrollContainer.scrollTop;
+                start = Math.max(0, Math.floor(scrollTop / height) - overscan);
+                start -= start % 2; // Mantém a alternância de cores (table-striped) estável durante a rolagem
+                end = Math.min(items.length, Math.ceil((scrollTop + viewportHeight) / height) + overscan);
+                topSpacer.firstChild.style.height = (start * height) + 'px';
+                bottomSpacer.firstChild.style.height = ((items.length - end) * height) + 'px';
+            }
+            patch(start, end);
+        }
+
+        /** Deixa no DOM exatamente as linhas de items[start, end), reaproveitando as que já existem. */
+        function patch(start, end) {
+            const visibleIds = new Set();
+            for (let i = start; i < end; i++) {
+                visibleIds.add(items[i].id);
+            }
+
+            // 1. Remove o que não deve mais aparecer (motoristas que saíram, linhas fora da janela,
+            //    mensagens de "Carregando..."), antes de posicionar, para evitar movimentações desnecessárias.
+            for (const [id, entry] of rows) {
+                if (!visibleIds.has(id)) {
+                    entry.tr.remove();
+                    rows.delete(id);
+                }
+            }
+            Array.from(tbody.children).forEach(child => {
+                if (child !== topSpacer && child !== bottomSpacer && !child.dataset.driverKey) child.remove();
+            });
+
+            // 2. Cria/redesenha só as linhas alteradas e corrige a ordem com o mínimo de movimentações.
+            let cursor = virtual ? topSpacer.nextSibling : tbody.firstChild;
+            for (let i = start; i < end; i++) {
+                const item = items[i];
+                const signature = rowSignature(item);
+                let entry = rows.get(item.id);
+                if (!entry) {
+                    const tr = document.createElement('tr');
+                    tr.dataset.driverKey = item.id;
+                    entry = { tr, signature: null, index: -1 };
+                    rows.set(item.id, entry);
+                }
+                if (entry.signature !== signature) {
+                    entry.tr.replaceChildren();
+                    renderRow(entry.tr, item, i);
+                    entry.signature = signature;
+                    entry.index = i;
+                } else if (entry.index !== i) {
+                    if (renderIndex) renderIndex(entry.tr, i);
+                    entry.index = i;
+                }
+                if (entry.tr === cursor) {
+                    cursor = cursor.nextSibling;
+                } else {
+                    tbody.insertBefore(entry.tr, cursor);
+                }
+            }
+        }
+
+        function measureRowHeight() {
+            if (!rowHeight) {
+                const sample = rows.size > 0 ? rows.values().next().value.tr : null;
+                const measured = sample && sample.isConnected ? sample.getBoundingClientRect().height : 0;
+                if (measured > 0) rowHeight = measured;
+            }
+            return rowHeight || DEFAULT_ROW_HEIGHT_PX;
+        }
+
+        function createSpacer() {
+            const tr = document.createElement('tr');
+            tr.className = 'queue-table-spacer';
+            tr.setAttribute('aria-hidden', 'true');
+            const td = document.createElement('td');
+            td.colSpan = columnCount;
+            td.style.padding = '0';
+            td.style.border = '0';
+            td.style.height = '0px';
+            tr.appendChild(td);
+            return tr;
+        }
+
+        function scheduleRender() {
+            if (!virtual || frameRequested) return;
+            frameRequested = true;
+            window.requestAnimationFrame(() => {
+                frameRequested = false;
+                render();
+            });
+        }
+
+        scrollContainer.addEventListener('scroll', scheduleRender, { passive: true });
+        window.addEventListener('resize', scheduleRender);
+
+        return { update, renderedRowCount };
+    }
+
+    return { create };
+})();
@@ -0,0 +1,171 @@
+package com.suaempresa.driverqueue.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.suaempresa.driverqueue.logging.JsonLogEncoder;
+import com.suaempresa.driverqueue.logging.SamplingFilter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.OutputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark do impacto do logging na vazão do caminho de cadastro.
+ * <p>
+ * Simula requisições de {@code POST /drivers/add} (3 logs DEBUG e 2 INFO por requisição, com telefone)
+ * em várias threads, gravando em uma saída lenta (console/pipe com {@code benchmark.log.write-micros}
+ * por escrita), e compara:
+ * <ul>
+ *   <li>o console síncrono do Spring Boot, como era antes do logback-spring.xml;</li>
+ *   <li>o AsyncAppender com JsonLogEncoder (neverBlock), como no perfil prod;</li>
+ *   <li>o mesmo com amostragem de 1% dos eventos DEBUG ({@code logging.sampling.rate=0.01}).</li>
+ * </ul>
+ * Requer a propriedade de sistema {@code benchmark=true}:
+ * <pre>
+ * ./mvnw test -Dtest=AsyncLoggingBenchmark -Dbenchmark=true
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class AsyncLoggingBenchmark {
+
+    private static final int THREADS = 16;
+    private static final int REQUESTS_PER_THREAD = Integer.getInteger("benchmark.log.requests", 5_000);
+    private static final long WRITE_NANOS = TimeUnit.MICROSECONDS.toNanos(Long.getLong("benchmark.log.write-micros", 20));
+    private static final String BOOT_CONSOLE_PATTERN =
+            "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%15.15t] %-40.40logger{39} : %m%n";
+
+    private record Result(String name, double requestsPerSecond, long writes) {
+    }
+
+    @Test
+    @DisplayName("Logging assíncrono não deve limitar a vazão das threads de requisição à velocidade da saída")
+    void compareLoggingSetups() throws Exception {
+        Result sync = run("console síncrono", false, 1.0);
+        Result async = run("async JSON", true, 1.0);
+        Result sampled = run("async JSON + 1% DEBUG", true, 0.01);
+
+        long events = (long) THREADS * REQUESTS_PER_THREAD * 5;
+        System.out.printf("%n=== AsyncLoggingBenchmark (%d threads x %d requisições, %d eventos, saída de %d µs/escrita) ===%n",
+                THREADS, REQUESTS_PER_THREAD, events, TimeUnit.NANOSECONDS.toMicros(WRITE_NANOS));
+        for (Result result : new Result[]{sync, async, sampled}) {
+            System.out.printf("%-24s: %,12.0f req/s | %,9d evento(s) gravado(s) (%5.1f%%)%n", result.name(),
+                    result.requestsPerSecond(), result.writes(), 100.0 * result.writes() / events);
+        }
+
+        assertThat(async.requestsPerSecond()).isGreaterThan(sync.requestsPerSecond());
+    }
+
+    private Result run(String name, boolean async, double debugSampleRate) throws Exception {
+        LoggerContext context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        AtomicLong writes = new AtomicLong();
+
+        OutputStreamAppender<ILoggingEvent> out = new OutputStreamAppender<>();
+        out.setContext(context);
+        if (async) {
+            JsonLogEncoder encoder = new JsonLogEncoder();
+            encoder.setContext(context);
+            encoder.start();
+            out.setEncoder(encoder);
+        } else {
+            PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+            encoder.setContext(context);
+            encoder.setPattern(BOOT_CONSOLE_PATTERN);
+            encoder.start();
+            out.setEncoder(encoder);
+        }
+        out.setOutputStream(new SlowOutputStream(writes));
+        out.start();
+
+        Appender<ILoggingEvent> appender = out;
+        if (async) {
+            AsyncAppender asyncAppender = new AsyncAppender();
+            asyncAppender.setContext(context);
+            asyncAppender.setQueueSize(8192);
+            asyncAppender.setNeverBlock(true);
+            asyncAppender.addAppender(out);
+            SamplingFilter filter = new SamplingFilter();
+            filter.setRate(debugSampleRate);
+            filter.start();
+            asyncAppender.addFilter(filter);
+            asyncAppender.start();
+            appender = asyncAppender;
+        }
+        Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.DEBUG);
+        root.addAppender(appender);
+        Logger log = context.getLogger("com.suaempresa.driverqueue.service.DriverService");
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < REQUESTS_PER_THREAD; i++) {
+                        simulateAddDriver(log, thread * REQUESTS_PER_THREAD + i);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        long elapsed = System.nanoTime() - begin;
+        executor.shutdown();
+        context.stop(); // AsyncAppender: esvazia a fila antes de parar
+        return new Result(name, (double) THREADS * REQUESTS_PER_THREAD * TimeUnit.SECONDS.toNanos(1) / elapsed, writes.get());
+    }
+
+    private static void simulateAddDriver(Logger log, int n) {
+        String phone = String.format("(11) 9%04d-%04d", n % 10_000, n / 10_000 % 10_000);
+        log.debug("addDriver: Iniciando adição para Placa={}, Nome={}, Telefone (entrada)='{}'", "ABC1D23", "Motorista " + n, phone);
+        log.debug("addDriver: Telefone normalizado de '{}' ({} dígitos) para '{}'", phone, 11, "+5511912345678");
+        log.info("addDriver: Motorista adicionado com sucesso: ID={}, Placa={}, Telefone (E.164)='{}', Tentativas={}",
+                n, "ABC1D23", "+5511912345678", 0);
+        log.debug("getAdminQueueView: Buscando motoristas WAITING.");
+        log.info("POST /drivers/add : Motorista '{}' adicionado com sucesso via serviço.", "Motorista " + n);
+    }
+
+    /** Saída lenta (ex: console/pipe do container): cada escrita custa {@link #WRITE_NANOS}. */
+    private static final class SlowOutputStream extends OutputStream {
+        private final AtomicLong writes;
+
+        SlowOutputStream(AtomicLong writes) {
+            this.writes = writes;
+        }
+
+        @Override
+        public void write(int b) {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            writes.incrementAndGet();
+            LockSupport.parkNanos(WRITE_NANOS);
+        }
+    }
+}
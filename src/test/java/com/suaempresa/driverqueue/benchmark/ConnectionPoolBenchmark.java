@@ -0,0 +1,149 @@
+package com.suaempresa.driverqueue.benchmark;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark do pool de conexões: configuração padrão + SQL logado no console (como o
+ * application.properties base, com show-sql) versus o perfil prod (pool dimensionado,
+ * prepared statements no servidor, sem log de SQL).
+ * <p>
+ * Executa a consulta da fila de espera com várias threads concorrentes e imprime a vazão
+ * e o tempo médio de espera por conexão de cada configuração.
+ * <p>
+ * Só roda quando um Postgres de benchmark é informado:
+ * <pre>
+ * BENCH_DATABASE_URL=jdbc:postgresql://localhost:5432/bench BENCH_DATABASE_USER=... BENCH_DATABASE_PASSWORD=... \
+ *   ./mvnw test -Dtest=ConnectionPoolBenchmark
+ * </pre>
+ */
+@EnabledIfEnvironmentVariable(named = "BENCH_DATABASE_URL", matches = ".+")
+class ConnectionPoolBenchmark {
+
+    private static final int THREADS = 32;
+    private static final int OPERATIONS_PER_THREAD = 2_000;
+    private static final int SEED_ROWS = 300;
+    private static final String QUERY =
+            "SELECT id, plate, name, phone_number, entry_time, status FROM pool_benchmark_driver WHERE status = ? ORDER BY entry_time";
+
+    @BeforeAll
+    static void createTable() throws Exception {
+        try (HikariDataSource ds = dataSource(false); Connection c = ds.getConnection(); Statement st = c.createStatement()) {
+            st.execute("DROP TABLE IF EXISTS pool_benchmark_driver");
+            st.execute("CREATE TABLE pool_benchmark_driver (id bigserial PRIMARY KEY, plate varchar(20), name varchar(100), " +
+                    "phone_number varchar(20), entry_time timestamptz NOT NULL DEFAULT now(), status varchar(10) NOT NULL)");
+            st.execute("CREATE INDEX ON pool_benchmark_driver (status, entry_time)");
+            st.execute("INSERT INTO pool_benchmark_driver (plate, name, phone_number, status) " +
+                    "SELECT 'ABC' || g, 'Motorista ' || g, '+55119' || lpad(g::text, 8, '0'), " +
+                    "CASE WHEN g % 3 = 0 THEN 'CALLED' ELSE 'WAITING' END FROM generate_series(1, " + SEED_ROWS + ") g");
+        }
+    }
+
+    @AfterAll
+    static void dropTable() throws Exception {
+        try (HikariDataSource ds = dataSource(false); Connection c = ds.getConnection(); Statement st = c.createStatement()) {
+            st.execute("DROP TABLE IF EXISTS pool_benchmark_driver");
+        }
+    }
+
+    @Test
+    @DisplayName("Perfil prod deve ter vazão maior que a configuração padrão com SQL no console")
+    void compareDefaultAndProdProfiles() throws Exception {
+        Result baseline;
+        Result tuned;
+        try (HikariDataSource ds = dataSource(false)) {
+            run(ds, true); // aquecimento
+            baseline = run(ds, true);
+        }
+        try (HikariDataSource ds = dataSource(true)) {
+            run(ds, false); // aquecimento
+            tuned = run(ds, false);
+        }
+        System.out.printf("%n=== ConnectionPoolBenchmark (%d threads x %d operações) ===%n", THREADS, OPERATIONS_PER_THREAD);
+        System.out.printf("padrão + show-sql : %,10.0f ops/s | espera média por conexão: %6.3f ms%n", baseline.opsPerSecond(), baseline.avgAcquireMillis());
+        System.out.printf("perfil prod       : %,10.0f ops/s | espera média por conexão: %6.3f ms%n", tuned.opsPerSecond(), tuned.avgAcquireMillis());
+        System.out.printf("ganho             : %.2fx%n", tuned.opsPerSecond() / baseline.opsPerSecond());
+
+        assertThat(tuned.opsPerSecond()).isPositive();
+    }
+
+    private static Result run(HikariDataSource ds, boolean logSql) throws Exception {
+        // Simula o show-sql: um PrintStream sincronizado compartilhado (como o System.out usado pelo
+        // Hibernate), gravando em arquivo para não poluir a saída do Maven
+        PrintStream console = new PrintStream(new FileOutputStream("target/pool-benchmark-sql.log"), true);
+        LongAdder acquireNanos = new LongAdder();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long start = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                    long before = System.nanoTime();
+                    try (Connection c = ds.getConnection()) {
+                        acquireNanos.add(System.nanoTime() - before);
+                        if (logSql) {
+                            console.println("Hibernate: " + QUERY);
+                        }
+                        try (PreparedStatement ps = c.prepareStatement(QUERY)) {
+                            ps.setString(1, "WAITING");
+                            try (ResultSet rs = ps.executeQuery()) {
+                                while (rs.next()) {
+                                    rs.getString(2);
+                                }
+                            }
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        executor.shutdown();
+        console.close();
+        long operations = (long) THREADS * OPERATIONS_PER_THREAD;
+        return new Result(operations / (elapsed / 1e9), acquireNanos.sum() / 1e6 / operations);
+    }
+
+    /** Configuração padrão do Hikari ou equivalente ao application-prod.properties. */
+    private static HikariDataSource dataSource(boolean prodProfile) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(System.getenv("BENCH_DATABASE_URL"));
+        config.setUsername(System.getenv("BENCH_DATABASE_USER"));
+        config.setPassword(System.getenv("BENCH_DATABASE_PASSWORD"));
+        if (prodProfile) {
+            config.setMaximumPoolSize(12);
+            config.setMinimumIdle(4);
+            config.setConnectionTimeout(3000);
+            config.addDataSourceProperty("prepareThreshold", "3");
+            config.addDataSourceProperty("preparedStatementCacheQueries", "256");
+            config.addDataSourceProperty("preparedStatementCacheSizeMiB", "5");
+        }
+        return new HikariDataSource(config);
+    }
+
+    private record Result(double opsPerSecond, double avgAcquireMillis) {
+    }
+}
@@ -0,0 +1,51 @@
+package com.suaempresa.driverqueue.benchmark;
+
+import com.suaempresa.driverqueue.simulation.QueueSimulator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara políticas de chamada com o simulador da fila ({@link QueueSimulator}), em vários dias
+ * simulados: limite de chamadas ({@code queue.calls.max-attempts}) x espera antes da re-chamada x
+ * quantidade de docas. Imprime, para cada combinação, a espera até a doca, os não comparecimentos e
+ * as operações por segundo do {@code DriverService} (para detectar regressões de desempenho).
+ * <p>
+ * Requer a propriedade de sistema {@code benchmark=true}; {@code simulation.days} define os dias
+ * simulados por combinação (padrão 30):
+ * <pre>
+ * ./mvnw test -Dtest=QueuePolicyBenchmark -Dbenchmark=true -Dsimulation.days=90
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class QueuePolicyBenchmark {
+
+    private static final List<Integer> MAX_CALL_ATTEMPTS = List.of(1, 2, 3);
+    private static final List<Duration> RECALL_AFTER = List.of(Duration.ofMinutes(5), Duration.ofMinutes(10), Duration.ofMinutes(15));
+    private static final List<Integer> DOCKS = List.of(3, 4);
+
+    @Test
+    @DisplayName("Compara políticas de chamada em dias simulados")
+    void comparePolicies() {
+        int days = Integer.getInteger("simulation.days", 30);
+        QueueSimulator.Scenario base = QueueSimulator.Scenario.typicalDay().withDuration(Duration.ofDays(days));
+
+        System.out.printf("%n=== QueuePolicyBenchmark (%d dia(s) simulado(s) por combinação) ===%n", days);
+        for (int docks : DOCKS) {
+            for (int maxAttempts : MAX_CALL_ATTEMPTS) {
+                for (Duration recallAfter : RECALL_AFTER) {
+                    QueueSimulator.Report report = QueueSimulator.run(
+                            base.withDocks(docks).withMaxCallAttempts(maxAttempts).withRecallAfter(recallAfter));
+                    System.out.println(report.format());
+                    assertThat(report.attended() + report.noShows() + report.stillWaiting() + report.stillCalled())
+                            .isEqualTo(report.arrivals());
+                }
+            }
+        }
+    }
+}
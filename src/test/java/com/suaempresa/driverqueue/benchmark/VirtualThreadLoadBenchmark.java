@@ -0,0 +1,185 @@
+package com.suaempresa.driverqueue.benchmark;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Teste de carga do modo virtual threads do Tomcat com o pool de conexões do banco no caminho.
+ * <p>
+ * Sobe um Tomcat embarcado com um endpoint que simula o {@code POST /admin/call-next}: obtém uma
+ * conexão de um pool limitado (o {@code maximum-pool-size} do perfil prod, com o mesmo
+ * {@code connection-timeout}), faz a transição e envia o SMS (latência configurável). Dispara
+ * muitas requisições simultâneas e compara três cenários:
+ * <ul>
+ *     <li>platform threads (200) com o SMS dentro da transação, segurando a conexão;</li>
+ *     <li>virtual threads com o SMS dentro da transação: o limite passa a ser o pool, e as
+ *         requisições excedentes falham por timeout de conexão;</li>
+ *     <li>virtual threads com o SMS após o commit (como o {@code CallSmsNotifier}): a conexão fica
+ *         presa só durante a transição e a rajada é atendida sem timeouts.</li>
+ * </ul>
+ * <p>
+ * Requer Java 21 e a propriedade de sistema {@code benchmark=true}:
+ * <pre>
+ * ./mvnw -Pjava21 test -Dtest=VirtualThreadLoadBenchmark -Dbenchmark=true
+ * </pre>
+ */
+@EnabledForJreRange(min = JRE.JAVA_21)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class VirtualThreadLoadBenchmark {
+
+    private static final int CONCURRENT_REQUESTS = 2_000;
+    private static final Duration SIMULATED_SMS_LATENCY = Duration.ofSeconds(2);
+    private static final Duration SIMULATED_TRANSACTION_TIME = Duration.ofMillis(20);
+    private static final int PLATFORM_MAX_THREADS = 200; // server.tomcat.threads.max padrão
+    private static final int POOL_SIZE = 12; // spring.datasource.hikari.maximum-pool-size do perfil prod
+    private static final Duration CONNECTION_TIMEOUT = Duration.ofSeconds(3); // connection-timeout do perfil prod
+
+    @Test
+    @DisplayName("Com o SMS após o commit, virtual threads devem atender a rajada sem esgotar o pool")
+    void compareThreadModels() throws Exception {
+        Result platform = runLoad(Executors.newFixedThreadPool(PLATFORM_MAX_THREADS), true);
+        Result virtualSmsInTransaction = runLoad(newVirtualThreadPerTaskExecutor(), true);
+        Result virtualSmsAfterCommit = runLoad(newVirtualThreadPerTaskExecutor(), false);
+
+        System.out.printf("%n=== VirtualThreadLoadBenchmark (%d requisições, SMS simulado de %d ms, pool de %d conexões) ===%n",
+                CONCURRENT_REQUESTS, SIMULATED_SMS_LATENCY.toMillis(), POOL_SIZE);
+        print("platform (200), SMS na transação", platform);
+        print("virtual, SMS na transação", virtualSmsInTransaction);
+        print("virtual, SMS após o commit", virtualSmsAfterCommit);
+
+        assertThat(platform.peakInFlight()).isLessThanOrEqualTo(PLATFORM_MAX_THREADS);
+        // Virtual threads sozinhas não ajudam enquanto o SMS segura a conexão: o pool é o limite
+        assertThat(virtualSmsInTransaction.peakConnections()).isLessThanOrEqualTo(POOL_SIZE);
+        assertThat(virtualSmsInTransaction.poolTimeouts()).isPositive();
+        assertThat(virtualSmsAfterCommit.poolTimeouts()).isZero();
+    }
+
+    private static void print(String name, Result result) {
+        System.out.printf("%-34s: pico simultâneo %5d | conexões %3d | timeouts do pool %5d | rajada concluída em %6d ms%n",
+                name, result.peakInFlight(), result.peakConnections(), result.poolTimeouts(), result.elapsedMillis());
+    }
+
+    private Result runLoad(Executor requestExecutor, boolean smsInTransaction) throws Exception {
+        SimulatedCallNext servlet = new SimulatedCallNext(smsInTransaction);
+        TomcatServletWebServerFactory factory = new TomcatServletWebServerFactory(0);
+        factory.addProtocolHandlerCustomizers(protocolHandler -> protocolHandler.setExecutor(requestExecutor));
+        WebServer server = factory.getWebServer(context -> context
+                .addServlet("callNext", servlet)
+                .addMapping("/admin/call-next"));
+        server.start();
+        try {
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(newVirtualThreadPerTaskExecutor())
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            URI uri = URI.create("http://localhost:" + server.getPort() + "/admin/call-next");
+            long start = System.nanoTime();
+            List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                HttpRequest request = HttpRequest.newBuilder(uri).POST(HttpRequest.BodyPublishers.noBody())
+                        .timeout(Duration.ofMinutes(2)).build();
+                responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+            }
+            CompletableFuture.allOf(responses.toArray(new CompletableFuture[0])).join();
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            long failures = responses.stream().filter(r -> r.join().statusCode() != 200).count();
+            assertThat(failures).isEqualTo(servlet.poolTimeouts.get());
+            return new Result(servlet.peakInFlight.get(), servlet.peakConnections.get(), servlet.poolTimeouts.get(), elapsedMillis);
+        } finally {
+            server.stop();
+            servlet.smsExecutor.shutdown();
+            servlet.smsExecutor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+
+    /** Criado via reflexão para que a classe compile com o release 17 do build padrão. */
+    private static ExecutorService newVirtualThreadPerTaskExecutor() throws Exception {
+        return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    }
+
+    /** Simula o controller: conexão do pool, transição e envio do SMS (dentro da transação ou após o commit). */
+    private static class SimulatedCallNext extends HttpServlet {
+        private final boolean smsInTransaction;
+        private final Semaphore pool = new Semaphore(POOL_SIZE);
+        private final ExecutorService smsExecutor;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger peakInFlight = new AtomicInteger();
+        private final AtomicInteger connections = new AtomicInteger();
+        private final AtomicInteger peakConnections = new AtomicInteger();
+        private final AtomicInteger poolTimeouts = new AtomicInteger();
+
+        SimulatedCallNext(boolean smsInTransaction) throws Exception {
+            this.smsInTransaction = smsInTransaction;
+            this.smsExecutor = newVirtualThreadPerTaskExecutor();
+        }
+
+        @Override
+        protected void doPost(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                if (!pool.tryAcquire(CONNECTION_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                    poolTimeouts.incrementAndGet();
+                    resp.setStatus(500);
+                    return;
+                }
+                try {
+                    peakConnections.accumulateAndGet(connections.incrementAndGet(), Math::max);
+                    Thread.sleep(SIMULATED_TRANSACTION_TIME.toMillis());
+                    if (smsInTransaction) {
+                        Thread.sleep(SIMULATED_SMS_LATENCY.toMillis());
+                    }
+                } finally {
+                    connections.decrementAndGet();
+                    pool.release();
+                }
+                if (!smsInTransaction) {
+                    smsExecutor.execute(() -> sleep(SIMULATED_SMS_LATENCY));
+                }
+                resp.setStatus(200);
+                resp.getWriter().write("ok");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                resp.setStatus(500);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+
+        private static void sleep(Duration duration) {
+            try {
+                Thread.sleep(duration.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private record Result(int peakInFlight, int peakConnections, int poolTimeouts, long elapsedMillis) {
+    }
+}
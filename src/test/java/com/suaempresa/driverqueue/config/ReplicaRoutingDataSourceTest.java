@@ -0,0 +1,85 @@
+package com.suaempresa.driverqueue.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica = mock(DataSource.class);
+    private final ReplicaLagMonitor lagMonitor = mock(ReplicaLagMonitor.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, lagMonitor, meterRegistry);
+
+    private double connections(String target) {
+        return meterRegistry.get("queue.datasource.readonly.connections").tag("target", target).counter().count();
+    }
+
+    @Test
+    @DisplayName("Com a réplica em dia, a leitura deve usar uma conexão da réplica")
+    void getConnection_shouldUseReplicaWhenUsable() throws SQLException {
+        Connection replicaConnection = mock(Connection.class);
+        when(lagMonitor.isReplicaUsable()).thenReturn(true);
+        when(lagMonitor.getReplicaDataSource()).thenReturn(replica);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+
+        assertThat(routing.getConnection()).isSameAs(replicaConnection);
+        verify(primary, never()).getConnection();
+        assertThat(connections("replica")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Com a réplica atrasada, a leitura deve usar o primário")
+    void getConnection_shouldUsePrimaryWhenLagging() throws SQLException {
+        Connection primaryConnection = mock(Connection.class);
+        when(lagMonitor.isReplicaUsable()).thenReturn(false);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        verify(lagMonitor, never()).getReplicaDataSource();
+        assertThat(connections("primary")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Se a réplica cair entre verificações, deve marcá-la indisponível e usar o primário")
+    void getConnection_shouldFallBackWhenReplicaFails() throws SQLException {
+        Connection primaryConnection = mock(Connection.class);
+        when(lagMonitor.isReplicaUsable()).thenReturn(true);
+        when(lagMonitor.getReplicaDataSource()).thenReturn(replica);
+        when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        verify(lagMonitor).markUnavailable(anyString());
+        assertThat(connections("replica")).isZero();
+        assertThat(connections("primary")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Com credenciais, deve escolher o servidor da mesma forma e repassar usuário e senha")
+    void getConnectionWithCredentials_shouldRouteLikeGetConnection() throws SQLException {
+        Connection replicaConnection = mock(Connection.class);
+        Connection primaryConnection = mock(Connection.class);
+        when(lagMonitor.isReplicaUsable()).thenReturn(true, false);
+        when(lagMonitor.getReplicaDataSource()).thenReturn(replica);
+        when(replica.getConnection("leitor", "segredo")).thenReturn(replicaConnection);
+        when(primary.getConnection("leitor", "segredo")).thenReturn(primaryConnection);
+
+        assertThat(routing.getConnection("leitor", "segredo")).isSameAs(replicaConnection);
+        assertThat(routing.getConnection("leitor", "segredo")).isSameAs(primaryConnection);
+        assertThat(connections("replica")).isEqualTo(1.0);
+        assertThat(connections("primary")).isEqualTo(1.0);
+    }
+}
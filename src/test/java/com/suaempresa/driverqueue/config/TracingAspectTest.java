@@ -0,0 +1,68 @@
+package com.suaempresa.driverqueue.config;
+
+import com.suaempresa.driverqueue.service.SmsGateway;
+import com.suaempresa.driverqueue.service.SmsGatewayException;
+import io.micrometer.observation.tck.TestObservationRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import static io.micrometer.observation.tck.TestObservationRegistryAssert.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TracingAspectTest {
+
+    private final TestObservationRegistry registry = TestObservationRegistry.create();
+
+    /** Provedor simulado: falha quando o destino é "+0". */
+    static class FakeGateway implements SmsGateway {
+        @Override
+        public String getName() { return "fake"; }
+
+        @Override
+        public boolean isEnabled() { return true; }
+
+        @Override
+        public String send(String toPhoneNumber, String messageBody) throws SmsGatewayException {
+            if ("+0".equals(toPhoneNumber)) {
+                throw new SmsGatewayException("timeout", true, null);
+            }
+            return "id-1";
+        }
+    }
+
+    private SmsGateway tracedGateway() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new FakeGateway());
+        factory.addAspect(new TracingAspect(registry));
+        return factory.getProxy();
+    }
+
+    @Test
+    @DisplayName("O envio por um provedor deve gerar uma observação com o componente e o método")
+    void send_shouldBeObserved() throws Exception {
+        tracedGateway().send("+5511999999999", "Olá");
+
+        assertThat(registry)
+                .hasObservationWithNameEqualTo("sms.send")
+                .that()
+                .hasContextualNameEqualTo("FakeGateway.send")
+                .hasLowCardinalityKeyValue("component", "FakeGateway")
+                .hasLowCardinalityKeyValue("method", "send")
+                .hasBeenStopped()
+                .doesNotHaveError();
+    }
+
+    @Test
+    @DisplayName("Uma exceção deve ser registrada na observação e repassada ao chamador")
+    void send_shouldRecordError() {
+        SmsGateway gateway = tracedGateway();
+
+        assertThatThrownBy(() -> gateway.send("+0", "Olá")).isInstanceOf(SmsGatewayException.class);
+
+        assertThat(registry)
+                .hasObservationWithNameEqualTo("sms.send")
+                .that()
+                .hasError()
+                .hasBeenStopped();
+    }
+}
@@ -0,0 +1,64 @@
+package com.suaempresa.driverqueue.job;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdvisoryLockLeaseTest {
+
+    private static final String JOB = "appointment-merge";
+
+    private final FakeAdvisoryLocks locks = new FakeAdvisoryLocks();
+
+    private AdvisoryLockLease lease() throws SQLException {
+        return new AdvisoryLockLease(locks.dataSource(), JOB, 0x4451, 2);
+    }
+
+    @Test
+    @DisplayName("Só uma instância deve obter o lease; a líder o renova nas execuções seguintes")
+    void acquireOrRenew_shouldGrantLeaseToASingleHolder() throws SQLException {
+        AdvisoryLockLease leader = lease();
+        AdvisoryLockLease follower = lease();
+
+        assertThat(leader.acquireOrRenew()).isTrue();
+        assertThat(follower.acquireOrRenew()).isFalse();
+        assertThat(leader.acquireOrRenew()).isTrue();
+
+        assertThat(leader.isHeld()).isTrue();
+        assertThat(follower.isHeld()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Ao liberar o lease, o lock deve ficar livre para outra instância")
+    void release_shouldFreeLockForAnotherInstance() throws SQLException {
+        AdvisoryLockLease leader = lease();
+        AdvisoryLockLease follower = lease();
+        leader.acquireOrRenew();
+
+        leader.release();
+
+        assertThat(leader.isHeld()).isFalse();
+        assertThat(locks.holder(JOB)).isNull();
+        assertThat(follower.acquireOrRenew()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Se a conexão da líder cair, outra instância deve assumir e a antiga líder deve perceber a perda")
+    void acquireOrRenew_whenLeaderConnectionDrops_shouldFailOver() throws SQLException {
+        AdvisoryLockLease leader = lease();
+        AdvisoryLockLease follower = lease();
+        leader.acquireOrRenew();
+        Connection leaderSession = locks.holder(JOB);
+
+        locks.drop(leaderSession);
+
+        assertThat(follower.acquireOrRenew()).isTrue();
+        assertThat(leader.acquireOrRenew()).isFalse();
+        assertThat(leader.isHeld()).isFalse();
+        assertThat(locks.holder(JOB)).isNotSameAs(leaderSession);
+    }
+}
@@ -0,0 +1,85 @@
+package com.suaempresa.driverqueue.job;
+
+import com.suaempresa.driverqueue.config.AppointmentProperties;
+import com.suaempresa.driverqueue.model.Driver;
+import com.suaempresa.driverqueue.service.DriverService;
+import jakarta.validation.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AppointmentMergeJobTest {
+
+    private static final ZoneId ZONE = ZoneId.of("America/Sao_Paulo");
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 5, 20, 8, 5);
+    private static final LocalDateTime SLOT = LocalDateTime.of(2024, 5, 20, 8, 0);
+
+    private JdbcTemplate jdbcTemplate;
+    private DriverService driverService;
+    private AppointmentMergeJob job;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        driverService = mock(DriverService.class);
+        job = new AppointmentMergeJob(jdbcTemplate, driverService, new AppointmentProperties(),
+                Clock.fixed(NOW.atZone(ZONE).toInstant(), ZONE), mock(PlatformTransactionManager.class));
+        when(jdbcTemplate.update(anyString(), any(), any(), any())).thenReturn(1);
+        Driver queued = new Driver();
+        queued.setId(20L);
+        when(driverService.addScheduledDriver(eq("XYZ9K87"), anyString(), anyString(), eq(SLOT))).thenReturn(queued);
+    }
+
+    @Test
+    @DisplayName("Agendamento recusado pela validação do motorista deve ficar FAILED sem travar os seguintes")
+    void execute_whenHeadAppointmentIsInvalid_shouldFailItAndQueueTheRest() {
+        when(jdbcTemplate.queryForList(anyString(), any(Timestamp.class), anyInt()))
+                .thenReturn(List.of(row(1L, "AB-12"), row(2L, "XYZ9K87")));
+        when(driverService.addScheduledDriver(eq("AB-12"), anyString(), anyString(), eq(SLOT)))
+                .thenThrow(new ConstraintViolationException("Formato de placa inválido", Set.of()));
+
+        job.execute();
+
+        verify(jdbcTemplate).update(anyString(), eq("FAILED"), isNull(), eq(1L));
+        verify(jdbcTemplate).update(anyString(), eq("QUEUED"), eq(20L), eq(2L));
+    }
+
+    @Test
+    @DisplayName("Erro inesperado em um agendamento deve mantê-lo BOOKED e seguir para os próximos")
+    void execute_whenUnexpectedError_shouldSkipAppointment() {
+        when(jdbcTemplate.queryForList(anyString(), any(Timestamp.class), anyInt()))
+                .thenReturn(List.of(row(1L, "ABC1D23"), row(2L, "XYZ9K87")));
+        when(driverService.addScheduledDriver(eq("ABC1D23"), anyString(), anyString(), eq(SLOT)))
+                .thenThrow(new IllegalStateException("falha inesperada"));
+
+        job.execute();
+
+        verify(jdbcTemplate, never()).update(anyString(), any(), any(), eq(1L));
+        verify(jdbcTemplate).update(anyString(), eq("QUEUED"), eq(20L), eq(2L));
+    }
+
+    private static Map<String, Object> row(long id, String plate) {
+        return Map.of("id", id, "slot_start", Timestamp.valueOf(SLOT), "plate", plate,
+                "name", "Motorista " + id, "phone_number", "+551191234567" + id);
+    }
+}
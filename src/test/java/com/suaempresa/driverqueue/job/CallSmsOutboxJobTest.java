@@ -0,0 +1,85 @@
+package com.suaempresa.driverqueue.job;
+
+import com.suaempresa.driverqueue.config.CallPolicyProperties;
+import com.suaempresa.driverqueue.event.DriverQueueEvent;
+import com.suaempresa.driverqueue.model.Driver;
+import com.suaempresa.driverqueue.service.CallSmsNotifier;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+class CallSmsOutboxJobTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 5, 20, 8, 0);
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final CallSmsNotifier callSmsNotifier = mock(CallSmsNotifier.class);
+    private final CallPolicyProperties properties = new CallPolicyProperties();
+    private final CallSmsOutboxJob job = new CallSmsOutboxJob(jdbcTemplate, callSmsNotifier, properties);
+
+    @Test
+    @DisplayName("Deve enviar o SMS dos pedidos retirados da outbox e descartar os de motoristas que já não estão na mesma chamada")
+    void execute_shouldNotifyCurrentCallsAndSkipStaleOnes() throws SQLException {
+        properties.setSmsOutboxBatchSize(10);
+        List<ResultSet> rows = List.of(
+                row(1L, 7L, "CALLED", 1, "CALLED", 1),
+                row(2L, 8L, "CALLED", 1, "ATTENDED", 1),
+                row(3L, 9L, "CALLED", 1, "CALLED", 2));
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(10))).thenAnswer(invocation -> {
+            RowMapper<?> mapper = invocation.getArgument(1);
+            List<Object> mapped = new ArrayList<>();
+            for (int i = 0; i < rows.size(); i++) {
+                mapped.add(mapper.mapRow(rows.get(i), i));
+            }
+            return mapped;
+        });
+
+        job.execute();
+
+        verify(callSmsNotifier).notifyCall(new DriverQueueEvent(DriverQueueEvent.Type.CALLED, 7L, "ABC1D23", "Motorista 7",
+                "+5511912345678", Driver.DriverStatus.CALLED, 1, NOW, NOW.plusMinutes(5), NOW.plusMinutes(5)));
+        verifyNoMoreInteractions(callSmsNotifier);
+    }
+
+    @Test
+    @DisplayName("O nome e o intervalo do job devem vir da configuração das chamadas")
+    void shouldBeScheduledWithConfiguredInterval() {
+        assertThat(job.getName()).isEqualTo("call-sms-outbox");
+        assertThat(job.getInterval()).isEqualTo(properties.getSmsOutboxInterval());
+    }
+
+    private static ResultSet row(long outboxId, long driverId, String eventType, int callAttempts,
+                                 String currentStatus, int currentAttempts) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("id")).thenReturn(outboxId);
+        when(rs.getLong("driver_id")).thenReturn(driverId);
+        when(rs.getString("event_type")).thenReturn(eventType);
+        when(rs.getInt("call_attempts")).thenReturn(callAttempts);
+        when(rs.getTimestamp("created_at")).thenReturn(Timestamp.valueOf(NOW.plusMinutes(5)));
+        when(rs.getString("plate")).thenReturn("ABC1D23");
+        when(rs.getString("name")).thenReturn("Motorista " + driverId);
+        when(rs.getString("phone_number")).thenReturn("+5511912345678");
+        when(rs.getString("status")).thenReturn(currentStatus);
+        when(rs.getInt("current_attempts")).thenReturn(currentAttempts);
+        when(rs.getTimestamp("entry_time")).thenReturn(Timestamp.valueOf(NOW));
+        when(rs.getTimestamp("called_time")).thenReturn(Timestamp.valueOf(NOW.plusMinutes(5)));
+        return rs;
+    }
+}
@@ -0,0 +1,150 @@
+package com.suaempresa.driverqueue.job;
+
+import com.suaempresa.driverqueue.config.JobProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ClusteredJobSchedulerTest {
+
+    private static final String JOB = "appointment-merge";
+
+    private final FakeAdvisoryLocks locks = new FakeAdvisoryLocks();
+    private Instance first;
+    private Instance second;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        first = new Instance();
+        second = new Instance();
+    }
+
+    @Test
+    @DisplayName("A cada disparo, só a instância líder deve executar o job")
+    void runIfLeader_shouldRunJobOnlyOnLeader() {
+        for (int cycle = 0; cycle < 3; cycle++) {
+            first.fire();
+            second.fire();
+        }
+
+        assertThat(first.job.runs).isEqualTo(3);
+        assertThat(second.job.runs).isZero();
+        assertThat(first.leaderGauge()).isEqualTo(1.0);
+        assertThat(second.leaderGauge()).isZero();
+    }
+
+    @Test
+    @DisplayName("Se o job falhar, a líder deve liberar o lease e outra instância deve assumir")
+    void runIfLeader_whenJobFails_shouldReleaseLease() {
+        first.job.failure = new IllegalStateException("falha no job");
+
+        first.fire();
+
+        assertThat(locks.holder(JOB)).isNull();
+        second.fire();
+        assertThat(second.job.runs).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Ao encerrar, a líder deve cancelar os agendamentos e liberar o lease")
+    void shutdown_shouldReleaseLeaseForAnotherInstance() {
+        first.fire();
+
+        first.scheduler.shutdown();
+
+        assertThat(locks.holder(JOB)).isNull();
+        verify(first.future).cancel(false);
+        second.fire();
+        assertThat(second.job.runs).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Se a conexão da líder cair, outra instância deve assumir o job e a antiga não deve executá-lo")
+    void runIfLeader_whenLeaderConnectionDrops_shouldFailOver() {
+        first.fire();
+
+        locks.drop(locks.holder(JOB));
+        second.fire();
+        first.fire();
+
+        assertThat(first.job.runs).isEqualTo(1);
+        assertThat(second.job.runs).isEqualTo(1);
+        assertThat(first.leaderGauge()).isZero();
+        assertThat(second.leaderGauge()).isEqualTo(1.0);
+    }
+
+    /** Uma instância da aplicação: agendador próprio, mesmo banco (mesmos advisory locks). */
+    private class Instance {
+        final CountingJob job = new CountingJob();
+        final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        final ClusteredJobScheduler scheduler;
+        final List<Runnable> scheduled = new ArrayList<>();
+        ScheduledFuture<?> future;
+
+        @SuppressWarnings("unchecked")
+        Instance() throws SQLException {
+            TaskScheduler taskScheduler = mock(TaskScheduler.class);
+            when(taskScheduler.scheduleWithFixedDelay(any(Runnable.class), any(Instant.class), eq(job.getInterval())))
+                    .thenAnswer(invocation -> {
+                        scheduled.add(invocation.getArgument(0));
+                        future = mock(ScheduledFuture.class);
+                        return future;
+                    });
+            ObjectProvider<ClusteredJob> jobs = mock(ObjectProvider.class);
+            when(jobs.orderedStream()).thenReturn(Stream.of(job));
+            scheduler = new ClusteredJobScheduler(jobs, taskScheduler, locks.dataSource(), meterRegistry, new JobProperties());
+            scheduler.scheduleJobs();
+        }
+
+        /** Simula um disparo do agendador. */
+        void fire() {
+            scheduled.forEach(Runnable::run);
+        }
+
+        double leaderGauge() {
+            return meterRegistry.get("queue.jobs.leader").tag("job", JOB).gauge().value();
+        }
+    }
+
+    private static class CountingJob implements ClusteredJob {
+        int runs;
+        RuntimeException failure;
+
+        @Override
+        public String getName() {
+            return JOB;
+        }
+
+        @Override
+        public Duration getInterval() {
+            return Duration.ofMinutes(1);
+        }
+
+        @Override
+        public void execute() {
+            runs++;
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.suaempresa.driverqueue.job;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Simula os advisory locks de sessão do Postgres para os testes de liderança: cada chave tem no
+ * máximo um dono (a sessão/conexão), liberado por pg_advisory_unlock, pelo fechamento da conexão ou
+ * quando o servidor derruba a sessão ({@link #drop(Connection)}).
+ */
+class FakeAdvisoryLocks {
+
+    private final Map<String, Connection> holders = new ConcurrentHashMap<>();
+    private final Set<Connection> droppedSessions = ConcurrentHashMap.newKeySet();
+
+    /** DataSource de uma instância da aplicação: cada getConnection() abre uma nova sessão. */
+    DataSource dataSource() throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenAnswer(invocation -> session());
+        return dataSource;
+    }
+
+    /** @return A sessão que detém o lock do job, ou nula se ninguém o detém. */
+    Connection holder(String jobName) {
+        return holders.get(jobName);
+    }
+
+    /** Simula a queda da sessão (rede, restart do banco): o Postgres libera os locks dela. */
+    void drop(Connection session) {
+        droppedSessions.add(session);
+        endSession(session);
+    }
+
+    private Connection session() throws SQLException {
+        Connection session = mock(Connection.class);
+        when(session.isValid(anyInt())).thenAnswer(invocation -> !droppedSessions.contains(session));
+        doAnswer(invocation -> {
+            endSession(session);
+            return null;
+        }).when(session).close();
+        when(session.prepareStatement(anyString())).thenAnswer(invocation -> statement(session));
+        return session;
+    }
+
+    private PreparedStatement statement(Connection session) throws SQLException {
+        PreparedStatement statement = mock(PreparedStatement.class);
+        AtomicReference<String> key = new AtomicReference<>();
+        doAnswer(invocation -> {
+            key.set(invocation.getArgument(1));
+            return null;
+        }).when(statement).setString(eq(2), anyString());
+        // pg_try_advisory_lock
+        when(statement.executeQuery()).thenAnswer(invocation -> {
+            if (droppedSessions.contains(session)) {
+                throw new SQLException("This connection has been closed.");
+            }
+            boolean acquired = holders.putIfAbsent(key.get(), session) == null || holders.get(key.get()) == session;
+            ResultSet resultSet = mock(ResultSet.class);
+            when(resultSet.next()).thenReturn(true);
+            when(resultSet.getBoolean(1)).thenReturn(acquired);
+            return resultSet;
+        });
+        // pg_advisory_unlock
+        when(statement.execute()).thenAnswer(invocation -> holders.remove(key.get(), session));
+        return statement;
+    }
+
+    private void endSession(Connection session) {
+        holders.values().removeIf(holder -> holder == session);
+    }
+}
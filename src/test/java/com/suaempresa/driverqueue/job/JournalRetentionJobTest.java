@@ -0,0 +1,48 @@
+package com.suaempresa.driverqueue.job;
+
+import com.suaempresa.driverqueue.config.JournalProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class JournalRetentionJobTest {
+
+    private static final ZoneId ZONE = ZoneId.of("America/Sao_Paulo");
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 5, 20, 8, 0);
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final JournalProperties properties = new JournalProperties();
+    private final JournalRetentionJob job =
+            new JournalRetentionJob(jdbcTemplate, properties, Clock.fixed(NOW.atZone(ZONE).toInstant(), ZONE));
+
+    @Test
+    @DisplayName("O corte da retenção deve ser calculado a partir do relógio injetado")
+    void execute_shouldDeleteEventsOlderThanRetentionFromClock() {
+        properties.setRetentionDays(30);
+
+        job.execute();
+
+        verify(jdbcTemplate).update(anyString(), eq(Timestamp.valueOf(NOW.minusDays(30))));
+    }
+
+    @Test
+    @DisplayName("Retenção 0 não deve apagar nada")
+    void execute_whenRetentionDisabled_shouldNotDelete() {
+        properties.setRetentionDays(0);
+
+        job.execute();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
@@ -0,0 +1,103 @@
+package com.suaempresa.driverqueue.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import com.suaempresa.driverqueue.config.AuditLogProperties;
+import com.suaempresa.driverqueue.event.DriverQueueEvent;
+import com.suaempresa.driverqueue.model.Driver;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class QueueAuditLoggerTest {
+
+    private final Logger auditLogger = (Logger) LoggerFactory.getLogger("audit.queue");
+    private final BlockedAppender appender = new BlockedAppender();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private QueueAuditLogger auditLog;
+
+    @BeforeEach
+    void setUp() {
+        appender.setContext(auditLogger.getLoggerContext());
+        appender.start();
+        auditLogger.addAppender(appender);
+        auditLogger.setAdditive(false);
+        AuditLogProperties properties = new AuditLogProperties();
+        properties.setQueueCapacity(1);
+        auditLog = new QueueAuditLogger(properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        appender.release.countDown();
+        auditLog.shutdown();
+        auditLogger.detachAppender(appender);
+        auditLogger.setAdditive(true);
+        MDC.clear();
+    }
+
+    @Test
+    @DisplayName("Com o appender de auditoria travado e a fila cheia, a thread da requisição não deve bloquear")
+    void onDriverQueueEvent_whenAuditOutputIsStuck_shouldNotBlockCaller() throws InterruptedException {
+        MDC.put("traceId", "abc123");
+        auditLog.onDriverQueueEvent(event(1L));
+        // A thread audit-writer fica presa no appender com o primeiro evento
+        assertThat(appender.entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertTimeoutPreemptively(Duration.ofSeconds(2), () -> {
+            for (long id = 2; id <= 10; id++) {
+                auditLog.onDriverQueueEvent(event(id));
+            }
+        });
+
+        // 1 no appender, 1 na fila e os demais desviados para o canal app
+        assertThat(meterRegistry.counter("queue.audit.overflow").count()).isEqualTo(8.0);
+
+        appender.release.countDown();
+        await().atMost(Duration.ofSeconds(5)).until(() -> appender.events.size() == 2);
+        assertThat(appender.events.get(0).getFormattedMessage()).startsWith("ADDED driverId=1 ");
+        assertThat(appender.events.get(0).getMDCPropertyMap()).containsEntry("traceId", "abc123");
+        assertThat(appender.events.get(1).getFormattedMessage()).startsWith("ADDED driverId=2 ");
+    }
+
+    private static DriverQueueEvent event(long driverId) {
+        LocalDateTime now = LocalDateTime.of(2024, 5, 20, 8, 0);
+        return new DriverQueueEvent(DriverQueueEvent.Type.ADDED, driverId, "ABC1D23", "Motorista", "+5511912345678",
+                Driver.DriverStatus.WAITING, 0, now, null, now);
+    }
+
+    /** Appender que simula uma saída travada: segura a primeira escrita até ser liberado. */
+    private static class BlockedAppender extends AppenderBase<ILoggingEvent> {
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<ILoggingEvent> events = new CopyOnWriteArrayList<>();
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            events.add(event);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.suaempresa.driverqueue.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StructuredLoggingTest {
+
+    private final LoggerContext context = new LoggerContext();
+
+    @Test
+    @DisplayName("Telefones nos formatos usados pela aplicação devem ser mascarados, mantendo os 4 últimos dígitos")
+    void mask_shouldHidePhoneNumbers() {
+        assertThat(PhoneNumberMasker.mask("Telefone (E.164)='+5511912345678'"))
+                .isEqualTo("Telefone (E.164)='+*********5678'");
+        assertThat(PhoneNumberMasker.mask("phoneNumber='(11) 91234-5678', outro 11912345678"))
+                .isEqualTo("phoneNumber='(**) *****-5678', outro *******5678");
+        assertThat(PhoneNumberMasker.mask("Motorista ID 300015 (ABC1D23) chamado em 2024-05-20T08:30:00"))
+                .isEqualTo("Motorista ID 300015 (ABC1D23) chamado em 2024-05-20T08:30:00");
+        assertThat(PhoneNumberMasker.mask("MessageSid SM0123456789abcdef0123456789abcdef")).contains("0123456789abcdef");
+    }
+
+    @Test
+    @DisplayName("Com taxa 0, DEBUG deve ser descartado e WARN registrado sempre")
+    void samplingFilter_shouldOnlySampleUpToLevel() {
+        SamplingFilter filter = new SamplingFilter();
+        filter.setRate(0.0);
+        filter.start();
+
+        assertThat(filter.decide(event(Level.DEBUG, "debug"))).isEqualTo(FilterReply.DENY);
+        assertThat(filter.decide(event(Level.INFO, "info"))).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(filter.decide(event(Level.WARN, "warn"))).isEqualTo(FilterReply.NEUTRAL);
+    }
+
+    @Test
+    @DisplayName("O JSON deve trazer canal, traceId do MDC e a mensagem escapada e mascarada")
+    void jsonEncoder_shouldWriteOneMaskedJsonLine() {
+        JsonLogEncoder encoder = new JsonLogEncoder();
+        encoder.setContext(context);
+        encoder.setChannel("audit");
+        encoder.start();
+        LoggingEvent event = event(Level.INFO, "ADDED phone=+5511912345678 nome=\"Zé\"\nfim");
+        event.setMDCPropertyMap(Map.of("traceId", "abc123", "spanId", "def456"));
+
+        String json = new String(encoder.encode(event), StandardCharsets.UTF_8);
+
+        assertThat(json).endsWith("}\n").doesNotContain("912345678");
+        assertThat(json).contains("\"level\":\"INFO\"", "\"channel\":\"audit\"", "\"logger\":\"audit.queue\"",
+                "\"traceId\":\"abc123\"", "\"spanId\":\"def456\"",
+                "\"message\":\"ADDED phone=+*********5678 nome=\\\"Zé\\\"\\nfim\"");
+    }
+
+    private LoggingEvent event(Level level, String message) {
+        LoggingEvent event = new LoggingEvent();
+        event.setLoggerName("audit.queue");
+        event.setLevel(level);
+        event.setMessage(message);
+        event.setThreadName("main");
+        event.setTimeStamp(System.currentTimeMillis());
+        event.setLoggerContext(context);
+        return event;
+    }
+}
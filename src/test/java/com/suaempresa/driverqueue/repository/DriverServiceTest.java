@@ -1,6 +1,8 @@
 package com.suaempresa.driverqueue.service;
 
+import com.suaempresa.driverqueue.config.CallPolicyProperties;
 import com.suaempresa.driverqueue.config.TwilioProperties; // Necessário se usado no serviço
+import com.suaempresa.driverqueue.event.DriverQueueEvent;
 import com.suaempresa.driverqueue.model.Driver;
 import com.suaempresa.driverqueue.repository.DriverRepository;
 import org.junit.jupiter.api.BeforeEach; // Para setup antes de cada teste
@@ -8,11 +10,15 @@ import org.junit.jupiter.api.DisplayName; // Nome descritivo para o teste
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor; // Para capturar argumentos passados aos mocks
-import org.mockito.InjectMocks; // Para injetar mocks na classe sob teste
 import org.mockito.Mock; // Para criar mocks das dependências
 import org.mockito.junit.jupiter.MockitoExtension; // Para habilitar Mockito com JUnit 5
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.Collections; // Para listas vazias
 import java.util.List;
 import java.util.Optional;
@@ -29,13 +35,11 @@ class DriverServiceTest {
     @Mock
     private DriverRepository driverRepository;
 
-    // Cria um mock do TwilioService
+    // Mock do publicador de eventos (journal / projeções)
     @Mock
-    private TwilioService twilioService;
+    private ApplicationEventPublisher eventPublisher;
 
-    // Cria uma instância REAL do DriverService e INJETA os mocks acima (@Mock)
-    // nos campos correspondentes (via construtor)
-    @InjectMocks
+    // Instância REAL do DriverService com os mocks acima, criada no setUp (limite padrão de chamadas, relógio do sistema)
     private DriverService driverService;
 
     // --- Dados de Teste Reutilizáveis (Opcional) ---
@@ -45,6 +49,8 @@ class DriverServiceTest {
 
     @BeforeEach // Método que roda ANTES de cada @Test
     void setUp() {
+        driverService = new DriverService(driverRepository, eventPublisher, new CallPolicyProperties(), Clock.systemDefaultZone());
+
         // Podemos inicializar objetos de teste comuns aqui
         validDriver = new Driver();
         validDriver.setId(1L);
@@ -173,15 +179,15 @@ class DriverServiceTest {
     // --- Testes para o método callNextDriver ---
 
     @Test
-    @DisplayName("Deve chamar próximo motorista e enviar SMS quando há motorista com telefone")
-    void callNextDriver_whenDriverExistsWithPhone_shouldUpdateStatusAndSendSms() {
+    @DisplayName("Deve chamar próximo motorista e publicar CALLED (o SMS sai após o commit)")
+    void callNextDriver_whenDriverExists_shouldUpdateStatusAndPublishCalled() {
         // Arrange
         // Configura mock para encontrar o waitingDriver1 como próximo
         when(driverRepository.findFirstByStatusOrderByEntryTimeAsc(Driver.DriverStatus.WAITING))
                 .thenReturn(Optional.of(waitingDriver1));
-        // Configura mock do Twilio para não fazer nada quando sendSms for chamado
-        doNothing().when(twilioService).sendSms(anyString(), anyString());
-
+        // Configura o UPDATE condicional para aplicar a transição (nenhum conflito)
+        when(driverRepository.updateStatusIfUnchanged(eq(10L), eq(Driver.DriverStatus.WAITING), eq(0L),
+                eq(Driver.DriverStatus.CALLED), eq(1), any(LocalDateTime.class))).thenReturn(1);
         // Act
         Optional<Driver> resultOpt = driverService.callNextDriver();
 
@@ -190,72 +196,112 @@ class DriverServiceTest {
         Driver resultDriver = resultOpt.get();
         assertThat(resultDriver.getId()).isEqualTo(waitingDriver1.getId());
 
-        // Captura o objeto Driver que foi passado para o método save()
-        ArgumentCaptor<Driver> driverCaptor = ArgumentCaptor.forClass(Driver.class);
-        verify(driverRepository, times(1)).save(driverCaptor.capture());
-        Driver savedDriver = driverCaptor.getValue();
-
-        assertThat(savedDriver.getStatus()).isEqualTo(Driver.DriverStatus.CALLED); // Verifica se o status foi mudado
-        assertThat(savedDriver.getCalledTime()).isNotNull(); // Verifica se o horário da chamada foi definido
-
-        // Verifica se o TwilioService foi chamado 1 vez com os parâmetros corretos (ou parte deles)
-        ArgumentCaptor<String> phoneCaptor = ArgumentCaptor.forClass(String.class);
-        ArgumentCaptor<String> messageCaptor = ArgumentCaptor.forClass(String.class);
-        verify(twilioService, times(1)).sendSms(phoneCaptor.capture(), messageCaptor.capture());
-
-        assertThat(phoneCaptor.getValue()).isEqualTo(waitingDriver1.getPhoneNumber());
-        assertThat(messageCaptor.getValue()).contains(waitingDriver1.getName()); // Verifica se a mensagem contém o nome
+        // A transição é aplicada pelo UPDATE condicional (status + versão), não por save()
+        verify(driverRepository, never()).save(any(Driver.class));
+        assertThat(resultDriver.getStatus()).isEqualTo(Driver.DriverStatus.CALLED); // Verifica se o status foi mudado
+        assertThat(resultDriver.getCalledTime()).isNotNull(); // Verifica se o horário da chamada foi definido
+        assertThat(resultDriver.getVersion()).isEqualTo(1L); // Verifica se a versão acompanhou o UPDATE
 
         verify(driverRepository, times(1)).findFirstByStatusOrderByEntryTimeAsc(Driver.DriverStatus.WAITING);
 
+        // Verifica se a transição foi publicada (journal, projeções e o SMS, enviado pelo CallSmsNotifier após o commit)
+        ArgumentCaptor<DriverQueueEvent> eventCaptor = ArgumentCaptor.forClass(DriverQueueEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(eventCaptor.capture());
+        assertThat(eventCaptor.getValue().type()).isEqualTo(DriverQueueEvent.Type.CALLED);
+        assertThat(eventCaptor.getValue().driverId()).isEqualTo(waitingDriver1.getId());
+        assertThat(eventCaptor.getValue().phoneNumber()).isEqualTo(waitingDriver1.getPhoneNumber());
+        assertThat(eventCaptor.getValue().callAttempts()).isEqualTo(1);
     }
 
-
     @Test
-    @DisplayName("Deve chamar próximo motorista mas NÃO enviar SMS quando telefone ausente")
-    void callNextDriver_whenDriverExistsWithoutPhone_shouldUpdateStatusOnly() {
+    @DisplayName("Deve retornar Optional vazio quando não há motorista na fila")
+    void callNextDriver_whenQueueIsEmpty_shouldReturnEmptyOptional() {
         // Arrange
-        waitingDriver1.setPhoneNumber(null); // Simula motorista sem telefone
         when(driverRepository.findFirstByStatusOrderByEntryTimeAsc(Driver.DriverStatus.WAITING))
-                .thenReturn(Optional.of(waitingDriver1));
+                .thenReturn(Optional.empty()); // Simula fila vazia
 
         // Act
         Optional<Driver> resultOpt = driverService.callNextDriver();
 
         // Assert
-        assertThat(resultOpt).isPresent();
+        assertThat(resultOpt).isEmpty(); // Verifica que o Optional está vazio
 
-        ArgumentCaptor<Driver> driverCaptor = ArgumentCaptor.forClass(Driver.class);
-        verify(driverRepository, times(1)).save(driverCaptor.capture());
-        Driver savedDriver = driverCaptor.getValue();
+        // Garante que nenhuma transição foi aplicada e nenhum evento (nem SMS) foi publicado
+        verify(driverRepository, never()).updateStatusIfUnchanged(any(), any(), anyLong(), any(), anyInt(), any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
 
-        assertThat(savedDriver.getStatus()).isEqualTo(Driver.DriverStatus.CALLED);
-        assertThat(savedDriver.getCalledTime()).isNotNull();
+    @Test
+    @DisplayName("Deve chamar o próximo da fila quando o primeiro foi chamado por outro usuário ao mesmo tempo")
+    void callNextDriver_whenFirstDriverTakenConcurrently_shouldCallNextOne() {
+        // Arrange: a 1ª leitura devolve o motorista 1, que outro admin chama antes do UPDATE
+        when(driverRepository.findFirstByStatusOrderByEntryTimeAsc(Driver.DriverStatus.WAITING))
+                .thenReturn(Optional.of(waitingDriver1), Optional.of(waitingDriver2));
+        when(driverRepository.updateStatusIfUnchanged(eq(10L), any(), anyLong(), any(), anyInt(), any())).thenReturn(0);
+        when(driverRepository.updateStatusIfUnchanged(eq(20L), any(), anyLong(), any(), anyInt(), any())).thenReturn(1);
+
+        // Act
+        Optional<Driver> resultOpt = driverService.callNextDriver();
 
-        // VERIFICA QUE O SMS NÃO FOI ENVIADO!
-        verify(twilioService, never()).sendSms(anyString(), anyString());
+        // Assert: chamou o motorista 2 e publicou um único evento
+        assertThat(resultOpt).map(Driver::getId).contains(20L);
+        verify(eventPublisher, times(1)).publishEvent(any(DriverQueueEvent.class));
     }
 
     @Test
-    @DisplayName("Deve retornar Optional vazio quando não há motorista na fila")
-    void callNextDriver_whenQueueIsEmpty_shouldReturnEmptyOptional() {
+    @DisplayName("Deve desistir com conflito após o limite de tentativas quando a fila muda a cada tentativa")
+    void callNextDriver_whenConflictPersists_shouldThrowOptimisticLockingFailure() {
         // Arrange
         when(driverRepository.findFirstByStatusOrderByEntryTimeAsc(Driver.DriverStatus.WAITING))
-                .thenReturn(Optional.empty()); // Simula fila vazia
+                .thenReturn(Optional.of(waitingDriver1));
+        when(driverRepository.updateStatusIfUnchanged(any(), any(), anyLong(), any(), anyInt(), any())).thenReturn(0);
 
-        // Act
-        Optional<Driver> resultOpt = driverService.callNextDriver();
+        // Act & Assert
+        assertThatThrownBy(() -> driverService.callNextDriver())
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        verify(driverRepository, times(DriverService.MAX_TRANSITION_ATTEMPTS))
+                .updateStatusIfUnchanged(any(), any(), anyLong(), any(), anyInt(), any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
 
-        // Assert
-        assertThat(resultOpt).isEmpty(); // Verifica que o Optional está vazio
+    // --- Testes para markDriverAsAttended / markDriverAsNoShow ---
 
-        // Garante que save e sendSms não foram chamados
-        verify(driverRepository, never()).save(any(Driver.class));
-        verify(twilioService, never()).sendSms(anyString(), anyString());
+    @Test
+    @DisplayName("Deve recusar ATTENDED quando outro usuário marcou o motorista como NO_SHOW antes")
+    void markDriverAsAttended_whenConcurrentlyMarkedNoShow_shouldRejectAfterReread() {
+        // Arrange: 1ª leitura CALLED (versão 1); o UPDATE falha; a releitura mostra NO_SHOW (versão 2)
+        Driver called = calledDriver(30L, 1L);
+        Driver noShow = calledDriver(30L, 2L);
+        noShow.setStatus(Driver.DriverStatus.NO_SHOW);
+        when(driverRepository.findById(30L)).thenReturn(Optional.of(called), Optional.of(noShow));
+        when(driverRepository.updateStatusIfUnchanged(30L, Driver.DriverStatus.CALLED, 1L,
+                Driver.DriverStatus.ATTENDED, 1, called.getCalledTime())).thenReturn(0);
+
+        // Act & Assert
+        assertThatThrownBy(() -> driverService.markDriverAsAttended(30L))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("não está aguardando confirmação");
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
-    // TODO: Adicionar teste para quando twilioService.sendSms lança uma exceção
-    // (deve logar o erro mas ainda retornar o Optional com o motorista chamado)
+    @Test
+    @DisplayName("Deve marcar motorista chamado como NO_SHOW e publicar o evento")
+    void markDriverAsNoShow_whenCalled_shouldApplyTransition() {
+        // Arrange
+        Driver called = calledDriver(30L, 4L);
+        when(driverRepository.findById(30L)).thenReturn(Optional.of(called));
+        when(driverRepository.updateStatusIfUnchanged(30L, Driver.DriverStatus.CALLED, 4L,
+                Driver.DriverStatus.NO_SHOW, 1, called.getCalledTime())).thenReturn(1);
+
+        // Act
+        driverService.markDriverAsNoShow(30L);
+
+        // Assert
+        ArgumentCaptor<DriverQueueEvent> eventCaptor = ArgumentCaptor.forClass(DriverQueueEvent.class);
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        assertThat(eventCaptor.getValue().type()).isEqualTo(DriverQueueEvent.Type.NO_SHOW);
+        assertThat(eventCaptor.getValue().status()).isEqualTo(Driver.DriverStatus.NO_SHOW);
+    }
 
     // --- Testes para o método clearWaitingList ---
 
@@ -266,6 +312,8 @@ class DriverServiceTest {
         List<Driver> waitingList = List.of(waitingDriver1, waitingDriver2);
         when(driverRepository.findByStatusOrderByEntryTimeAsc(Driver.DriverStatus.WAITING))
                 .thenReturn(waitingList);
+        when(driverRepository.updateStatusIfUnchanged(any(), eq(Driver.DriverStatus.WAITING), anyLong(),
+                eq(Driver.DriverStatus.CLEARED), eq(0), any())).thenReturn(1);
 
         // Act
         int clearedCount = driverService.clearWaitingList();
@@ -273,14 +321,11 @@ class DriverServiceTest {
         // Assert
         assertThat(clearedCount).isEqualTo(2); // Verifica a contagem retornada
 
-        // Captura a lista de motoristas passada para saveAll
-        ArgumentCaptor<List<Driver>> listCaptor = ArgumentCaptor.forClass(List.class);
-        verify(driverRepository, times(1)).saveAll(listCaptor.capture());
-        List<Driver> savedList = listCaptor.getValue();
-
-        // Verifica se todos na lista capturada têm status CLEARED
-        assertThat(savedList).hasSize(2);
-        assertThat(savedList).allMatch(driver -> driver.getStatus() == Driver.DriverStatus.CLEARED);
+        // Verifica se todos os motoristas da lista passaram para CLEARED via UPDATE condicional
+        verify(driverRepository, times(2)).updateStatusIfUnchanged(any(), eq(Driver.DriverStatus.WAITING), anyLong(),
+                eq(Driver.DriverStatus.CLEARED), eq(0), any());
+        assertThat(waitingList).allMatch(driver -> driver.getStatus() == Driver.DriverStatus.CLEARED);
+        verify(eventPublisher, times(2)).publishEvent(any(DriverQueueEvent.class));
 
         verify(driverRepository, times(1)).findByStatusOrderByEntryTimeAsc(Driver.DriverStatus.WAITING);
     }
@@ -298,7 +343,47 @@ class DriverServiceTest {
         // Assert
         assertThat(clearedCount).isEqualTo(0); // Contagem deve ser 0
 
-        // Garante que saveAll não foi chamado
-        verify(driverRepository, never()).saveAll(anyList());
+        // Garante que nenhuma transição foi aplicada
+        verify(driverRepository, never()).updateStatusIfUnchanged(any(), any(), anyLong(), any(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Deve respeitar queue.calls.max-attempts e usar o relógio injetado no horário da re-chamada")
+    void recallDriver_whenBelowConfiguredLimit_shouldRecallWithClockTime() {
+        // Arrange: limite de 3 chamadas; o motorista está na 2ª (com o limite padrão de 2, viraria NO_SHOW)
+        CallPolicyProperties policy = new CallPolicyProperties();
+        policy.setMaxAttempts(3);
+        Clock fixedClock = Clock.fixed(Instant.parse("2025-03-01T12:00:00Z"), ZoneOffset.UTC);
+        DriverService service = new DriverService(driverRepository, eventPublisher, policy, fixedClock);
+        Driver called = calledDriver(50L, 4L);
+        called.setCallAttempts(2);
+        LocalDateTime expectedCalledTime = LocalDateTime.of(2025, 3, 1, 12, 0);
+        when(driverRepository.findById(50L)).thenReturn(Optional.of(called));
+        when(driverRepository.updateStatusIfUnchanged(50L, Driver.DriverStatus.CALLED, 4L,
+                Driver.DriverStatus.CALLED, 3, expectedCalledTime)).thenReturn(1);
+
+        // Act
+        Optional<Driver> result = service.recallDriver(50L);
+
+        // Assert
+        assertThat(result).get().satisfies(driver -> {
+            assertThat(driver.getStatus()).isEqualTo(Driver.DriverStatus.CALLED);
+            assertThat(driver.getCallAttempts()).isEqualTo(3);
+            assertThat(driver.getCalledTime()).isEqualTo(expectedCalledTime);
+        });
+    }
+
+    private Driver calledDriver(Long id, long version) {
+        Driver driver = new Driver();
+        driver.setId(id);
+        driver.setName("Motorista Chamado");
+        driver.setPlate("CCC-3333");
+        driver.setPhoneNumber("+5511933333333");
+        driver.setStatus(Driver.DriverStatus.CALLED);
+        driver.setEntryTime(LocalDateTime.now().minusMinutes(10));
+        driver.setCalledTime(LocalDateTime.now().minusMinutes(1));
+        driver.setCallAttempts(1);
+        driver.setVersion(version);
+        return driver;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,112 @@
+package com.suaempresa.driverqueue.security;
+
+import com.suaempresa.driverqueue.config.RegistrationLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RegistrationAdmissionFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RegistrationAdmissionFilter filter(int capacity, int maxConcurrent) {
+        RegistrationLimitProperties properties = new RegistrationLimitProperties();
+        properties.setRateLimitCapacity(capacity);
+        properties.setRateLimitRefill(Duration.ofMinutes(1));
+        properties.setMaxConcurrent(maxConcurrent);
+        return new RegistrationAdmissionFilter(properties, meterRegistry);
+    }
+
+    private static MockHttpServletRequest registration(String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/drivers/add");
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+
+    private double rejected(String reason) {
+        return meterRegistry.get("queue.registration.rejected").tag("reason", reason).counter().count();
+    }
+
+    @Test
+    @DisplayName("Acima do limite do cliente deve responder 429 sem chamar o controller, sem afetar outros clientes")
+    void shouldRejectClientAboveRateLimit() throws Exception {
+        RegistrationAdmissionFilter filter = filter(2, 8);
+
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(registration("10.0.0.1"), response, new MockFilterChain());
+            assertThat(response.getStatus()).isEqualTo(200);
+        }
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(registration("10.0.0.1"), rejected, chain);
+        MockHttpServletResponse otherClient = new MockHttpServletResponse();
+        filter.doFilter(registration("10.0.0.2"), otherClient, new MockFilterChain());
+
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("60");
+        assertThat(chain.getRequest()).isNull();
+        assertThat(otherClient.getStatus()).isEqualTo(200);
+        assertThat(rejected("rate_limit")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Com o limite de cadastros simultâneos atingido deve responder 429 na hora")
+    void shouldRejectAboveConcurrencyLimit() throws Exception {
+        RegistrationAdmissionFilter filter = filter(100, 1);
+        CountDownLatch inChain = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain slowChain = (req, res) -> {
+            inChain.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> {
+            try {
+                filter.doFilter(registration("10.0.0.1"), new MockHttpServletResponse(), slowChain);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(inChain.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(meterRegistry.get("queue.registration.in_flight").gauge().value()).isEqualTo(1.0);
+
+        MockHttpServletResponse busy = new MockHttpServletResponse();
+        filter.doFilter(registration("10.0.0.2"), busy, new MockFilterChain());
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+
+        assertThat(busy.getStatus()).isEqualTo(429);
+        assertThat(rejected("concurrency")).isEqualTo(1.0);
+        MockHttpServletResponse afterRelease = new MockHttpServletResponse();
+        filter.doFilter(registration("10.0.0.2"), afterRelease, new MockFilterChain());
+        assertThat(afterRelease.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Requisições GET não devem consumir o limite")
+    void shouldIgnoreGetRequests() throws Exception {
+        RegistrationAdmissionFilter filter = filter(1, 1);
+
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("GET", "/drivers/add"), response, new MockFilterChain());
+            assertThat(response.getStatus()).isEqualTo(200);
+        }
+    }
+}
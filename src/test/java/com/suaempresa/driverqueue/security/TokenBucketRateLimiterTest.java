@@ -0,0 +1,48 @@
+package com.suaempresa.driverqueue.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    @DisplayName("Deve permitir a rajada, recusar o excedente e repor as fichas com o tempo")
+    void tryAcquire_shouldAllowBurstThenRefill() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(3, Duration.ofSeconds(2), 100, clock::get);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("a")).isZero();
+        }
+        assertThat(limiter.tryAcquire("a")).isEqualTo(Duration.ofSeconds(2).toNanos());
+
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertThat(limiter.tryAcquire("a")).isEqualTo(Duration.ofSeconds(1).toNanos());
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertThat(limiter.tryAcquire("a")).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve descartar os clientes inativos quando passar do limite de clientes")
+    void tryAcquire_shouldEvictIdleClients() {
+        int maxClients = TokenBucketRateLimiter.STRIPES * 2;
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, Duration.ofSeconds(1), maxClients, clock::get);
+
+        for (int i = 0; i < maxClients * 4; i++) {
+            limiter.tryAcquire("idle-" + i);
+        }
+        clock.addAndGet(Duration.ofSeconds(5).toNanos());
+        for (int i = 0; i < maxClients * 4; i++) {
+            limiter.tryAcquire("active-" + i);
+        }
+
+        assertThat(limiter.trackedClients()).isLessThan(maxClients * 8);
+        assertThat(limiter.tryAcquire("active-0")).isPositive();
+    }
+}
@@ -0,0 +1,118 @@
+package com.suaempresa.driverqueue.service;
+
+import com.suaempresa.driverqueue.config.AppointmentProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class AppointmentCalendarTest {
+
+    private static final ZoneId ZONE = ZoneId.of("America/Sao_Paulo");
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 5, 20, 7, 10);
+
+    private AppointmentProperties properties;
+    private AppointmentCalendar calendar;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AppointmentProperties();
+        properties.setCapacityPerSlot(4);
+        Clock clock = Clock.fixed(NOW.atZone(ZONE).toInstant(), ZONE);
+        calendar = new AppointmentCalendar(properties, clock, mock(JdbcTemplate.class));
+    }
+
+    @Test
+    @DisplayName("Reservas simultâneas na mesma janela nunca devem passar da capacidade")
+    void tryReserve_concurrently_shouldNeverExceedCapacity() throws Exception {
+        LocalDateTime slot = LocalDateTime.of(2024, 5, 21, 8, 0);
+        int attempts = 2_000;
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < attempts; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return calendar.tryReserve(slot);
+                }));
+            }
+            start.countDown();
+            int accepted = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get()) {
+                    accepted++;
+                }
+            }
+            assertThat(accepted).isEqualTo(4);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        calendar.release(slot);
+        assertThat(calendar.tryReserve(slot)).isTrue();
+        assertThat(calendar.tryReserve(slot)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Total gravado por outra instância deve reduzir as vagas, sem desfazer reservas locais")
+    void observe_shouldOnlyRaiseCounter() {
+        LocalDateTime slot = LocalDateTime.of(2024, 5, 20, 9, 30);
+        calendar.tryReserve(slot);
+        calendar.tryReserve(slot);
+
+        calendar.observe(slot, 1);
+        assertThat(available(slot)).isEqualTo(2);
+
+        calendar.observe(slot, 3);
+        assertThat(available(slot)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Só o início de janelas futuras, no expediente e dentro do horizonte pode ser reservado")
+    void validateSlot_shouldRejectInvalidSlots() {
+        calendar.validateSlot(LocalDateTime.of(2024, 5, 20, 7, 30));
+        calendar.validateSlot(LocalDateTime.of(2024, 5, 26, 17, 30));
+
+        assertThatThrownBy(() -> calendar.validateSlot(LocalDateTime.of(2024, 5, 20, 7, 0)))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("já passou");
+        assertThatThrownBy(() -> calendar.validateSlot(LocalDateTime.of(2024, 5, 21, 8, 15)))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("janela");
+        assertThatThrownBy(() -> calendar.validateSlot(LocalDateTime.of(2024, 5, 21, 18, 0)))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("expediente");
+        assertThatThrownBy(() -> calendar.validateSlot(LocalDateTime.of(2024, 5, 27, 8, 0)))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("2024-05-26");
+    }
+
+    @Test
+    @DisplayName("A agenda do dia deve listar só as janelas que ainda não começaram")
+    void getSlots_shouldListFutureSlotsOfTheDay() {
+        List<AppointmentCalendar.SlotAvailability> slots = calendar.getSlots(LocalDate.of(2024, 5, 20));
+
+        assertThat(slots).first().extracting(AppointmentCalendar.SlotAvailability::start)
+                .isEqualTo(LocalDateTime.of(2024, 5, 20, 7, 30));
+        assertThat(slots).last().extracting(AppointmentCalendar.SlotAvailability::end)
+                .isEqualTo(LocalDateTime.of(2024, 5, 20, 18, 0));
+        assertThat(slots).hasSize(21).allMatch(slot -> slot.available() == 4);
+    }
+
+    private int available(LocalDateTime slot) {
+        return calendar.getSlots(slot.toLocalDate()).stream()
+                .filter(s -> s.start().equals(slot)).findFirst().orElseThrow().available();
+    }
+}
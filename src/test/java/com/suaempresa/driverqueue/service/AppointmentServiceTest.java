@@ -0,0 +1,157 @@
+package com.suaempresa.driverqueue.service;
+
+import com.suaempresa.driverqueue.config.AppointmentProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class AppointmentServiceTest {
+
+    private static final ZoneId ZONE = ZoneId.of("America/Sao_Paulo");
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 5, 20, 7, 10);
+    private static final LocalDateTime SLOT = LocalDateTime.of(2024, 5, 21, 8, 0);
+
+    private JdbcTemplate jdbcTemplate;
+    private AppointmentCalendar calendar;
+    private QueueProjection queueProjection;
+    private AppointmentService service;
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        AppointmentProperties properties = new AppointmentProperties();
+        properties.setCapacityPerSlot(4);
+        Clock clock = Clock.fixed(NOW.atZone(ZONE).toInstant(), ZONE);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        calendar = new AppointmentCalendar(properties, clock, mock(JdbcTemplate.class));
+        queueProjection = mock(QueueProjection.class);
+        meterRegistry = new SimpleMeterRegistry();
+        service = new AppointmentService(calendar, queueProjection, properties, jdbcTemplate, clock, mock(PlatformTransactionManager.class),
+                Validation.buildDefaultValidatorFactory().getValidator(), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Placa com reserva pendente, agendada ou na fila não deve reservar outro horário, sem consultar o banco")
+    void book_whenPlateAlreadyActive_shouldReject() {
+        service.book("abc1d23", "Motorista Um", "11 91234-5678", SLOT);
+
+        assertThatThrownBy(() -> service.book(" ABC1D23 ", "Motorista Um", "11 91234-5678", SLOT.plusMinutes(30)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("ABC1D23");
+
+        when(queueProjection.findPosition("XYZ9K87")).thenReturn(Optional.of(new QueueProjection.Position(null, 1, 1)));
+        assertThatThrownBy(() -> service.book("xyz9k87", "Motorista Dois", "11 91234-0000", SLOT))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("cadastrada na fila");
+
+        calendar.markPlatesBooked(List.of("QWE1R23"));
+        assertThatThrownBy(() -> service.book("QWE1R23", "Motorista Três", "11 91234-1111", SLOT))
+                .isInstanceOf(IllegalStateException.class);
+
+        // As recusas não consomem vaga da janela
+        assertThat(booked(SLOT)).isEqualTo(1);
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("No flush, placa agendada por outra instância deve ficar REJECTED e passar a ser recusada já na reserva")
+    void flush_whenPlateTakenByAnotherInstance_shouldReject() {
+        when(jdbcTemplate.queryForList(startsWith("SELECT plate"), eq(String.class), any(Object[].class)))
+                .thenReturn(List.of("ABC1D23"));
+        when(jdbcTemplate.queryForList(startsWith("INSERT INTO appointment_slot"), eq(Integer.class), any(Object[].class)))
+                .thenReturn(List.of(1));
+        AppointmentService.Appointment taken = service.book("ABC1D23", "Motorista Um", "11 91234-5678", SLOT);
+        AppointmentService.Appointment free = service.book("XYZ9K87", "Motorista Dois", "11 91234-0000", SLOT);
+
+        service.flush();
+
+        assertThat(service.findByCode(taken.code())).isEmpty();
+        assertThat(service.findByCode(free.code())).isEmpty();
+        // A vaga da reserva recusada volta ao calendário e a placa deixa de estar pendente
+        assertThat(booked(SLOT)).isEqualTo(1);
+        // A placa ocupada no banco passa a ser recusada já na reserva; a gravada também
+        assertThat(calendar.isPlateBooked("ABC1D23")).isTrue();
+        assertThat(calendar.isPlateBooked("XYZ9K87")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Placa ou nome fora das regras do cadastro devem ser recusados antes de ocupar a vaga")
+    void book_withInvalidPlateOrName_shouldRejectBeforeReserving() {
+        assertThatThrownBy(() -> service.book("AB-12", "Motorista Um", "11 91234-5678", SLOT))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Formato de placa inválido");
+        assertThatThrownBy(() -> service.book("ABC1D23", "N".repeat(101), "11 91234-5678", SLOT))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("O nome deve ter entre 3 e 100 caracteres.");
+
+        assertThat(booked(SLOT)).isZero();
+        verify(queueProjection, never()).findPosition(anyString());
+        // A placa recusada não fica presa como pendente
+        service.book("ABC1D23", "Motorista Um", "11 91234-5678", SLOT);
+    }
+
+    @Test
+    @DisplayName("Reserva recusada pelo banco deve ser descartada sem impedir a gravação das demais")
+    @SuppressWarnings("unchecked")
+    void flush_whenDatabaseRejectsOneAppointment_shouldDiscardItAndWriteTheRest() {
+        when(jdbcTemplate.queryForList(startsWith("SELECT plate"), eq(String.class), any(Object[].class)))
+                .thenReturn(List.of());
+        when(jdbcTemplate.queryForList(startsWith("INSERT INTO appointment_slot"), eq(Integer.class), any(Object[].class)))
+                .thenReturn(List.of(1));
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    Collection<AppointmentService.Appointment> batch = invocation.getArgument(1);
+                    if (batch.stream().anyMatch(appointment -> appointment.plate().equals("ABC1D23"))) {
+                        throw new DataIntegrityViolationException("duplicate key value violates unique constraint");
+                    }
+                    return new int[0][];
+                });
+        AppointmentService.Appointment rejected = service.book("ABC1D23", "Motorista Um", "11 91234-5678", SLOT);
+        AppointmentService.Appointment accepted = service.book("XYZ9K87", "Motorista Dois", "11 91234-0000", SLOT);
+
+        service.flush();
+        // Um segundo flush não tenta de novo a reserva descartada
+        service.flush();
+
+        assertThat(service.findByCode(rejected.code())).isEmpty();
+        assertThat(service.findByCode(accepted.code())).isEmpty();
+        assertThat(booked(SLOT)).isEqualTo(1);
+        assertThat(meterRegistry.counter("queue.appointments.discarded").count()).isEqualTo(1.0);
+        // O lote inteiro e depois cada reserva em separado
+        verify(jdbcTemplate, times(3))
+                .batchUpdate(anyString(), any(Collection.class), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    private int booked(LocalDateTime slot) {
+        return calendar.getSlots(slot.toLocalDate()).stream()
+                .filter(s -> s.start().equals(slot)).findFirst().orElseThrow().booked();
+    }
+}
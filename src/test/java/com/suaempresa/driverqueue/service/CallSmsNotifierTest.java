@@ -0,0 +1,98 @@
+package com.suaempresa.driverqueue.service;
+
+import com.suaempresa.driverqueue.event.DriverQueueEvent;
+import com.suaempresa.driverqueue.model.Driver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CallSmsNotifierTest {
+
+    private static final String PHONE = "+5511912345678";
+
+    @Mock
+    private SmsService smsService;
+    @Mock
+    private SmsNotificationService smsNotificationService;
+
+    private CallSmsNotifier notifier;
+
+    @BeforeEach
+    void setUp() {
+        notifier = new CallSmsNotifier(smsService, smsNotificationService);
+    }
+
+    @Test
+    @DisplayName("Chamada confirmada deve enviar o SMS e registrar o Message SID")
+    void onDriverQueueEvent_whenCalled_shouldSendAndRecordSid() {
+        when(smsService.sendSms(eq(PHONE), anyString())).thenReturn(Optional.of("SM0001"));
+
+        notifier.onDriverQueueEvent(event(DriverQueueEvent.Type.CALLED, PHONE, 1));
+
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(smsService).sendSms(eq(PHONE), message.capture());
+        assertThat(message.getValue()).contains("Motorista Um", "sua vez na fila chegou!").doesNotContain("Tentativa");
+        verify(smsNotificationService).recordSent("SM0001", 10L, PHONE, 1);
+    }
+
+    @Test
+    @DisplayName("Re-chamada deve enviar o lembrete com o número da tentativa")
+    void onDriverQueueEvent_whenRecalled_shouldSendReminder() {
+        when(smsService.sendSms(eq(PHONE), anyString())).thenReturn(Optional.empty());
+
+        notifier.onDriverQueueEvent(event(DriverQueueEvent.Type.RECALLED, PHONE, 2));
+
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(smsService).sendSms(eq(PHONE), message.capture());
+        assertThat(message.getValue()).contains("Lembrete", "(Tentativa 2)");
+        verifyNoInteractions(smsNotificationService);
+    }
+
+    @Test
+    @DisplayName("Sem telefone, ou em transições que não são chamadas, nenhum SMS deve ser enviado")
+    void onDriverQueueEvent_withoutPhoneOrNotACall_shouldNotSend() {
+        notifier.onDriverQueueEvent(event(DriverQueueEvent.Type.CALLED, null, 1));
+        notifier.onDriverQueueEvent(event(DriverQueueEvent.Type.NO_SHOW, PHONE, 2));
+        notifier.onDriverQueueEvent(event(DriverQueueEvent.Type.ADDED, PHONE, 0));
+
+        verify(smsService, never()).sendSms(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Falha no envio deve ser registrada em log sem propagar a exceção")
+    void onDriverQueueEvent_whenSendFails_shouldNotThrow() {
+        when(smsService.sendSms(eq(PHONE), anyString())).thenThrow(new IllegalStateException("provedor fora do ar"));
+
+        assertThatCode(() -> notifier.onDriverQueueEvent(event(DriverQueueEvent.Type.CALLED, PHONE, 1)))
+                .doesNotThrowAnyException();
+        verifyNoInteractions(smsNotificationService);
+    }
+
+    private static DriverQueueEvent event(DriverQueueEvent.Type type, String phone, int callAttempts) {
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 8, 0);
+        Driver.DriverStatus status = switch (type) {
+            case ADDED -> Driver.DriverStatus.WAITING;
+            case NO_SHOW -> Driver.DriverStatus.NO_SHOW;
+            default -> Driver.DriverStatus.CALLED;
+        };
+        return new DriverQueueEvent(type, 10L, "ABC1D23", "Motorista Um", phone, status, callAttempts,
+                now.minusMinutes(30), callAttempts > 0 ? now : null, now);
+    }
+}
@@ -0,0 +1,68 @@
+package com.suaempresa.driverqueue.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker(3, Duration.ofSeconds(30), clock::get);
+
+    @Test
+    @DisplayName("O circuito deve abrir após as falhas consecutivas e recusar chamadas na hora")
+    void shouldOpenAfterConsecutiveFailures() {
+        fail(2);
+        circuitBreaker.onSuccess(); // Um sucesso zera a contagem
+        fail(2);
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        fail(1);
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Após o tempo aberto, só uma chamada de teste deve passar; o sucesso fecha o circuito")
+    void halfOpen_shouldAllowSingleProbe() {
+        fail(3);
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse(); // Teste já em andamento
+
+        circuitBreaker.onSuccess();
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Se a chamada de teste falhar, o circuito deve abrir por mais um período")
+    void halfOpen_failedProbeShouldReopen() {
+        fail(3);
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+
+        circuitBreaker.onFailure();
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        clock.addAndGet(Duration.ofSeconds(29).toNanos());
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+    }
+
+    private void fail(int times) {
+        for (int i = 0; i < times; i++) {
+            assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+            circuitBreaker.onFailure();
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.suaempresa.driverqueue.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.suaempresa.driverqueue.config.ClusterProperties;
+import com.suaempresa.driverqueue.event.ClusterResyncEvent;
+import com.suaempresa.driverqueue.event.DriverQueueEvent;
+import com.suaempresa.driverqueue.event.RemoteDriverQueueEvent;
+import com.suaempresa.driverqueue.model.Driver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ClusterEventBusTest {
+
+    private static final String NOTIFY_SQL = "SELECT pg_notify(?, ?)";
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 5, 20, 8, 0);
+
+    /** Mesma configuração do ObjectMapper do Spring Boot (ignora propriedades desconhecidas, como "active"). */
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final DataSource dataSource = mock(DataSource.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<String> sentPayloads = new CopyOnWriteArrayList<>();
+    private ClusterEventBus bus;
+
+    @AfterEach
+    void tearDown() {
+        if (bus != null) {
+            bus.stop();
+        }
+    }
+
+    private ClusterEventBus bus(String nodeId) {
+        ClusterProperties properties = new ClusterProperties();
+        properties.setNodeId(nodeId);
+        properties.setPollTimeoutMs(10);
+        properties.setReconnectDelayMs(10);
+        bus = new ClusterEventBus(dataSource, jdbcTemplate, objectMapper, eventPublisher, properties, meterRegistry);
+        return bus;
+    }
+
+    /** Registra os payloads enviados com pg_notify. */
+    private void recordNotifies() {
+        when(jdbcTemplate.query(eq(NOTIFY_SQL), any(ResultSetExtractor.class), eq("driver_queue_events"), anyString()))
+                .thenAnswer(invocation -> {
+                    sentPayloads.add(invocation.getArgument(3));
+                    return null;
+                });
+    }
+
+    @Test
+    @DisplayName("O payload do NOTIFY deve chegar às outras instâncias como RemoteDriverQueueEvent")
+    void notifyPayload_shouldRoundTripToOtherNodes() throws Exception {
+        recordNotifies();
+        DriverQueueEvent event = event(7L, DriverQueueEvent.Type.CALLED);
+        ClusterEventBus sender = bus("node-a");
+        sender.onDriverQueueEvent(event);
+        await().atMost(Duration.ofSeconds(5)).until(() -> sentPayloads.size() == 1);
+        sender.stop();
+
+        PGNotification[] notifications = {notification(sentPayloads.get(0)), notification("{inválido")};
+        when(listenConnection().getNotifications(anyInt()))
+                .thenReturn(notifications)
+                .thenAnswer(invocation -> pause());
+        bus("node-b").start();
+
+        // O payload inválido é ignorado sem derrubar o listener
+        ArgumentCaptor<Object> published = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher, timeout(5_000).times(2)).publishEvent(published.capture());
+        assertThat(published.getAllValues()).containsExactly(
+                new ClusterResyncEvent("node-b"),
+                new RemoteDriverQueueEvent(event, "node-a"));
+    }
+
+    @Test
+    @DisplayName("A instância deve ignorar as próprias notificações, já aplicadas localmente")
+    void ownNotification_shouldBeIgnored() throws Exception {
+        String own = objectMapper.writeValueAsString(new ClusterEventBus.ClusterMessage("node-a", event(7L, DriverQueueEvent.Type.CALLED)));
+        PGNotification[] notifications = {notification(own)};
+        PGConnection listenConnection = listenConnection();
+        when(listenConnection.getNotifications(anyInt()))
+                .thenReturn(notifications)
+                .thenAnswer(invocation -> pause());
+
+        bus("node-a").start();
+
+        verify(listenConnection, timeout(5_000).atLeast(2)).getNotifications(anyInt());
+        verify(eventPublisher).publishEvent(new ClusterResyncEvent("node-a"));
+        verify(eventPublisher, never()).publishEvent(any(RemoteDriverQueueEvent.class));
+    }
+
+    @Test
+    @DisplayName("Pedido de ressincronização de outro nó deve disparar a ressincronização local")
+    void resyncMessage_fromOtherNode_shouldTriggerLocalResync() throws Exception {
+        String resync = objectMapper.writeValueAsString(new ClusterEventBus.ClusterMessage("node-a", null));
+        PGNotification[] notifications = {notification(resync)};
+        when(listenConnection().getNotifications(anyInt()))
+                .thenReturn(notifications)
+                .thenAnswer(invocation -> pause());
+
+        bus("node-b").start();
+
+        // Uma ao conectar o LISTEN e outra pelo pedido do node-a
+        verify(eventPublisher, timeout(5_000).times(2)).publishEvent(new ClusterResyncEvent("node-b"));
+    }
+
+    @Test
+    @DisplayName("Falha no NOTIFY deve ser contada e, no envio seguinte, as demais instâncias devem receber o pedido de ressincronização")
+    void notifyFailure_shouldCountDropAndRequestResync() throws Exception {
+        when(jdbcTemplate.query(eq(NOTIFY_SQL), any(ResultSetExtractor.class), eq("driver_queue_events"), anyString()))
+                .thenThrow(new DataAccessResourceFailureException("conexão recusada"))
+                .thenAnswer(invocation -> {
+                    sentPayloads.add(invocation.getArgument(3));
+                    return null;
+                });
+
+        bus("node-a").onDriverQueueEvent(event(1L, DriverQueueEvent.Type.ADDED));
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> sentPayloads.size() == 1);
+        assertThat(meterRegistry.counter("queue.cluster.notify.dropped").count()).isEqualTo(1.0);
+        ClusterEventBus.ClusterMessage resync = objectMapper.readValue(sentPayloads.get(0), ClusterEventBus.ClusterMessage.class);
+        assertThat(resync.node()).isEqualTo("node-a");
+        assertThat(resync.event()).isNull();
+    }
+
+    @Test
+    @DisplayName("Com a fila de envio cheia, a notificação mais antiga deve ser descartada e a ressincronização pedida quando a fila esvaziar")
+    void notifyQueueFull_shouldDropOldestAndRequestResyncAfterDraining() throws Exception {
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(jdbcTemplate.query(eq(NOTIFY_SQL), any(ResultSetExtractor.class), eq("driver_queue_events"), anyString()))
+                .thenAnswer(invocation -> {
+                    sending.countDown();
+                    release.await();
+                    sentPayloads.add(invocation.getArgument(3));
+                    return null;
+                });
+        ClusterEventBus sender = bus("node-a");
+        sender.onDriverQueueEvent(event(0L, DriverQueueEvent.Type.ADDED));
+        assertThat(sending.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // A fila comporta 10.000 envios pendentes; o 10.001º descarta o mais antigo
+        for (long id = 1; id <= 10_001; id++) {
+            sender.onDriverQueueEvent(event(id, DriverQueueEvent.Type.ADDED));
+        }
+        assertThat(meterRegistry.counter("queue.cluster.notify.dropped").count()).isEqualTo(1.0);
+
+        release.countDown();
+        // 1 em envio + 10.000 na fila + o pedido de ressincronização ao esvaziar
+        await().atMost(Duration.ofSeconds(30)).until(() -> sentPayloads.size() == 10_002);
+        assertThat(objectMapper.readValue(sentPayloads.get(1), ClusterEventBus.ClusterMessage.class).event().driverId())
+                .isEqualTo(2L);
+        ClusterEventBus.ClusterMessage last = objectMapper.readValue(sentPayloads.get(10_001), ClusterEventBus.ClusterMessage.class);
+        assertThat(last.event()).isNull();
+    }
+
+    @Test
+    @DisplayName("Se a conexão do LISTEN cair, o listener deve reconectar, refazer o LISTEN e ressincronizar")
+    void listenConnectionLost_shouldReconnectAndResync() throws Exception {
+        Connection first = mock(Connection.class);
+        Connection second = mock(Connection.class);
+        PGConnection firstPg = pgConnection(first);
+        PGConnection secondPg = pgConnection(second);
+        when(firstPg.getNotifications(anyInt())).thenThrow(new SQLException("An I/O error occurred while sending to the backend."));
+        when(secondPg.getNotifications(anyInt())).thenAnswer(invocation -> pause());
+        when(dataSource.getConnection())
+                .thenThrow(new SQLException("Connection refused"))
+                .thenReturn(first, second);
+
+        bus("node-b").start();
+
+        verify(eventPublisher, timeout(5_000).times(2)).publishEvent(new ClusterResyncEvent("node-b"));
+        verify(dataSource, atLeast(3)).getConnection();
+        verify(first).close();
+    }
+
+    private PGConnection listenConnection() throws SQLException {
+        Connection connection = mock(Connection.class);
+        PGConnection pgConnection = pgConnection(connection);
+        when(dataSource.getConnection()).thenReturn(connection);
+        return pgConnection;
+    }
+
+    private static PGConnection pgConnection(Connection connection) throws SQLException {
+        PGConnection pgConnection = mock(PGConnection.class);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        Statement statement = mock(Statement.class);
+        when(connection.createStatement()).thenReturn(statement);
+        doAnswer(invocation -> true).when(statement).execute("LISTEN driver_queue_events");
+        return pgConnection;
+    }
+
+    private static PGNotification[] pause() throws InterruptedException {
+        Thread.sleep(10);
+        return null;
+    }
+
+    private static PGNotification notification(String payload) {
+        PGNotification notification = mock(PGNotification.class);
+        when(notification.getParameter()).thenReturn(payload);
+        return notification;
+    }
+
+    private static DriverQueueEvent event(long driverId, DriverQueueEvent.Type type) {
+        return new DriverQueueEvent(type, driverId, "ABC1D23", "Motorista", "+5511912345678",
+                Driver.DriverStatus.CALLED, 1, NOW, NOW.plusMinutes(5), NOW.plusMinutes(5));
+    }
+}
@@ -0,0 +1,79 @@
+package com.suaempresa.driverqueue.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.suaempresa.driverqueue.config.DisplayBoardProperties;
+import com.suaempresa.driverqueue.event.DriverQueueEvent;
+import com.suaempresa.driverqueue.model.Driver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DisplayBoardServiceTest {
+
+    @Mock
+    private QueueProjection queueProjection;
+
+    private DisplayBoardService displayBoardService;
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private final LocalDateTime base = LocalDateTime.of(2025, 1, 1, 8, 0);
+
+    @BeforeEach
+    void setUp() {
+        DisplayBoardProperties properties = new DisplayBoardProperties();
+        properties.setMaxCalled(2);
+        displayBoardService = new DisplayBoardService(queueProjection, objectMapper, properties);
+    }
+
+    @Test
+    @DisplayName("Snapshot deve trazer as placas chamadas mais recentes, limitado ao máximo configurado")
+    void rebuild_shouldSerializeMostRecentCalls() throws Exception {
+        when(queueProjection.isReady()).thenReturn(true);
+        when(queueProjection.getCalled()).thenReturn(List.of(called(30L, 3), called(20L, 2), called(10L, 1)));
+        when(queueProjection.getWaitingCount()).thenReturn(5);
+
+        displayBoardService.rebuild();
+
+        DisplayBoardService.Snapshot snapshot = displayBoardService.getSnapshot();
+        DisplayBoardService.BoardView view = objectMapper.readValue(snapshot.json(), DisplayBoardService.BoardView.class);
+        assertThat(view.calling()).extracting(DisplayBoardService.CalledPlate::plate).containsExactly("ABC1D30", "ABC1D20");
+        assertThat(view.waitingCount()).isEqualTo(5);
+        assertThat(new String(snapshot.json(), StandardCharsets.UTF_8)).doesNotContain("Motorista", "+55");
+    }
+
+    @Test
+    @DisplayName("Snapshot só deve ser trocado quando o conteúdo do painel muda")
+    void rebuild_whenContentUnchanged_shouldKeepSnapshot() {
+        when(queueProjection.isReady()).thenReturn(true);
+        when(queueProjection.getCalled()).thenReturn(List.of(called(10L, 1)));
+        when(queueProjection.getWaitingCount()).thenReturn(1);
+
+        displayBoardService.rebuild();
+        DisplayBoardService.Snapshot first = displayBoardService.getSnapshot();
+        displayBoardService.rebuild();
+
+        assertThat(displayBoardService.getSnapshot()).isSameAs(first);
+
+        when(queueProjection.getWaitingCount()).thenReturn(0);
+        displayBoardService.rebuild();
+
+        assertThat(displayBoardService.getSnapshot().etag()).isNotEqualTo(first.etag());
+    }
+
+    private DriverQueueEvent called(Long driverId, int minute) {
+        LocalDateTime at = base.plusMinutes(minute);
+        return new DriverQueueEvent(DriverQueueEvent.Type.CALLED, driverId, "ABC1D" + driverId, "Motorista " + driverId,
+                "+5511999990000", Driver.DriverStatus.CALLED, 1, base, at, at);
+    }
+}
@@ -0,0 +1,61 @@
+package com.suaempresa.driverqueue.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DriverExportServiceTest {
+
+    private static final DriverExportService.ExportRow ROW = new DriverExportService.ExportRow(7L, "ABC1D23",
+            "Silva, \"Zé\"", "+5511999999999", "ATTENDED", 2,
+            LocalDateTime.of(2025, 3, 1, 8, 30), null);
+
+    @Test
+    @DisplayName("CSV deve ter cabeçalho e escapar vírgulas, aspas e campos vazios")
+    void csv_shouldEscapeFields() throws Exception {
+        StringWriter out = new StringWriter();
+        DriverExportService.RowWriter writer = new DriverExportService.CsvRowWriter(out);
+
+        writer.writeRow(ROW);
+        writer.finish();
+
+        assertThat(out.toString()).isEqualTo(
+                "id,plate,name,phone_number,status,call_attempts,entry_time,called_time\r\n" +
+                "7,ABC1D23,\"Silva, \"\"Zé\"\"\",+5511999999999,ATTENDED,2,2025-03-01T08:30,\r\n");
+    }
+
+    @Test
+    @DisplayName("CSV deve neutralizar textos que a planilha interpretaria como fórmula, mas não telefones")
+    void csv_shouldNeutralizeFormulas() {
+        assertThat(DriverExportService.CsvRowWriter.field("=HYPERLINK(\"x\")")).isEqualTo("\"'=HYPERLINK(\"\"x\"\")\"");
+        assertThat(DriverExportService.CsvRowWriter.field("@SUM(A1)")).isEqualTo("'@SUM(A1)");
+        assertThat(DriverExportService.CsvRowWriter.field("-2+3")).isEqualTo("'-2+3");
+        assertThat(DriverExportService.CsvRowWriter.field("+5511999999999")).isEqualTo("+5511999999999");
+    }
+
+    @Test
+    @DisplayName("NDJSON deve ter um objeto JSON por linha")
+    void ndjson_shouldWriteOneObjectPerLine() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        StringWriter out = new StringWriter();
+        DriverExportService.RowWriter writer = new DriverExportService.NdjsonRowWriter(objectMapper, out);
+
+        writer.writeRow(ROW);
+        writer.writeRow(ROW);
+        writer.finish();
+
+        String[] lines = out.toString().split("\n");
+        assertThat(out.toString()).endsWith("}\n");
+        assertThat(lines).hasSize(2);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.get("name").asText()).isEqualTo("Silva, \"Zé\"");
+        assertThat(first.get("entryTime").asText()).isEqualTo("2025-03-01T08:30");
+        assertThat(first.get("calledTime").isNull()).isTrue();
+    }
+}
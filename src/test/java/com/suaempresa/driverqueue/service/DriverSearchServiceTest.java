@@ -0,0 +1,38 @@
+package com.suaempresa.driverqueue.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DriverSearchServiceTest {
+
+    @Test
+    @DisplayName("Placa digitada com hífen ou minúsculas deve virar prefixo da placa normalizada")
+    void criteria_shouldNormalizePlatePrefix() {
+        DriverSearchService.Criteria criteria = DriverSearchService.criteria("abc-1d");
+
+        assertThat(criteria.platePrefix()).isEqualTo("ABC1D%");
+        assertThat(criteria.namePattern()).isEqualTo("%abc-1d%");
+        assertThat(criteria.phoneNumber()).isNull();
+    }
+
+    @Test
+    @DisplayName("Telefone deve ser normalizado para E.164 como no cadastro")
+    void criteria_shouldNormalizePhoneNumber() {
+        assertThat(DriverSearchService.criteria("(11) 91234-5678").phoneNumber()).isEqualTo("+5511912345678");
+        assertThat(DriverSearchService.criteria("+55 11 91234-5678").phoneNumber()).isEqualTo("+5511912345678");
+        assertThat(DriverSearchService.criteria("1234").phoneNumber()).isNull();
+    }
+
+    @Test
+    @DisplayName("Nome curto não usa o trigrama e curingas do LIKE são escapados")
+    void criteria_shouldEscapeNameAndSkipShortText() {
+        DriverSearchService.Criteria shortText = DriverSearchService.criteria("Zé");
+        assertThat(shortText.namePattern()).isNull();
+        assertThat(shortText.platePrefix()).isNull();
+        assertThat(shortText.isEmpty()).isTrue();
+
+        assertThat(DriverSearchService.criteria("50%_x").namePattern()).isEqualTo("%50\\%\\_x%");
+    }
+}
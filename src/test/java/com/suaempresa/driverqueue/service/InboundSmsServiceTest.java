@@ -0,0 +1,98 @@
+package com.suaempresa.driverqueue.service;
+
+import com.suaempresa.driverqueue.config.InboundSmsProperties;
+import com.suaempresa.driverqueue.event.DriverQueueEvent;
+import com.suaempresa.driverqueue.model.Driver;
+import com.suaempresa.driverqueue.repository.DriverRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class InboundSmsServiceTest {
+
+    private static final String PHONE = "+5511912345678";
+
+    @Mock
+    private DriverService driverService;
+
+    private QueueProjection projection;
+    private InboundSmsService service;
+    private final LocalDateTime base = LocalDateTime.of(2025, 1, 1, 8, 0);
+
+    @BeforeEach
+    void setUp() {
+        projection = new QueueProjection(mock(DriverRepository.class), mock(PlatformTransactionManager.class));
+        service = new InboundSmsService(driverService, projection, new InboundSmsProperties(), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        service.shutdown();
+    }
+
+    @Test
+    @DisplayName("Palavras-chave devem ser reconhecidas sem acentos, pontuação ou maiúsculas")
+    void classify_shouldNormalizeReplies() {
+        assertThat(service.classify("Ok!")).isEqualTo(InboundSmsService.Intent.CONFIRM);
+        assertThat(service.classify("  chegando, 5 min")).isEqualTo(InboundSmsService.Intent.CONFIRM);
+        assertThat(service.classify("Não vou mais")).isEqualTo(InboundSmsService.Intent.GIVE_UP);
+        assertThat(service.classify("DESISTO")).isEqualTo(InboundSmsService.Intent.GIVE_UP);
+        assertThat(service.classify("Okay?")).isEqualTo(InboundSmsService.Intent.UNKNOWN);
+        assertThat(service.classify(null)).isEqualTo(InboundSmsService.Intent.UNKNOWN);
+    }
+
+    @Test
+    @DisplayName("Resposta de motorista chamado deve virar ATTENDED ou NO_SHOW")
+    void handle_whenCalled_shouldApplyTransition() {
+        projection.apply(event(10L, Driver.DriverStatus.CALLED));
+
+        assertThat(service.handle(PHONE, "Chegando", "SM1")).isEqualTo(InboundSmsService.Outcome.ATTENDED);
+        verify(driverService).markDriverAsAttended(10L);
+
+        assertThat(service.handle(PHONE, "desisto", "SM2")).isEqualTo(InboundSmsService.Outcome.NO_SHOW);
+        verify(driverService).markDriverAsNoShow(10L);
+    }
+
+    @Test
+    @DisplayName("Motorista aguardando que desiste deve sair da fila; confirmação sem chamada é ignorada")
+    void handle_whenWaiting_shouldOnlyWithdraw() {
+        projection.apply(event(20L, Driver.DriverStatus.WAITING));
+
+        assertThat(service.handle(PHONE, "ok", "SM3")).isEqualTo(InboundSmsService.Outcome.IGNORED);
+        assertThat(service.handle(PHONE, "Cancelar", "SM4")).isEqualTo(InboundSmsService.Outcome.WITHDRAWN);
+        verify(driverService).withdrawWaitingDriver(20L);
+    }
+
+    @Test
+    @DisplayName("Telefone sem motorista ativo e transição já aplicada por outro caminho não devem falhar")
+    void handle_whenUnmatchedOrStale_shouldNotFail() {
+        assertThat(service.handle("+5511000000000", "ok", "SM5")).isEqualTo(InboundSmsService.Outcome.UNMATCHED);
+        verifyNoInteractions(driverService);
+
+        projection.apply(event(30L, Driver.DriverStatus.CALLED));
+        doThrow(new IllegalArgumentException("não está CALLED")).when(driverService).markDriverAsAttended(30L);
+        assertThat(service.handle(PHONE, "sim", "SM6")).isEqualTo(InboundSmsService.Outcome.STALE);
+    }
+
+    private DriverQueueEvent event(Long driverId, Driver.DriverStatus status) {
+        boolean called = status == Driver.DriverStatus.CALLED;
+        return new DriverQueueEvent(called ? DriverQueueEvent.Type.CALLED : DriverQueueEvent.Type.ADDED, driverId,
+                "ABC1D" + driverId, "Motorista " + driverId, PHONE, status, called ? 1 : 0, base,
+                called ? base.plusMinutes(5) : null, base.plusMinutes(5));
+    }
+}
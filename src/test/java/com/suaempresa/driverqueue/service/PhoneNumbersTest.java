@@ -0,0 +1,34 @@
+package com.suaempresa.driverqueue.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PhoneNumbersTest {
+
+    @Test
+    @DisplayName("Telefone com ou sem DDI, com qualquer pontuação, deve virar E.164")
+    void toE164_shouldNormalizeBrazilianNumbers() {
+        assertThat(PhoneNumbers.toE164("(11) 91234-5678")).isEqualTo("+5511912345678");
+        assertThat(PhoneNumbers.toE164("11 3123-4567")).isEqualTo("+551131234567");
+        assertThat(PhoneNumbers.toE164("5511912345678")).isEqualTo("+5511912345678");
+        assertThat(PhoneNumbers.toE164("+55 (11) 91234-5678")).isEqualTo("+5511912345678");
+        assertThat(PhoneNumbers.toE164("91234-5678")).isNull();
+        assertThat(PhoneNumbers.toE164("4411912345678")).isNull();
+        assertThat(PhoneNumbers.toE164(null)).isNull();
+    }
+
+    @Test
+    @DisplayName("Telefone obrigatório vazio ou inválido deve ser recusado com a mensagem do cadastro")
+    void requireE164_shouldRejectMissingOrInvalidNumbers() {
+        assertThat(PhoneNumbers.requireE164(" 11 91234-5678 ")).isEqualTo("+5511912345678");
+        assertThatThrownBy(() -> PhoneNumbers.requireE164(" "))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Número de telefone é obrigatório.");
+        assertThatThrownBy(() -> PhoneNumbers.requireE164("12345"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Formato de telefone inválido.");
+    }
+}
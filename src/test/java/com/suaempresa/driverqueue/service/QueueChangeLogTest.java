@@ -0,0 +1,94 @@
+package com.suaempresa.driverqueue.service;
+
+import com.suaempresa.driverqueue.config.ChangeLogProperties;
+import com.suaempresa.driverqueue.event.ClusterResyncEvent;
+import com.suaempresa.driverqueue.event.DriverQueueEvent;
+import com.suaempresa.driverqueue.model.Driver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class QueueChangeLogTest {
+
+    @Mock
+    private QueueProjection queueProjection;
+
+    private QueueChangeLog changeLog;
+    private final LocalDateTime base = LocalDateTime.of(2025, 1, 1, 8, 0);
+
+    @BeforeEach
+    void setUp() {
+        ChangeLogProperties properties = new ChangeLogProperties();
+        properties.setCapacity(4);
+        changeLog = new QueueChangeLog(queueProjection, properties);
+    }
+
+    @Test
+    @DisplayName("Deve retornar apenas os motoristas alterados desde a versão do cliente, com o estado atual")
+    void changesSince_shouldReturnChangedDriversOnly() {
+        String epoch = changeLog.changesSince(null, 0).epoch();
+        changeLog.record(1L);
+        changeLog.record(2L);
+        changeLog.record(2L);
+        changeLog.record(3L);
+        when(queueProjection.find(2L)).thenReturn(Optional.of(waiting(2L)));
+        when(queueProjection.find(3L)).thenReturn(Optional.empty());
+
+        QueueChangeLog.Changes changes = changeLog.changesSince(epoch, 1);
+
+        assertThat(changes.full()).isFalse();
+        assertThat(changes.version()).isEqualTo(4);
+        assertThat(changes.upserts()).extracting(QueueChangeLog.DriverState::id).containsExactly(2L);
+        assertThat(changes.upserts().get(0).status()).isEqualTo(Driver.DriverStatus.WAITING);
+        assertThat(changes.removed()).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("Deve retornar a fila completa quando o cliente está mais atrasado que o buffer")
+    void changesSince_whenClientTooFarBehind_shouldReturnFullQueue() {
+        String epoch = changeLog.changesSince(null, 0).epoch();
+        for (long id = 1; id <= 6; id++) {
+            changeLog.record(id);
+        }
+        when(queueProjection.getWaiting()).thenReturn(List.of(waiting(5L)));
+        when(queueProjection.getCalled()).thenReturn(List.of());
+
+        QueueChangeLog.Changes changes = changeLog.changesSince(epoch, 1);
+
+        assertThat(changes.full()).isTrue();
+        assertThat(changes.version()).isEqualTo(6);
+        assertThat(changes.upserts()).extracting(QueueChangeLog.DriverState::id).containsExactly(5L);
+    }
+
+    @Test
+    @DisplayName("Deve iniciar uma nova época na ressincronização do cluster, forçando a fila completa")
+    void onClusterResync_shouldStartNewEpoch() {
+        String epoch = changeLog.changesSince(null, 0).epoch();
+        changeLog.record(1L);
+        when(queueProjection.getWaiting()).thenReturn(List.of());
+        when(queueProjection.getCalled()).thenReturn(List.of());
+
+        changeLog.onClusterResync(new ClusterResyncEvent("node-b"));
+        QueueChangeLog.Changes changes = changeLog.changesSince(epoch, 1);
+
+        assertThat(changes.full()).isTrue();
+        assertThat(changes.epoch()).isNotEqualTo(epoch);
+        assertThat(changes.version()).isZero();
+    }
+
+    private DriverQueueEvent waiting(Long driverId) {
+        return new DriverQueueEvent(DriverQueueEvent.Type.ADDED, driverId, "ABC1D" + driverId, "Motorista " + driverId,
+                "+5511999990000", Driver.DriverStatus.WAITING, 0, base.plusMinutes(driverId), null, base);
+    }
+}
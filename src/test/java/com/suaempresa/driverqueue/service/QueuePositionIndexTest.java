@@ -0,0 +1,77 @@
+package com.suaempresa.driverqueue.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueuePositionIndexTest {
+
+    private final QueuePositionIndex index = new QueuePositionIndex();
+    private final LocalDateTime base = LocalDateTime.of(2025, 1, 1, 8, 0);
+
+    @Test
+    @DisplayName("Posição deve seguir a ordem de entrada e se ajustar às remoções")
+    void position_shouldFollowEntryOrder() {
+        index.add(1L, base);
+        index.add(2L, base.plusMinutes(1));
+        index.add(3L, base.plusMinutes(2));
+
+        assertThat(index.position(1L)).isEqualTo(1);
+        assertThat(index.position(3L)).isEqualTo(3);
+
+        index.remove(1L);
+
+        assertThat(index.position(2L)).isEqualTo(1);
+        assertThat(index.position(3L)).isEqualTo(2);
+        assertThat(index.position(1L)).isZero();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Entrada fora de ordem deve ser posicionada pelo horário de entrada")
+    void add_whenOutOfOrder_shouldRebuildInEntryOrder() {
+        index.add(1L, base.plusMinutes(5));
+        index.add(2L, base.plusMinutes(10));
+        index.add(3L, base); // chegou depois, mas entrou antes na fila
+
+        assertThat(index.position(3L)).isEqualTo(1);
+        assertThat(index.position(1L)).isEqualTo(2);
+        assertThat(index.position(2L)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Deve manter as posições corretas ao crescer além da capacidade inicial")
+    void positions_shouldMatchSortedOrder_afterManyOperations() {
+        Random random = new Random(42);
+        Map<Long, LocalDateTime> waiting = new HashMap<>();
+        for (long id = 1; id <= 1_000; id++) {
+            // Horários quase sempre crescentes, com algumas entradas atrasadas
+            LocalDateTime entryTime = base.plusSeconds(id * 10 - (random.nextInt(20) == 0 ? 500 : 0));
+            index.add(id, entryTime);
+            waiting.put(id, entryTime);
+            if (random.nextInt(3) == 0) {
+                List<Long> ids = new ArrayList<>(waiting.keySet());
+                Long removed = ids.get(random.nextInt(ids.size()));
+                index.remove(removed);
+                waiting.remove(removed);
+            }
+        }
+
+        List<Long> expectedOrder = waiting.entrySet().stream()
+                .sorted(Map.Entry.<Long, LocalDateTime>comparingByValue().thenComparing(Map.Entry.comparingByKey()))
+                .map(Map.Entry::getKey)
+                .toList();
+        assertThat(index.size()).isEqualTo(expectedOrder.size());
+        for (int i = 0; i < expectedOrder.size(); i++) {
+            assertThat(index.position(expectedOrder.get(i))).isEqualTo(i + 1);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.suaempresa.driverqueue.service;
+
+import com.suaempresa.driverqueue.event.ClusterResyncEvent;
+import com.suaempresa.driverqueue.event.DriverQueueEvent;
+import com.suaempresa.driverqueue.model.Driver;
+import com.suaempresa.driverqueue.repository.DriverRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QueueProjectionTest {
+
+    @Mock
+    private DriverRepository driverRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private QueueProjection projection;
+    private final LocalDateTime base = LocalDateTime.of(2025, 1, 1, 8, 0);
+
+    @BeforeEach
+    void setUp() {
+        projection = new QueueProjection(driverRepository, transactionManager);
+    }
+
+    @Test
+    @DisplayName("Carga inicial deve montar a fila ativa a partir da tabela driver")
+    void loadActiveDrivers_shouldSeedFromDriverTable() {
+        when(driverRepository.findByStatusIn(anyCollection())).thenReturn(List.of(
+                driver(10L, Driver.DriverStatus.CALLED, 3),
+                driver(20L, Driver.DriverStatus.WAITING, 1),
+                driver(30L, Driver.DriverStatus.WAITING, 2)));
+
+        projection.loadActiveDrivers();
+
+        assertThat(projection.isReady()).isTrue();
+        assertThat(projection.getWaiting()).extracting(DriverQueueEvent::driverId).containsExactly(20L, 30L);
+        assertThat(projection.getCalled()).extracting(DriverQueueEvent::driverId).containsExactly(10L);
+        assertThat(projection.findPosition("ABC1D30")).get()
+                .extracting(QueueProjection.Position::position).isEqualTo(2);
+
+        // Transição publicada depois da leitura prevalece sobre o snapshot
+        projection.onDriverQueueEvent(event(DriverQueueEvent.Type.CALLED, 20L, Driver.DriverStatus.CALLED, 4));
+        assertThat(projection.getWaiting()).extracting(DriverQueueEvent::driverId).containsExactly(30L);
+        verify(driverRepository).findByStatusIn(List.of(Driver.DriverStatus.WAITING, Driver.DriverStatus.CALLED));
+    }
+
+    @Test
+    @DisplayName("Ressincronização deve incorporar a tabela driver sem esvaziar a projeção")
+    void onClusterResync_shouldMergeWithoutClearing() {
+        when(driverRepository.findByStatusIn(anyCollection()))
+                .thenReturn(List.of(driver(10L, Driver.DriverStatus.WAITING, 0), driver(20L, Driver.DriverStatus.WAITING, 0)))
+                .thenAnswer(invocation -> {
+                    // Consulta em andamento: a projeção continua respondendo, e a transição é guardada
+                    assertThat(projection.getWaitingCount()).isEqualTo(2);
+                    projection.onDriverQueueEvent(event(DriverQueueEvent.Type.ADDED, 40L, Driver.DriverStatus.WAITING, 6));
+                    // 10 foi chamado e 20 saiu da fila enquanto as notificações estavam perdidas; 30 entrou
+                    return List.of(driver(10L, Driver.DriverStatus.CALLED, 5), driver(30L, Driver.DriverStatus.WAITING, 0));
+                });
+        projection.loadActiveDrivers();
+
+        projection.onClusterResync(new ClusterResyncEvent("node-a"));
+
+        assertThat(projection.getWaiting()).extracting(DriverQueueEvent::driverId).containsExactly(30L, 40L);
+        assertThat(projection.getCalled()).extracting(DriverQueueEvent::driverId).containsExactly(10L);
+        assertThat(projection.findPosition("ABC1D20")).isEmpty();
+        assertThat(projection.findPosition("ABC1D40")).get()
+                .extracting(QueueProjection.Position::position).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Evento mais antigo que o estado conhecido não deve sobrescrever a projeção")
+    void onDriverQueueEvent_whenStale_shouldBeIgnored() {
+        when(driverRepository.findByStatusIn(anyCollection())).thenReturn(Collections.emptyList());
+        projection.loadActiveDrivers();
+
+        projection.onDriverQueueEvent(event(DriverQueueEvent.Type.CALLED, 10L, Driver.DriverStatus.CALLED, 5));
+        projection.onDriverQueueEvent(event(DriverQueueEvent.Type.ADDED, 10L, Driver.DriverStatus.WAITING, 1));
+
+        assertThat(projection.find(10L)).get()
+                .extracting(DriverQueueEvent::status).isEqualTo(Driver.DriverStatus.CALLED);
+
+        projection.onDriverQueueEvent(event(DriverQueueEvent.Type.ATTENDED, 10L, Driver.DriverStatus.ATTENDED, 6));
+        assertThat(projection.find(10L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Consulta de posição pela placa deve refletir chamadas e saídas da fila")
+    void findPosition_shouldTrackWaitingOrder() {
+        when(driverRepository.findByStatusIn(anyCollection())).thenReturn(Collections.emptyList());
+        projection.loadActiveDrivers();
+
+        projection.onDriverQueueEvent(event(DriverQueueEvent.Type.ADDED, 10L, Driver.DriverStatus.WAITING, 0));
+        projection.onDriverQueueEvent(event(DriverQueueEvent.Type.ADDED, 20L, Driver.DriverStatus.WAITING, 1));
+        projection.onDriverQueueEvent(event(DriverQueueEvent.Type.ADDED, 30L, Driver.DriverStatus.WAITING, 2));
+
+        assertThat(projection.findPosition("abc-1d30")).get()
+                .extracting(QueueProjection.Position::position, QueueProjection.Position::waitingCount)
+                .containsExactly(3, 3);
+
+        projection.onDriverQueueEvent(event(DriverQueueEvent.Type.CALLED, 10L, Driver.DriverStatus.CALLED, 3));
+        projection.onDriverQueueEvent(event(DriverQueueEvent.Type.CLEARED, 20L, Driver.DriverStatus.CLEARED, 4));
+
+        assertThat(projection.findPosition("ABC1D30")).get()
+                .extracting(QueueProjection.Position::position, QueueProjection.Position::waitingCount)
+                .containsExactly(1, 1);
+        assertThat(projection.findPosition("ABC1D10")).get()
+                .extracting(QueueProjection.Position::position).isEqualTo(0);
+        assertThat(projection.findPosition("ABC1D20")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Consulta por telefone deve preferir o motorista chamado e esquecer quem saiu da fila")
+    void findByPhoneNumber_shouldPreferCalledDriver() {
+        when(driverRepository.findByStatusIn(anyCollection())).thenReturn(Collections.emptyList());
+        projection.loadActiveDrivers();
+
+        // Todos os motoristas de teste usam o mesmo telefone (ex: transportadora)
+        projection.onDriverQueueEvent(event(DriverQueueEvent.Type.ADDED, 10L, Driver.DriverStatus.WAITING, 0));
+        projection.onDriverQueueEvent(event(DriverQueueEvent.Type.ADDED, 20L, Driver.DriverStatus.WAITING, 1));
+        assertThat(projection.findByPhoneNumber("+5511999990000")).get()
+                .extracting(DriverQueueEvent::driverId).isEqualTo(10L);
+
+        projection.onDriverQueueEvent(event(DriverQueueEvent.Type.CALLED, 20L, Driver.DriverStatus.CALLED, 2));
+        assertThat(projection.findByPhoneNumber("+5511999990000")).get()
+                .extracting(DriverQueueEvent::driverId).isEqualTo(20L);
+
+        projection.onDriverQueueEvent(event(DriverQueueEvent.Type.ATTENDED, 20L, Driver.DriverStatus.ATTENDED, 3));
+        projection.onDriverQueueEvent(event(DriverQueueEvent.Type.CLEARED, 10L, Driver.DriverStatus.CLEARED, 4));
+        assertThat(projection.findByPhoneNumber("+5511999990000")).isEmpty();
+        assertThat(projection.findByPhoneNumber("+5511888880000")).isEmpty();
+    }
+
+    private DriverQueueEvent event(DriverQueueEvent.Type type, Long driverId, Driver.DriverStatus status, int minute) {
+        LocalDateTime at = base.plusMinutes(minute);
+        return new DriverQueueEvent(type, driverId, "ABC1D" + driverId, "Motorista " + driverId, "+5511999990000",
+                status, status == Driver.DriverStatus.CALLED ? 1 : 0, base.plusSeconds(driverId),
+                status == Driver.DriverStatus.CALLED ? at : null, at);
+    }
+
+    private Driver driver(Long id, Driver.DriverStatus status, int calledMinute) {
+        Driver driver = new Driver();
+        driver.setId(id);
+        driver.setPlate("ABC1D" + id);
+        driver.setName("Motorista " + id);
+        driver.setPhoneNumber("+5511999990000");
+        driver.setStatus(status);
+        driver.setCallAttempts(status == Driver.DriverStatus.CALLED ? 1 : 0);
+        driver.setEntryTime(base.plusSeconds(id));
+        driver.setCalledTime(status == Driver.DriverStatus.CALLED ? base.plusMinutes(calledMinute) : null);
+        return driver;
+    }
+}
@@ -0,0 +1,85 @@
+package com.suaempresa.driverqueue.service;
+
+import com.suaempresa.driverqueue.dto.QueueStatsDto;
+import com.suaempresa.driverqueue.event.DriverQueueEvent;
+import com.suaempresa.driverqueue.model.Driver;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class QueueStatsRollupTest {
+
+    private static final LocalDateTime ENTRY = LocalDateTime.of(2025, 1, 6, 8, 0);
+
+    private static DriverQueueEvent event(DriverQueueEvent.Type type, int waitMinutes) {
+        LocalDateTime calledTime = type == DriverQueueEvent.Type.ADDED ? null : ENTRY.plusMinutes(waitMinutes);
+        return new DriverQueueEvent(type, 1L, "ABC1D23", "Motorista", "+5511999999999", Driver.DriverStatus.CALLED,
+                1, ENTRY, calledTime, calledTime != null ? calledTime : ENTRY);
+    }
+
+    @Test
+    @DisplayName("Deve calcular vazão, espera média, p90 e taxas a partir dos contadores")
+    void counters_shouldComputeIndicators() {
+        QueueStatsRollup.Counters counters = new QueueStatsRollup.Counters();
+        for (int minutes = 1; minutes <= 10; minutes++) {
+            counters.apply(event(DriverQueueEvent.Type.ADDED, 0));
+            counters.apply(event(DriverQueueEvent.Type.CALLED, minutes * 6)); // 6, 12, ..., 60 min
+        }
+        counters.apply(event(DriverQueueEvent.Type.RECALLED, 70));
+        counters.apply(event(DriverQueueEvent.Type.RECALLED, 75));
+        for (int i = 0; i < 8; i++) {
+            counters.apply(event(DriverQueueEvent.Type.ATTENDED, 0));
+        }
+        counters.apply(event(DriverQueueEvent.Type.NO_SHOW, 0));
+        counters.apply(event(DriverQueueEvent.Type.NO_SHOW, 0));
+
+        QueueStatsDto dto = counters.toDto(ENTRY);
+
+        assertThat(dto.added()).isEqualTo(10);
+        assertThat(dto.called()).isEqualTo(10);
+        assertThat(dto.avgWaitSeconds()).isEqualTo(33 * 60.0);
+        assertThat(dto.maxWaitSeconds()).isEqualTo(3600);
+        // p90 real = 54 min; a estimativa fica dentro da faixa 45-60 min
+        assertThat(dto.p90WaitSeconds()).isBetween(2700.0, 3600.0);
+        assertThat(dto.noShowRate()).isCloseTo(0.2, within(1e-9));
+        assertThat(dto.recallRate()).isCloseTo(0.2, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("Somar horas deve equivaler a contar todas as transições juntas")
+    void merge_shouldEqualCombinedCounts() {
+        QueueStatsRollup.Counters morning = new QueueStatsRollup.Counters();
+        QueueStatsRollup.Counters afternoon = new QueueStatsRollup.Counters();
+        QueueStatsRollup.Counters all = new QueueStatsRollup.Counters();
+        for (int minutes = 0; minutes < 200; minutes += 7) {
+            DriverQueueEvent called = event(DriverQueueEvent.Type.CALLED, minutes);
+            (minutes % 2 == 0 ? morning : afternoon).apply(called);
+            all.apply(called);
+        }
+
+        QueueStatsDto merged = new QueueStatsRollup.Counters().merge(morning).merge(afternoon).toDto(null);
+
+        assertThat(merged).isEqualTo(all.toDto(null));
+    }
+
+    @Test
+    @DisplayName("Sem chamadas ou desfechos, médias e taxas devem ser nulas")
+    void toDto_shouldReturnNullsWithoutData() {
+        QueueStatsRollup.Counters counters = new QueueStatsRollup.Counters();
+        counters.apply(event(DriverQueueEvent.Type.ADDED, 0));
+
+        QueueStatsDto dto = counters.toDto(ENTRY);
+
+        assertThat(dto.avgWaitSeconds()).isNull();
+        assertThat(dto.p90WaitSeconds()).isNull();
+        assertThat(dto.noShowRate()).isNull();
+        assertThat(dto.recallRate()).isNull();
+        assertThat(WaitTimeHistogram.bucketIndex(59)).isZero();
+        assertThat(WaitTimeHistogram.bucketIndex(60)).isEqualTo(1);
+        assertThat(WaitTimeHistogram.bucketIndex(100_000)).isEqualTo(WaitTimeHistogram.BUCKETS - 1);
+    }
+}
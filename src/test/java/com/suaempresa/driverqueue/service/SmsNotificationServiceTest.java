@@ -0,0 +1,91 @@
+package com.suaempresa.driverqueue.service;
+
+import com.suaempresa.driverqueue.config.SmsStatusProperties;
+import com.suaempresa.driverqueue.repository.SmsNotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SmsNotificationServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private SmsNotificationRepository smsNotificationRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SmsNotificationService smsNotificationService;
+
+    @BeforeEach
+    void setUp() {
+        smsNotificationService = new SmsNotificationService(jdbcTemplate, smsNotificationRepository,
+                new SmsStatusProperties(), transactionManager);
+    }
+
+    @Test
+    @DisplayName("Callbacks do mesmo SMS devem ser agrupados, gravando só o status mais avançado")
+    void flush_shouldCoalesceCallbacksPerMessage() {
+        // O lote é reaproveitado após a gravação, então é copiado no momento da chamada
+        List<Map.Entry<String, SmsNotificationService.StatusUpdate>> written = new ArrayList<>();
+        when(jdbcTemplate.batchUpdate(contains("status_rank <= EXCLUDED.status_rank"), any(Collection.class), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class))).thenAnswer(invocation -> {
+            written.addAll(invocation.getArgument(1));
+            return new int[0][];
+        });
+
+        // Callbacks fora de ordem: "sent" chega depois de "delivered"
+        smsNotificationService.recordStatus("SM1", "queued", null);
+        smsNotificationService.recordStatus("SM1", "delivered", null);
+        smsNotificationService.recordStatus("SM1", "sent", null);
+        smsNotificationService.recordStatus("SM2", "undelivered", 30003);
+
+        smsNotificationService.flush();
+
+        assertThat(written).hasSize(2);
+        Map<String, SmsNotificationService.StatusUpdate> bySid = written.stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        assertThat(bySid.get("SM1").status()).isEqualTo("delivered");
+        assertThat(bySid.get("SM2").errorCode()).isEqualTo(30003);
+    }
+
+    @Test
+    @DisplayName("Flush sem envios nem callbacks pendentes não deve acessar o banco")
+    void flush_whenNothingPending_shouldNotWrite() {
+        smsNotificationService.flush();
+
+        verify(jdbcTemplate, never()).batchUpdate(any(String.class), any(Collection.class), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    @Test
+    @DisplayName("A ordem dos status deve seguir o ciclo de entrega do Twilio")
+    void statusRank_shouldFollowDeliveryLifecycle() {
+        assertThat(SmsNotificationService.statusRank("queued")).isLessThan(SmsNotificationService.statusRank("sent"));
+        assertThat(SmsNotificationService.statusRank("sent")).isLessThan(SmsNotificationService.statusRank("undelivered"));
+        assertThat(SmsNotificationService.statusRank("delivered")).isEqualTo(SmsNotificationService.statusRank("failed"));
+    }
+}
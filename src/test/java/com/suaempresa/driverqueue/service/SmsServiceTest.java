@@ -0,0 +1,132 @@
+package com.suaempresa.driverqueue.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import com.suaempresa.driverqueue.config.SmsGatewayProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testa o failover usando como provedor secundário um gateway HTTP falso local
+ * ({@link HttpServer} do JDK em uma porta livre).
+ */
+class SmsServiceTest {
+
+    private HttpServer fakeGateway;
+    private final List<String> fakeGatewayRequests = new CopyOnWriteArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SmsGatewayProperties properties = new SmsGatewayProperties();
+    private final FakePrimaryGateway primary = new FakePrimaryGateway();
+    private SmsService smsService;
+
+    /** Provedor principal simulado: falha enquanto {@code failure} estiver definida. */
+    private static class FakePrimaryGateway implements SmsGateway {
+        final AtomicInteger calls = new AtomicInteger();
+        volatile SmsGatewayException failure;
+
+        @Override
+        public String getName() { return "twilio"; }
+
+        @Override
+        public boolean isEnabled() { return true; }
+
+        @Override
+        public String send(String toPhoneNumber, String messageBody) throws SmsGatewayException {
+            calls.incrementAndGet();
+            if (failure != null) {
+                throw failure;
+            }
+            return "SM" + calls.get();
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        fakeGateway = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        fakeGateway.createContext("/messages", exchange -> {
+            fakeGatewayRequests.add(exchange.getRequestHeaders().getFirst("Authorization") + " "
+                    + new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            byte[] response = ("{\"id\":\"fake-" + fakeGatewayRequests.size() + "\"}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, response.length);
+            exchange.getResponseBody().write(response);
+            exchange.close();
+        });
+        fakeGateway.start();
+
+        properties.setFailureThreshold(2);
+        properties.setOpenDuration(Duration.ofMinutes(1));
+        properties.getSecondary().setName("fake");
+        properties.getSecondary().setUrl("http://127.0.0.1:" + fakeGateway.getAddress().getPort() + "/messages");
+        properties.getSecondary().setAuthToken("token");
+        properties.getSecondary().setFrom("+15550000000");
+        HttpSmsGateway secondary = new HttpSmsGateway(properties, new ObjectMapper());
+        smsService = new SmsService(List.of(primary, secondary), properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        fakeGateway.stop(0);
+    }
+
+    @Test
+    @DisplayName("Com o provedor principal funcionando, o secundário não deve ser chamado")
+    void sendSms_shouldUsePrimaryWhenHealthy() {
+        Optional<String> messageId = smsService.sendSms("+5511999999999", "Olá");
+
+        assertThat(messageId).contains("SM1");
+        assertThat(fakeGatewayRequests).isEmpty();
+        assertThat(meterRegistry.get("sms.gateway.send").tags("provider", "twilio", "outcome", "success").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Falhas do principal devem usar o secundário e, com o circuito aberto, pular o principal na hora")
+    void sendSms_shouldFailOverAndShortCircuit() {
+        primary.failure = new SmsGatewayException("timeout", true, null);
+
+        assertThat(smsService.sendSms("+5511999999999", "Olá")).contains("fake-1");
+        assertThat(smsService.sendSms("+5511999999999", "Olá")).contains("fake-2");
+        assertThat(primary.calls.get()).isEqualTo(2); // Limite de falhas atingido: circuito aberto
+
+        assertThat(smsService.sendSms("+5511999999999", "Olá")).contains("fake-3");
+
+        assertThat(primary.calls.get()).isEqualTo(2);
+        assertThat(fakeGatewayRequests.get(0)).startsWith("Bearer token ").contains("\"to\":\"+5511999999999\"");
+        assertThat(meterRegistry.get("sms.gateway.short.circuited").tag("provider", "twilio").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("sms.gateway.circuit.state").tag("provider", "twilio").gauge().value())
+                .isEqualTo(CircuitBreaker.State.OPEN.ordinal());
+        assertThat(meterRegistry.get("sms.gateway.send").tags("provider", "fake", "outcome", "success").timer().count())
+                .isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Mensagem recusada pelo conteúdo não deve ir para o secundário nem abrir o circuito")
+    void sendSms_shouldNotFailOverRejectedMessage() {
+        primary.failure = new SmsGatewayException("número inválido", false, null);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(smsService.sendSms("+5511999999999", "Olá")).isEmpty();
+        }
+
+        assertThat(primary.calls.get()).isEqualTo(3);
+        assertThat(fakeGatewayRequests).isEmpty();
+        assertThat(meterRegistry.get("sms.gateway.circuit.state").tag("provider", "twilio").gauge().value())
+                .isEqualTo(CircuitBreaker.State.CLOSED.ordinal());
+    }
+}
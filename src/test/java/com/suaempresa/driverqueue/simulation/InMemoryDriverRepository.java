@@ -0,0 +1,129 @@
+package com.suaempresa.driverqueue.simulation;
+
+import com.suaempresa.driverqueue.model.Driver;
+import com.suaempresa.driverqueue.repository.DriverRepository;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * {@link DriverRepository} em memória para o simulador, com a mesma semântica das consultas usadas pelo
+ * {@code DriverService}: a fila de espera por ordem de entrada, o UPDATE condicional por status e versão
+ * e entidades "desanexadas" (cada leitura devolve uma cópia, como depois do {@code clearAutomatically}).
+ * <p>
+ * Implementa apenas esses métodos (via {@link Proxy}); os demais lançam {@link UnsupportedOperationException},
+ * para que um novo uso do repositório pelo serviço apareça no simulador em vez de ser ignorado.
+ */
+public final class InMemoryDriverRepository {
+
+    private static final Comparator<Driver> BY_ENTRY_TIME =
+            Comparator.comparing(Driver::getEntryTime).thenComparing(Driver::getId);
+
+    private final Map<Long, Driver> drivers = new HashMap<>();
+    private final TreeSet<Driver> waiting = new TreeSet<>(BY_ENTRY_TIME);
+    private final Set<String> plates = new HashSet<>();
+    private long nextId = 1;
+
+    /** @return O repositório a ser injetado no {@code DriverService}. */
+    public DriverRepository asDriverRepository() {
+        return (DriverRepository) Proxy.newProxyInstance(DriverRepository.class.getClassLoader(),
+                new Class<?>[]{DriverRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "save" -> save((Driver) args[0]);
+                    case "findById" -> findById((Long) args[0]);
+                    case "findFirstByStatusOrderByEntryTimeAsc" -> findFirstByStatusOrderByEntryTimeAsc((Driver.DriverStatus) args[0]);
+                    case "findByStatusOrderByEntryTimeAsc" -> findByStatus((Driver.DriverStatus) args[0], BY_ENTRY_TIME);
+                    case "findByStatusOrderByCalledTimeDesc" -> findByStatus((Driver.DriverStatus) args[0],
+                            Comparator.comparing(Driver::getCalledTime, Comparator.nullsLast(Comparator.reverseOrder())));
+                    case "updateStatusIfUnchanged" -> updateStatusIfUnchanged((Long) args[0], (Driver.DriverStatus) args[1],
+                            (Long) args[2], (Driver.DriverStatus) args[3], (Integer) args[4], (LocalDateTime) args[5]);
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "InMemoryDriverRepository";
+                    default -> throw new UnsupportedOperationException(
+                            "DriverRepository." + method.getName() + " não é suportado pelo repositório em memória do simulador.");
+                });
+    }
+
+    /** @return Quantidade de motoristas por status (para o relatório da simulação). */
+    public Map<Driver.DriverStatus, Long> countByStatus() {
+        Map<Driver.DriverStatus, Long> counts = new HashMap<>();
+        drivers.values().forEach(driver -> counts.merge(driver.getStatus(), 1L, Long::sum));
+        return counts;
+    }
+
+    private Driver save(Driver driver) {
+        if (driver.getId() != null) {
+            throw new UnsupportedOperationException("O simulador só grava motoristas novos com save().");
+        }
+        if (!plates.add(driver.getPlate())) {
+            throw new IllegalStateException("Placa duplicada (driver_plate_key): " + driver.getPlate());
+        }
+        driver.setId(nextId++);
+        Driver stored = copy(driver);
+        drivers.put(stored.getId(), stored);
+        if (stored.getStatus() == Driver.DriverStatus.WAITING) {
+            waiting.add(stored);
+        }
+        return driver;
+    }
+
+    private Optional<Driver> findById(Long id) {
+        return Optional.ofNullable(drivers.get(id)).map(InMemoryDriverRepository::copy);
+    }
+
+    private Optional<Driver> findFirstByStatusOrderByEntryTimeAsc(Driver.DriverStatus status) {
+        if (status == Driver.DriverStatus.WAITING) {
+            return waiting.isEmpty() ? Optional.empty() : Optional.of(copy(waiting.first()));
+        }
+        return findByStatus(status, BY_ENTRY_TIME).stream().findFirst();
+    }
+
+    private List<Driver> findByStatus(Driver.DriverStatus status, Comparator<Driver> order) {
+        return drivers.values().stream()
+                .filter(driver -> driver.getStatus() == status)
+                .sorted(order)
+                .map(InMemoryDriverRepository::copy)
+                .toList();
+    }
+
+    private int updateStatusIfUnchanged(Long id, Driver.DriverStatus expectedStatus, long expectedVersion,
+                                        Driver.DriverStatus newStatus, int callAttempts, LocalDateTime calledTime) {
+        Driver stored = drivers.get(id);
+        if (stored == null || stored.getStatus() != expectedStatus || stored.getVersion() != expectedVersion) {
+            return 0;
+        }
+        if (stored.getStatus() == Driver.DriverStatus.WAITING) {
+            waiting.remove(stored);
+        }
+        stored.setStatus(newStatus);
+        stored.setCallAttempts(callAttempts);
+        stored.setCalledTime(calledTime);
+        stored.setVersion(stored.getVersion() + 1);
+        if (newStatus == Driver.DriverStatus.WAITING) {
+            waiting.add(stored);
+        }
+        return 1;
+    }
+
+    private static Driver copy(Driver source) {
+        Driver copy = new Driver();
+        copy.setId(source.getId());
+        copy.setPlate(source.getPlate());
+        copy.setName(source.getName());
+        copy.setPhoneNumber(source.getPhoneNumber());
+        copy.setEntryTime(source.getEntryTime());
+        copy.setCalledTime(source.getCalledTime());
+        copy.setStatus(source.getStatus());
+        copy.setCallAttempts(source.getCallAttempts());
+        copy.setVersion(source.getVersion());
+        return copy;
+    }
+}
@@ -0,0 +1,406 @@
+package com.suaempresa.driverqueue.simulation;
+
+import ch.qos.logback.classic.Level;
+import com.suaempresa.driverqueue.config.CallPolicyProperties;
+import com.suaempresa.driverqueue.config.SmsGatewayProperties;
+import com.suaempresa.driverqueue.event.DriverQueueEvent;
+import com.suaempresa.driverqueue.model.Driver;
+import com.suaempresa.driverqueue.service.CallSmsNotifier;
+import com.suaempresa.driverqueue.service.DriverService;
+import com.suaempresa.driverqueue.service.SmsGateway;
+import com.suaempresa.driverqueue.service.SmsNotificationService;
+import com.suaempresa.driverqueue.service.SmsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Simulador de eventos discretos da fila, para planejamento de capacidade e para comparar políticas
+ * de chamada (limite de chamadas, tempo até a re-chamada) antes de alterá-las em produção.
+ * <p>
+ * As decisões são as do {@link DriverService} real (quem é chamado, quando uma re-chamada vira
+ * NÃO COMPARECEU), sobre um {@link InMemoryDriverRepository}, um {@link SmsService} real com um provedor
+ * falso no lugar do Twilio e um {@link SimulatedClock}. O simulador modela o que fica fora do sistema:
+ * <ul>
+ *   <li>chegadas: processo de Poisson com taxa por hora do dia ({@link Scenario#arrivalsPerHour()});</li>
+ *   <li>operador: cada doca livre chama o próximo; sem resposta em {@link Scenario#recallAfter()}, re-chama;</li>
+ *   <li>motorista: atende cada chamada com probabilidade {@link Scenario#answerProbability()}, chegando à doca
+ *       após um tempo exponencial ({@link Scenario#meanResponseTime()});</li>
+ *   <li>atendimento: tempo exponencial na doca ({@link Scenario#meanServiceTime()}).</li>
+ * </ul>
+ * O resultado é determinístico para uma mesma semente. Além das métricas da fila, o relatório traz as
+ * operações do {@code DriverService} por segundo (tempo real gasto só dentro do serviço), para comparar
+ * o custo das regras entre versões.
+ */
+public final class QueueSimulator {
+
+    private static final Instant START = Instant.parse("2025-03-03T00:00:00Z");
+    private static final ZoneId ZONE = ZoneOffset.UTC;
+
+    /** Tempo máximo, após o fim das chegadas, para a fila esvaziar. */
+    private static final Duration DRAIN_LIMIT = Duration.ofHours(24);
+
+    /**
+     * Parâmetros de uma simulação.
+     *
+     * @param duration          Período com chegadas (ex: 1 dia); depois dele a fila só esvazia.
+     * @param arrivalsPerHour   Chegadas médias por hora do dia (24 valores, 0h a 23h).
+     * @param docks             Docas atendendo ao mesmo tempo.
+     * @param meanServiceTime   Tempo médio de atendimento na doca.
+     * @param answerProbability Probabilidade de o motorista atender uma chamada (SMS).
+     * @param meanResponseTime  Tempo médio entre a chamada e a chegada à doca, de quem atende.
+     * @param recallAfter       Espera do operador antes de re-chamar.
+     * @param maxCallAttempts   {@code queue.calls.max-attempts}.
+     * @param seed              Semente dos números aleatórios.
+     */
+    public record Scenario(Duration duration, double[] arrivalsPerHour, int docks, Duration meanServiceTime,
+                           double answerProbability, Duration meanResponseTime, Duration recallAfter,
+                           int maxCallAttempts, long seed) {
+
+        /** Um dia típico: picos de manhã e à tarde (~190 chegadas), 3 docas de ~20 min. */
+        public static Scenario typicalDay() {
+            return new Scenario(Duration.ofDays(1),
+                    new double[]{2, 1, 1, 1, 2, 6, 14, 18, 16, 12, 10, 9, 8, 10, 12, 12, 10, 8, 6, 4, 3, 3, 2, 2},
+                    3, Duration.ofMinutes(20), 0.85, Duration.ofMinutes(4), Duration.ofMinutes(10), 2, 42L);
+        }
+
+        public Scenario withDuration(Duration duration) {
+            return new Scenario(duration, arrivalsPerHour, docks, meanServiceTime, answerProbability, meanResponseTime,
+                    recallAfter, maxCallAttempts, seed);
+        }
+
+        public Scenario withDocks(int docks) {
+            return new Scenario(duration, arrivalsPerHour, docks, meanServiceTime, answerProbability, meanResponseTime,
+                    recallAfter, maxCallAttempts, seed);
+        }
+
+        public Scenario withRecallAfter(Duration recallAfter) {
+            return new Scenario(duration, arrivalsPerHour, docks, meanServiceTime, answerProbability, meanResponseTime,
+                    recallAfter, maxCallAttempts, seed);
+        }
+
+        public Scenario withMaxCallAttempts(int maxCallAttempts) {
+            return new Scenario(duration, arrivalsPerHour, docks, meanServiceTime, answerProbability, meanResponseTime,
+                    recallAfter, maxCallAttempts, seed);
+        }
+
+        public Scenario withSeed(long seed) {
+            return new Scenario(duration, arrivalsPerHour, docks, meanServiceTime, answerProbability, meanResponseTime,
+                    recallAfter, maxCallAttempts, seed);
+        }
+    }
+
+    /**
+     * Distribuição de uma espera, em segundos (percentis exatos das amostras).
+     */
+    public record WaitStats(int count, double meanSeconds, long p50Seconds, long p90Seconds, long p99Seconds,
+                            long maxSeconds) {
+
+        static WaitStats of(long[] samples, int count) {
+            if (count == 0) {
+                return new WaitStats(0, 0, 0, 0, 0, 0);
+            }
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            return new WaitStats(count, Arrays.stream(sorted).average().orElse(0), percentile(sorted, 0.50),
+                    percentile(sorted, 0.90), percentile(sorted, 0.99), sorted[count - 1]);
+        }
+
+        private static long percentile(long[] sorted, double quantile) {
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, index)];
+        }
+
+        String format() {
+            return String.format("média %5.1f min | p50 %4d min | p90 %4d min | p99 %4d min | máx %4d min",
+                    meanSeconds / 60, p50Seconds / 60, p90Seconds / 60, p99Seconds / 60, maxSeconds / 60);
+        }
+    }
+
+    /**
+     * Resultado de uma simulação.
+     *
+     * @param arrivals           Motoristas cadastrados.
+     * @param attended           Motoristas que compareceram.
+     * @param noShows            Motoristas marcados como NÃO COMPARECEU (limite de chamadas atingido).
+     * @param recalls            Re-chamadas feitas.
+     * @param stillWaiting       Motoristas ainda AGUARDANDO ao fim da simulação.
+     * @param stillCalled        Motoristas ainda CHAMADOS ao fim da simulação.
+     * @param waitUntilCalled    Espera da entrada até a primeira chamada.
+     * @param waitUntilService   Espera da entrada até o comparecimento na doca.
+     * @param dockUtilization    Fração do tempo em que as docas estavam ocupadas (chamando ou atendendo).
+     * @param smsSent            SMS aceitos pelo provedor falso.
+     * @param operations         Chamadas ao {@code DriverService}.
+     * @param operationsPerSecond Operações por segundo de tempo real gasto dentro do {@code DriverService}.
+     * @param simulatedTime      Tempo simulado até a fila esvaziar.
+     * @param wallTime           Tempo real da simulação.
+     */
+    public record Report(Scenario scenario, int arrivals, int attended, int noShows, int recalls, long stillWaiting,
+                         long stillCalled, WaitStats waitUntilCalled, WaitStats waitUntilService, double dockUtilization,
+                         int smsSent, long operations, double operationsPerSecond, Duration simulatedTime,
+                         Duration wallTime) {
+
+        /** @return Fração dos motoristas chamados que não compareceram. */
+        public double noShowRate() {
+            return attended + noShows == 0 ? 0 : (double) noShows / (attended + noShows);
+        }
+
+        public String format() {
+            return String.format("""
+                            docas %d | limite de chamadas %d | re-chamada após %d min | semente %d
+                              chegadas %d | compareceram %d | não compareceram %d (%.1f%%) | re-chamadas %d | restantes %d
+                              espera até a 1ª chamada:  %s
+                              espera até a doca:        %s
+                              ocupação das docas %.0f%% | SMS %d | tempo simulado %s
+                              DriverService: %d operações, %.0f ops/s | tempo real %d ms""",
+                    scenario.docks(), scenario.maxCallAttempts(), scenario.recallAfter().toMinutes(), scenario.seed(),
+                    arrivals, attended, noShows, noShowRate() * 100, recalls, stillWaiting + stillCalled,
+                    waitUntilCalled.format(), waitUntilService.format(),
+                    dockUtilization * 100, smsSent,
+                    String.format("%dh%02d", simulatedTime.toHours(), simulatedTime.toMinutesPart()), operations, operationsPerSecond, wallTime.toMillis());
+        }
+    }
+
+    /** Evento agendado; a sequência desempata eventos no mesmo instante pela ordem de agendamento. */
+    private record Event(Instant at, long sequence, Runnable action) {
+    }
+
+    /** Provedor de SMS no lugar do Twilio: aceita tudo, sem rede. */
+    private static final class FakeTwilioGateway implements SmsGateway {
+        private int sent;
+
+        @Override
+        public String getName() {
+            return "twilio";
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return true;
+        }
+
+        @Override
+        public String send(String toPhoneNumber, String messageBody) {
+            return "SM" + (++sent);
+        }
+    }
+
+    private final Scenario scenario;
+    private final Random random;
+    private final SimulatedClock clock = new SimulatedClock(START, ZONE);
+    private final InMemoryDriverRepository repository = new InMemoryDriverRepository();
+    private final FakeTwilioGateway smsGateway = new FakeTwilioGateway();
+    private final DriverService driverService;
+    private final PriorityQueue<Event> events = new PriorityQueue<>(
+            (a, b) -> a.at().equals(b.at()) ? Long.compare(a.sequence(), b.sequence()) : a.at().compareTo(b.at()));
+    private final Instant arrivalsEnd;
+    private final double maxArrivalRatePerSecond;
+
+    private long sequence;
+    private int idleDocks;
+    private final Map<Long, Instant> dockTakenAt = new HashMap<>();
+    private long dockOccupiedSeconds;
+    private int arrivals;
+    private int attended;
+    private int noShows;
+    private int recalls;
+    private long[] waitUntilCalled = new long[1024];
+    private int waitUntilCalledCount;
+    private long[] waitUntilService = new long[1024];
+    private int waitUntilServiceCount;
+    private long operations;
+    private long operationNanos;
+
+    private QueueSimulator(Scenario scenario) {
+        if (scenario.arrivalsPerHour().length != 24) {
+            throw new IllegalArgumentException("arrivalsPerHour deve ter 24 valores (um por hora do dia).");
+        }
+        this.scenario = scenario;
+        this.random = new Random(scenario.seed());
+        this.idleDocks = scenario.docks();
+        this.arrivalsEnd = START.plus(scenario.duration());
+        this.maxArrivalRatePerSecond = Arrays.stream(scenario.arrivalsPerHour()).max().orElse(0) / 3600.0;
+
+        CallPolicyProperties callPolicy = new CallPolicyProperties();
+        callPolicy.setMaxAttempts(scenario.maxCallAttempts());
+        SmsService smsService = new SmsService(List.of(smsGateway), new SmsGatewayProperties(), new SimpleMeterRegistry());
+        // Sem transação, o notificador recebe cada chamada logo após a transição (como após o commit)
+        CallSmsNotifier callSmsNotifier = new CallSmsNotifier(smsService, mock(SmsNotificationService.class));
+        this.driverService = new DriverService(repository.asDriverRepository(), event -> {
+            if (event instanceof DriverQueueEvent queueEvent) {
+                callSmsNotifier.onDriverQueueEvent(queueEvent);
+            }
+        }, callPolicy, clock);
+    }
+
+    /**
+     * Executa a simulação até a fila esvaziar (ou até {@link #DRAIN_LIMIT} depois do fim das chegadas).
+     *
+     * @param scenario Parâmetros.
+     * @return O relatório.
+     */
+    public static Report run(Scenario scenario) {
+        // Uma linha de log por operação tornaria a simulação dominada pelo console
+        ch.qos.logback.classic.Logger serviceLogger =
+                (ch.qos.logback.classic.Logger) LoggerFactory.getLogger("com.suaempresa.driverqueue.service");
+        Level previousLevel = serviceLogger.getLevel();
+        serviceLogger.setLevel(Level.WARN);
+        try {
+            return new QueueSimulator(scenario).simulate();
+        } finally {
+            serviceLogger.setLevel(previousLevel);
+        }
+    }
+
+    private Report simulate() {
+        long wallStart = System.nanoTime();
+        scheduleNextArrival();
+        Instant stopAt = arrivalsEnd.plus(DRAIN_LIMIT);
+        while (!events.isEmpty() && !events.peek().at().isAfter(stopAt)) {
+            Event event = events.poll();
+            clock.advanceTo(event.at());
+            event.action().run();
+        }
+        Map<Driver.DriverStatus, Long> remaining = repository.countByStatus();
+        return new Report(scenario, arrivals, attended, noShows, recalls,
+                remaining.getOrDefault(Driver.DriverStatus.WAITING, 0L),
+                remaining.getOrDefault(Driver.DriverStatus.CALLED, 0L),
+                WaitStats.of(waitUntilCalled, waitUntilCalledCount),
+                WaitStats.of(waitUntilService, waitUntilServiceCount),
+                (double) dockOccupiedSeconds / (scenario.docks() * Math.max(1, Duration.between(START, clock.instant()).toSeconds())),
+                smsGateway.sent, operations, operations / Math.max(1e-9, operationNanos / 1e9),
+                Duration.between(START, clock.instant()), Duration.ofNanos(System.nanoTime() - wallStart));
+    }
+
+    // === Chegadas ===
+
+    /** Próxima chegada por amostragem (thinning) do processo de Poisson com taxa por hora do dia. */
+    private void scheduleNextArrival() {
+        if (maxArrivalRatePerSecond <= 0) {
+            return;
+        }
+        Instant candidate = clock.instant();
+        while (true) {
+            candidate = candidate.plusMillis(Math.max(1, Math.round(exponential(1 / maxArrivalRatePerSecond) * 1000)));
+            if (!candidate.isBefore(arrivalsEnd)) {
+                return;
+            }
+            double rate = scenario.arrivalsPerHour()[LocalDateTime.ofInstant(candidate, ZONE).getHour()] / 3600.0;
+            if (random.nextDouble() * maxArrivalRatePerSecond < rate) {
+                schedule(candidate, this::arrive);
+                return;
+            }
+        }
+    }
+
+    private void arrive() {
+        int number = ++arrivals;
+        operation(() -> driverService.addDriver(String.format("SIM%07d", number), "Motorista " + number,
+                String.format("119%08d", number)));
+        scheduleNextArrival();
+        dispatch();
+    }
+
+    // === Docas e chamadas ===
+
+    /** Cada doca livre chama o próximo da fila. */
+    private void dispatch() {
+        while (idleDocks > 0) {
+            Optional<Driver> called = operation(driverService::callNextDriver);
+            if (called.isEmpty()) {
+                return;
+            }
+            Driver driver = called.get();
+            idleDocks--;
+            dockTakenAt.put(driver.getId(), clock.instant());
+            waitUntilCalled = record(waitUntilCalled, waitUntilCalledCount++, secondsSinceEntry(driver, driver.getCalledTime()));
+            awaitResponse(driver);
+        }
+    }
+
+    /** Decide se o motorista atende esta chamada a tempo; se não, o operador re-chama. */
+    private void awaitResponse(Driver driver) {
+        double responseSeconds = exponential(scenario.meanResponseTime().toSeconds());
+        if (random.nextDouble() < scenario.answerProbability() && responseSeconds < scenario.recallAfter().toSeconds()) {
+            schedule(clock.instant().plusMillis(Math.round(responseSeconds * 1000)), () -> arriveAtDock(driver));
+        } else {
+            schedule(clock.instant().plus(scenario.recallAfter()), () -> recall(driver));
+        }
+    }
+
+    private void recall(Driver driver) {
+        Driver recalled = operation(() -> driverService.recallDriver(driver.getId())).orElseThrow();
+        if (recalled.getStatus() == Driver.DriverStatus.NO_SHOW) {
+            noShows++;
+            releaseDock(driver);
+        } else {
+            recalls++;
+            awaitResponse(recalled);
+        }
+    }
+
+    private void arriveAtDock(Driver driver) {
+        operation(() -> {
+            driverService.markDriverAsAttended(driver.getId());
+            return null;
+        });
+        attended++;
+        waitUntilService = record(waitUntilService, waitUntilServiceCount++,
+                secondsSinceEntry(driver, LocalDateTime.ofInstant(clock.instant(), ZONE)));
+        double serviceSeconds = exponential(scenario.meanServiceTime().toSeconds());
+        schedule(clock.instant().plusMillis(Math.round(serviceSeconds * 1000)), () -> releaseDock(driver));
+    }
+
+    private void releaseDock(Driver driver) {
+        Instant takenAt = dockTakenAt.remove(driver.getId());
+        dockOccupiedSeconds += Duration.between(takenAt, clock.instant()).toSeconds();
+        idleDocks++;
+        dispatch();
+    }
+
+    // === Auxiliares ===
+
+    /** Executa uma operação do DriverService, contando-a e medindo o tempo real gasto nela. */
+    private <T> T operation(Supplier<T> call) {
+        long start = System.nanoTime();
+        try {
+            return call.get();
+        } finally {
+            operationNanos += System.nanoTime() - start;
+            operations++;
+        }
+    }
+
+    private void schedule(Instant at, Runnable action) {
+        events.add(new Event(at, sequence++, action));
+    }
+
+    private double exponential(double meanSeconds) {
+        return -meanSeconds * Math.log(1 - random.nextDouble());
+    }
+
+    private static long secondsSinceEntry(Driver driver, LocalDateTime time) {
+        return Duration.between(driver.getEntryTime(), time).toSeconds();
+    }
+
+    private static long[] record(long[] samples, int index, long value) {
+        long[] target = index < samples.length ? samples : Arrays.copyOf(samples, samples.length * 2);
+        target[index] = value;
+        return target;
+    }
+}
@@ -0,0 +1,44 @@
+package com.suaempresa.driverqueue.simulation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueueSimulatorTest {
+
+    @Test
+    @DisplayName("Um dia simulado deve contabilizar todos os motoristas e ser reproduzível pela semente")
+    void typicalDay_shouldAccountForEveryDriverAndBeDeterministic() {
+        QueueSimulator.Report report = QueueSimulator.run(QueueSimulator.Scenario.typicalDay());
+        QueueSimulator.Report again = QueueSimulator.run(QueueSimulator.Scenario.typicalDay());
+
+        assertThat(report.arrivals()).isGreaterThan(100);
+        assertThat(report.attended() + report.noShows() + report.stillWaiting() + report.stillCalled())
+                .isEqualTo(report.arrivals());
+        assertThat(report.stillWaiting() + report.stillCalled()).isZero();
+        assertThat(report.waitUntilCalled().count()).isEqualTo(report.arrivals());
+        assertThat(report.waitUntilCalled().p50Seconds()).isLessThanOrEqualTo(report.waitUntilCalled().p90Seconds());
+        assertThat(report.waitUntilCalled().p90Seconds()).isLessThanOrEqualTo(report.waitUntilCalled().maxSeconds());
+        // Uma SMS por chamada e por re-chamada
+        assertThat(report.smsSent()).isEqualTo(report.arrivals() + report.recalls());
+        assertThat(report.dockUtilization()).isBetween(0.0, 1.0);
+
+        assertThat(again.attended()).isEqualTo(report.attended());
+        assertThat(again.noShows()).isEqualTo(report.noShows());
+        assertThat(again.waitUntilService()).isEqualTo(report.waitUntilService());
+    }
+
+    @Test
+    @DisplayName("Mais chamadas por motorista devem reduzir os não comparecimentos (regra real do DriverService)")
+    void moreCallAttempts_shouldReduceNoShows() {
+        QueueSimulator.Scenario day = QueueSimulator.Scenario.typicalDay();
+
+        QueueSimulator.Report singleCall = QueueSimulator.run(day.withMaxCallAttempts(1));
+        QueueSimulator.Report threeCalls = QueueSimulator.run(day.withMaxCallAttempts(3));
+
+        assertThat(singleCall.recalls()).isZero();
+        assertThat(threeCalls.recalls()).isPositive();
+        assertThat(threeCalls.noShowRate()).isLessThan(singleCall.noShowRate() / 2);
+    }
+}
@@ -0,0 +1,43 @@
+package com.suaempresa.driverqueue.simulation;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+
+/**
+ * Relógio do simulador: só avança quando o laço de eventos processa o próximo evento, então um dia
+ * inteiro de fila roda em milissegundos e os horários gravados pelo {@code DriverService} são os simulados.
+ */
+public final class SimulatedClock extends Clock {
+
+    private final ZoneId zone;
+    private Instant now;
+
+    public SimulatedClock(Instant start, ZoneId zone) {
+        this.now = start;
+        this.zone = zone;
+    }
+
+    /** Avança o relógio; o tempo simulado nunca volta. */
+    void advanceTo(Instant instant) {
+        if (instant.isBefore(now)) {
+            throw new IllegalArgumentException("O relógio simulado não volta: " + instant + " < " + now);
+        }
+        now = instant;
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return new SimulatedClock(now, zone);
+    }
+
+    @Override
+    public Instant instant() {
+        return now;
+    }
+}